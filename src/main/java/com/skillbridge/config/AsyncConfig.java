@@ -0,0 +1,177 @@
+package com.skillbridge.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Async Configuration
+ * Enables scheduled pollers and defines the bounded worker pools they hand work to.
+ * With spring.threads.virtual.enabled (Java 21, "vthreads" profile) the pools run their tasks on
+ * virtual threads; pool sizes and queues stay as configured, since they bound DB connections,
+ * SMTP sessions and S3 part buffers rather than threads.
+ */
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${sow.approval-pipeline.pool-size:4}")
+    private int crApprovalPoolSize;
+
+    @Value("${email.outbox.pool-size:4}")
+    private int emailOutboxPoolSize;
+
+    @Value("${notification.fan-out.pool-size:2}")
+    private int notificationPoolSize;
+
+    @Value("${notification.fan-out.queue-capacity:1000}")
+    private int notificationQueueCapacity;
+
+    @Value("${dashboard.stream.pool-size:2}")
+    private int dashboardStreamPoolSize;
+
+    @Value("${aws.s3.upload.pool-size:4}")
+    private int s3UploadPoolSize;
+
+    @Value("${aws.s3.multipart.pool-size:4}")
+    private int s3PartUploadPoolSize;
+
+    @Value("${detail-read.pool-size:4}")
+    private int detailReadPoolSize;
+
+    /**
+     * Worker pool for the SOW change request approval pipeline
+     * Queue is kept small: the poller only claims as many jobs as there are free workers
+     */
+    @Bean(name = "crApprovalExecutor")
+    public ThreadPoolTaskExecutor crApprovalExecutor() {
+        ThreadPoolTaskExecutor executor = newExecutor("cr-approval-");
+        executor.setCorePoolSize(crApprovalPoolSize);
+        executor.setMaxPoolSize(crApprovalPoolSize);
+        executor.setQueueCapacity(crApprovalPoolSize);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Worker pool that drains the email outbox
+     * Bounded so an SMTP outage cannot pile up threads; undelivered mail stays in the table
+     */
+    @Bean(name = "emailOutboxExecutor")
+    public ThreadPoolTaskExecutor emailOutboxExecutor() {
+        ThreadPoolTaskExecutor executor = newExecutor("email-outbox-");
+        executor.setCorePoolSize(emailOutboxPoolSize);
+        executor.setMaxPoolSize(emailOutboxPoolSize);
+        executor.setQueueCapacity(emailOutboxPoolSize);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Worker pool for in-app notification fan-out
+     * Fan-out is short DB work submitted after commit, so a larger queue absorbs bursts
+     */
+    @Bean(name = "notificationExecutor")
+    public ThreadPoolTaskExecutor notificationExecutor() {
+        ThreadPoolTaskExecutor executor = newExecutor("notification-");
+        executor.setCorePoolSize(notificationPoolSize);
+        executor.setMaxPoolSize(notificationPoolSize);
+        executor.setQueueCapacity(notificationQueueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Worker pool that writes dashboard SSE events to open connections
+     * Keeps socket writes to slow clients off request threads; events are dropped when full
+     */
+    @Bean(name = "dashboardStreamExecutor")
+    public ThreadPoolTaskExecutor dashboardStreamExecutor() {
+        ThreadPoolTaskExecutor executor = newExecutor("dashboard-stream-");
+        executor.setCorePoolSize(dashboardStreamPoolSize);
+        executor.setMaxPoolSize(dashboardStreamPoolSize);
+        executor.setQueueCapacity(1000);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Worker pool that uploads request attachments to S3 concurrently
+     * Runs uploads on the request thread when saturated instead of failing them
+     */
+    @Bean(name = "s3UploadExecutor")
+    public ThreadPoolTaskExecutor s3UploadExecutor() {
+        ThreadPoolTaskExecutor executor = newExecutor("s3-upload-");
+        executor.setCorePoolSize(s3UploadPoolSize);
+        executor.setMaxPoolSize(s3UploadPoolSize);
+        executor.setQueueCapacity(s3UploadPoolSize * 4);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Worker pool for the parts of S3 multipart uploads
+     * Separate from s3UploadExecutor so file uploads waiting on their parts cannot starve them;
+     * the small queue with caller-runs is what bounds the part buffers held in memory
+     */
+    @Bean(name = "s3PartUploadExecutor")
+    public ThreadPoolTaskExecutor s3PartUploadExecutor() {
+        ThreadPoolTaskExecutor executor = newExecutor("s3-part-");
+        executor.setCorePoolSize(s3PartUploadPoolSize);
+        executor.setMaxPoolSize(s3PartUploadPoolSize);
+        executor.setQueueCapacity(s3PartUploadPoolSize);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Worker pool for the parallel reads of detail endpoints (ReadFanOut)
+     * Each running read holds a DB connection, so keep it at most half the connection pool;
+     * reads that find it busy run on the request thread (which holds no connection of its own,
+     * see ReadFanOut)
+     */
+    @Bean(name = "detailReadExecutor")
+    public ThreadPoolTaskExecutor detailReadExecutor() {
+        ThreadPoolTaskExecutor executor = newExecutor("detail-read-");
+        executor.setCorePoolSize(detailReadPoolSize);
+        executor.setMaxPoolSize(detailReadPoolSize);
+        executor.setQueueCapacity(detailReadPoolSize * 4);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    private ThreadPoolTaskExecutor newExecutor(String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,41 @@
+package com.skillbridge.config;
+
+import com.skillbridge.util.QueryBudget;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * External Call Timing Aspect
+ * Adds the time spent in S3Service and EmailService to the current request's QueryBudget,
+ * so slow requests can be broken down into DB, S3 and mail time.
+ * Only calls made on the request thread are counted (work handed to upload pools is not,
+ * but the request thread's wait for it is).
+ */
+@Aspect
+@Component
+public class ExternalCallTimingAspect {
+
+    @Around("within(com.skillbridge.service.common.S3Service)")
+    public Object timeS3(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("s3", joinPoint);
+    }
+
+    @Around("within(com.skillbridge.service.common.EmailService)")
+    public Object timeMail(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("mail", joinPoint);
+    }
+
+    private Object time(String system, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (QueryBudget.current() == null) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            QueryBudget.onExternalCall(system, System.nanoTime() - start);
+        }
+    }
+}
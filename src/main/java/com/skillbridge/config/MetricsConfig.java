@@ -0,0 +1,21 @@
+package com.skillbridge.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics Configuration
+ * Enables @Timed on service classes. Timed services record "service.method" with class and
+ * method tags; percentiles and histogram buckets for it and for http.server.requests are set
+ * under management.metrics.distribution in application.yml.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,87 @@
+package com.skillbridge.config;
+
+import com.skillbridge.util.QueryBudget;
+import org.hibernate.Interceptor;
+import org.hibernate.SessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Query Budget Configuration
+ * Registers the Hibernate hooks that feed QueryBudget: a statement inspector (statements per
+ * SQL text), an interceptor (entities hydrated) and a session event listener (statement time)
+ */
+@Configuration
+public class QueryBudgetConfig {
+
+    @Value("${query-budget.enabled:true}")
+    private boolean enabled;
+
+    @Bean
+    public HibernatePropertiesCustomizer queryBudgetHibernateCustomizer() {
+        return hibernateProperties -> {
+            if (!enabled) {
+                return;
+            }
+            StatementCounter counter = new StatementCounter();
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+            hibernateProperties.put(AvailableSettings.INTERCEPTOR, counter);
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, StatementTimer.class.getName());
+        };
+    }
+
+    /**
+     * Counts prepared statements and hydrated entities; SQL is passed through unchanged
+     */
+    static class StatementCounter implements StatementInspector, Interceptor {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String inspect(String sql) {
+            QueryBudget.onStatement(sql);
+            return sql;
+        }
+
+        @Override
+        public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+            QueryBudget.onEntityLoaded();
+            return false;
+        }
+    }
+
+    /**
+     * Times statement and batch execution; Hibernate creates one instance per session
+     */
+    public static class StatementTimer implements SessionEventListener {
+
+        private static final long serialVersionUID = 1L;
+
+        private long executeStart;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            executeStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            QueryBudget.onStatementExecuted(System.nanoTime() - executeStart);
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            executeStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            QueryBudget.onStatementExecuted(System.nanoTime() - executeStart);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.skillbridge.config;
+
+import com.skillbridge.util.QueryBudget;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Query Budget Filter
+ * Counts the SQL statements, hydrated entities and statement time of each HTTP request and
+ * records them per controller handler (http.server.requests.sql.*). Logs a warning when a
+ * request goes over the statement budget or repeats the same SQL often enough to look like
+ * an N+1 loop. Requests slower than slow-request.threshold-ms are logged with their time
+ * broken down into DB, S3 and mail (at most slow-request.max-per-minute lines, so an outage
+ * does not flood the log). Runs before the security filters so token user lookups are counted.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${query-budget.enabled:true}")
+    private boolean enabled;
+
+    @Value("${query-budget.warn-statements:50}")
+    private int warnStatements;
+
+    @Value("${query-budget.warn-repeated-statements:10}")
+    private int warnRepeatedStatements;
+
+    @Value("${slow-request.threshold-ms:1000}")
+    private long slowRequestThresholdMs;
+
+    @Value("${slow-request.max-per-minute:30}")
+    private int slowRequestMaxPerMinute;
+
+    private final AtomicLong slowLogWindow = new AtomicLong();
+    private final AtomicInteger slowLogCount = new AtomicInteger();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        QueryBudget.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryBudget.Stats stats = QueryBudget.stop();
+            if (stats != null) {
+                String handler = handlerName(request);
+                record(handler, request, stats);
+                logIfSlow(handler, request, response, System.nanoTime() - start, stats);
+            }
+        }
+    }
+
+    void record(String handler, HttpServletRequest request, QueryBudget.Stats stats) {
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("http.server.requests.sql.entities")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getEntitiesLoaded());
+        Timer.builder("http.server.requests.sql.time")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getDbNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getStatements() > warnStatements) {
+            logger.warn("{} {} ({}) ran {} SQL statements, budget is {}",
+                    request.getMethod(), request.getRequestURI(), handler, stats.getStatements(), warnStatements);
+        }
+        Map.Entry<String, Integer> repeated = stats.getMostRepeatedStatement();
+        if (repeated != null && repeated.getValue() >= warnRepeatedStatements) {
+            logger.warn("Possible N+1 in {} {} ({}): same statement ran {} times: {}",
+                    request.getMethod(), request.getRequestURI(), handler, repeated.getValue(), repeated.getKey());
+        }
+    }
+
+    void logIfSlow(String handler, HttpServletRequest request, HttpServletResponse response,
+                   long elapsedNanos, QueryBudget.Stats stats) {
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (elapsedMs < slowRequestThresholdMs || !takeSlowLogSlot()) {
+            return;
+        }
+        StringBuilder breakdown = new StringBuilder();
+        long accountedNanos = stats.getDbNanos();
+        breakdown.append("db ").append(TimeUnit.NANOSECONDS.toMillis(stats.getDbNanos())).append(" ms (")
+                 .append(stats.getStatements()).append(" statements, ")
+                 .append(stats.getEntitiesLoaded()).append(" entities)");
+        for (String system : stats.getExternalSystems()) {
+            long nanos = stats.getExternalNanos(system);
+            accountedNanos += nanos;
+            breakdown.append(", ").append(system).append(" ").append(TimeUnit.NANOSECONDS.toMillis(nanos))
+                     .append(" ms (").append(stats.getExternalCalls(system)).append(" calls)");
+        }
+        breakdown.append(", other ").append(TimeUnit.NANOSECONDS.toMillis(Math.max(0, elapsedNanos - accountedNanos))).append(" ms");
+        logger.warn("Slow request {} {} ({}) -> {} in {} ms: {}",
+                request.getMethod(), request.getRequestURI(), handler, response.getStatus(), elapsedMs, breakdown);
+    }
+
+    private boolean takeSlowLogSlot() {
+        long minute = System.currentTimeMillis() / 60_000;
+        long window = slowLogWindow.get();
+        if (window != minute && slowLogWindow.compareAndSet(window, minute)) {
+            slowLogCount.set(0);
+        }
+        return slowLogCount.incrementAndGet() <= slowRequestMaxPerMinute;
+    }
+
+    /**
+     * Controller.method of the handler that served the request, "none" if no handler matched
+     */
+    static String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod method = (HandlerMethod) handler;
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return "none";
+    }
+}
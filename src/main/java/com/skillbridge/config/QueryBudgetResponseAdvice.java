@@ -0,0 +1,44 @@
+package com.skillbridge.config;
+
+import com.skillbridge.util.QueryBudget;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query Budget Response Advice
+ * Adds the request's SQL counters as response headers (X-Query-Count, X-Query-Entities,
+ * X-Query-Time-Ms) when query-budget.expose-header is on (dev only). Counters are taken just
+ * before the body is written, so lazy loads during serialization are only in the metrics.
+ */
+@ControllerAdvice
+public class QueryBudgetResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Value("${query-budget.expose-header:false}")
+    private boolean exposeHeader;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return exposeHeader;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryBudget.Stats stats = QueryBudget.current();
+        if (stats != null) {
+            response.getHeaders().set("X-Query-Count", String.valueOf(stats.getStatements()));
+            response.getHeaders().set("X-Query-Entities", String.valueOf(stats.getEntitiesLoaded()));
+            response.getHeaders().set("X-Query-Time-Ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.getDbNanos())));
+        }
+        return body;
+    }
+}
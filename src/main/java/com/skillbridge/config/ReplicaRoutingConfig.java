@@ -0,0 +1,80 @@
+package com.skillbridge.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Replica Routing Configuration
+ * Active when spring.datasource.replica.url is set. Builds the primary pool from the usual
+ * spring.datasource.* settings and a read-only replica pool from spring.datasource.replica.*
+ * (credentials default to the primary's), and exposes them as one DataSource that sends
+ * read-only transactions to the replica (see ReplicaRoutingDataSource).
+ * Without the property Spring Boot's single DataSource is used and nothing changes.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.datasource.replica", name = "url")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Value("${spring.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${spring.datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${spring.datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${spring.datasource.replica.read-your-writes-seconds:5}")
+    private long readYourWritesSeconds;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") HikariDataSource replicaDataSource) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primaryDataSource);
+        targets.put(ReplicaRoutingDataSource.REPLICA, replicaDataSource);
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(readYourWritesSeconds);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,92 @@
+package com.skillbridge.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replica Routing DataSource
+ * Sends connections of @Transactional(readOnly = true) work to the replica and everything else
+ * to the primary. A user's reads stay on the primary for read-your-writes-seconds after one of
+ * their transactions commits, so they see their own change even while the replica lags.
+ * Must sit behind a LazyConnectionDataSourceProxy: the connection is then fetched at the first
+ * statement, after Spring has marked the transaction read-only. Recent writes are kept per node.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    // Pruned on write once the map holds this many users
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final long readYourWritesNanos;
+
+    // User (authentication name) -> System.nanoTime() of their last committed write
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(long readYourWritesSeconds) {
+        this.readYourWritesNanos = TimeUnit.SECONDS.toNanos(readYourWritesSeconds);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return user != null && wroteRecently(user) ? PRIMARY : REPLICA;
+        }
+        if (user != null && TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(this)) {
+            // Once per transaction: remember the write when it commits
+            TransactionSynchronizationManager.bindResource(this, user);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordWrite(user);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReplicaRoutingDataSource.this);
+                }
+            });
+        }
+        return PRIMARY;
+    }
+
+    void recordWrite(String user) {
+        long now = System.nanoTime();
+        lastWrites.put(user, now);
+        if (lastWrites.size() > PRUNE_THRESHOLD) {
+            lastWrites.values().removeIf(time -> now - time >= readYourWritesNanos);
+        }
+    }
+
+    boolean wroteRecently(String user) {
+        Long time = lastWrites.get(user);
+        if (time == null) {
+            return false;
+        }
+        if (System.nanoTime() - time < readYourWritesNanos) {
+            return true;
+        }
+        lastWrites.remove(user, time);
+        return false;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
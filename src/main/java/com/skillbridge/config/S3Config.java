@@ -2,6 +2,7 @@ package com.skillbridge.config;
 
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import org.springframework.beans.factory.annotation.Value;
@@ -26,6 +27,12 @@ public class S3Config {
     @Value("${aws.region:ap-southeast-1}")
     private String region;
 
+    /**
+     * Optional endpoint of an S3-compatible store (e.g. MinIO or LocalStack for local testing)
+     */
+    @Value("${aws.s3.endpoint:}")
+    private String endpoint;
+
     @Bean
     public AmazonS3 amazonS3() {
         if (accessKeyId == null || accessKeyId.isEmpty() || secretAccessKey == null || secretAccessKey.isEmpty()) {
@@ -35,10 +42,16 @@ public class S3Config {
         }
 
         BasicAWSCredentials awsCredentials = new BasicAWSCredentials(accessKeyId, secretAccessKey);
-        return AmazonS3ClientBuilder.standard()
-                .withCredentials(new AWSStaticCredentialsProvider(awsCredentials))
-                .withRegion(region)
-                .build();
+        AmazonS3ClientBuilder builder = AmazonS3ClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(awsCredentials));
+        if (endpoint != null && !endpoint.isEmpty()) {
+            // Stand-ins serve buckets by path, not by virtual host
+            builder.withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, region))
+                    .withPathStyleAccessEnabled(true);
+        } else {
+            builder.withRegion(region);
+        }
+        return builder.build();
     }
 }
 
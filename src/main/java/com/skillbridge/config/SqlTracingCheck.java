@@ -0,0 +1,60 @@
+package com.skillbridge.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SQL Tracing Check
+ * Warns at startup when SQL statements or bind parameters are being printed/logged.
+ * Tracing writes every statement (and with TRACE every parameter) synchronously to the log,
+ * which costs more than many of the queries themselves; it is meant for dev only.
+ */
+@Component
+public class SqlTracingCheck {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlTracingCheck.class);
+
+    @Autowired
+    private Environment environment;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        List<String> enabled = findTracing();
+        if (!enabled.isEmpty()) {
+            logger.warn("SQL tracing is enabled ({}) with profiles {}; use the prod/perf profiles for load tests and production",
+                    String.join(", ", enabled), Arrays.toString(environment.getActiveProfiles()));
+        }
+    }
+
+    /**
+     * @return Description of each enabled tracing setting, empty if none
+     */
+    List<String> findTracing() {
+        List<String> enabled = new ArrayList<>();
+        if (environment.getProperty("spring.jpa.show-sql", Boolean.class, false)) {
+            enabled.add("spring.jpa.show-sql");
+        }
+        if (environment.getProperty("spring.jpa.properties.hibernate.format_sql", Boolean.class, false)) {
+            enabled.add("hibernate.format_sql");
+        }
+        if (LoggerFactory.getLogger("org.hibernate.SQL").isDebugEnabled()) {
+            enabled.add("org.hibernate.SQL=DEBUG");
+        }
+        if (LoggerFactory.getLogger("org.hibernate.orm.jdbc.bind").isTraceEnabled()) {
+            enabled.add("org.hibernate.orm.jdbc.bind=TRACE");
+        }
+        if (LoggerFactory.getLogger("org.hibernate.type.descriptor.sql.BasicBinder").isTraceEnabled()) {
+            enabled.add("BasicBinder=TRACE");
+        }
+        return enabled;
+    }
+}
@@ -2,6 +2,7 @@ package com.skillbridge.controller.api.engineer;
 
 import com.skillbridge.dto.engineer.request.SearchCriteria;
 import com.skillbridge.dto.engineer.response.EngineerSearchResponse;
+import com.skillbridge.dto.engineer.response.SkillGroupDTO;
 import com.skillbridge.service.engineer.EngineerSearchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -67,6 +68,15 @@ public class EngineerSearchController {
         return ResponseEntity.ok(skills);
     }
 
+    /**
+     * Get parent skills with their sub-skills for the skill filter
+     * GET /api/public/engineers/filters/skill-tree
+     */
+    @GetMapping("/filters/skill-tree")
+    public ResponseEntity<List<SkillGroupDTO>> getSkillTree() {
+        return ResponseEntity.ok(engineerSearchService.getSkillTree());
+    }
+
     /**
      * Get available locations for filter dropdown
      * GET /api/public/engineers/filters/locations
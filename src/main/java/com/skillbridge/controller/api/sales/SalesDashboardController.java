@@ -6,13 +6,16 @@ import com.skillbridge.dto.sales.response.SalesDashboardApprovalsDTO;
 import com.skillbridge.dto.sales.response.SalesDashboardSummaryDTO;
 import com.skillbridge.entity.auth.User;
 import com.skillbridge.repository.auth.UserRepository;
+import com.skillbridge.service.common.DashboardEventService;
 import com.skillbridge.service.sales.SalesDashboardService;
 import com.skillbridge.util.JwtTokenProvider;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Sales Dashboard Controller
@@ -29,6 +32,9 @@ public class SalesDashboardController {
     @Autowired
     private SalesDashboardService salesDashboardService;
 
+    @Autowired
+    private DashboardEventService dashboardEventService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -137,6 +143,34 @@ public class SalesDashboardController {
         }
     }
 
+    /**
+     * Stream dashboard updates (Server-Sent Events)
+     * GET /api/sales/dashboard/stream
+     * 
+     * Pushes counter deltas, new activity items and unread notification counts as they happen.
+     * Load the initial state from /summary and /activities and reload them on reconnect.
+     * The token can be sent as the "token" cookie since EventSource cannot set headers.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            Authentication authentication,
+            HttpServletRequest request
+    ) {
+        User currentUser = getCurrentUser(authentication, request);
+        
+        if (currentUser == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        // Check if user has sales role
+        String role = currentUser.getRole();
+        if (role == null || (!role.equals("SALES_MANAGER") && !role.equals("SALES_REP"))) {
+            return ResponseEntity.status(403).build();
+        }
+
+        return ResponseEntity.ok(dashboardEventService.subscribe(currentUser.getId()));
+    }
+
     /**
      * Get current user from authentication or JWT token
      */
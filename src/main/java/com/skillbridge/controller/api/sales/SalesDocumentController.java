@@ -1,9 +1,16 @@
 package com.skillbridge.controller.api.sales;
 
+import com.skillbridge.dto.common.AttachmentInfo;
+import com.skillbridge.dto.common.BatchPresignedUrlRequest;
+import com.skillbridge.dto.common.BatchPresignedUrlResponse;
+import com.skillbridge.dto.common.CompleteUploadsRequest;
+import com.skillbridge.dto.common.UploadSlotDTO;
+import com.skillbridge.dto.common.UploadSlotsRequest;
 import com.skillbridge.dto.sales.response.ErrorResponse;
 import com.skillbridge.dto.sales.response.PresignedUrlResponse;
 import com.skillbridge.entity.auth.User;
 import com.skillbridge.repository.auth.UserRepository;
+import com.skillbridge.service.common.DirectUploadService;
 import com.skillbridge.service.common.DocumentPermissionService;
 import com.skillbridge.service.common.S3Service;
 import com.skillbridge.util.JwtTokenProvider;
@@ -13,6 +20,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Sales Document Controller
  * Handles document access and presigned URL generation
@@ -24,12 +36,17 @@ import org.springframework.web.bind.annotation.*;
              maxAge = 3600)
 public class SalesDocumentController {
 
+    private static final int MAX_BATCH_KEYS = 100;
+
     @Autowired
     private S3Service s3Service;
 
     @Autowired
     private DocumentPermissionService documentPermissionService;
 
+    @Autowired
+    private DirectUploadService directUploadService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -72,6 +89,123 @@ public class SalesDocumentController {
         }
     }
 
+    /**
+     * Get presigned URLs for all documents of an attachment list in one call
+     * POST /sales/documents/presigned-urls
+     * Permissions are checked in one pass; keys the user may not access are returned in denied
+     */
+    @PostMapping("/presigned-urls")
+    public ResponseEntity<?> getPresignedUrls(
+            @RequestBody BatchPresignedUrlRequest batchRequest,
+            Authentication authentication,
+            HttpServletRequest request
+    ) {
+        User currentUser = getCurrentUser(authentication, request);
+
+        if (currentUser == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        String role = currentUser.getRole();
+        if (role == null || (!role.equals("SALES_MANAGER") && !role.equals("SALES_REP"))) {
+            return ResponseEntity.status(403).build();
+        }
+
+        List<String> s3Keys = batchRequest != null ? batchRequest.getS3Keys() : null;
+        if (s3Keys == null || s3Keys.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("s3Keys is required"));
+        }
+        if (s3Keys.size() > MAX_BATCH_KEYS) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("At most " + MAX_BATCH_KEYS + " keys per request"));
+        }
+
+        // Check permission for all keys at once
+        Set<String> permitted = documentPermissionService.getPermittedKeys(s3Keys, currentUser);
+
+        try {
+            List<PresignedUrlResponse> urls = new ArrayList<>();
+            List<String> denied = new ArrayList<>();
+            for (String s3Key : new LinkedHashSet<>(s3Keys)) {
+                if (s3Key == null) {
+                    continue;
+                }
+                if (permitted.contains(s3Key)) {
+                    // Generate presigned URL with 10 minutes expiration
+                    urls.add(new PresignedUrlResponse(s3Service.getPresignedUrl(s3Key, 10), s3Key, 10));
+                } else {
+                    denied.add(s3Key);
+                }
+            }
+            return ResponseEntity.ok(new BatchPresignedUrlResponse(urls, denied, 10));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(new ErrorResponse("Failed to generate presigned URLs: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Request presigned PUT URLs to upload attachments directly to S3
+     * POST /sales/documents/upload-slots
+     */
+    @PostMapping("/upload-slots")
+    public ResponseEntity<?> createUploadSlots(
+            @RequestBody UploadSlotsRequest slotsRequest,
+            Authentication authentication,
+            HttpServletRequest request
+    ) {
+        User currentUser = getCurrentUser(authentication, request);
+
+        if (currentUser == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        String role = currentUser.getRole();
+        if (role == null || (!role.equals("SALES_MANAGER") && !role.equals("SALES_REP"))) {
+            return ResponseEntity.status(403).build();
+        }
+
+        try {
+            List<UploadSlotDTO> slots = directUploadService.createSlots(
+                    slotsRequest.getEntityType(), slotsRequest.getEntityId(), slotsRequest.getFiles(), currentUser);
+            return ResponseEntity.ok(slots);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(400).body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(new ErrorResponse("Failed to create upload slots: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Record attachments uploaded through presigned PUT URLs
+     * POST /sales/documents/upload-complete
+     */
+    @PostMapping("/upload-complete")
+    public ResponseEntity<?> completeUploads(
+            @RequestBody CompleteUploadsRequest completeRequest,
+            Authentication authentication,
+            HttpServletRequest request
+    ) {
+        User currentUser = getCurrentUser(authentication, request);
+
+        if (currentUser == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        String role = currentUser.getRole();
+        if (role == null || (!role.equals("SALES_MANAGER") && !role.equals("SALES_REP"))) {
+            return ResponseEntity.status(403).build();
+        }
+
+        try {
+            List<AttachmentInfo> attachments = directUploadService.completeUploads(
+                    completeRequest.getEntityType(), completeRequest.getEntityId(), completeRequest.getS3Keys(), currentUser);
+            return ResponseEntity.ok(attachments);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(400).body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(new ErrorResponse("Failed to complete uploads: " + e.getMessage()));
+        }
+    }
+
     /**
      * Delete document (only admin or owner)
      * DELETE /sales/documents/{s3Key}
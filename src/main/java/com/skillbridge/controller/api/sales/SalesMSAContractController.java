@@ -7,13 +7,12 @@ import com.skillbridge.dto.sales.response.MSAContractDTO;
 import com.skillbridge.dto.sales.response.MSAContractDetailDTO;
 import com.skillbridge.dto.sales.response.ChangeRequestResponseDTO;
 import com.skillbridge.dto.sales.response.SalesChangeRequestDetailDTO;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import com.skillbridge.entity.auth.User;
 import com.skillbridge.repository.auth.UserRepository;
 import com.skillbridge.service.sales.SalesMSAContractService;
+import com.skillbridge.service.sales.ContractDetailReadModelService;
+import com.skillbridge.util.JsonCodec;
 import com.skillbridge.util.JwtTokenProvider;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,13 +37,17 @@ public class SalesMSAContractController {
     @Autowired
     private SalesMSAContractService contractService;
     
+    @Autowired
+    private ContractDetailReadModelService contractDetailReadModelService;
+    
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
     
-    private final Gson gson = new Gson();
+    @Autowired
+    private JsonCodec jsonCodec;
     
     /**
      * Create MSA contract
@@ -184,7 +187,7 @@ public class SalesMSAContractController {
         }
         
         try {
-            MSAContractDetailDTO contract = contractService.getMSAContractDetail(contractId, currentUser);
+            MSAContractDetailDTO contract = contractDetailReadModelService.getMSAContractDetail(contractId, currentUser);
             return ResponseEntity.ok(contract);
         } catch (RuntimeException e) {
             return ResponseEntity.status(400).body(new ErrorResponse(e.getMessage()));
@@ -464,8 +467,7 @@ public class SalesMSAContractController {
             // Parse JSON strings to objects
             if (engagedEngineers != null && !engagedEngineers.trim().isEmpty()) {
                 try {
-                    Type engineerListType = new TypeToken<List<CreateChangeRequestRequest.EngagedEngineerDTO>>(){}.getType();
-                    List<CreateChangeRequestRequest.EngagedEngineerDTO> engineersList = gson.fromJson(engagedEngineers, engineerListType);
+                    List<CreateChangeRequestRequest.EngagedEngineerDTO> engineersList = jsonCodec.readList(engagedEngineers, CreateChangeRequestRequest.EngagedEngineerDTO.class);
                     createRequest.setEngagedEngineers(engineersList != null ? engineersList : new ArrayList<>());
                 } catch (Exception e) {
                     return ResponseEntity.status(400).body(new ErrorResponse("Invalid engagedEngineers JSON: " + e.getMessage()));
@@ -476,8 +478,7 @@ public class SalesMSAContractController {
             
             if (billingDetails != null && !billingDetails.trim().isEmpty()) {
                 try {
-                    Type billingDetailListType = new TypeToken<List<CreateChangeRequestRequest.BillingDetailDTO>>(){}.getType();
-                    List<CreateChangeRequestRequest.BillingDetailDTO> billingDetailsList = gson.fromJson(billingDetails, billingDetailListType);
+                    List<CreateChangeRequestRequest.BillingDetailDTO> billingDetailsList = jsonCodec.readList(billingDetails, CreateChangeRequestRequest.BillingDetailDTO.class);
                     createRequest.setBillingDetails(billingDetailsList != null ? billingDetailsList : new ArrayList<>());
                 } catch (Exception e) {
                     return ResponseEntity.status(400).body(new ErrorResponse("Invalid billingDetails JSON: " + e.getMessage()));
@@ -574,16 +575,14 @@ public class SalesMSAContractController {
             
             // Parse JSON strings
             if (engagedEngineers != null && !engagedEngineers.trim().isEmpty()) {
-                Type engineerListType = new TypeToken<List<CreateChangeRequestRequest.EngagedEngineerDTO>>(){}.getType();
-                List<CreateChangeRequestRequest.EngagedEngineerDTO> engineersList = gson.fromJson(engagedEngineers, engineerListType);
+                List<CreateChangeRequestRequest.EngagedEngineerDTO> engineersList = jsonCodec.readList(engagedEngineers, CreateChangeRequestRequest.EngagedEngineerDTO.class);
                 updateRequest.setEngagedEngineers(engineersList != null ? engineersList : new ArrayList<>());
             } else {
                 updateRequest.setEngagedEngineers(new ArrayList<>());
             }
             
             if (billingDetails != null && !billingDetails.trim().isEmpty()) {
-                Type billingDetailListType = new TypeToken<List<CreateChangeRequestRequest.BillingDetailDTO>>(){}.getType();
-                List<CreateChangeRequestRequest.BillingDetailDTO> billingDetailsList = gson.fromJson(billingDetails, billingDetailListType);
+                List<CreateChangeRequestRequest.BillingDetailDTO> billingDetailsList = jsonCodec.readList(billingDetails, CreateChangeRequestRequest.BillingDetailDTO.class);
                 updateRequest.setBillingDetails(billingDetailsList != null ? billingDetailsList : new ArrayList<>());
             } else {
                 updateRequest.setBillingDetails(new ArrayList<>());
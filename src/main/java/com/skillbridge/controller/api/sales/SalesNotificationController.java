@@ -0,0 +1,230 @@
+package com.skillbridge.controller.api.sales;
+
+import com.skillbridge.dto.common.MarkNotificationsReadRequest;
+import com.skillbridge.dto.common.NotificationInboxDTO;
+import com.skillbridge.dto.sales.response.ErrorResponse;
+import com.skillbridge.entity.auth.User;
+import com.skillbridge.repository.auth.UserRepository;
+import com.skillbridge.service.common.NotificationService;
+import com.skillbridge.util.JwtTokenProvider;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sales Notification Controller
+ * In-app notification inbox for Sales Portal users
+ * Note: context-path is /api, so full path will be /api/sales/notifications
+ */
+@RestController
+@RequestMapping("/sales/notifications")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001", "http://localhost:4200"}, 
+             allowCredentials = "true",
+             maxAge = 3600)
+public class SalesNotificationController {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    /**
+     * Get latest notifications and unread count
+     * GET /api/sales/notifications?limit=20
+     */
+    @GetMapping
+    public ResponseEntity<?> getInbox(
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication,
+            HttpServletRequest request
+    ) {
+        User currentUser = getCurrentUser(authentication, request);
+        ResponseEntity<?> denied = checkAccess(currentUser);
+        if (denied != null) {
+            return denied;
+        }
+
+        try {
+            NotificationInboxDTO inbox = notificationService.getInbox(currentUser.getId(), limit);
+            return ResponseEntity.ok(inbox);
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                .body(new ErrorResponse("Failed to get notifications: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Get unread notification count (badge)
+     * GET /api/sales/notifications/unread-count
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<?> getUnreadCount(
+            Authentication authentication,
+            HttpServletRequest request
+    ) {
+        User currentUser = getCurrentUser(authentication, request);
+        ResponseEntity<?> denied = checkAccess(currentUser);
+        if (denied != null) {
+            return denied;
+        }
+
+        try {
+            Map<String, Integer> response = new HashMap<>();
+            response.put("unreadCount", notificationService.getUnreadCount(currentUser.getId()));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                .body(new ErrorResponse("Failed to get unread count: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Long-poll for new notifications
+     * GET /api/sales/notifications/poll?after={lastId}
+     * 
+     * Returns as soon as there are notifications newer than "after", or with an empty list
+     * after the long-poll timeout. The request does not hold a servlet thread while waiting.
+     */
+    @GetMapping("/poll")
+    public DeferredResult<ResponseEntity<?>> poll(
+            @RequestParam(required = false) Long after,
+            Authentication authentication,
+            HttpServletRequest request
+    ) {
+        User currentUser = getCurrentUser(authentication, request);
+        ResponseEntity<?> denied = checkAccess(currentUser);
+        if (denied != null) {
+            DeferredResult<ResponseEntity<?>> result = new DeferredResult<>();
+            result.setResult(denied);
+            return result;
+        }
+
+        return notificationService.waitForNotifications(currentUser.getId(), after, ResponseEntity::ok);
+    }
+
+    /**
+     * Mark notifications as read
+     * POST /api/sales/notifications/read
+     */
+    @PostMapping("/read")
+    public ResponseEntity<?> markRead(
+            @RequestBody MarkNotificationsReadRequest readRequest,
+            Authentication authentication,
+            HttpServletRequest request
+    ) {
+        User currentUser = getCurrentUser(authentication, request);
+        ResponseEntity<?> denied = checkAccess(currentUser);
+        if (denied != null) {
+            return denied;
+        }
+
+        try {
+            Map<String, Integer> response = new HashMap<>();
+            response.put("unreadCount", notificationService.markRead(currentUser.getId(), readRequest.getIds()));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                .body(new ErrorResponse("Failed to mark notifications as read: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Mark all notifications as read
+     * POST /api/sales/notifications/read-all
+     */
+    @PostMapping("/read-all")
+    public ResponseEntity<?> markAllRead(
+            Authentication authentication,
+            HttpServletRequest request
+    ) {
+        User currentUser = getCurrentUser(authentication, request);
+        ResponseEntity<?> denied = checkAccess(currentUser);
+        if (denied != null) {
+            return denied;
+        }
+
+        try {
+            notificationService.markAllRead(currentUser.getId());
+            Map<String, Integer> response = new HashMap<>();
+            response.put("unreadCount", 0);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                .body(new ErrorResponse("Failed to mark notifications as read: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Check that the user is logged in and has a sales role
+     * @return Error response, or null if access is allowed
+     */
+    private ResponseEntity<?> checkAccess(User currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        // Check if user has sales role
+        String role = currentUser.getRole();
+        if (role == null || (!role.equals("SALES_MANAGER") && !role.equals("SALES_REP"))) {
+            return ResponseEntity.status(403).build();
+        }
+        return null;
+    }
+
+    /**
+     * Get current user from authentication or JWT token
+     */
+    private User getCurrentUser(Authentication authentication, HttpServletRequest request) {
+        // Try to get user from authentication first
+        if (authentication != null && authentication.isAuthenticated()) {
+            String username = authentication.getName();
+            return userRepository.findByEmail(username).orElse(null);
+        }
+
+        // Fallback to JWT token from request
+        String token = extractTokenFromRequest(request);
+        if (token != null) {
+            String username = jwtTokenProvider.getUsernameFromToken(token);
+            User user = userRepository.findByEmail(username).orElse(null);
+            if (user != null && jwtTokenProvider.validateToken(token, user)) {
+                return user;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Extract JWT token from request header or cookie
+     */
+    private String extractTokenFromRequest(HttpServletRequest request) {
+        // Try Authorization header first
+        String bearerToken = request.getHeader("Authorization");
+        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+
+        // Try cookie
+        jakarta.servlet.http.Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (jakarta.servlet.http.Cookie cookie : cookies) {
+                if ("token".equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+
+        return null;
+    }
+}
+
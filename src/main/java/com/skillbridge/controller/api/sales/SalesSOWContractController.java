@@ -1,22 +1,25 @@
 package com.skillbridge.controller.api.sales;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.skillbridge.dto.sales.request.CreateSOWRequest;
 import com.skillbridge.dto.sales.request.SubmitReviewRequest;
 import com.skillbridge.dto.sales.request.CreateChangeRequestRequest;
 import com.skillbridge.dto.sales.response.SOWContractDTO;
 import com.skillbridge.dto.sales.response.SOWContractDetailDTO;
+import com.skillbridge.dto.sales.response.SOWContractVersionDTO;
 import com.skillbridge.dto.sales.response.ChangeRequestsListResponseDTO;
 import com.skillbridge.dto.sales.response.ChangeRequestResponseDTO;
 import com.skillbridge.dto.sales.response.SalesChangeRequestDetailDTO;
+import com.skillbridge.dto.sales.response.ChangeRequestApprovalStatusDTO;
 import com.skillbridge.entity.auth.User;
 import com.skillbridge.repository.auth.UserRepository;
 import com.skillbridge.service.sales.SalesSOWContractService;
 import com.skillbridge.service.sales.SOWBaselineService;
 import com.skillbridge.service.sales.CREventService;
 import com.skillbridge.service.sales.ContractAppendixService;
+import com.skillbridge.service.sales.CRApprovalPipelineService;
+import com.skillbridge.service.sales.ContractDetailReadModelService;
 import com.skillbridge.entity.contract.ContractAppendix;
+import com.skillbridge.util.JsonCodec;
 import com.skillbridge.util.JwtTokenProvider;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,7 +28,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -59,7 +61,14 @@ public class SalesSOWContractController {
     @Autowired
     private ContractAppendixService contractAppendixService;
     
-    private final Gson gson = new Gson();
+    @Autowired
+    private CRApprovalPipelineService crApprovalPipelineService;
+    
+    @Autowired
+    private ContractDetailReadModelService contractDetailReadModelService;
+    
+    @Autowired
+    private JsonCodec jsonCodec;
     
     /**
      * Create SOW contract
@@ -149,8 +158,7 @@ public class SalesSOWContractController {
             // Parse JSON strings to objects
             if (deliveryItems != null && !deliveryItems.trim().isEmpty()) {
                 try {
-                    Type deliveryItemListType = new TypeToken<List<CreateSOWRequest.DeliveryItemDTO>>(){}.getType();
-                    List<CreateSOWRequest.DeliveryItemDTO> deliveryItemsList = gson.fromJson(deliveryItems, deliveryItemListType);
+                    List<CreateSOWRequest.DeliveryItemDTO> deliveryItemsList = jsonCodec.readList(deliveryItems, CreateSOWRequest.DeliveryItemDTO.class);
                     createRequest.setDeliveryItems(deliveryItemsList != null ? deliveryItemsList : new ArrayList<>());
                 } catch (Exception e) {
                     return ResponseEntity.status(400).body(new ErrorResponse("Invalid deliveryItems JSON: " + e.getMessage()));
@@ -162,8 +170,7 @@ public class SalesSOWContractController {
             // Parse engagedEngineers JSON string
             if (engagedEngineers != null && !engagedEngineers.trim().isEmpty()) {
                 try {
-                    Type engagedEngineerListType = new TypeToken<List<CreateSOWRequest.EngagedEngineerDTO>>(){}.getType();
-                    List<CreateSOWRequest.EngagedEngineerDTO> engagedEngineersList = gson.fromJson(engagedEngineers, engagedEngineerListType);
+                    List<CreateSOWRequest.EngagedEngineerDTO> engagedEngineersList = jsonCodec.readList(engagedEngineers, CreateSOWRequest.EngagedEngineerDTO.class);
                     
                     // Validate Engaged Engineer dates for Retainer type
                     if ("Retainer".equals(engagementType) && engagedEngineersList != null) {
@@ -197,8 +204,7 @@ public class SalesSOWContractController {
             
             if (milestoneDeliverables != null && !milestoneDeliverables.trim().isEmpty()) {
                 try {
-                    Type milestoneListType = new TypeToken<List<CreateSOWRequest.MilestoneDeliverableDTO>>(){}.getType();
-                    List<CreateSOWRequest.MilestoneDeliverableDTO> milestonesList = gson.fromJson(milestoneDeliverables, milestoneListType);
+                    List<CreateSOWRequest.MilestoneDeliverableDTO> milestonesList = jsonCodec.readList(milestoneDeliverables, CreateSOWRequest.MilestoneDeliverableDTO.class);
                     createRequest.setMilestoneDeliverables(milestonesList != null ? milestonesList : new ArrayList<>());
                 } catch (Exception e) {
                     return ResponseEntity.status(400).body(new ErrorResponse("Invalid milestoneDeliverables JSON: " + e.getMessage()));
@@ -209,8 +215,7 @@ public class SalesSOWContractController {
             
             if (billingDetails != null && !billingDetails.trim().isEmpty()) {
                 try {
-                    Type billingDetailListType = new TypeToken<List<CreateSOWRequest.BillingDetailDTO>>(){}.getType();
-                    List<CreateSOWRequest.BillingDetailDTO> billingDetailsList = gson.fromJson(billingDetails, billingDetailListType);
+                    List<CreateSOWRequest.BillingDetailDTO> billingDetailsList = jsonCodec.readList(billingDetails, CreateSOWRequest.BillingDetailDTO.class);
                     createRequest.setBillingDetails(billingDetailsList != null ? billingDetailsList : new ArrayList<>());
                 } catch (Exception e) {
                     return ResponseEntity.status(400).body(new ErrorResponse("Invalid billingDetails JSON: " + e.getMessage()));
@@ -293,7 +298,7 @@ public class SalesSOWContractController {
         }
         
         try {
-            SOWContractDetailDTO detail = contractService.getSOWContractDetail(contractId, currentUser);
+            SOWContractDetailDTO detail = contractDetailReadModelService.getSOWContractDetail(contractId, currentUser);
             return ResponseEntity.ok(detail);
         } catch (RuntimeException e) {
             return ResponseEntity.status(400).body(new ErrorResponse(e.getMessage()));
@@ -332,6 +337,67 @@ public class SalesSOWContractController {
         }
     }
     
+    /**
+     * Get version history of a SOW contract (changed fields per version)
+     * GET /sales/contracts/sow/{contractId}/version-history
+     */
+    @GetMapping("/{contractId}/version-history")
+    public ResponseEntity<?> getSOWContractVersionHistory(
+        @PathVariable Integer contractId,
+        Authentication authentication,
+        HttpServletRequest request
+    ) {
+        User currentUser = getCurrentUser(authentication, request);
+        if (currentUser == null) {
+            return ResponseEntity.status(401).build();
+        }
+        
+        String role = currentUser.getRole();
+        if (role == null || (!role.equals("SALES_MANAGER") && !role.equals("SALES_REP"))) {
+            return ResponseEntity.status(403).build();
+        }
+        
+        try {
+            List<SOWContractVersionDTO> history = contractService.getSOWContractVersionHistory(contractId, currentUser);
+            return ResponseEntity.ok(history);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(400).body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(new ErrorResponse("Failed to get SOW contract version history: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Get one version of a SOW contract with all field values
+     * GET /sales/contracts/sow/{contractId}/version-history/{version}
+     */
+    @GetMapping("/{contractId}/version-history/{version}")
+    public ResponseEntity<?> getSOWContractVersion(
+        @PathVariable Integer contractId,
+        @PathVariable Integer version,
+        Authentication authentication,
+        HttpServletRequest request
+    ) {
+        User currentUser = getCurrentUser(authentication, request);
+        if (currentUser == null) {
+            return ResponseEntity.status(401).build();
+        }
+        
+        String role = currentUser.getRole();
+        if (role == null || (!role.equals("SALES_MANAGER") && !role.equals("SALES_REP"))) {
+            return ResponseEntity.status(403).build();
+        }
+        
+        try {
+            SOWContractVersionDTO versionDTO = contractService.getSOWContractVersion(contractId, version, currentUser);
+            return ResponseEntity.ok(versionDTO);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(400).body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(new ErrorResponse("Failed to get SOW contract version: " + e.getMessage()));
+        }
+    }
+    
     /**
      * Update SOW contract (for Request_for_Change status - allows updating Engaged Engineers and Billing Details)
      * PUT /sales/contracts/sow/{contractId}
@@ -403,8 +469,7 @@ public class SalesSOWContractController {
             
             // Parse engagedEngineers if provided
             if (engagedEngineers != null && !engagedEngineers.trim().isEmpty()) {
-                Type engagedEngineerListType = new TypeToken<List<CreateSOWRequest.EngagedEngineerDTO>>(){}.getType();
-                List<CreateSOWRequest.EngagedEngineerDTO> engagedEngineersList = gson.fromJson(engagedEngineers, engagedEngineerListType);
+                List<CreateSOWRequest.EngagedEngineerDTO> engagedEngineersList = jsonCodec.readList(engagedEngineers, CreateSOWRequest.EngagedEngineerDTO.class);
                 updateRequest.setEngagedEngineers(engagedEngineersList != null ? engagedEngineersList : new ArrayList<>());
             } else {
                 updateRequest.setEngagedEngineers(new ArrayList<>());
@@ -413,8 +478,7 @@ public class SalesSOWContractController {
             // Parse milestoneDeliverables if provided (for Fixed Price)
             if (milestoneDeliverables != null && !milestoneDeliverables.trim().isEmpty()) {
                 try {
-                    Type milestoneListType = new TypeToken<List<CreateSOWRequest.MilestoneDeliverableDTO>>(){}.getType();
-                    List<CreateSOWRequest.MilestoneDeliverableDTO> milestonesList = gson.fromJson(milestoneDeliverables, milestoneListType);
+                    List<CreateSOWRequest.MilestoneDeliverableDTO> milestonesList = jsonCodec.readList(milestoneDeliverables, CreateSOWRequest.MilestoneDeliverableDTO.class);
                     updateRequest.setMilestoneDeliverables(milestonesList != null ? milestonesList : new ArrayList<>());
                 } catch (Exception e) {
                     return ResponseEntity.status(400).body(new ErrorResponse("Invalid milestoneDeliverables JSON: " + e.getMessage()));
@@ -425,8 +489,7 @@ public class SalesSOWContractController {
             
             // Parse billingDetails if provided
             if (billingDetails != null && !billingDetails.trim().isEmpty()) {
-                Type billingDetailListType = new TypeToken<List<CreateSOWRequest.BillingDetailDTO>>(){}.getType();
-                List<CreateSOWRequest.BillingDetailDTO> billingDetailsList = gson.fromJson(billingDetails, billingDetailListType);
+                List<CreateSOWRequest.BillingDetailDTO> billingDetailsList = jsonCodec.readList(billingDetails, CreateSOWRequest.BillingDetailDTO.class);
                 updateRequest.setBillingDetails(billingDetailsList != null ? billingDetailsList : new ArrayList<>());
             } else {
                 updateRequest.setBillingDetails(new ArrayList<>());
@@ -592,8 +655,7 @@ public class SalesSOWContractController {
             // Parse JSON strings to objects
             if (engagedEngineers != null && !engagedEngineers.trim().isEmpty()) {
                 try {
-                    Type engineerListType = new TypeToken<List<CreateChangeRequestRequest.EngagedEngineerDTO>>(){}.getType();
-                    List<CreateChangeRequestRequest.EngagedEngineerDTO> engineersList = gson.fromJson(engagedEngineers, engineerListType);
+                    List<CreateChangeRequestRequest.EngagedEngineerDTO> engineersList = jsonCodec.readList(engagedEngineers, CreateChangeRequestRequest.EngagedEngineerDTO.class);
                     createRequest.setEngagedEngineers(engineersList != null ? engineersList : new ArrayList<>());
                 } catch (Exception e) {
                     return ResponseEntity.status(400).body(new ErrorResponse("Invalid engagedEngineers JSON: " + e.getMessage()));
@@ -604,8 +666,7 @@ public class SalesSOWContractController {
             
             if (billingDetails != null && !billingDetails.trim().isEmpty()) {
                 try {
-                    Type billingDetailListType = new TypeToken<List<CreateChangeRequestRequest.BillingDetailDTO>>(){}.getType();
-                    List<CreateChangeRequestRequest.BillingDetailDTO> billingDetailsList = gson.fromJson(billingDetails, billingDetailListType);
+                    List<CreateChangeRequestRequest.BillingDetailDTO> billingDetailsList = jsonCodec.readList(billingDetails, CreateChangeRequestRequest.BillingDetailDTO.class);
                     createRequest.setBillingDetails(billingDetailsList != null ? billingDetailsList : new ArrayList<>());
                 } catch (Exception e) {
                     return ResponseEntity.status(400).body(new ErrorResponse("Invalid billingDetails JSON: " + e.getMessage()));
@@ -617,7 +678,7 @@ public class SalesSOWContractController {
             // Parse impact analysis (for Fixed Price)
             if (impactAnalysis != null && !impactAnalysis.trim().isEmpty()) {
                 try {
-                    CreateChangeRequestRequest.ImpactAnalysisDTO impactAnalysisDTO = gson.fromJson(impactAnalysis, CreateChangeRequestRequest.ImpactAnalysisDTO.class);
+                    CreateChangeRequestRequest.ImpactAnalysisDTO impactAnalysisDTO = jsonCodec.read(impactAnalysis, CreateChangeRequestRequest.ImpactAnalysisDTO.class);
                     createRequest.setImpactAnalysis(impactAnalysisDTO);
                 } catch (Exception e) {
                     return ResponseEntity.status(400).body(new ErrorResponse("Invalid impactAnalysis JSON: " + e.getMessage()));
@@ -711,16 +772,14 @@ public class SalesSOWContractController {
             updateRequest.setComment(comment);
             
             if (engagedEngineers != null && !engagedEngineers.trim().isEmpty()) {
-                Type engineerListType = new TypeToken<List<CreateChangeRequestRequest.EngagedEngineerDTO>>(){}.getType();
-                List<CreateChangeRequestRequest.EngagedEngineerDTO> engineersList = gson.fromJson(engagedEngineers, engineerListType);
+                List<CreateChangeRequestRequest.EngagedEngineerDTO> engineersList = jsonCodec.readList(engagedEngineers, CreateChangeRequestRequest.EngagedEngineerDTO.class);
                 updateRequest.setEngagedEngineers(engineersList != null ? engineersList : new ArrayList<>());
             } else {
                 updateRequest.setEngagedEngineers(new ArrayList<>());
             }
             
             if (billingDetails != null && !billingDetails.trim().isEmpty()) {
-                Type billingDetailListType = new TypeToken<List<CreateChangeRequestRequest.BillingDetailDTO>>(){}.getType();
-                List<CreateChangeRequestRequest.BillingDetailDTO> billingDetailsList = gson.fromJson(billingDetails, billingDetailListType);
+                List<CreateChangeRequestRequest.BillingDetailDTO> billingDetailsList = jsonCodec.readList(billingDetails, CreateChangeRequestRequest.BillingDetailDTO.class);
                 updateRequest.setBillingDetails(billingDetailsList != null ? billingDetailsList : new ArrayList<>());
             } else {
                 updateRequest.setBillingDetails(new ArrayList<>());
@@ -729,7 +788,7 @@ public class SalesSOWContractController {
             // Parse impact analysis (for Fixed Price)
             if (impactAnalysis != null && !impactAnalysis.trim().isEmpty()) {
                 try {
-                    CreateChangeRequestRequest.ImpactAnalysisDTO impactAnalysisDTO = gson.fromJson(impactAnalysis, CreateChangeRequestRequest.ImpactAnalysisDTO.class);
+                    CreateChangeRequestRequest.ImpactAnalysisDTO impactAnalysisDTO = jsonCodec.read(impactAnalysis, CreateChangeRequestRequest.ImpactAnalysisDTO.class);
                     updateRequest.setImpactAnalysis(impactAnalysisDTO);
                 } catch (Exception e) {
                     return ResponseEntity.status(400).body(new ErrorResponse("Invalid impactAnalysis JSON: " + e.getMessage()));
@@ -832,6 +891,69 @@ public class SalesSOWContractController {
         }
     }
     
+    /**
+     * Get background approval pipeline status (stage, attempts, per-stage timings)
+     * GET /sales/contracts/sow/{sowContractId}/change-requests/{changeRequestId}/approval-status
+     */
+    @GetMapping("/{sowContractId}/change-requests/{changeRequestId}/approval-status")
+    public ResponseEntity<?> getChangeRequestApprovalStatus(
+        @PathVariable Integer sowContractId,
+        @PathVariable Integer changeRequestId,
+        Authentication authentication,
+        HttpServletRequest request
+    ) {
+        User currentUser = getCurrentUser(authentication, request);
+        if (currentUser == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        String role = currentUser.getRole();
+        if (role == null || (!role.equals("SALES_MANAGER") && !role.equals("SALES_REP"))) {
+            return ResponseEntity.status(403).build();
+        }
+
+        try {
+            ChangeRequestApprovalStatusDTO status = crApprovalPipelineService.getApprovalStatus(changeRequestId);
+            if (status == null) {
+                return ResponseEntity.status(404).body(new ErrorResponse("No approval job found for change request"));
+            }
+            return ResponseEntity.ok(status);
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(new ErrorResponse("Failed to get approval status: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Re-queue a FAILED approval pipeline job
+     * POST /sales/contracts/sow/{sowContractId}/change-requests/{changeRequestId}/approval-status/retry
+     */
+    @PostMapping("/{sowContractId}/change-requests/{changeRequestId}/approval-status/retry")
+    public ResponseEntity<?> retryChangeRequestApproval(
+        @PathVariable Integer sowContractId,
+        @PathVariable Integer changeRequestId,
+        Authentication authentication,
+        HttpServletRequest request
+    ) {
+        User currentUser = getCurrentUser(authentication, request);
+        if (currentUser == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        String role = currentUser.getRole();
+        if (role == null || !role.equals("SALES_MANAGER")) {
+            return ResponseEntity.status(403).build();
+        }
+
+        try {
+            crApprovalPipelineService.retryFailedJob(changeRequestId);
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(400).body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(new ErrorResponse("Failed to retry approval: " + e.getMessage()));
+        }
+    }
+    
     /**
      * Reject change request without applying changes (for Retainer SOW)
      * POST /sales/contracts/sow/{sowContractId}/change-requests/{changeRequestId}/reject
@@ -1,13 +1,16 @@
 package com.skillbridge.controller.client.dashboard;
 
 import com.skillbridge.dto.dashboard.response.*;
+import com.skillbridge.service.common.DashboardEventService;
 import com.skillbridge.service.dashboard.DashboardService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Client Dashboard Controller
@@ -23,6 +26,9 @@ public class ClientDashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private DashboardEventService dashboardEventService;
+
     /**
      * Get dashboard summary statistics
      * GET /api/client/dashboard/summary
@@ -116,5 +122,33 @@ public class ClientDashboardController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
 
+    /**
+     * Stream dashboard updates (Server-Sent Events)
+     * GET /api/client/dashboard/stream
+     * 
+     * Pushes counter deltas and new activity items as they happen; load the initial state
+     * from /summary and /activities and reload them when the stream reconnects.
+     * 
+     * Headers:
+     * - X-User-Id: {userId} (for now, should be replaced with JWT extraction)
+     * 
+     * Query parameters:
+     * - userId: same as X-User-Id, for EventSource clients that cannot set headers
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+        @RequestHeader(value = "X-User-Id", required = false) Integer userId,
+        @RequestParam(value = "userId", required = false) Integer userIdParam
+    ) {
+        if (userId == null) {
+            userId = userIdParam;
+        }
+        if (userId == null) {
+            logger.warn("X-User-Id header is missing");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(dashboardEventService.subscribe(userId));
+    }
+}
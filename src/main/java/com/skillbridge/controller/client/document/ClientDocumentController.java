@@ -1,5 +1,7 @@
 package com.skillbridge.controller.client.document;
 
+import com.skillbridge.dto.common.BatchPresignedUrlRequest;
+import com.skillbridge.dto.common.BatchPresignedUrlResponse;
 import com.skillbridge.dto.sales.response.ErrorResponse;
 import com.skillbridge.dto.sales.response.PresignedUrlResponse;
 import com.skillbridge.entity.auth.User;
@@ -13,6 +15,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Client Document Controller
  * Handles document access and presigned URL generation for client users
@@ -24,6 +31,8 @@ import org.springframework.web.bind.annotation.*;
              maxAge = 3600)
 public class ClientDocumentController {
 
+    private static final int MAX_BATCH_KEYS = 100;
+
     @Autowired
     private S3Service s3Service;
 
@@ -72,6 +81,59 @@ public class ClientDocumentController {
         }
     }
 
+    /**
+     * Get presigned URLs for all documents of an attachment list in one call
+     * POST /client/documents/presigned-urls
+     * Permissions are checked in one pass; keys the user may not access are returned in denied
+     */
+    @PostMapping("/presigned-urls")
+    public ResponseEntity<?> getPresignedUrls(
+            @RequestBody BatchPresignedUrlRequest batchRequest,
+            Authentication authentication,
+            HttpServletRequest request
+    ) {
+        User currentUser = getCurrentUser(authentication, request);
+
+        if (currentUser == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        String role = currentUser.getRole();
+        if (role == null || (!role.equals("CLIENT") && !role.equals("CLIENT_USER"))) {
+            return ResponseEntity.status(403).build();
+        }
+
+        List<String> s3Keys = batchRequest != null ? batchRequest.getS3Keys() : null;
+        if (s3Keys == null || s3Keys.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("s3Keys is required"));
+        }
+        if (s3Keys.size() > MAX_BATCH_KEYS) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("At most " + MAX_BATCH_KEYS + " keys per request"));
+        }
+
+        // Check permission for all keys at once
+        Set<String> permitted = documentPermissionService.getPermittedKeys(s3Keys, currentUser);
+
+        try {
+            List<PresignedUrlResponse> urls = new ArrayList<>();
+            List<String> denied = new ArrayList<>();
+            for (String s3Key : new LinkedHashSet<>(s3Keys)) {
+                if (s3Key == null) {
+                    continue;
+                }
+                if (permitted.contains(s3Key)) {
+                    // Generate presigned URL with 10 minutes expiration
+                    urls.add(new PresignedUrlResponse(s3Service.getPresignedUrl(s3Key, 10), s3Key, 10));
+                } else {
+                    denied.add(s3Key);
+                }
+            }
+            return ResponseEntity.ok(new BatchPresignedUrlResponse(urls, denied, 10));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(new ErrorResponse("Failed to generate presigned URLs: " + e.getMessage()));
+        }
+    }
+
     /**
      * Get current user from authentication or JWT token
      */
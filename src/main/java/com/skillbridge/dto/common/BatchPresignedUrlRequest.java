@@ -0,0 +1,23 @@
+package com.skillbridge.dto.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch Presigned URL Request
+ * S3 keys of the documents of an attachment list
+ */
+public class BatchPresignedUrlRequest {
+    private List<String> s3Keys = new ArrayList<>();
+
+    public BatchPresignedUrlRequest() {
+    }
+
+    public List<String> getS3Keys() {
+        return s3Keys;
+    }
+
+    public void setS3Keys(List<String> s3Keys) {
+        this.s3Keys = s3Keys;
+    }
+}
@@ -0,0 +1,49 @@
+package com.skillbridge.dto.common;
+
+import com.skillbridge.dto.sales.response.PresignedUrlResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch Presigned URL Response
+ * Signed URLs for the permitted keys and the keys the user may not access
+ */
+public class BatchPresignedUrlResponse {
+    private List<PresignedUrlResponse> urls = new ArrayList<>();
+    private List<String> denied = new ArrayList<>();
+    private int expirationMinutes;
+
+    public BatchPresignedUrlResponse() {
+    }
+
+    public BatchPresignedUrlResponse(List<PresignedUrlResponse> urls, List<String> denied, int expirationMinutes) {
+        this.urls = urls;
+        this.denied = denied;
+        this.expirationMinutes = expirationMinutes;
+    }
+
+    public List<PresignedUrlResponse> getUrls() {
+        return urls;
+    }
+
+    public void setUrls(List<PresignedUrlResponse> urls) {
+        this.urls = urls;
+    }
+
+    public List<String> getDenied() {
+        return denied;
+    }
+
+    public void setDenied(List<String> denied) {
+        this.denied = denied;
+    }
+
+    public int getExpirationMinutes() {
+        return expirationMinutes;
+    }
+
+    public void setExpirationMinutes(int expirationMinutes) {
+        this.expirationMinutes = expirationMinutes;
+    }
+}
@@ -0,0 +1,41 @@
+package com.skillbridge.dto.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Complete Uploads Request
+ * Keys of upload slots whose files were uploaded to S3
+ */
+public class CompleteUploadsRequest {
+    private String entityType;
+    private Integer entityId;
+    private List<String> s3Keys = new ArrayList<>();
+
+    public CompleteUploadsRequest() {
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Integer getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Integer entityId) {
+        this.entityId = entityId;
+    }
+
+    public List<String> getS3Keys() {
+        return s3Keys;
+    }
+
+    public void setS3Keys(List<String> s3Keys) {
+        this.s3Keys = s3Keys;
+    }
+}
@@ -0,0 +1,136 @@
+package com.skillbridge.dto.common;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Dashboard Event DTO
+ * Incremental update pushed over the dashboard SSE stream.
+ * counters holds deltas keyed like the summary DTO fields (e.g. "contacts.newCount": 1,
+ * "changeRequests.underReview": -1); the activity fields describe one new activity item.
+ */
+public class DashboardEventDTO {
+    private String type; // "dashboard" or "notification"
+    private Map<String, Integer> counters = new LinkedHashMap<>();
+    private String entityType; // CONTACT, PROPOSAL, CONTRACT, CHANGE_REQUEST
+    private Integer entityId;
+    private String description;
+    private String clientName;
+    private String timestamp;
+    private Integer unreadCount; // Only for "notification" events
+
+    public static final String TYPE_DASHBOARD = "dashboard";
+    public static final String TYPE_NOTIFICATION = "notification";
+
+    public DashboardEventDTO() {
+    }
+
+    /**
+     * Create a dashboard event for a new activity item
+     */
+    public static DashboardEventDTO activity(String entityType, Integer entityId, String description) {
+        DashboardEventDTO event = new DashboardEventDTO();
+        event.setType(TYPE_DASHBOARD);
+        event.setEntityType(entityType);
+        event.setEntityId(entityId);
+        event.setDescription(description);
+        event.setTimestamp(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        return event;
+    }
+
+    /**
+     * Add a counter delta (zero deltas are skipped)
+     */
+    public DashboardEventDTO counter(String key, int delta) {
+        if (delta != 0) {
+            counters.merge(key, delta, Integer::sum);
+        }
+        return this;
+    }
+
+    /**
+     * Add the delta of a status bucket for a status change (from is null for new entities)
+     */
+    public <S> DashboardEventDTO transition(String key, Predicate<S> bucket, S from, S to) {
+        int before = from != null && bucket.test(from) ? 1 : 0;
+        int after = to != null && bucket.test(to) ? 1 : 0;
+        return counter(key, after - before);
+    }
+
+    /**
+     * Create a notification event carrying the recipient's new unread count
+     */
+    public static DashboardEventDTO notification(String entityType, Integer entityId, String description, Integer unreadCount) {
+        DashboardEventDTO event = activity(entityType, entityId, description);
+        event.setType(TYPE_NOTIFICATION);
+        event.setUnreadCount(unreadCount);
+        return event;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Map<String, Integer> getCounters() {
+        return counters;
+    }
+
+    public void setCounters(Map<String, Integer> counters) {
+        this.counters = counters;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Integer getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Integer entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public void setClientName(String clientName) {
+        this.clientName = clientName;
+    }
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(String timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public Integer getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(Integer unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+}
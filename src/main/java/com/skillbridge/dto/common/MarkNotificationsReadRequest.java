@@ -0,0 +1,23 @@
+package com.skillbridge.dto.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mark Notifications Read Request
+ * IDs of notifications to mark as read
+ */
+public class MarkNotificationsReadRequest {
+    private List<Long> ids = new ArrayList<>();
+
+    public MarkNotificationsReadRequest() {
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,48 @@
+package com.skillbridge.dto.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Notification Inbox DTO
+ * Unread count plus a page of notifications. lastId is the cursor to pass as "after"
+ * on the next long-poll request.
+ */
+public class NotificationInboxDTO {
+    private Integer unreadCount;
+    private Long lastId;
+    private List<NotificationDTO> notifications = new ArrayList<>();
+
+    public NotificationInboxDTO() {
+    }
+
+    public NotificationInboxDTO(Integer unreadCount, Long lastId, List<NotificationDTO> notifications) {
+        this.unreadCount = unreadCount;
+        this.lastId = lastId;
+        this.notifications = notifications;
+    }
+
+    public Integer getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(Integer unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(Long lastId) {
+        this.lastId = lastId;
+    }
+
+    public List<NotificationDTO> getNotifications() {
+        return notifications;
+    }
+
+    public void setNotifications(List<NotificationDTO> notifications) {
+        this.notifications = notifications;
+    }
+}
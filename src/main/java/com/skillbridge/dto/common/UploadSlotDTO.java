@@ -0,0 +1,66 @@
+package com.skillbridge.dto.common;
+
+import java.time.LocalDateTime;
+
+/**
+ * Upload Slot DTO
+ * Presigned PUT URL for one file; the client must send the same Content-Type header
+ */
+public class UploadSlotDTO {
+    private String s3Key;
+    private String uploadUrl;
+    private String fileName;
+    private String contentType;
+    private LocalDateTime expiresAt;
+
+    public UploadSlotDTO() {
+    }
+
+    public UploadSlotDTO(String s3Key, String uploadUrl, String fileName, String contentType, LocalDateTime expiresAt) {
+        this.s3Key = s3Key;
+        this.uploadUrl = uploadUrl;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getS3Key() {
+        return s3Key;
+    }
+
+    public void setS3Key(String s3Key) {
+        this.s3Key = s3Key;
+    }
+
+    public String getUploadUrl() {
+        return uploadUrl;
+    }
+
+    public void setUploadUrl(String uploadUrl) {
+        this.uploadUrl = uploadUrl;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,83 @@
+package com.skillbridge.dto.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Upload Slots Request
+ * Files the client is about to upload directly to S3 for an entity
+ */
+public class UploadSlotsRequest {
+    private String entityType; // msa_contract, sow_contract, proposal, change_request
+    private Integer entityId;
+    private List<FileInfo> files = new ArrayList<>();
+
+    public UploadSlotsRequest() {
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Integer getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Integer entityId) {
+        this.entityId = entityId;
+    }
+
+    public List<FileInfo> getFiles() {
+        return files;
+    }
+
+    public void setFiles(List<FileInfo> files) {
+        this.files = files;
+    }
+
+    /**
+     * File to upload, as declared by the client
+     */
+    public static class FileInfo {
+        private String fileName;
+        private String contentType;
+        private Long size;
+
+        public FileInfo() {
+        }
+
+        public FileInfo(String fileName, String contentType, Long size) {
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.size = size;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public void setFileName(String fileName) {
+            this.fileName = fileName;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public void setContentType(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public Long getSize() {
+            return size;
+        }
+
+        public void setSize(Long size) {
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.skillbridge.dto.engineer.response;
+
+import java.util.List;
+
+/**
+ * Skill Group DTO
+ * A parent skill with its sub-skills, for the skill filter
+ */
+public class SkillGroupDTO {
+    private Integer id;
+    private String name;
+    private List<SkillDTO> subSkills;
+
+    // Constructors
+    public SkillGroupDTO() {
+    }
+
+    public SkillGroupDTO(Integer id, String name, List<SkillDTO> subSkills) {
+        this.id = id;
+        this.name = name;
+        this.subSkills = subSkills;
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<SkillDTO> getSubSkills() {
+        return subSkills;
+    }
+
+    public void setSubSkills(List<SkillDTO> subSkills) {
+        this.subSkills = subSkills;
+    }
+}
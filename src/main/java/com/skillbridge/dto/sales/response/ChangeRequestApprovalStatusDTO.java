@@ -0,0 +1,155 @@
+package com.skillbridge.dto.sales.response;
+
+/**
+ * Change Request Approval Status DTO
+ * Status and per-stage timings (ms) of the background approval pipeline for a SOW change request
+ */
+public class ChangeRequestApprovalStatusDTO {
+    private Integer jobId;
+    private Integer changeRequestId;
+    private String status;
+    private String currentStage;
+    private Integer attempts;
+    private String lastError;
+    private String appendixNumber;
+    private Long baselineMs;
+    private Long eventsMs;
+    private Long appendixMs;
+    private Long notificationMs;
+    private Long totalMs;
+    private String nextAttemptAt;
+    private String startedAt;
+    private String completedAt;
+    private String createdAt;
+
+    public ChangeRequestApprovalStatusDTO() {
+    }
+
+    public Integer getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(Integer jobId) {
+        this.jobId = jobId;
+    }
+
+    public Integer getChangeRequestId() {
+        return changeRequestId;
+    }
+
+    public void setChangeRequestId(Integer changeRequestId) {
+        this.changeRequestId = changeRequestId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getCurrentStage() {
+        return currentStage;
+    }
+
+    public void setCurrentStage(String currentStage) {
+        this.currentStage = currentStage;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public String getAppendixNumber() {
+        return appendixNumber;
+    }
+
+    public void setAppendixNumber(String appendixNumber) {
+        this.appendixNumber = appendixNumber;
+    }
+
+    public Long getBaselineMs() {
+        return baselineMs;
+    }
+
+    public void setBaselineMs(Long baselineMs) {
+        this.baselineMs = baselineMs;
+    }
+
+    public Long getEventsMs() {
+        return eventsMs;
+    }
+
+    public void setEventsMs(Long eventsMs) {
+        this.eventsMs = eventsMs;
+    }
+
+    public Long getAppendixMs() {
+        return appendixMs;
+    }
+
+    public void setAppendixMs(Long appendixMs) {
+        this.appendixMs = appendixMs;
+    }
+
+    public Long getNotificationMs() {
+        return notificationMs;
+    }
+
+    public void setNotificationMs(Long notificationMs) {
+        this.notificationMs = notificationMs;
+    }
+
+    public Long getTotalMs() {
+        return totalMs;
+    }
+
+    public void setTotalMs(Long totalMs) {
+        this.totalMs = totalMs;
+    }
+
+    public String getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(String nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(String startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public String getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(String completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,134 @@
+package com.skillbridge.dto.sales.response;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for one SOW contract version in the version history
+ */
+public class SOWContractVersionDTO {
+    private Integer sowContractId;
+    private Integer version;
+    private String name; // e.g., "V1", "V2"
+    private Integer changeRequestId; // CR that produced this version (null for V1)
+    private Integer createdBy;
+    private String createdAt; // ISO date-time
+    private Boolean isCurrent;
+    private List<FieldChange> changes; // Fields changed compared to the previous version
+    private Map<String, String> fields; // Full field values (only when a single version is requested)
+
+    // Getters and Setters
+    public Integer getSowContractId() {
+        return sowContractId;
+    }
+
+    public void setSowContractId(Integer sowContractId) {
+        this.sowContractId = sowContractId;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getChangeRequestId() {
+        return changeRequestId;
+    }
+
+    public void setChangeRequestId(Integer changeRequestId) {
+        this.changeRequestId = changeRequestId;
+    }
+
+    public Integer getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(Integer createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Boolean getIsCurrent() {
+        return isCurrent;
+    }
+
+    public void setIsCurrent(Boolean isCurrent) {
+        this.isCurrent = isCurrent;
+    }
+
+    public List<FieldChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<FieldChange> changes) {
+        this.changes = changes;
+    }
+
+    public Map<String, String> getFields() {
+        return fields;
+    }
+
+    public void setFields(Map<String, String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * One changed field between two versions
+     */
+    public static class FieldChange {
+        private String field;
+        private String oldValue;
+        private String newValue;
+
+        public FieldChange() {
+        }
+
+        public FieldChange(String field, String oldValue, String newValue) {
+            this.field = field;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public void setField(String field) {
+            this.field = field;
+        }
+
+        public String getOldValue() {
+            return oldValue;
+        }
+
+        public void setOldValue(String oldValue) {
+            this.oldValue = oldValue;
+        }
+
+        public String getNewValue() {
+            return newValue;
+        }
+
+        public void setNewValue(String newValue) {
+            this.newValue = newValue;
+        }
+    }
+}
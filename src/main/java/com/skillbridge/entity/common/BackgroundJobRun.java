@@ -0,0 +1,47 @@
+package com.skillbridge.entity.common;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Background Job Run Entity
+ * Marks a one-time background job (e.g. a data backfill) as completed, so it is not run again
+ * on the next startup of any node.
+ */
+@Entity
+@Table(name = "background_job_runs")
+public class BackgroundJobRun {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public BackgroundJobRun() {
+    }
+
+    public BackgroundJobRun(String jobName, LocalDateTime completedAt) {
+        this.jobName = jobName;
+        this.completedAt = completedAt;
+    }
+
+    // Getters and Setters
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -1,6 +1,9 @@
 package com.skillbridge.entity.common;
 
+import com.skillbridge.service.common.EmailTemplateCacheListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 /**
@@ -8,6 +11,9 @@ import java.time.LocalDateTime;
  * Stores email templates for various notifications
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "email_templates")
+@EntityListeners(EmailTemplateCacheListener.class)
 @Table(name = "email_templates")
 public class EmailTemplate {
 
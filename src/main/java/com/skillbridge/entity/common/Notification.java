@@ -0,0 +1,144 @@
+package com.skillbridge.entity.common;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Notification Entity
+ * One in-app notification for one user (new contact, proposal to review, change request, ...).
+ * Rows are written by NotificationService fan-out; the unread total per user is kept
+ * in NotificationCounter so the inbox badge never needs a COUNT(*).
+ */
+@Entity
+@Table(name = "notifications",
+       indexes = {
+           @Index(name = "idx_notifications_user_id", columnList = "user_id, id"),
+           @Index(name = "idx_notifications_user_read", columnList = "user_id, is_read, id")
+       })
+public class Notification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(name = "type", nullable = false, length = 50)
+    private String type; // NEW_CONTACT, PROPOSAL_REVIEW, CHANGE_REQUEST
+
+    @Column(name = "title", nullable = false, length = 255)
+    private String title;
+
+    @Column(name = "message", columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "entity_type", length = 50)
+    private String entityType; // contact, proposal, change_request
+
+    @Column(name = "entity_id")
+    private Integer entityId;
+
+    @Column(name = "is_read", nullable = false)
+    private Boolean isRead = false;
+
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public static final String TYPE_NEW_CONTACT = "NEW_CONTACT";
+    public static final String TYPE_PROPOSAL_REVIEW = "PROPOSAL_REVIEW";
+    public static final String TYPE_CHANGE_REQUEST = "CHANGE_REQUEST";
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public Notification() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Integer getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Integer entityId) {
+        this.entityId = entityId;
+    }
+
+    public Boolean getIsRead() {
+        return isRead;
+    }
+
+    public void setIsRead(Boolean isRead) {
+        this.isRead = isRead;
+    }
+
+    public LocalDateTime getReadAt() {
+        return readAt;
+    }
+
+    public void setReadAt(LocalDateTime readAt) {
+        this.readAt = readAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
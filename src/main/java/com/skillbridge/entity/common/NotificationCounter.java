@@ -0,0 +1,53 @@
+package com.skillbridge.entity.common;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Notification Counter Entity
+ * Unread notification count per user, maintained incrementally by NotificationService
+ * (+n on fan-out, -n on mark-as-read) instead of counting the notifications table.
+ */
+@Entity
+@Table(name = "notification_counters")
+public class NotificationCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private Integer unreadCount = 0;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public NotificationCounter() {
+    }
+
+    // Getters and Setters
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+
+    public Integer getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(Integer unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,6 +1,7 @@
 package com.skillbridge.entity.contact;
 
 import com.skillbridge.entity.auth.User;
+import com.skillbridge.service.common.DocumentOwnershipListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
@@ -9,6 +10,7 @@ import java.time.LocalDateTime;
  * Represents a contact request/submission from a guest/client
  */
 @Entity
+@EntityListeners(DocumentOwnershipListener.class)
 @Table(name = "contacts")
 public class Contact {
 
@@ -28,6 +28,9 @@ public class CRResourceEvent {
     @Column(name = "engineer_id")
     private Integer engineerId; // For MODIFY/REMOVE: reference to base engineer
 
+    @Column(name = "cr_engaged_engineer_id")
+    private Integer crEngagedEngineerId; // Source ChangeRequestEngagedEngineer row (null for legacy events)
+
     @Column(name = "role", length = 100)
     private String role;
 
@@ -110,6 +113,14 @@ public class CRResourceEvent {
         this.engineerId = engineerId;
     }
 
+    public Integer getCrEngagedEngineerId() {
+        return crEngagedEngineerId;
+    }
+
+    public void setCrEngagedEngineerId(Integer crEngagedEngineerId) {
+        this.crEngagedEngineerId = crEngagedEngineerId;
+    }
+
     public String getRole() {
         return role;
     }
@@ -0,0 +1,276 @@
+package com.skillbridge.entity.contract;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Change Request Approval Job Entity
+ * Outbox row written in the same transaction that approves a SOW change request.
+ * A background worker picks it up and applies the approval (baseline, CR events,
+ * appendix, history), retrying with backoff on failure.
+ */
+@Entity
+@Table(name = "cr_approval_jobs")
+public class ChangeRequestApprovalJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "change_request_id", nullable = false)
+    private Integer changeRequestId;
+
+    @Column(name = "sow_contract_id", nullable = false)
+    private Integer sowContractId;
+
+    @Column(name = "approved_by", nullable = false)
+    private Integer approvedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private JobStatus status = JobStatus.PENDING;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "current_stage", length = 20)
+    private Stage currentStage; // Stage running now, or the stage that failed last
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "appendix_number", length = 50)
+    private String appendixNumber;
+
+    @Column(name = "baseline_ms")
+    private Long baselineMs;
+
+    @Column(name = "events_ms")
+    private Long eventsMs;
+
+    @Column(name = "appendix_ms")
+    private Long appendixMs;
+
+    @Column(name = "notification_ms")
+    private Long notificationMs;
+
+    @Column(name = "total_ms")
+    private Long totalMs;
+
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner; // "<node>:<poll>" that claimed the running attempt
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum JobStatus {
+        PENDING, RUNNING, RETRY, COMPLETED, FAILED
+    }
+
+    public enum Stage {
+        BASELINE, EVENTS, APPENDIX, NOTIFICATION
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public ChangeRequestApprovalJob() {
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getChangeRequestId() {
+        return changeRequestId;
+    }
+
+    public void setChangeRequestId(Integer changeRequestId) {
+        this.changeRequestId = changeRequestId;
+    }
+
+    public Integer getSowContractId() {
+        return sowContractId;
+    }
+
+    public void setSowContractId(Integer sowContractId) {
+        this.sowContractId = sowContractId;
+    }
+
+    public Integer getApprovedBy() {
+        return approvedBy;
+    }
+
+    public void setApprovedBy(Integer approvedBy) {
+        this.approvedBy = approvedBy;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public Stage getCurrentStage() {
+        return currentStage;
+    }
+
+    public void setCurrentStage(Stage currentStage) {
+        this.currentStage = currentStage;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public String getAppendixNumber() {
+        return appendixNumber;
+    }
+
+    public void setAppendixNumber(String appendixNumber) {
+        this.appendixNumber = appendixNumber;
+    }
+
+    public Long getBaselineMs() {
+        return baselineMs;
+    }
+
+    public void setBaselineMs(Long baselineMs) {
+        this.baselineMs = baselineMs;
+    }
+
+    public Long getEventsMs() {
+        return eventsMs;
+    }
+
+    public void setEventsMs(Long eventsMs) {
+        this.eventsMs = eventsMs;
+    }
+
+    public Long getAppendixMs() {
+        return appendixMs;
+    }
+
+    public void setAppendixMs(Long appendixMs) {
+        this.appendixMs = appendixMs;
+    }
+
+    public Long getNotificationMs() {
+        return notificationMs;
+    }
+
+    public void setNotificationMs(Long notificationMs) {
+        this.notificationMs = notificationMs;
+    }
+
+    public Long getTotalMs() {
+        return totalMs;
+    }
+
+    public void setTotalMs(Long totalMs) {
+        this.totalMs = totalMs;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
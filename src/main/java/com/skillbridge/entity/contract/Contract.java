@@ -1,5 +1,7 @@
 package com.skillbridge.entity.contract;
 
+import com.skillbridge.service.common.DocumentOwnershipListener;
+import com.skillbridge.service.sales.ContractDetailViewInvalidator;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -11,6 +13,7 @@ import java.time.LocalDateTime;
  * Note: SOW contracts are stored in SOWContract entity
  */
 @Entity
+@EntityListeners({ContractDetailViewInvalidator.class, DocumentOwnershipListener.class})
 @Table(name = "contracts")
 public class Contract {
 
@@ -0,0 +1,113 @@
+package com.skillbridge.entity.contract;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Contract Detail View Entity
+ * Denormalized read model of a contract detail page (SOW or MSA).
+ * Holds the serialized detail DTO so the detail endpoint is a single keyed read.
+ * Writes to the contract aggregate mark the row stale; the next read rebuilds it.
+ */
+@Entity
+@Table(name = "contract_detail_views",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"contract_type", "contract_id"}))
+public class ContractDetailView {
+
+    public static final String TYPE_SOW = "SOW";
+    public static final String TYPE_MSA = "MSA";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "contract_type", nullable = false, length = 10)
+    private String contractType; // "SOW" or "MSA"
+
+    @Column(name = "contract_id", nullable = false)
+    private Integer contractId;
+
+    @Column(name = "assignee_user_id")
+    private Integer assigneeUserId; // Copied from the contract for the access check
+
+    @Column(name = "payload", nullable = false, columnDefinition = "LONGTEXT")
+    private String payload; // JSON of SOWContractDetailDTO / MSAContractDetailDTO
+
+    @Column(name = "stale", nullable = false)
+    private Boolean stale = false;
+
+    @Column(name = "generation", nullable = false)
+    private Integer generation = 0; // Bumped on every invalidation, guards against rebuild races
+
+    @Column(name = "built_at", nullable = false)
+    private LocalDateTime builtAt;
+
+    // Constructors
+    public ContractDetailView() {
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getContractType() {
+        return contractType;
+    }
+
+    public void setContractType(String contractType) {
+        this.contractType = contractType;
+    }
+
+    public Integer getContractId() {
+        return contractId;
+    }
+
+    public void setContractId(Integer contractId) {
+        this.contractId = contractId;
+    }
+
+    public Integer getAssigneeUserId() {
+        return assigneeUserId;
+    }
+
+    public void setAssigneeUserId(Integer assigneeUserId) {
+        this.assigneeUserId = assigneeUserId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public Boolean getStale() {
+        return stale;
+    }
+
+    public void setStale(Boolean stale) {
+        this.stale = stale;
+    }
+
+    public Integer getGeneration() {
+        return generation;
+    }
+
+    public void setGeneration(Integer generation) {
+        this.generation = generation;
+    }
+
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+
+    public void setBuiltAt(LocalDateTime builtAt) {
+        this.builtAt = builtAt;
+    }
+}
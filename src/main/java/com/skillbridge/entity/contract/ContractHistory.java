@@ -1,5 +1,6 @@
 package com.skillbridge.entity.contract;
 
+import com.skillbridge.service.sales.ContractDetailViewInvalidator;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -9,6 +10,7 @@ import java.time.LocalDateTime;
  * Represents a history entry for a contract
  */
 @Entity
+@EntityListeners(ContractDetailViewInvalidator.class)
 @Table(name = "contract_history")
 public class ContractHistory {
 
@@ -1,5 +1,6 @@
 package com.skillbridge.entity.contract;
 
+import com.skillbridge.service.sales.ContractDetailViewInvalidator;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -10,6 +11,7 @@ import java.time.LocalDateTime;
  * Represents billing details for Fixed Price SOW contracts
  */
 @Entity
+@EntityListeners(ContractDetailViewInvalidator.class)
 @Table(name = "fixed_price_billing_details")
 public class FixedPriceBillingDetail {
 
@@ -0,0 +1,116 @@
+package com.skillbridge.entity.contract;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * SOW Contract Version Entity
+ * Header row for one version of a SOW contract.
+ * The latest header keeps a snapshot of the field values the version was recorded with;
+ * older versions are rebuilt from it by walking the field-level deltas
+ * (sow_contract_version_deltas) backwards.
+ */
+@Entity
+@Table(name = "sow_contract_versions",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"sow_contract_id", "version"}))
+public class SOWContractVersion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "sow_contract_id", nullable = false)
+    private Integer sowContractId;
+
+    @Column(name = "version", nullable = false)
+    private Integer version; // Version this row produced (V2, V3, ...)
+
+    @Column(name = "change_request_id")
+    private Integer changeRequestId; // CR whose approval produced this version
+
+    @Column(name = "changed_field_count", nullable = false)
+    private Integer changedFieldCount = 0;
+
+    @Column(name = "created_by")
+    private Integer createdBy;
+
+    @Column(name = "snapshot", columnDefinition = "TEXT")
+    private String snapshot; // JSON field values as recorded; only kept on the latest version
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public SOWContractVersion() {
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getSowContractId() {
+        return sowContractId;
+    }
+
+    public void setSowContractId(Integer sowContractId) {
+        this.sowContractId = sowContractId;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public Integer getChangeRequestId() {
+        return changeRequestId;
+    }
+
+    public void setChangeRequestId(Integer changeRequestId) {
+        this.changeRequestId = changeRequestId;
+    }
+
+    public Integer getChangedFieldCount() {
+        return changedFieldCount;
+    }
+
+    public void setChangedFieldCount(Integer changedFieldCount) {
+        this.changedFieldCount = changedFieldCount;
+    }
+
+    public Integer getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(Integer createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public String getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(String snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,94 @@
+package com.skillbridge.entity.contract;
+
+import jakarta.persistence.*;
+
+/**
+ * SOW Contract Version Delta Entity
+ * One changed column between a version and the version before it.
+ * Values are stored in their string form (ISO dates, plain decimals, enum names).
+ */
+@Entity
+@Table(name = "sow_contract_version_deltas",
+       indexes = @Index(name = "idx_sow_version_deltas_contract_version", columnList = "sow_contract_id, version"))
+public class SOWContractVersionDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "sow_contract_id", nullable = false)
+    private Integer sowContractId;
+
+    @Column(name = "version", nullable = false)
+    private Integer version; // Version that introduced the change
+
+    @Column(name = "field_name", nullable = false, length = 64)
+    private String fieldName;
+
+    @Column(name = "old_value", columnDefinition = "TEXT")
+    private String oldValue; // Value in version - 1
+
+    @Column(name = "new_value", columnDefinition = "TEXT")
+    private String newValue; // Value in version
+
+    // Constructors
+    public SOWContractVersionDelta() {
+    }
+
+    public SOWContractVersionDelta(Integer sowContractId, Integer version, String fieldName, String oldValue, String newValue) {
+        this.sowContractId = sowContractId;
+        this.version = version;
+        this.fieldName = fieldName;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getSowContractId() {
+        return sowContractId;
+    }
+
+    public void setSowContractId(Integer sowContractId) {
+        this.sowContractId = sowContractId;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public void setFieldName(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public String getOldValue() {
+        return oldValue;
+    }
+
+    public void setOldValue(String oldValue) {
+        this.oldValue = oldValue;
+    }
+
+    public String getNewValue() {
+        return newValue;
+    }
+
+    public void setNewValue(String newValue) {
+        this.newValue = newValue;
+    }
+}
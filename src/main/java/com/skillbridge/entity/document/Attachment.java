@@ -0,0 +1,119 @@
+package com.skillbridge.entity.document;
+
+import com.skillbridge.service.sales.ContractDetailViewInvalidator;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Attachment Entity
+ * One file attached to a contract, SOW contract or proposal, in display order.
+ * Replaces the attachments_manifest JSON columns: adding or removing a file touches one row
+ * instead of rewriting the whole manifest, and lists load with an indexed query.
+ */
+@Entity
+@EntityListeners(ContractDetailViewInvalidator.class)
+@Table(name = "attachments",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_attachments_entity_key", columnNames = {"entity_type", "entity_id", "s3_key"})
+       },
+       indexes = {
+           @Index(name = "idx_attachments_entity", columnList = "entity_type, entity_id, position")
+       })
+public class Attachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "entity_type", nullable = false, length = 50)
+    private String entityType; // msa_contract, sow_contract, proposal (same values as DocumentMetadata)
+
+    @Column(name = "entity_id", nullable = false)
+    private Integer entityId;
+
+    @Column(name = "s3_key", nullable = false, length = 500)
+    private String s3Key;
+
+    @Column(name = "file_name", length = 255)
+    private String fileName;
+
+    @Column(name = "position", nullable = false)
+    private Integer position;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public Attachment() {
+    }
+
+    public Attachment(String entityType, Integer entityId, String s3Key, String fileName, Integer position) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.s3Key = s3Key;
+        this.fileName = fileName;
+        this.position = position;
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Integer getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Integer entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getS3Key() {
+        return s3Key;
+    }
+
+    public void setS3Key(String s3Key) {
+        this.s3Key = s3Key;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Integer getPosition() {
+        return position;
+    }
+
+    public void setPosition(Integer position) {
+        this.position = position;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
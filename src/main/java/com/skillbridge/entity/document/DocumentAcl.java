@@ -0,0 +1,101 @@
+package com.skillbridge.entity.document;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Document ACL Entity
+ * One grant on a document: either a role (role set) or a single user (user_id set).
+ * Normalized form of DocumentMetadata.allowedRoles / allowedUsers so permission checks
+ * are an indexed lookup instead of parsing JSON.
+ */
+@Entity
+@Table(name = "document_acl",
+       indexes = {
+           @Index(name = "idx_document_acl_doc_role", columnList = "document_id, role"),
+           @Index(name = "idx_document_acl_doc_user", columnList = "document_id, user_id")
+       })
+public class DocumentAcl {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "document_id", nullable = false)
+    private Integer documentId; // document_metadata.id
+
+    @Column(name = "role", length = 50)
+    private String role;
+
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Create a grant for every user with the given role
+     */
+    public static DocumentAcl forRole(Integer documentId, String role) {
+        DocumentAcl acl = new DocumentAcl();
+        acl.setDocumentId(documentId);
+        acl.setRole(role);
+        return acl;
+    }
+
+    /**
+     * Create a grant for a single user
+     */
+    public static DocumentAcl forUser(Integer documentId, Integer userId) {
+        DocumentAcl acl = new DocumentAcl();
+        acl.setDocumentId(documentId);
+        acl.setUserId(userId);
+        return acl;
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getDocumentId() {
+        return documentId;
+    }
+
+    public void setDocumentId(Integer documentId) {
+        this.documentId = documentId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -5,12 +5,21 @@ import java.time.LocalDateTime;
 
 /**
  * Document Metadata Entity
- * Stores metadata and permissions for S3 documents
+ * Stores metadata and permissions for S3 documents.
+ * allowedRoles/allowedUsers are indexed into document_acl and the client that owns the related
+ * entity is denormalized into clientUserId (see DocumentPermissionService.indexDocument).
  */
 @Entity
-@Table(name = "document_metadata")
+@Table(name = "document_metadata",
+       indexes = {
+           @Index(name = "idx_document_metadata_entity", columnList = "entity_type, entity_id")
+       })
 public class DocumentMetadata {
 
+    public static final String ENTITY_PROPOSAL = "proposal";
+    public static final String ENTITY_MSA_CONTRACT = "msa_contract";
+    public static final String ENTITY_SOW_CONTRACT = "sow_contract";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -36,6 +45,12 @@ public class DocumentMetadata {
     @Column(name = "allowed_users", columnDefinition = "TEXT")
     private String allowedUsers; // JSON array of allowed user IDs
 
+    @Column(name = "client_user_id")
+    private Integer clientUserId; // Client who owns the related proposal/contract (denormalized)
+
+    @Column(name = "acl_indexed", nullable = false)
+    private Boolean aclIndexed = false; // document_acl rows are in sync with allowedRoles/allowedUsers
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
@@ -118,6 +133,22 @@ public class DocumentMetadata {
         this.allowedUsers = allowedUsers;
     }
 
+    public Integer getClientUserId() {
+        return clientUserId;
+    }
+
+    public void setClientUserId(Integer clientUserId) {
+        this.clientUserId = clientUserId;
+    }
+
+    public Boolean getAclIndexed() {
+        return aclIndexed;
+    }
+
+    public void setAclIndexed(Boolean aclIndexed) {
+        this.aclIndexed = aclIndexed;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -1,6 +1,9 @@
 package com.skillbridge.entity.engineer;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.time.LocalDateTime;
 
 /**
@@ -8,6 +11,8 @@ import java.time.LocalDateTime;
  * Represents a project type in the system
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project_types")
 @Table(name = "project_types")
 public class ProjectType {
 
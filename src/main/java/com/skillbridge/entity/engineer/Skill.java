@@ -1,12 +1,18 @@
 package com.skillbridge.entity.engineer;
 
+import com.skillbridge.service.engineer.SkillTreeCacheListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Skill Entity
  * Represents a skill in the system
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "skills")
+@EntityListeners(SkillTreeCacheListener.class)
 @Table(name = "skills")
 public class Skill {
 
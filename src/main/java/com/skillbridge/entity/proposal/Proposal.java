@@ -2,6 +2,7 @@ package com.skillbridge.entity.proposal;
 
 import com.skillbridge.entity.auth.User;
 import com.skillbridge.entity.contact.Contact;
+import com.skillbridge.service.common.DocumentOwnershipListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
@@ -10,7 +11,11 @@ import java.time.LocalDateTime;
  * Represents a proposal linked to a contact
  */
 @Entity
-@Table(name = "proposals")
+@EntityListeners(DocumentOwnershipListener.class)
+@Table(name = "proposals",
+       indexes = {
+           @Index(name = "idx_proposals_link", columnList = "link")
+       })
 public class Proposal {
 
     @Id
@@ -0,0 +1,13 @@
+package com.skillbridge.repository.common;
+
+import com.skillbridge.entity.common.BackgroundJobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Background Job Run Repository
+ * Completion markers of one-time background jobs, keyed by job name
+ */
+@Repository
+public interface BackgroundJobRunRepository extends JpaRepository<BackgroundJobRun, String> {
+}
@@ -0,0 +1,106 @@
+package com.skillbridge.repository.common;
+
+import com.skillbridge.entity.common.EmailOutboxMessage;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Email Outbox Repository
+ * Handles database operations for queued outgoing emails
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long>,
+        LeasedQueueRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Lock messages for update that are still being sent under the given lease
+     * Messages missing from the result lost their lease (re-queued, possibly claimed again)
+     * @param ids Message IDs
+     * @param leaseOwner Lease the messages were claimed under
+     * @param status SENDING
+     * @return Locked messages still held by the lease
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<EmailOutboxMessage> findByIdInAndLeaseOwnerAndStatus(Collection<Long> ids, String leaseOwner,
+                                                             EmailOutboxMessage.Status status);
+
+    /**
+     * Find the recipient's earliest due message among the given templates and status
+     * Used to put a new notification on the same due time as the recipient's pending ones
+     * (the status predicate keeps it on the status/next_attempt_at index)
+     * @param toEmail Recipient
+     * @param status PENDING
+     * @param templates Coalescible templates
+     * @return Earliest pending message, if any
+     */
+    Optional<EmailOutboxMessage> findFirstByToEmailAndStatusAndTemplateInOrderByNextAttemptAtAsc(
+            String toEmail, EmailOutboxMessage.Status status, Collection<String> templates);
+
+    @Override
+    @Modifying
+    @Query(value = "UPDATE email_outbox " +
+                   "SET status = 'SENDING', attempts = attempts + 1, lease_owner = :leaseOwner, " +
+                   "started_at = :now, heartbeat_at = :now, updated_at = :now " +
+                   "WHERE status IN ('PENDING', 'RETRY') AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at, id LIMIT :limit", nativeQuery = true)
+    int claimBatch(@Param("leaseOwner") String leaseOwner,
+                   @Param("now") LocalDateTime now,
+                   @Param("limit") int limit);
+
+    @Override
+    List<EmailOutboxMessage> findByLeaseOwner(String leaseOwner);
+
+    @Override
+    @Modifying
+    @Query(value = "UPDATE email_outbox SET heartbeat_at = :now " +
+                   "WHERE status = 'SENDING' AND lease_owner LIKE :leaseOwnerPattern", nativeQuery = true)
+    int heartbeat(@Param("leaseOwnerPattern") String leaseOwnerPattern,
+                  @Param("now") LocalDateTime now);
+
+    @Override
+    @Modifying
+    @Query(value = "UPDATE email_outbox " +
+                   "SET status = 'RETRY', lease_owner = NULL, next_attempt_at = :now, updated_at = :now " +
+                   "WHERE status = 'SENDING' AND COALESCE(heartbeat_at, started_at) < :expiredBefore",
+           nativeQuery = true)
+    int requeueExpired(@Param("expiredBefore") LocalDateTime expiredBefore,
+                       @Param("now") LocalDateTime now);
+
+    @Override
+    @Modifying
+    @Query(value = "UPDATE email_outbox " +
+                   "SET status = 'RETRY', attempts = GREATEST(attempts - 1, 0), lease_owner = NULL, " +
+                   "next_attempt_at = :now, updated_at = :now " +
+                   "WHERE id IN (:ids) AND lease_owner = :leaseOwner AND status = 'SENDING'", nativeQuery = true)
+    int releaseClaims(@Param("ids") Collection<Long> ids,
+                      @Param("leaseOwner") String leaseOwner,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * Delete up to limit SENT messages sent before the cutoff
+     * @param cutoff Delete messages sent before this time
+     * @param limit Max number of rows per statement (keeps each delete transaction short)
+     * @return Number of messages deleted
+     */
+    @Modifying
+    @Query(value = "DELETE FROM email_outbox WHERE status = 'SENT' AND sent_at < :cutoff LIMIT :limit",
+           nativeQuery = true)
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Count messages in a status (outbox depth / dead-letter size)
+     * @param status Message status
+     * @return Number of messages
+     */
+    long countByStatus(EmailOutboxMessage.Status status);
+}
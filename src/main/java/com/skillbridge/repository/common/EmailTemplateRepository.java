@@ -1,7 +1,10 @@
 package com.skillbridge.repository.common;
 
 import com.skillbridge.entity.common.EmailTemplate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -25,6 +28,7 @@ public interface EmailTemplateRepository extends JpaRepository<EmailTemplate, In
      * @param templateName Template name
      * @return Optional EmailTemplate
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<EmailTemplate> findByTemplateNameAndIsActiveTrue(String templateName);
 }
 
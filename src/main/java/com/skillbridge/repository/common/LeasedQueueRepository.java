@@ -0,0 +1,56 @@
+package com.skillbridge.repository.common;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Leased Queue Repository
+ * Queries a background work table needs to be driven by LeasedWorkQueue.
+ * Each repository implements them as native queries on its own table. A claimed row is in its
+ * running status with lease_owner set to the poll that claimed it and heartbeat_at kept fresh
+ * by the node running it.
+ */
+public interface LeasedQueueRepository<T, ID> {
+
+    /**
+     * Claim up to limit due rows, oldest first, with a single UPDATE ... LIMIT
+     * @param leaseOwner Lease owner of this poll
+     * @param now Current time
+     * @param limit Max number of rows to claim
+     * @return Number of rows claimed
+     */
+    int claimBatch(String leaseOwner, LocalDateTime now, int limit);
+
+    /**
+     * Find the rows claimed under a lease
+     * @param leaseOwner Lease owner
+     * @return Claimed rows
+     */
+    List<T> findByLeaseOwner(String leaseOwner);
+
+    /**
+     * Refresh the heartbeat of running rows whose lease owner matches the pattern
+     * @param leaseOwnerPattern SQL LIKE pattern, e.g. "node-1a2b:%"
+     * @param now Current time
+     * @return Number of rows refreshed
+     */
+    int heartbeat(String leaseOwnerPattern, LocalDateTime now);
+
+    /**
+     * Put running rows whose heartbeat stopped (node died) back into the retry status
+     * @param expiredBefore Rows with an older heartbeat are re-queued
+     * @param now Current time
+     * @return Number of rows re-queued
+     */
+    int requeueExpired(LocalDateTime expiredBefore, LocalDateTime now);
+
+    /**
+     * Hand claimed rows back without counting the attempt
+     * @param ids Row IDs
+     * @param leaseOwner Lease the rows were claimed under
+     * @param now Current time
+     * @return Number of rows released
+     */
+    int releaseClaims(Collection<ID> ids, String leaseOwner, LocalDateTime now);
+}
@@ -0,0 +1,51 @@
+package com.skillbridge.repository.common;
+
+import com.skillbridge.entity.common.NotificationCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Notification Counter Repository
+ * Handles incremental updates of per-user unread notification counts
+ */
+@Repository
+public interface NotificationCounterRepository extends JpaRepository<NotificationCounter, Integer> {
+
+    /**
+     * Add to a user's unread count, creating the counter row if needed
+     * @param userId User ID
+     * @param delta Number of new unread notifications
+     * @return Affected rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO notification_counters (user_id, unread_count, updated_at) " +
+                   "VALUES (:userId, :delta, NOW()) " +
+                   "ON DUPLICATE KEY UPDATE unread_count = unread_count + :delta, updated_at = NOW()",
+           nativeQuery = true)
+    int increment(@Param("userId") Integer userId, @Param("delta") int delta);
+
+    /**
+     * Subtract from a user's unread count (never below zero)
+     * @param userId User ID
+     * @param delta Number of notifications marked as read
+     * @return Affected rows
+     */
+    @Modifying
+    @Query("UPDATE NotificationCounter c " +
+           "SET c.unreadCount = CASE WHEN c.unreadCount > :delta THEN c.unreadCount - :delta ELSE 0 END, " +
+           "c.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE c.userId = :userId")
+    int decrement(@Param("userId") Integer userId, @Param("delta") int delta);
+
+    /**
+     * Reset a user's unread count to zero
+     * @param userId User ID
+     * @return Affected rows
+     */
+    @Modifying
+    @Query("UPDATE NotificationCounter c SET c.unreadCount = 0, c.updatedAt = CURRENT_TIMESTAMP WHERE c.userId = :userId")
+    int reset(@Param("userId") Integer userId);
+}
@@ -0,0 +1,58 @@
+package com.skillbridge.repository.common;
+
+import com.skillbridge.entity.common.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Notification Repository
+ * Handles database operations for the in-app notification inbox
+ */
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    /**
+     * Find latest notifications of a user, newest first
+     * @param userId User ID
+     * @param pageable Max number of notifications to return
+     * @return Notifications
+     */
+    List<Notification> findByUserIdOrderByIdDesc(Integer userId, Pageable pageable);
+
+    /**
+     * Find notifications of a user created after a given notification (long-poll cursor), oldest first
+     * @param userId User ID
+     * @param afterId Last notification ID the client has seen
+     * @param pageable Max number of notifications to return
+     * @return New notifications
+     */
+    List<Notification> findByUserIdAndIdGreaterThanOrderByIdAsc(Integer userId, Long afterId, Pageable pageable);
+
+    /**
+     * Mark the given unread notifications of a user as read
+     * @return Number of notifications that changed from unread to read
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :now " +
+           "WHERE n.userId = :userId AND n.id IN :ids AND n.isRead = false")
+    int markRead(@Param("userId") Integer userId,
+                 @Param("ids") Collection<Long> ids,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * Mark all unread notifications of a user as read
+     * @return Number of notifications that changed from unread to read
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :now " +
+           "WHERE n.userId = :userId AND n.isRead = false")
+    int markAllRead(@Param("userId") Integer userId, @Param("now") LocalDateTime now);
+}
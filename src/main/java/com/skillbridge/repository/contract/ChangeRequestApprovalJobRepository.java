@@ -0,0 +1,84 @@
+package com.skillbridge.repository.contract;
+
+import com.skillbridge.entity.contract.ChangeRequestApprovalJob;
+import com.skillbridge.repository.common.LeasedQueueRepository;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Change Request Approval Job Repository
+ * Handles database operations for the CR approval outbox
+ */
+@Repository
+public interface ChangeRequestApprovalJobRepository extends JpaRepository<ChangeRequestApprovalJob, Integer>,
+        LeasedQueueRepository<ChangeRequestApprovalJob, Integer> {
+
+    /**
+     * Find the latest approval job for a change request
+     * @param changeRequestId Change request ID
+     * @return Latest job if any
+     */
+    Optional<ChangeRequestApprovalJob> findFirstByChangeRequestIdOrderByIdDesc(Integer changeRequestId);
+
+    /**
+     * Lock a job for update if it is still running under the given lease
+     * Empty means the lease expired and the job was re-queued (and possibly claimed again)
+     * @param id Job ID
+     * @param leaseOwner Lease the job was claimed under
+     * @param status RUNNING
+     * @return Locked job if the lease is still held
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ChangeRequestApprovalJob> findByIdAndLeaseOwnerAndStatus(Integer id, String leaseOwner,
+                                                                      ChangeRequestApprovalJob.JobStatus status);
+
+    @Override
+    @Modifying
+    @Query(value = "UPDATE cr_approval_jobs " +
+                   "SET status = 'RUNNING', attempts = attempts + 1, lease_owner = :leaseOwner, " +
+                   "started_at = :now, heartbeat_at = :now, updated_at = :now " +
+                   "WHERE status IN ('PENDING', 'RETRY') AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at, id LIMIT :limit", nativeQuery = true)
+    int claimBatch(@Param("leaseOwner") String leaseOwner,
+                   @Param("now") LocalDateTime now,
+                   @Param("limit") int limit);
+
+    @Override
+    List<ChangeRequestApprovalJob> findByLeaseOwner(String leaseOwner);
+
+    @Override
+    @Modifying
+    @Query(value = "UPDATE cr_approval_jobs SET heartbeat_at = :now " +
+                   "WHERE status = 'RUNNING' AND lease_owner LIKE :leaseOwnerPattern", nativeQuery = true)
+    int heartbeat(@Param("leaseOwnerPattern") String leaseOwnerPattern,
+                  @Param("now") LocalDateTime now);
+
+    @Override
+    @Modifying
+    @Query(value = "UPDATE cr_approval_jobs " +
+                   "SET status = 'RETRY', lease_owner = NULL, next_attempt_at = :now, updated_at = :now " +
+                   "WHERE status = 'RUNNING' AND COALESCE(heartbeat_at, started_at) < :expiredBefore",
+           nativeQuery = true)
+    int requeueExpired(@Param("expiredBefore") LocalDateTime expiredBefore,
+                       @Param("now") LocalDateTime now);
+
+    @Override
+    @Modifying
+    @Query(value = "UPDATE cr_approval_jobs " +
+                   "SET status = 'RETRY', attempts = GREATEST(attempts - 1, 0), lease_owner = NULL, " +
+                   "next_attempt_at = :now, updated_at = :now " +
+                   "WHERE id IN (:ids) AND lease_owner = :leaseOwner AND status = 'RUNNING'", nativeQuery = true)
+    int releaseClaims(@Param("ids") Collection<Integer> ids,
+                      @Param("leaseOwner") String leaseOwner,
+                      @Param("now") LocalDateTime now);
+}
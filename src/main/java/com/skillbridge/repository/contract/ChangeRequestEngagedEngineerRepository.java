@@ -4,6 +4,7 @@ import com.skillbridge.entity.contract.ChangeRequestEngagedEngineer;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,6 +21,13 @@ public interface ChangeRequestEngagedEngineerRepository extends JpaRepository<Ch
      */
     List<ChangeRequestEngagedEngineer> findByChangeRequestId(Integer changeRequestId);
     
+    /**
+     * Find all engaged engineers for a set of change requests in one query
+     * @param changeRequestIds Change request IDs
+     * @return List of engaged engineers ordered by change request and ID
+     */
+    List<ChangeRequestEngagedEngineer> findByChangeRequestIdInOrderByChangeRequestIdAscIdAsc(Collection<Integer> changeRequestIds);
+    
     /**
      * Delete all engaged engineers for a change request
      * @param changeRequestId Change request ID
@@ -0,0 +1,55 @@
+package com.skillbridge.repository.contract;
+
+import com.skillbridge.entity.contract.ContractDetailView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Contract Detail View Repository
+ * Handles database operations for the contract detail read model
+ */
+@Repository
+public interface ContractDetailViewRepository extends JpaRepository<ContractDetailView, Integer> {
+
+    /**
+     * Find the read model row of a contract
+     * @param contractType "SOW" or "MSA"
+     * @param contractId Contract ID
+     * @return Read model row if it has been built
+     */
+    Optional<ContractDetailView> findByContractTypeAndContractId(String contractType, Integer contractId);
+
+    /**
+     * Mark a contract's read model stale so the next read rebuilds it
+     * Creates a stale row if the contract has none yet, so a first build that is running
+     * concurrently fails on the unique key instead of storing a payload that misses this write.
+     * @return Affected rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO contract_detail_views (contract_type, contract_id, payload, stale, generation, built_at) " +
+                   "VALUES (:contractType, :contractId, '', TRUE, 1, NOW()) " +
+                   "ON DUPLICATE KEY UPDATE stale = TRUE, generation = generation + 1",
+           nativeQuery = true)
+    int markStale(@Param("contractType") String contractType, @Param("contractId") Integer contractId);
+
+    /**
+     * Store a rebuilt payload, only if no invalidation happened since the rebuild started
+     * @param generation Generation read before the rebuild
+     * @return 1 if stored, 0 if the row was invalidated meanwhile
+     */
+    @Modifying
+    @Query("UPDATE ContractDetailView v SET v.payload = :payload, v.assigneeUserId = :assigneeUserId, " +
+           "v.stale = false, v.builtAt = :builtAt " +
+           "WHERE v.id = :id AND v.generation = :generation")
+    int storeRebuilt(@Param("id") Integer id,
+                     @Param("generation") Integer generation,
+                     @Param("payload") String payload,
+                     @Param("assigneeUserId") Integer assigneeUserId,
+                     @Param("builtAt") LocalDateTime builtAt);
+}
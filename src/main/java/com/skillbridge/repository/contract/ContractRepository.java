@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -28,5 +29,11 @@ public interface ContractRepository extends JpaRepository<Contract, Integer>, Jp
     
     @Query("SELECT c FROM Contract c WHERE c.id = :id AND c.clientId = :clientId")
     Optional<Contract> findByIdAndClientId(@Param("id") Integer id, @Param("clientId") Integer clientId);
-}
 
+    /**
+     * Keyset page of (id, attachments_manifest) for entities with a manifest, for the attachments backfill
+     */
+    @Query("SELECT c.id, c.attachmentsManifest FROM Contract c WHERE c.id > :afterId " +
+           "AND c.attachmentsManifest IS NOT NULL ORDER BY c.id ASC")
+    List<Object[]> findManifestsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+}
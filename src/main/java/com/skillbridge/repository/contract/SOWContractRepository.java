@@ -43,5 +43,11 @@ public interface SOWContractRepository extends JpaRepository<SOWContract, Intege
     
     @Query("SELECT s FROM SOWContract s WHERE s.id = :id AND s.clientId = :clientId")
     Optional<SOWContract> findByIdAndClientId(@Param("id") Integer id, @Param("clientId") Integer clientId);
-}
 
+    /**
+     * Keyset page of (id, attachments_manifest) for entities with a manifest, for the attachments backfill
+     */
+    @Query("SELECT s.id, s.attachmentsManifest FROM SOWContract s WHERE s.id > :afterId " +
+           "AND s.attachmentsManifest IS NOT NULL ORDER BY s.id ASC")
+    List<Object[]> findManifestsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+}
@@ -0,0 +1,31 @@
+package com.skillbridge.repository.contract;
+
+import com.skillbridge.entity.contract.SOWContractVersionDelta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * SOW Contract Version Delta Repository
+ * Handles database operations for field-level SOW contract version deltas
+ */
+@Repository
+public interface SOWContractVersionDeltaRepository extends JpaRepository<SOWContractVersionDelta, Integer> {
+
+    /**
+     * Find all deltas of a SOW contract, newest version first
+     * @param sowContractId SOW contract ID
+     * @return Deltas
+     */
+    List<SOWContractVersionDelta> findBySowContractIdOrderByVersionDescIdAsc(Integer sowContractId);
+
+    /**
+     * Find the deltas introduced after a given version, newest version first
+     * Used to walk the current row back to an older version
+     * @param sowContractId SOW contract ID
+     * @param version Target version (exclusive)
+     * @return Deltas
+     */
+    List<SOWContractVersionDelta> findBySowContractIdAndVersionGreaterThanOrderByVersionDescIdAsc(Integer sowContractId, Integer version);
+}
@@ -0,0 +1,40 @@
+package com.skillbridge.repository.contract;
+
+import com.skillbridge.entity.contract.SOWContractVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * SOW Contract Version Repository
+ * Handles database operations for SOW contract version headers
+ */
+@Repository
+public interface SOWContractVersionRepository extends JpaRepository<SOWContractVersion, Integer> {
+
+    /**
+     * Find all recorded versions of a SOW contract, newest first
+     * @param sowContractId SOW contract ID
+     * @return Version headers
+     */
+    List<SOWContractVersion> findBySowContractIdOrderByVersionDesc(Integer sowContractId);
+
+    /**
+     * Find the latest recorded version of a SOW contract
+     * @param sowContractId SOW contract ID
+     * @return Latest version header if any
+     */
+    Optional<SOWContractVersion> findFirstBySowContractIdOrderByVersionDesc(Integer sowContractId);
+
+    /**
+     * Find the highest recorded version of a SOW contract
+     * @param sowContractId SOW contract ID
+     * @return Max version or null if no version has been recorded
+     */
+    @Query("SELECT MAX(v.version) FROM SOWContractVersion v WHERE v.sowContractId = :sowContractId")
+    Integer findMaxVersionBySowContractId(@Param("sowContractId") Integer sowContractId);
+}
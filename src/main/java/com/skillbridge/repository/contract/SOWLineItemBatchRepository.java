@@ -0,0 +1,218 @@
+package com.skillbridge.repository.contract;
+
+import com.skillbridge.entity.contract.DeliveryItem;
+import com.skillbridge.entity.contract.MilestoneDeliverable;
+import com.skillbridge.entity.contract.RetainerBillingBase;
+import com.skillbridge.entity.contract.RetainerBillingDetail;
+import com.skillbridge.entity.contract.SOWEngagedEngineer;
+import com.skillbridge.entity.contract.SOWEngagedEngineerBase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * SOW Line Item Batch Repository
+ * JDBC batch inserts for SOW line items and baseline rows.
+ * All these tables use IDENTITY keys, so Hibernate issues one INSERT per save();
+ * here rows are sent as JDBC batches (rewritten to multi-row INSERTs by the MySQL
+ * driver when rewriteBatchedStatements=true). Generated IDs are not read back,
+ * so use this only where callers do not need the new IDs.
+ */
+@Repository
+public class SOWLineItemBatchRepository {
+
+    /**
+     * Rows per JDBC batch
+     */
+    public static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_DELIVERY_ITEM =
+        "INSERT INTO delivery_items (sow_contract_id, milestone, delivery_note, amount, payment_date, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_MILESTONE_DELIVERABLE =
+        "INSERT INTO milestone_deliverables (sow_contract_id, milestone, delivery_note, acceptance_criteria, planned_end, " +
+        "payment_percentage, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_RETAINER_BILLING_DETAIL =
+        "INSERT INTO retainer_billing_details (sow_contract_id, payment_date, delivery_note, amount, delivery_item_id, " +
+        "change_request_id, is_paid, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_SOW_ENGAGED_ENGINEER =
+        "INSERT INTO sow_engaged_engineers (sow_contract_id, engineer_level, start_date, end_date, billing_type, hourly_rate, " +
+        "hours, subtotal, rating, salary, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_SOW_ENGAGED_ENGINEER_BASE =
+        "INSERT INTO sow_engaged_engineers_base (sow_contract_id, engineer_id, role, level, rating, unit_rate, start_date, " +
+        "end_date, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_RETAINER_BILLING_BASE =
+        "INSERT INTO retainer_billing_base (sow_contract_id, billing_month, amount, description, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SOWLineItemBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Batch insert delivery items
+     * @param items Delivery items (createdAt/updatedAt are set if missing)
+     * @return Number of rows sent
+     */
+    public int insertDeliveryItems(List<DeliveryItem> items) {
+        return batchInsert(INSERT_DELIVERY_ITEM, items, (ps, item) -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (item.getCreatedAt() == null) item.setCreatedAt(now);
+            if (item.getUpdatedAt() == null) item.setUpdatedAt(now);
+            ps.setInt(1, item.getSowContractId());
+            ps.setString(2, item.getMilestone());
+            ps.setString(3, item.getDeliveryNote());
+            ps.setBigDecimal(4, item.getAmount());
+            ps.setObject(5, item.getPaymentDate());
+            ps.setObject(6, item.getCreatedAt());
+            ps.setObject(7, item.getUpdatedAt());
+        });
+    }
+
+    /**
+     * Batch insert milestone deliverables
+     * @param deliverables Milestone deliverables (createdAt/updatedAt are set if missing)
+     * @return Number of rows sent
+     */
+    public int insertMilestoneDeliverables(List<MilestoneDeliverable> deliverables) {
+        return batchInsert(INSERT_MILESTONE_DELIVERABLE, deliverables, (ps, deliverable) -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (deliverable.getCreatedAt() == null) deliverable.setCreatedAt(now);
+            if (deliverable.getUpdatedAt() == null) deliverable.setUpdatedAt(now);
+            ps.setInt(1, deliverable.getSowContractId());
+            ps.setString(2, deliverable.getMilestone());
+            ps.setString(3, deliverable.getDeliveryNote());
+            ps.setString(4, deliverable.getAcceptanceCriteria());
+            ps.setObject(5, deliverable.getPlannedEnd());
+            ps.setBigDecimal(6, deliverable.getPaymentPercentage());
+            ps.setObject(7, deliverable.getCreatedAt());
+            ps.setObject(8, deliverable.getUpdatedAt());
+        });
+    }
+
+    /**
+     * Batch insert retainer billing details
+     * @param details Billing details (createdAt/updatedAt are set if missing)
+     * @return Number of rows sent
+     */
+    public int insertRetainerBillingDetails(List<RetainerBillingDetail> details) {
+        return batchInsert(INSERT_RETAINER_BILLING_DETAIL, details, (ps, detail) -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (detail.getCreatedAt() == null) detail.setCreatedAt(now);
+            if (detail.getUpdatedAt() == null) detail.setUpdatedAt(now);
+            ps.setInt(1, detail.getSowContractId());
+            ps.setObject(2, detail.getPaymentDate());
+            ps.setString(3, detail.getDeliveryNote());
+            ps.setBigDecimal(4, detail.getAmount());
+            setNullableInt(ps, 5, detail.getDeliveryItemId());
+            setNullableInt(ps, 6, detail.getChangeRequestId());
+            ps.setBoolean(7, Boolean.TRUE.equals(detail.getIsPaid()));
+            ps.setObject(8, detail.getCreatedAt());
+            ps.setObject(9, detail.getUpdatedAt());
+        });
+    }
+
+    /**
+     * Batch insert SOW engaged engineers
+     * @param engineers Engaged engineers (createdAt/updatedAt are set if missing)
+     * @return Number of rows sent
+     */
+    public int insertSOWEngagedEngineers(List<SOWEngagedEngineer> engineers) {
+        return batchInsert(INSERT_SOW_ENGAGED_ENGINEER, engineers, (ps, engineer) -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (engineer.getCreatedAt() == null) engineer.setCreatedAt(now);
+            if (engineer.getUpdatedAt() == null) engineer.setUpdatedAt(now);
+            ps.setInt(1, engineer.getSowContractId());
+            ps.setString(2, engineer.getEngineerLevel());
+            ps.setObject(3, engineer.getStartDate());
+            ps.setObject(4, engineer.getEndDate());
+            ps.setString(5, engineer.getBillingType());
+            setNullableDecimal(ps, 6, engineer.getHourlyRate());
+            setNullableDecimal(ps, 7, engineer.getHours());
+            setNullableDecimal(ps, 8, engineer.getSubtotal());
+            ps.setBigDecimal(9, engineer.getRating());
+            ps.setBigDecimal(10, engineer.getSalary());
+            ps.setObject(11, engineer.getCreatedAt());
+            ps.setObject(12, engineer.getUpdatedAt());
+        });
+    }
+
+    /**
+     * Batch insert baseline engineers
+     * @param engineers Baseline engineers (createdAt/updatedAt are set if missing)
+     * @return Number of rows sent
+     */
+    public int insertEngineerBaselines(List<SOWEngagedEngineerBase> engineers) {
+        return batchInsert(INSERT_SOW_ENGAGED_ENGINEER_BASE, engineers, (ps, engineer) -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (engineer.getCreatedAt() == null) engineer.setCreatedAt(now);
+            if (engineer.getUpdatedAt() == null) engineer.setUpdatedAt(now);
+            ps.setInt(1, engineer.getSowContractId());
+            setNullableInt(ps, 2, engineer.getEngineerId());
+            ps.setString(3, engineer.getRole());
+            ps.setString(4, engineer.getLevel());
+            ps.setBigDecimal(5, engineer.getRating());
+            ps.setBigDecimal(6, engineer.getUnitRate());
+            ps.setObject(7, engineer.getStartDate());
+            ps.setObject(8, engineer.getEndDate());
+            ps.setObject(9, engineer.getCreatedAt());
+            ps.setObject(10, engineer.getUpdatedAt());
+        });
+    }
+
+    /**
+     * Batch insert baseline billing rows
+     * @param billings Baseline billing rows (createdAt/updatedAt are set if missing)
+     * @return Number of rows sent
+     */
+    public int insertBillingBaselines(List<RetainerBillingBase> billings) {
+        return batchInsert(INSERT_RETAINER_BILLING_BASE, billings, (ps, billing) -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (billing.getCreatedAt() == null) billing.setCreatedAt(now);
+            if (billing.getUpdatedAt() == null) billing.setUpdatedAt(now);
+            ps.setInt(1, billing.getSowContractId());
+            ps.setObject(2, billing.getBillingMonth());
+            ps.setBigDecimal(3, billing.getAmount());
+            ps.setString(4, billing.getDescription());
+            ps.setObject(5, billing.getCreatedAt());
+            ps.setObject(6, billing.getUpdatedAt());
+        });
+    }
+
+    private <T> int batchInsert(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter) {
+        if (rows == null || rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(sql, rows, BATCH_SIZE, setter);
+        return rows.size();
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+
+    private static void setNullableDecimal(PreparedStatement ps, int index, java.math.BigDecimal value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.DECIMAL);
+        } else {
+            ps.setBigDecimal(index, value);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.skillbridge.repository.document;
+
+import com.skillbridge.entity.document.Attachment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Attachment Repository
+ * Handles database operations for normalized entity attachments
+ */
+@Repository
+public interface AttachmentRepository extends JpaRepository<Attachment, Integer> {
+
+    List<Attachment> findByEntityTypeAndEntityIdOrderByPositionAsc(String entityType, Integer entityId);
+
+    /**
+     * One page of an entity's attachments, in display order
+     */
+    Page<Attachment> findByEntityTypeAndEntityIdOrderByPositionAsc(String entityType, Integer entityId, Pageable pageable);
+
+    /**
+     * Attachments of a set of entities in one query (list views)
+     */
+    @Query("SELECT a FROM Attachment a WHERE a.entityType = :entityType AND a.entityId IN :entityIds " +
+           "ORDER BY a.entityId ASC, a.position ASC")
+    List<Attachment> findByEntities(@Param("entityType") String entityType,
+                                    @Param("entityIds") Collection<Integer> entityIds);
+
+    boolean existsByEntityTypeAndEntityId(String entityType, Integer entityId);
+
+    /**
+     * Which of the given entities already have attachment rows
+     */
+    @Query("SELECT DISTINCT a.entityId FROM Attachment a WHERE a.entityType = :entityType AND a.entityId IN :entityIds")
+    List<Integer> findEntityIdsWithAttachments(@Param("entityType") String entityType,
+                                               @Param("entityIds") Collection<Integer> entityIds);
+
+    @Query("SELECT COALESCE(MAX(a.position), -1) FROM Attachment a WHERE a.entityType = :entityType AND a.entityId = :entityId")
+    int findMaxPosition(@Param("entityType") String entityType, @Param("entityId") Integer entityId);
+
+    @Modifying
+    @Query("DELETE FROM Attachment a WHERE a.entityType = :entityType AND a.entityId = :entityId")
+    int deleteByEntity(@Param("entityType") String entityType, @Param("entityId") Integer entityId);
+
+    @Modifying
+    @Query("DELETE FROM Attachment a WHERE a.entityType = :entityType AND a.entityId = :entityId AND a.s3Key = :s3Key")
+    int deleteByEntityAndS3Key(@Param("entityType") String entityType,
+                               @Param("entityId") Integer entityId,
+                               @Param("s3Key") String s3Key);
+}
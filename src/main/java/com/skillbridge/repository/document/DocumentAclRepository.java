@@ -0,0 +1,29 @@
+package com.skillbridge.repository.document;
+
+import com.skillbridge.entity.document.DocumentAcl;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Document ACL Repository
+ * Handles database operations for normalized document grants
+ */
+@Repository
+public interface DocumentAclRepository extends JpaRepository<DocumentAcl, Integer> {
+
+    List<DocumentAcl> findByDocumentId(Integer documentId);
+
+    /**
+     * Remove all grants of a document
+     * @param documentId document_metadata.id
+     * @return Number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM DocumentAcl a WHERE a.documentId = :documentId")
+    int deleteByDocumentId(@Param("documentId") Integer documentId);
+}
@@ -2,8 +2,12 @@ package com.skillbridge.repository.document;
 
 import com.skillbridge.entity.document.DocumentMetadata;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,5 +16,97 @@ public interface DocumentMetadataRepository extends JpaRepository<DocumentMetada
     Optional<DocumentMetadata> findByS3Key(String s3Key);
 
     List<DocumentMetadata> findByEntityIdAndEntityType(Integer entityId, String entityType);
-}
 
+    boolean existsByS3Key(String s3Key);
+
+    /**
+     * Which of the given keys already have metadata
+     */
+    @Query("SELECT d.s3Key FROM DocumentMetadata d WHERE d.s3Key IN :s3Keys")
+    List<String> findExistingS3Keys(@Param("s3Keys") Collection<String> s3Keys);
+
+    /**
+     * Check access to a document in one indexed lookup: owner, client of the related entity,
+     * or a document_acl grant for the user's role or id
+     * @param s3Key S3 key of the document
+     * @param userId Current user ID
+     * @param role Current user role
+     * @param clientUserId Current user ID if the user is a client, otherwise null
+     * @return true if any rule grants access
+     */
+    @Query("SELECT COUNT(d) > 0 FROM DocumentMetadata d WHERE d.s3Key = :s3Key AND (" +
+           "d.ownerId = :userId OR d.clientUserId = :clientUserId OR " +
+           "EXISTS (SELECT a.id FROM DocumentAcl a WHERE a.documentId = d.id AND (a.role = :role OR a.userId = :userId)))")
+    boolean hasAccess(@Param("s3Key") String s3Key,
+                      @Param("userId") Integer userId,
+                      @Param("role") String role,
+                      @Param("clientUserId") Integer clientUserId);
+
+    /**
+     * Batch form of hasAccess: which of the given keys the user can access
+     * @return Accessible keys (keys without metadata are never returned)
+     */
+    @Query("SELECT d.s3Key FROM DocumentMetadata d WHERE d.s3Key IN :s3Keys AND (" +
+           "d.ownerId = :userId OR d.clientUserId = :clientUserId OR " +
+           "EXISTS (SELECT a.id FROM DocumentAcl a WHERE a.documentId = d.id AND (a.role = :role OR a.userId = :userId)))")
+    List<String> findAccessibleS3Keys(@Param("s3Keys") Collection<String> s3Keys,
+                                      @Param("userId") Integer userId,
+                                      @Param("role") String role,
+                                      @Param("clientUserId") Integer clientUserId);
+
+    List<DocumentMetadata> findByS3KeyIn(Collection<String> s3Keys);
+
+    /**
+     * Re-derive the client owner of a proposal's documents (proposal -> contact -> client user)
+     * @return Number of documents whose owner changed
+     */
+    @Modifying
+    @Query(value = "UPDATE document_metadata d " +
+                   "JOIN proposals p ON p.id = d.entity_id " +
+                   "LEFT JOIN contacts c ON c.id = p.contact_id " +
+                   "SET d.client_user_id = c.client_user_id " +
+                   "WHERE d.entity_type = 'proposal' AND p.id = :proposalId " +
+                   "AND NOT (d.client_user_id <=> c.client_user_id)",
+           nativeQuery = true)
+    int refreshProposalClient(@Param("proposalId") Integer proposalId);
+
+    /**
+     * Re-derive the client owner of the documents of all proposals of a contact
+     * @return Number of documents whose owner changed
+     */
+    @Modifying
+    @Query(value = "UPDATE document_metadata d " +
+                   "JOIN proposals p ON p.id = d.entity_id " +
+                   "JOIN contacts c ON c.id = p.contact_id " +
+                   "SET d.client_user_id = c.client_user_id " +
+                   "WHERE d.entity_type = 'proposal' AND c.id = :contactId " +
+                   "AND NOT (d.client_user_id <=> c.client_user_id)",
+           nativeQuery = true)
+    int refreshContactClient(@Param("contactId") Integer contactId);
+
+    /**
+     * Re-derive the client owner of an MSA contract's documents
+     * @return Number of documents whose owner changed
+     */
+    @Modifying
+    @Query(value = "UPDATE document_metadata d " +
+                   "JOIN contracts c ON c.id = d.entity_id " +
+                   "SET d.client_user_id = c.client_id " +
+                   "WHERE d.entity_type = 'msa_contract' AND c.id = :contractId " +
+                   "AND NOT (d.client_user_id <=> c.client_id)",
+           nativeQuery = true)
+    int refreshMSAContractClient(@Param("contractId") Integer contractId);
+
+    /**
+     * Re-derive the client owner of a SOW contract's documents
+     * @return Number of documents whose owner changed
+     */
+    @Modifying
+    @Query(value = "UPDATE document_metadata d " +
+                   "JOIN sow_contracts c ON c.id = d.entity_id " +
+                   "SET d.client_user_id = c.client_id " +
+                   "WHERE d.entity_type = 'sow_contract' AND c.id = :sowContractId " +
+                   "AND NOT (d.client_user_id <=> c.client_id)",
+           nativeQuery = true)
+    int refreshSOWContractClient(@Param("sowContractId") Integer sowContractId);
+}
@@ -0,0 +1,28 @@
+package com.skillbridge.repository.document;
+
+import com.skillbridge.entity.document.PendingUpload;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Pending Upload Repository
+ * Handles database operations for presigned upload slots
+ */
+@Repository
+public interface PendingUploadRepository extends JpaRepository<PendingUpload, Integer> {
+
+    List<PendingUpload> findByS3KeyIn(Collection<String> s3Keys);
+
+    /**
+     * Slots that expired without being completed, oldest first
+     */
+    @Query("SELECT p FROM PendingUpload p WHERE p.expiresAt < :now ORDER BY p.expiresAt ASC")
+    List<PendingUpload> findExpired(@Param("now") LocalDateTime now, Pageable pageable);
+}
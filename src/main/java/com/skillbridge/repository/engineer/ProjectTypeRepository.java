@@ -1,10 +1,13 @@
 package com.skillbridge.repository.engineer;
 
 import com.skillbridge.entity.engineer.ProjectType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -41,6 +44,7 @@ public interface ProjectTypeRepository extends JpaRepository<ProjectType, Intege
      * @param name Project type name
      * @return Optional ProjectType
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<ProjectType> findByName(String name);
 
     /**
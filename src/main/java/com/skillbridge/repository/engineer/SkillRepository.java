@@ -1,10 +1,13 @@
 package com.skillbridge.repository.engineer;
 
 import com.skillbridge.entity.engineer.Skill;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,6 +17,7 @@ import java.util.Optional;
 /**
  * Skill Repository
  * Handles database operations for skills
+ * Skills are in the second-level cache; the parent/sub-skill lookups also use the query cache
  */
 @Repository
 public interface SkillRepository extends JpaRepository<Skill, Integer> {
@@ -23,6 +27,7 @@ public interface SkillRepository extends JpaRepository<Skill, Integer> {
      * @param pageable Pagination information
      * @return Page of parent skills
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Page<Skill> findByParentSkillIdIsNull(Pageable pageable);
 
     /**
@@ -30,6 +35,7 @@ public interface SkillRepository extends JpaRepository<Skill, Integer> {
      * @param parentSkillId The parent skill ID
      * @return List of sub-skills
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Skill> findByParentSkillId(Integer parentSkillId);
 
     /**
@@ -53,6 +53,18 @@ public interface ProposalRepository extends JpaRepository<Proposal, Integer> {
             @Param("clientUserId") Integer clientUserId
     );
 
+    /**
+     * Find the first proposal whose main document is the given S3 key (uses idx_proposals_link)
+     */
+    Optional<Proposal> findFirstByLinkOrderByIdAsc(String link);
+
+    /**
+     * Keyset page of proposals with documents, for the document metadata backfill
+     */
+    @Query("SELECT p FROM Proposal p WHERE p.id > :afterId " +
+           "AND (p.link IS NOT NULL OR p.attachmentsManifest IS NOT NULL) ORDER BY p.id ASC")
+    List<Proposal> findWithDocumentsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
     /**
      * Find proposals by contact ID
      */
@@ -87,5 +99,11 @@ public interface ProposalRepository extends JpaRepository<Proposal, Integer> {
      */
     @Query("SELECT COALESCE(MAX(p.version), 0) FROM Proposal p WHERE p.opportunityId = :opportunityId")
     Integer findMaxVersionByOpportunityId(@Param("opportunityId") Integer opportunityId);
-}
 
+    /**
+     * Keyset page of (id, attachments_manifest) for entities with a manifest, for the attachments backfill
+     */
+    @Query("SELECT p.id, p.attachmentsManifest FROM Proposal p WHERE p.id > :afterId " +
+           "AND p.attachmentsManifest IS NOT NULL ORDER BY p.id ASC")
+    List<Object[]> findManifestsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+}
@@ -14,7 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
  * Handles business logic for admin dashboard summary statistics
  */
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class AdminDashboardService {
 
     @Autowired
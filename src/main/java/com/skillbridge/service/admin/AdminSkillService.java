@@ -7,6 +7,8 @@ import com.skillbridge.dto.admin.response.SkillResponseDTO;
 import com.skillbridge.entity.engineer.Skill;
 import com.skillbridge.repository.engineer.EngineerSkillRepository;
 import com.skillbridge.repository.engineer.SkillRepository;
+import com.skillbridge.service.engineer.SkillTree;
+import com.skillbridge.service.engineer.SkillTreeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -32,6 +34,9 @@ public class AdminSkillService {
     @Autowired
     private EngineerSkillRepository engineerSkillRepository;
 
+    @Autowired
+    private SkillTreeService skillTreeService;
+
     /**
      * Get all parent skills with pagination and search
      */
@@ -67,16 +72,17 @@ public class AdminSkillService {
      * Get all sub-skills for a parent skill
      */
     public List<SkillResponseDTO> getSubSkillsByParentId(Integer parentSkillId) {
-        Skill parentSkill = skillRepository.findById(parentSkillId)
-                .orElseThrow(() -> new RuntimeException("Parent skill not found"));
+        SkillTree.Node parentSkill = skillTreeService.getTree().getSkill(parentSkillId);
+        if (parentSkill == null) {
+            throw new RuntimeException("Parent skill not found");
+        }
 
         if (parentSkill.getParentSkillId() != null) {
             throw new RuntimeException("Specified skill is not a parent skill");
         }
 
-        List<Skill> subSkills = skillRepository.findByParentSkillId(parentSkillId);
-        return subSkills.stream()
-                .map(this::convertToDTO)
+        return parentSkill.getChildren().stream()
+                .map(node -> new SkillResponseDTO(node.getId(), node.getName(), node.getDescription(), node.getParentSkillId()))
                 .collect(Collectors.toList());
     }
 
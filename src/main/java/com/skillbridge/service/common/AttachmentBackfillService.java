@@ -0,0 +1,133 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.dto.common.AttachmentInfo;
+import com.skillbridge.entity.document.Attachment;
+import com.skillbridge.entity.document.DocumentMetadata;
+import com.skillbridge.repository.contract.ContractRepository;
+import com.skillbridge.repository.contract.SOWContractRepository;
+import com.skillbridge.repository.document.AttachmentRepository;
+import com.skillbridge.repository.proposal.ProposalRepository;
+import com.skillbridge.util.JsonCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Attachment Backfill Service
+ * Copies attachments_manifest entries of contracts, SOW contracts and proposals into the
+ * attachments table. Runs once after startup in keyset batches; entities that already have
+ * rows are skipped, so it is idempotent. Manifests are left in place: they are ignored once
+ * rows exist and are cleared on the next attachment write.
+ */
+@Service
+public class AttachmentBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentBackfillService.class);
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private SOWContractRepository sowContractRepository;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JsonCodec jsonCodec;
+
+    @Value("${document.attachment-backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${document.attachment-backfill.batch-size:200}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int created = backfill();
+            if (created > 0) {
+                logger.info("Backfilled {} attachment rows from attachments manifests", created);
+            }
+        } catch (Exception e) {
+            // Not fatal: entities without rows are still read from their manifest
+            logger.error("Attachment backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Create attachment rows for every entity that has a manifest but no rows
+     * @return Number of attachment rows created
+     */
+    public int backfill() {
+        return backfill(DocumentMetadata.ENTITY_MSA_CONTRACT, contractRepository::findManifestsAfter)
+             + backfill(DocumentMetadata.ENTITY_SOW_CONTRACT, sowContractRepository::findManifestsAfter)
+             + backfill(DocumentMetadata.ENTITY_PROPOSAL, proposalRepository::findManifestsAfter);
+    }
+
+    private int backfill(String entityType, BiFunction<Integer, Pageable, List<Object[]>> findManifestsAfter) {
+        int created = 0;
+        Integer afterId = 0;
+        while (true) {
+            List<Object[]> batch = findManifestsAfter.apply(afterId, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return created;
+            }
+            created += backfillBatch(entityType, batch);
+            afterId = (Integer) batch.get(batch.size() - 1)[0];
+        }
+    }
+
+    private int backfillBatch(String entityType, List<Object[]> batch) {
+        Map<Integer, String> manifests = new LinkedHashMap<>();
+        for (Object[] row : batch) {
+            manifests.put((Integer) row[0], (String) row[1]);
+        }
+        Set<Integer> done = new HashSet<>(attachmentRepository.findEntityIdsWithAttachments(entityType, manifests.keySet()));
+
+        int created = 0;
+        for (Map.Entry<Integer, String> entry : manifests.entrySet()) {
+            if (done.contains(entry.getKey())) {
+                continue;
+            }
+            List<AttachmentInfo> infos = jsonCodec.readAttachments(entry.getValue());
+            List<Attachment> rows = AttachmentService.toRows(entityType, entry.getKey(), infos);
+            if (rows.isEmpty()) {
+                continue;
+            }
+            try {
+                // One transaction per entity: a concurrent upload that already moved this
+                // manifest only fails its own insert (unique key), not the whole batch
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> attachmentRepository.saveAll(rows));
+                created += rows.size();
+            } catch (Exception e) {
+                logger.warn("Skipping attachments of {} {}: {}", entityType, entry.getKey(), e.getMessage());
+            }
+        }
+        return created;
+    }
+}
@@ -0,0 +1,163 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.dto.common.AttachmentInfo;
+import com.skillbridge.entity.document.Attachment;
+import com.skillbridge.repository.document.AttachmentRepository;
+import com.skillbridge.service.sales.ContractDetailViewInvalidator;
+import com.skillbridge.util.JsonCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Attachment Service
+ * Reads and writes entity attachments in the attachments table.
+ * The old attachments_manifest column is only read while an entity has no attachment rows
+ * (not backfilled yet); writes first move such a manifest into rows, and callers clear the
+ * column after any write, so rows are the single source of truth from then on.
+ */
+@Service
+public class AttachmentService {
+
+    // Max entity IDs per IN (...) query when bulk-loading
+    private static final int BULK_LOAD_CHUNK = 500;
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private JsonCodec jsonCodec;
+
+    // Bulk deletes skip the JPA listener on Attachment, so they invalidate the contract detail view here
+    @Autowired
+    private ContractDetailViewInvalidator contractDetailViewInvalidator;
+
+    /**
+     * Get attachments of an entity in display order
+     * @param entityType msa_contract, sow_contract or proposal
+     * @param entityId Entity ID
+     * @param legacyManifest attachments_manifest of the entity (used only if it has no rows)
+     * @return Attachments
+     */
+    public List<AttachmentInfo> getAttachments(String entityType, Integer entityId, String legacyManifest) {
+        if (entityId != null) {
+            List<Attachment> rows = attachmentRepository.findByEntityTypeAndEntityIdOrderByPositionAsc(entityType, entityId);
+            if (!rows.isEmpty()) {
+                return toInfos(rows);
+            }
+        }
+        return jsonCodec.readAttachments(legacyManifest);
+    }
+
+    /**
+     * Get attachments of several entities with one query (per 500 entities)
+     * @param entityType msa_contract, sow_contract or proposal
+     * @param legacyManifests Entity ID -> attachments_manifest (value may be null)
+     * @return Entity ID -> attachments, for every requested ID
+     */
+    public Map<Integer, List<AttachmentInfo>> getAttachments(String entityType, Map<Integer, String> legacyManifests) {
+        Map<Integer, List<AttachmentInfo>> result = new LinkedHashMap<>();
+        if (legacyManifests == null || legacyManifests.isEmpty()) {
+            return result;
+        }
+        List<Integer> entityIds = new ArrayList<>(legacyManifests.keySet());
+        for (int from = 0; from < entityIds.size(); from += BULK_LOAD_CHUNK) {
+            List<Integer> chunk = entityIds.subList(from, Math.min(from + BULK_LOAD_CHUNK, entityIds.size()));
+            for (Attachment row : attachmentRepository.findByEntities(entityType, chunk)) {
+                result.computeIfAbsent(row.getEntityId(), id -> new ArrayList<>())
+                      .add(new AttachmentInfo(row.getS3Key(), row.getFileName()));
+            }
+        }
+        for (Map.Entry<Integer, String> entry : legacyManifests.entrySet()) {
+            if (!result.containsKey(entry.getKey())) {
+                result.put(entry.getKey(), jsonCodec.readAttachments(entry.getValue()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Add files after the existing attachments of an entity
+     * @return All attachments of the entity after the append
+     */
+    @Transactional
+    public List<AttachmentInfo> appendAttachments(String entityType, Integer entityId, String legacyManifest,
+                                                  List<AttachmentInfo> fileInfos) {
+        materializeManifest(entityType, entityId, legacyManifest);
+        int position = attachmentRepository.findMaxPosition(entityType, entityId) + 1;
+        List<Attachment> rows = new ArrayList<>();
+        for (AttachmentInfo info : fileInfos) {
+            if (info.getS3Key() != null && !info.getS3Key().trim().isEmpty()) {
+                rows.add(new Attachment(entityType, entityId, info.getS3Key(), info.getFileName(), position++));
+            }
+        }
+        attachmentRepository.saveAll(rows);
+        return toInfos(attachmentRepository.findByEntityTypeAndEntityIdOrderByPositionAsc(entityType, entityId));
+    }
+
+    /**
+     * Replace all attachments of an entity
+     */
+    @Transactional
+    public void replaceAttachments(String entityType, Integer entityId, List<AttachmentInfo> fileInfos) {
+        attachmentRepository.deleteByEntity(entityType, entityId);
+        contractDetailViewInvalidator.invalidateAttachments(entityType, entityId);
+        attachmentRepository.saveAll(toRows(entityType, entityId, fileInfos));
+    }
+
+    /**
+     * Remove one file from the attachments of an entity
+     * @return Remaining attachments
+     * @throws RuntimeException if the entity has no such attachment
+     */
+    @Transactional
+    public List<AttachmentInfo> removeAttachment(String entityType, Integer entityId, String legacyManifest, String s3Key) {
+        materializeManifest(entityType, entityId, legacyManifest);
+        if (attachmentRepository.deleteByEntityAndS3Key(entityType, entityId, s3Key) == 0) {
+            throw new RuntimeException("Attachment not found");
+        }
+        contractDetailViewInvalidator.invalidateAttachments(entityType, entityId);
+        return toInfos(attachmentRepository.findByEntityTypeAndEntityIdOrderByPositionAsc(entityType, entityId));
+    }
+
+    /**
+     * Move a not yet backfilled manifest into rows before writing
+     */
+    private void materializeManifest(String entityType, Integer entityId, String legacyManifest) {
+        if (legacyManifest == null || legacyManifest.trim().isEmpty()
+                || attachmentRepository.existsByEntityTypeAndEntityId(entityType, entityId)) {
+            return;
+        }
+        attachmentRepository.saveAll(toRows(entityType, entityId, jsonCodec.readAttachments(legacyManifest)));
+    }
+
+    /**
+     * Rows in list order; blank and repeated keys are skipped (one row per file)
+     */
+    static List<Attachment> toRows(String entityType, Integer entityId, List<AttachmentInfo> fileInfos) {
+        List<Attachment> rows = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        int position = 0;
+        for (AttachmentInfo info : fileInfos) {
+            if (info.getS3Key() != null && !info.getS3Key().trim().isEmpty() && seen.add(info.getS3Key())) {
+                rows.add(new Attachment(entityType, entityId, info.getS3Key(), info.getFileName(), position++));
+            }
+        }
+        return rows;
+    }
+
+    private List<AttachmentInfo> toInfos(List<Attachment> rows) {
+        List<AttachmentInfo> infos = new ArrayList<>();
+        for (Attachment row : rows) {
+            infos.add(new AttachmentInfo(row.getS3Key(), row.getFileName()));
+        }
+        return infos;
+    }
+}
@@ -0,0 +1,229 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.dto.common.DashboardEventDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dashboard Event Service
+ * Server-Sent Events hub for the sales and client dashboards.
+ *
+ * Each logged-in user can hold a few open SSE connections. Connections are async servlet
+ * requests (SseEmitter), so an idle connection holds no request thread. Write paths publish
+ * incremental events (counter deltas, new activity items); they are delivered after the
+ * write transaction commits, on the dashboardStreamExecutor pool, so a slow client never
+ * blocks a request thread. A periodic heartbeat keeps proxies from closing idle streams and
+ * drops connections whose client has gone away.
+ *
+ * Events only reach connections on this node; dashboards still load their initial state from
+ * the summary/activities endpoints and re-sync on reconnect.
+ */
+@Service
+public class DashboardEventService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardEventService.class);
+
+    @Autowired
+    private SalesRecipientResolver salesRecipientResolver;
+
+    @Autowired
+    @Qualifier("dashboardStreamExecutor")
+    private ThreadPoolTaskExecutor dashboardStreamExecutor;
+
+    @Value("${dashboard.stream.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    @Value("${dashboard.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    private final Map<Integer, ConcurrentLinkedDeque<SseEmitter>> connections = new ConcurrentHashMap<>();
+
+    private final AtomicLong eventSequence = new AtomicLong();
+
+    /**
+     * Open an event stream for a user
+     * When the user already has the maximum number of streams, the oldest one is closed.
+     * @param userId User ID
+     * @return Emitter to return from the controller
+     */
+    public SseEmitter subscribe(Integer userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMinutes * 60 * 1000);
+        ConcurrentLinkedDeque<SseEmitter> userConnections = connections.computeIfAbsent(userId, id -> new ConcurrentLinkedDeque<>());
+        userConnections.addLast(emitter);
+
+        emitter.onCompletion(() -> removeConnection(userId, emitter));
+        emitter.onTimeout(() -> removeConnection(userId, emitter));
+        emitter.onError(error -> removeConnection(userId, emitter));
+
+        while (userConnections.size() > maxConnectionsPerUser) {
+            SseEmitter oldest = userConnections.pollFirst();
+            if (oldest != null && oldest != emitter) {
+                oldest.complete();
+            }
+        }
+
+        try {
+            emitter.send(SseEmitter.event().name("connected").data("ok"));
+        } catch (IOException e) {
+            removeConnection(userId, emitter);
+        }
+        return emitter;
+    }
+
+    /**
+     * Publish an event to all sales managers plus the given users (e.g. the assignee)
+     * @param userIds Additional recipients (nulls are ignored)
+     * @param event Event
+     */
+    public void publishToSales(Collection<Integer> userIds, DashboardEventDTO event) {
+        publish(userIds, true, event);
+    }
+
+    /**
+     * Publish an event to specific users
+     * @param userIds Recipients (nulls are ignored)
+     * @param event Event
+     */
+    public void publishToUsers(Collection<Integer> userIds, DashboardEventDTO event) {
+        publish(userIds, false, event);
+    }
+
+    /**
+     * Whether the user has an open stream on this node
+     */
+    public boolean isConnected(Integer userId) {
+        return userId != null && connections.containsKey(userId);
+    }
+
+    /**
+     * Number of open streams on this node
+     */
+    public int getConnectionCount() {
+        return connections.values().stream().mapToInt(ConcurrentLinkedDeque::size).sum();
+    }
+
+    /**
+     * Send a comment line to every open stream; failed streams are closed and removed
+     */
+    @Scheduled(fixedDelayString = "${dashboard.stream.heartbeat-ms:20000}")
+    public void sendHeartbeats() {
+        // Sends run on the stream pool so a slow client never holds the scheduler thread;
+        // pings dropped because the pool is full go out on the next beat
+        for (Map.Entry<Integer, ConcurrentLinkedDeque<SseEmitter>> entry : connections.entrySet()) {
+            Integer userId = entry.getKey();
+            for (SseEmitter emitter : entry.getValue()) {
+                try {
+                    dashboardStreamExecutor.execute(() -> sendHeartbeat(userId, emitter));
+                } catch (TaskRejectedException e) {
+                    logger.debug("Dashboard stream pool is full, skipping heartbeats");
+                    return;
+                }
+            }
+        }
+    }
+
+    private void sendHeartbeat(Integer userId, SseEmitter emitter) {
+        try {
+            emitter.send(SseEmitter.event().comment("ping"));
+        } catch (Exception e) {
+            removeConnection(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void publish(Collection<Integer> userIds, boolean includeSalesManagers, DashboardEventDTO event) {
+        try {
+            Runnable task = () -> deliver(userIds, includeSalesManagers, event);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        submit(task);
+                    }
+                });
+            } else {
+                submit(task);
+            }
+        } catch (Exception e) {
+            // Dashboard events are best-effort and must never fail the write path
+            logger.warn("Failed to publish dashboard event {} {}: {}", event.getEntityType(), event.getEntityId(), e.getMessage());
+        }
+    }
+
+    private void submit(Runnable task) {
+        if (connections.isEmpty()) {
+            return;
+        }
+        try {
+            dashboardStreamExecutor.execute(task);
+        } catch (TaskRejectedException e) {
+            logger.warn("Dashboard stream pool is full, dropping event");
+        }
+    }
+
+    /**
+     * Send an event to every open stream of the recipients
+     */
+    void deliver(Collection<Integer> userIds, boolean includeSalesManagers, DashboardEventDTO event) {
+        Set<Integer> recipients = new LinkedHashSet<>();
+        if (userIds != null) {
+            for (Integer userId : userIds) {
+                if (userId != null) {
+                    recipients.add(userId);
+                }
+            }
+        }
+        if (includeSalesManagers) {
+            recipients.addAll(salesRecipientResolver.getSalesManagerIds());
+        }
+
+        String id = String.valueOf(eventSequence.incrementAndGet());
+        for (Integer userId : recipients) {
+            ConcurrentLinkedDeque<SseEmitter> userConnections = connections.get(userId);
+            if (userConnections == null) {
+                continue;
+            }
+            Iterator<SseEmitter> iterator = userConnections.iterator();
+            while (iterator.hasNext()) {
+                SseEmitter emitter = iterator.next();
+                try {
+                    emitter.send(SseEmitter.event()
+                        .id(id)
+                        .name(event.getType())
+                        .data(event, MediaType.APPLICATION_JSON));
+                } catch (Exception e) {
+                    removeConnection(userId, emitter);
+                    emitter.completeWithError(e);
+                }
+            }
+        }
+    }
+
+    private void removeConnection(Integer userId, SseEmitter emitter) {
+        connections.computeIfPresent(userId, (id, deque) -> {
+            deque.remove(emitter);
+            return deque.isEmpty() ? null : deque;
+        });
+    }
+}
@@ -0,0 +1,146 @@
+package com.skillbridge.service.common;
+
+import java.util.Map;
+
+/**
+ * Default Email Templates
+ * Built-in subject/body for every email EmailService sends. An active email_templates row with
+ * the same template_name overrides the default. Placeholders use the {name} syntax.
+ */
+final class DefaultEmailTemplates {
+
+    static final String CONFIRMATION = "confirmation";
+    static final String CONFIRMATION_NEW_ACCOUNT = "confirmation_new_account";
+    static final String WELCOME = "welcome";
+    static final String MEETING_INVITATION = "meeting_invitation";
+    static final String NEW_CONTACT_NOTIFICATION = "new_contact_notification";
+    static final String NEW_PROPOSAL_NOTIFICATION = "new_proposal_notification";
+    static final String CONTRACT_PENDING_APPROVAL = "contract_pending_approval";
+    static final String PASSWORD_RESET = "password_reset";
+
+    private static final String CONTACT_INTRO =
+        "Dear {client_name},\n\n" +
+        "Thank you for contacting SkillBridge. We have received your contact request and appreciate your interest in our services.\n\n" +
+        "Contact Details:\n" +
+        "- Title: {contact_title}\n" +
+        "{company_line}" +
+        "- Email: {email}\n\n";
+
+    private static final String CONTACT_OUTRO =
+        "Our team will review your request and get back to you as soon as possible.\n\n" +
+        "Best regards,\n" +
+        "{from_name}\n" +
+        "SkillBridge Team";
+
+    /**
+     * Template name -> { subject, body }
+     */
+    static final Map<String, String[]> TEMPLATES = Map.of(
+        CONFIRMATION, new String[]{
+            "Thank you for your contact request - SkillBridge",
+            CONTACT_INTRO +
+            "You can log in to your account using the following link:\n" +
+            "{login_url}\n\n" +
+            CONTACT_OUTRO
+        },
+        CONFIRMATION_NEW_ACCOUNT, new String[]{
+            "Thank you for your contact request - SkillBridge",
+            CONTACT_INTRO +
+            "Your account has been created successfully. Please use the following credentials to log in:\n\n" +
+            "Login URL: {login_url}\n" +
+            "Email: {email}\n" +
+            "Initial Password: {password}\n\n" +
+            "For security reasons, please change your password after your first login.\n\n" +
+            CONTACT_OUTRO
+        },
+        WELCOME, new String[]{
+            "Welcome to SkillBridge - Your Account Has Been Created",
+            "Dear {name},\n\n" +
+            "Welcome to SkillBridge! Your account has been created successfully.\n\n" +
+            "Account Details:\n" +
+            "- Name: {name}\n" +
+            "- Role: {role}\n" +
+            "- Email: {email}\n\n" +
+            "Login Credentials:\n" +
+            "Login URL: {login_url}\n" +
+            "Email: {email}\n" +
+            "Initial Password: {password}\n\n" +
+            "IMPORTANT SECURITY REMINDER:\n" +
+            "For security reasons, please change your password after your first login.\n\n" +
+            "If you have any questions or need assistance, please contact our support team.\n\n" +
+            "Best regards,\n" +
+            "{from_name}\n" +
+            "SkillBridge Team"
+        },
+        MEETING_INVITATION, new String[]{
+            "Meeting Invitation - SkillBridge",
+            "Dear {client_name},\n\n" +
+            "We would like to invite you to an online meeting.\n\n" +
+            "Meeting Link: {meeting_link}\n" +
+            "Date & Time: {meeting_date_time}\n\n" +
+            "Best regards,\n" +
+            "{from_name}"
+        },
+        NEW_CONTACT_NOTIFICATION, new String[]{
+            "New Contact Request - {client_name} ({company_name})",
+            "Dear Sales Team,\n\n" +
+            "A new contact request has been submitted through the Contact Us form.\n\n" +
+            "Contact Details:\n" +
+            "- Name: {client_name}\n" +
+            "- Company: {company_name}\n" +
+            "- Email: {client_email}\n" +
+            "- Phone: {phone}\n" +
+            "- Title: {title}\n" +
+            "- Message: {message}\n" +
+            "- Contact ID: {contact_id}\n\n" +
+            "Please review this contact request and follow up with the client as soon as possible.\n\n" +
+            "Best regards,\n" +
+            "{from_name}\n" +
+            "SkillBridge System"
+        },
+        NEW_PROPOSAL_NOTIFICATION, new String[]{
+            "New Proposal Available - {proposal_title}",
+            "Dear {client_name},\n\n" +
+            "We are pleased to inform you that a new proposal has been approved and is now available for your review.\n\n" +
+            "Proposal Details:\n" +
+            "- Title: {proposal_title}\n" +
+            "{opportunity_line}" +
+            "\n" +
+            "Please log in to your account to review the proposal:\n" +
+            "{login_url}\n\n" +
+            "You can access your proposals and provide feedback through your client portal.\n\n" +
+            "If you have any questions, please feel free to contact us.\n\n" +
+            "Best regards,\n" +
+            "{from_name}\n" +
+            "SkillBridge Team"
+        },
+        CONTRACT_PENDING_APPROVAL, new String[]{
+            "Contract Pending Your Approval - {contract_name} ({contract_id})",
+            "Dear {client_name},\n\n" +
+            "We are pleased to inform you that a new {contract_type} contract has been approved by our Sales Manager and is now pending your review and approval.\n\n" +
+            "Contract Details:\n" +
+            "- Type: {contract_type}\n" +
+            "- Name: {contract_name}\n" +
+            "- Contract ID: {contract_id}\n\n" +
+            "Please log in to your account to review and approve the contract:\n" +
+            "{login_url}\n\n" +
+            "You can access your contracts and provide approval through your client portal.\n\n" +
+            "If you have any questions or need clarification, please feel free to contact us.\n\n" +
+            "Best regards,\n" +
+            "{from_name}\n" +
+            "SkillBridge Team"
+        },
+        PASSWORD_RESET, new String[]{
+            "Password Reset Request",
+            "Hello {name},\n\n" +
+            "You requested a password reset. Please click the link below to reset your password:\n\n" +
+            "{reset_link}\n\n" +
+            "This link will expire in {expiration_minutes} minutes.\n\n" +
+            "If you did not request this, please ignore this email.\n\n" +
+            "Best regards,\nSkillBridge Team"
+        }
+    );
+
+    private DefaultEmailTemplates() {
+    }
+}
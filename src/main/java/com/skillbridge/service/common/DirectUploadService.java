@@ -0,0 +1,462 @@
+package com.skillbridge.service.common;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.skillbridge.dto.common.AttachmentInfo;
+import com.skillbridge.dto.common.UploadSlotDTO;
+import com.skillbridge.dto.common.UploadSlotsRequest;
+import com.skillbridge.entity.auth.User;
+import com.skillbridge.entity.contract.ChangeRequest;
+import com.skillbridge.entity.contract.ChangeRequestAttachment;
+import com.skillbridge.entity.contract.Contract;
+import com.skillbridge.entity.contract.ContractHistory;
+import com.skillbridge.entity.contract.SOWContract;
+import com.skillbridge.entity.document.DocumentMetadata;
+import com.skillbridge.entity.document.PendingUpload;
+import com.skillbridge.entity.opportunity.Opportunity;
+import com.skillbridge.entity.proposal.Proposal;
+import com.skillbridge.entity.proposal.ProposalHistory;
+import com.skillbridge.repository.contract.ChangeRequestAttachmentRepository;
+import com.skillbridge.repository.contract.ChangeRequestRepository;
+import com.skillbridge.repository.contract.ContractHistoryRepository;
+import com.skillbridge.repository.contract.ContractRepository;
+import com.skillbridge.repository.contract.SOWContractRepository;
+import com.skillbridge.repository.document.DocumentMetadataRepository;
+import com.skillbridge.repository.document.PendingUploadRepository;
+import com.skillbridge.repository.opportunity.OpportunityRepository;
+import com.skillbridge.repository.proposal.ProposalHistoryRepository;
+import com.skillbridge.repository.proposal.ProposalRepository;
+import com.skillbridge.util.JsonCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Direct Upload Service
+ * Presigned PUT uploads for contract, proposal and change request attachments: the client asks
+ * for upload slots, sends the files straight to S3, then calls completeUploads. Completion checks
+ * each object with a HEAD request and records the same rows the multipart endpoints write
+ * (attachments, DocumentMetadata, contract/proposal history, ChangeRequestAttachment), so file
+ * bytes never pass through the API nodes.
+ */
+@Service
+public class DirectUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DirectUploadService.class);
+
+    public static final String ENTITY_CHANGE_REQUEST = "change_request";
+
+    private static final String PDF_CONTENT_TYPE = "application/pdf";
+
+    private static final int MAX_FILES_PER_REQUEST = 20;
+
+    // Same limit as the multipart change request upload
+    private static final long CHANGE_REQUEST_MAX_SIZE = 10L * 1024 * 1024;
+
+    @Autowired
+    private S3Service s3Service;
+
+    @Autowired
+    private PendingUploadRepository pendingUploadRepository;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private SOWContractRepository sowContractRepository;
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Autowired
+    private ProposalHistoryRepository proposalHistoryRepository;
+
+    @Autowired
+    private OpportunityRepository opportunityRepository;
+
+    @Autowired
+    private ChangeRequestRepository changeRequestRepository;
+
+    @Autowired
+    private ChangeRequestAttachmentRepository changeRequestAttachmentRepository;
+
+    @Autowired
+    private DocumentMetadataRepository documentMetadataRepository;
+
+    @Autowired
+    private DocumentPermissionService documentPermissionService;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private ContractHistoryRepository contractHistoryRepository;
+
+    @Value("${document.direct-upload.expiration-minutes:15}")
+    private int expirationMinutes;
+
+    // Shared with spring.servlet.multipart.max-file-size, so both upload paths accept the same files
+    @Value("${document.upload.max-size-mb:50}")
+    private int maxSizeMb;
+
+    @Autowired
+    private JsonCodec jsonCodec;
+
+    /**
+     * Hand out presigned PUT URLs for files of an entity
+     * @param entityType msa_contract, sow_contract, proposal or change_request
+     * @param entityId Entity ID
+     * @param files Files the client will upload
+     * @param currentUser Current user
+     * @return One upload slot per file
+     */
+    @Transactional
+    public List<UploadSlotDTO> createSlots(String entityType, Integer entityId,
+                                           List<UploadSlotsRequest.FileInfo> files, User currentUser) {
+        checkAccess(entityType, entityId, currentUser);
+
+        if (files == null || files.isEmpty()) {
+            throw new RuntimeException("files is required");
+        }
+        if (files.size() > MAX_FILES_PER_REQUEST) {
+            throw new RuntimeException("At most " + MAX_FILES_PER_REQUEST + " files per request");
+        }
+
+        long maxSize = getMaxSize(entityType);
+        for (UploadSlotsRequest.FileInfo file : files) {
+            if (file.getFileName() == null || file.getFileName().trim().isEmpty()) {
+                throw new RuntimeException("File name is required");
+            }
+            // Validate file type (PDF only)
+            if (!PDF_CONTENT_TYPE.equals(file.getContentType())) {
+                throw new RuntimeException("Only PDF files are allowed. File: " + file.getFileName());
+            }
+            if (file.getSize() != null && file.getSize() > maxSize) {
+                throw new RuntimeException("File size exceeds " + (maxSize / (1024 * 1024)) + "MB limit. File: " + file.getFileName());
+            }
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(expirationMinutes);
+        String folder = getFolder(entityType, entityId);
+        List<UploadSlotDTO> slots = new ArrayList<>();
+        for (UploadSlotsRequest.FileInfo file : files) {
+            String s3Key = S3Service.generateKey(folder, file.getFileName());
+            String uploadUrl = s3Service.getPresignedUploadUrl(s3Key, PDF_CONTENT_TYPE, expirationMinutes);
+
+            PendingUpload pendingUpload = new PendingUpload();
+            pendingUpload.setS3Key(s3Key);
+            pendingUpload.setEntityType(entityType);
+            pendingUpload.setEntityId(entityId);
+            pendingUpload.setFileName(file.getFileName());
+            pendingUpload.setContentType(PDF_CONTENT_TYPE);
+            pendingUpload.setMaxSize(maxSize);
+            pendingUpload.setUserId(currentUser.getId());
+            pendingUpload.setExpiresAt(expiresAt);
+            pendingUploadRepository.save(pendingUpload);
+
+            slots.add(new UploadSlotDTO(s3Key, uploadUrl, file.getFileName(), PDF_CONTENT_TYPE, expiresAt));
+        }
+        return slots;
+    }
+
+    /**
+     * Record files uploaded through presigned PUT URLs
+     * Every key must belong to an unexpired slot of the current user for this entity, and the
+     * stored object must be a PDF within the slot's size limit.
+     * @param entityType msa_contract, sow_contract, proposal or change_request
+     * @param entityId Entity ID
+     * @param s3Keys Keys of the uploaded files
+     * @param currentUser Current user
+     * @return Recorded attachments
+     */
+    @Transactional
+    public List<AttachmentInfo> completeUploads(String entityType, Integer entityId, List<String> s3Keys, User currentUser) {
+        checkAccess(entityType, entityId, currentUser);
+
+        if (s3Keys == null || s3Keys.isEmpty()) {
+            throw new RuntimeException("s3Keys is required");
+        }
+
+        Map<String, PendingUpload> slotsByKey = new HashMap<>();
+        for (PendingUpload slot : pendingUploadRepository.findByS3KeyIn(s3Keys)) {
+            slotsByKey.put(slot.getS3Key(), slot);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<PendingUpload> slots = new ArrayList<>();
+        Map<String, Long> sizes = new HashMap<>();
+        for (String s3Key : new LinkedHashSet<>(s3Keys)) {
+            PendingUpload slot = slotsByKey.get(s3Key);
+            if (slot == null || !currentUser.getId().equals(slot.getUserId())
+                    || !entityType.equals(slot.getEntityType()) || !entityId.equals(slot.getEntityId())) {
+                throw new RuntimeException("No upload slot found for " + s3Key);
+            }
+            if (slot.getExpiresAt().isBefore(now)) {
+                throw new RuntimeException("Upload slot expired. File: " + slot.getFileName());
+            }
+
+            ObjectMetadata object = s3Service.getObjectMetadata(s3Key);
+            if (object == null) {
+                throw new RuntimeException("File was not uploaded. File: " + slot.getFileName());
+            }
+            if (object.getContentLength() > slot.getMaxSize() || !PDF_CONTENT_TYPE.equals(object.getContentType())) {
+                // Never keep an object that would not have been accepted through the API
+                s3Service.deleteFile(s3Key);
+                throw new RuntimeException("Uploaded file does not match its upload slot. File: " + slot.getFileName());
+            }
+            slots.add(slot);
+            sizes.put(s3Key, object.getContentLength());
+        }
+
+        List<AttachmentInfo> fileInfos = new ArrayList<>();
+        for (PendingUpload slot : slots) {
+            fileInfos.add(new AttachmentInfo(slot.getS3Key(), slot.getFileName()));
+        }
+
+        switch (entityType) {
+            case DocumentMetadata.ENTITY_MSA_CONTRACT:
+                recordContractAttachments(entityId, fileInfos, currentUser);
+                break;
+            case DocumentMetadata.ENTITY_SOW_CONTRACT:
+                recordSOWContractAttachments(entityId, fileInfos, currentUser);
+                break;
+            case DocumentMetadata.ENTITY_PROPOSAL:
+                recordProposalFiles(entityId, fileInfos, currentUser);
+                break;
+            default:
+                recordChangeRequestAttachments(entityId, slots, sizes, currentUser);
+                break;
+        }
+
+        pendingUploadRepository.deleteAll(slots);
+        return fileInfos;
+    }
+
+    /**
+     * Remove slots that expired without completion, together with any object uploaded for them
+     * Runs well after expiry so a completion that started in time is never cut short.
+     */
+    @Scheduled(fixedDelayString = "${document.direct-upload.cleanup-interval-ms:600000}")
+    @Transactional
+    public void cleanupExpiredSlots() {
+        List<PendingUpload> expired = pendingUploadRepository.findExpired(
+                LocalDateTime.now().minusHours(1), PageRequest.of(0, 100));
+        if (expired.isEmpty()) {
+            return;
+        }
+        for (PendingUpload slot : expired) {
+            s3Service.deleteFile(slot.getS3Key());
+        }
+        pendingUploadRepository.deleteAll(expired);
+        logger.info("Removed {} expired upload slots", expired.size());
+    }
+
+    private void recordContractAttachments(Integer contractId, List<AttachmentInfo> fileInfos, User currentUser) {
+        Contract contract = contractRepository.findById(contractId)
+            .orElseThrow(() -> new RuntimeException("Contract not found"));
+        for (AttachmentInfo fileInfo : fileInfos) {
+            saveDocumentMetadata(fileInfo.getS3Key(), "contract", contractId, DocumentMetadata.ENTITY_MSA_CONTRACT, currentUser);
+        }
+
+        List<AttachmentInfo> attachments = attachmentService.appendAttachments(
+            DocumentMetadata.ENTITY_MSA_CONTRACT, contractId, contract.getAttachmentsManifest(), fileInfos);
+        contract.setLink(attachments.get(0).getS3Key()); // Store first file S3 key
+        contract.setAttachmentsManifest(null);
+        contractRepository.save(contract);
+
+        // Same history entry as updating the MSA contract with attachments
+        ContractHistory history = new ContractHistory();
+        history.setContractId(contractId);
+        history.setHistoryType("MSA");
+        history.setEntryDate(LocalDate.now());
+        history.setDescription("MSA Contract updated by " + currentUser.getFullName());
+        history.setCreatedBy(currentUser.getId());
+        contractHistoryRepository.save(history);
+    }
+
+    private void recordSOWContractAttachments(Integer contractId, List<AttachmentInfo> fileInfos, User currentUser) {
+        SOWContract contract = sowContractRepository.findById(contractId)
+            .orElseThrow(() -> new RuntimeException("SOW contract not found"));
+        for (AttachmentInfo fileInfo : fileInfos) {
+            saveDocumentMetadata(fileInfo.getS3Key(), "contract", contractId, DocumentMetadata.ENTITY_SOW_CONTRACT, currentUser);
+        }
+
+        List<AttachmentInfo> attachments = attachmentService.appendAttachments(
+            DocumentMetadata.ENTITY_SOW_CONTRACT, contractId, contract.getAttachmentsManifest(), fileInfos);
+        contract.setLink(attachments.get(0).getS3Key()); // Store first file S3 key
+        contract.setAttachmentsManifest(null);
+        sowContractRepository.save(contract);
+
+        // Same history entry as updating the SOW contract with attachments
+        ContractHistory history = new ContractHistory();
+        history.setSowContractId(contractId);
+        history.setHistoryType("SOW");
+        history.setEntryDate(LocalDate.now());
+        history.setDescription("SOW Contract updated by " + currentUser.getFullName());
+        history.setCreatedBy(currentUser.getId());
+        contractHistoryRepository.save(history);
+    }
+
+    /**
+     * Same as uploading files through the proposal update: the uploaded files become the
+     * proposal's files
+     */
+    private void recordProposalFiles(Integer proposalId, List<AttachmentInfo> fileInfos, User currentUser) {
+        Proposal proposal = proposalRepository.findById(proposalId)
+                .orElseThrow(() -> new RuntimeException("Proposal not found"));
+        for (AttachmentInfo fileInfo : fileInfos) {
+            saveDocumentMetadata(fileInfo.getS3Key(), "proposal", proposalId, DocumentMetadata.ENTITY_PROPOSAL, currentUser);
+        }
+
+        AttachmentInfo firstFile = fileInfos.get(0);
+        attachmentService.replaceAttachments(DocumentMetadata.ENTITY_PROPOSAL, proposalId, fileInfos);
+        proposal.setLink(firstFile.getS3Key());
+        proposal.setAttachmentsManifest(null);
+        proposalRepository.save(proposal);
+
+        // Create history entry for file upload
+        ProposalHistory history = new ProposalHistory();
+        history.setOpportunityId(proposal.getOpportunityId());
+        history.setProposalId(proposalId);
+        history.setActivityType("UPLOADED");
+        history.setActivityDescription("Proposal Draft v" + proposal.getVersion() + " uploaded by " + currentUser.getFullName());
+        history.setFileLink(firstFile.getFileName());
+        history.setFileUrl(firstFile.getS3Key());
+        history.setCreatedBy(currentUser.getId());
+        proposalHistoryRepository.save(history);
+    }
+
+    private void recordChangeRequestAttachments(Integer changeRequestId, List<PendingUpload> slots,
+                                                Map<String, Long> sizes, User currentUser) {
+        for (PendingUpload slot : slots) {
+            ChangeRequestAttachment attachment = new ChangeRequestAttachment();
+            attachment.setChangeRequestId(changeRequestId);
+            attachment.setFileName(slot.getFileName());
+            attachment.setFilePath(slot.getS3Key());
+            attachment.setFileSize(sizes.get(slot.getS3Key()));
+            attachment.setFileType(slot.getContentType());
+            attachment.setUploadedBy(currentUser.getId());
+            changeRequestAttachmentRepository.save(attachment);
+        }
+    }
+
+    private void saveDocumentMetadata(String s3Key, String documentType, Integer entityId, String entityType, User currentUser) {
+        DocumentMetadata metadata = new DocumentMetadata();
+        metadata.setS3Key(s3Key);
+        metadata.setOwnerId(currentUser.getId());
+        metadata.setDocumentType(documentType);
+        metadata.setEntityId(entityId);
+        metadata.setEntityType(entityType);
+        // Allow SALES_MANAGER and SALES_REP roles to access
+        metadata.setAllowedRoles(jsonCodec.writeStringList(Arrays.asList("SALES_MANAGER", "SALES_REP")));
+        documentMetadataRepository.save(metadata);
+        documentPermissionService.indexDocument(metadata);
+    }
+
+    /**
+     * Same access rules as the endpoints that upload these attachments through the API
+     * (Sales Manager sees all, Sales Rep only what is assigned to them)
+     */
+    private void checkAccess(String entityType, Integer entityId, User currentUser) {
+        String role = currentUser.getRole();
+        if (!"SALES_MANAGER".equals(role) && !"SALES_REP".equals(role)) {
+            throw new RuntimeException("Access denied");
+        }
+        if (entityType == null || entityId == null) {
+            throw new RuntimeException("entityType and entityId are required");
+        }
+        boolean isManager = "SALES_MANAGER".equals(role);
+
+        switch (entityType) {
+            case DocumentMetadata.ENTITY_MSA_CONTRACT: {
+                Contract contract = contractRepository.findById(entityId)
+                    .orElseThrow(() -> new RuntimeException("Contract not found"));
+                if (!isManager && !currentUser.getId().equals(contract.getAssigneeUserId())) {
+                    throw new RuntimeException("Access denied: You can only upload attachments to contracts assigned to you");
+                }
+                break;
+            }
+            case DocumentMetadata.ENTITY_SOW_CONTRACT: {
+                SOWContract contract = sowContractRepository.findById(entityId)
+                    .orElseThrow(() -> new RuntimeException("SOW contract not found"));
+                if (!isManager && !currentUser.getId().equals(contract.getAssigneeUserId())) {
+                    throw new RuntimeException("Access denied: You can only upload attachments to contracts assigned to you");
+                }
+                break;
+            }
+            case DocumentMetadata.ENTITY_PROPOSAL: {
+                Proposal proposal = proposalRepository.findById(entityId)
+                    .orElseThrow(() -> new RuntimeException("Proposal not found"));
+                // Can edit if no reviewer assigned, or reviewer assigned but not yet saved (draft state)
+                boolean canEdit = proposal.getReviewerId() == null ||
+                        ("draft".equals(proposal.getStatus()) && proposal.getReviewSubmittedAt() == null);
+                if (!canEdit) {
+                    throw new RuntimeException("Proposal cannot be edited after reviewer assignment");
+                }
+                if (!isManager) {
+                    Opportunity opportunity = opportunityRepository.findById(proposal.getOpportunityId())
+                        .orElseThrow(() -> new RuntimeException("Opportunity not found"));
+                    boolean canUpdate = currentUser.getId().equals(opportunity.getCreatedBy()) ||
+                            currentUser.getId().equals(opportunity.getAssigneeUserId());
+                    if (!canUpdate) {
+                        throw new RuntimeException("Access denied. You can only update proposals for opportunities created by you or assigned to you");
+                    }
+                }
+                break;
+            }
+            case ENTITY_CHANGE_REQUEST: {
+                ChangeRequest changeRequest = changeRequestRepository.findById(entityId)
+                    .orElseThrow(() -> new RuntimeException("Change request not found"));
+                if (!isManager) {
+                    Integer assigneeUserId = null;
+                    if (changeRequest.getContractId() != null) {
+                        assigneeUserId = contractRepository.findById(changeRequest.getContractId())
+                            .map(Contract::getAssigneeUserId).orElse(null);
+                    } else if (changeRequest.getSowContractId() != null) {
+                        assigneeUserId = sowContractRepository.findById(changeRequest.getSowContractId())
+                            .map(SOWContract::getAssigneeUserId).orElse(null);
+                    }
+                    if (!currentUser.getId().equals(assigneeUserId)) {
+                        throw new RuntimeException("Access denied: You can only upload attachments to contracts assigned to you");
+                    }
+                }
+                break;
+            }
+            default:
+                throw new RuntimeException("Unsupported entity type: " + entityType);
+        }
+    }
+
+    private long getMaxSize(String entityType) {
+        if (ENTITY_CHANGE_REQUEST.equals(entityType)) {
+            return CHANGE_REQUEST_MAX_SIZE;
+        }
+        return maxSizeMb * 1024L * 1024L;
+    }
+
+    private String getFolder(String entityType, Integer entityId) {
+        switch (entityType) {
+            case DocumentMetadata.ENTITY_MSA_CONTRACT:
+                return "contracts/msa/" + entityId;
+            case DocumentMetadata.ENTITY_SOW_CONTRACT:
+                return "contracts/sow/" + entityId;
+            case DocumentMetadata.ENTITY_PROPOSAL:
+                return "proposals";
+            default:
+                return "change-requests/" + entityId;
+        }
+    }
+}
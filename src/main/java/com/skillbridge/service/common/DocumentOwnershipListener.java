@@ -0,0 +1,123 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.entity.contact.Contact;
+import com.skillbridge.entity.contract.Contract;
+import com.skillbridge.entity.contract.SOWContract;
+import com.skillbridge.entity.document.DocumentMetadata;
+import com.skillbridge.entity.proposal.Proposal;
+import com.skillbridge.repository.document.DocumentMetadataRepository;
+import jakarta.persistence.PostUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Document Ownership Listener
+ * JPA entity listener on the entities that decide who owns a document (proposal, contact,
+ * MSA/SOW contract). After an update commits, re-derives document_metadata.client_user_id for
+ * the affected documents; the update only touches rows whose owner really changed, and the
+ * permission cache is cleared only in that case.
+ */
+@Component
+public class DocumentOwnershipListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentOwnershipListener.class);
+
+    private static final String CONTACT = "contact";
+
+    @Autowired
+    @Lazy
+    private DocumentMetadataRepository documentMetadataRepository;
+
+    @Autowired
+    @Lazy
+    private DocumentPermissionService documentPermissionService;
+
+    @Autowired
+    @Lazy
+    private PlatformTransactionManager transactionManager;
+
+    @PostUpdate
+    public void onOwnerChange(Object entity) {
+        if (entity instanceof Proposal) {
+            refresh(DocumentMetadata.ENTITY_PROPOSAL, ((Proposal) entity).getID());
+        } else if (entity instanceof Contact) {
+            refresh(CONTACT, ((Contact) entity).getId());
+        } else if (entity instanceof SOWContract) {
+            refresh(DocumentMetadata.ENTITY_SOW_CONTRACT, ((SOWContract) entity).getId());
+        } else if (entity instanceof Contract) {
+            refresh(DocumentMetadata.ENTITY_MSA_CONTRACT, ((Contract) entity).getId());
+        }
+    }
+
+    /**
+     * Refresh after commit (deduplicated per transaction), or immediately outside a transaction
+     */
+    @SuppressWarnings("unchecked")
+    void refresh(String entityType, Integer entityId) {
+        if (entityId == null) {
+            return;
+        }
+        String key = entityType + ":" + entityId;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refreshOwners(Set.of(key));
+            return;
+        }
+
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> keys = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, keys);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshOwners(keys);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DocumentOwnershipListener.this);
+                }
+            });
+            pending = keys;
+        }
+        pending.add(key);
+    }
+
+    private void refreshOwners(Set<String> keys) {
+        try {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            Integer changed = template.execute(status -> {
+                int rows = 0;
+                for (String key : keys) {
+                    int separator = key.indexOf(':');
+                    String entityType = key.substring(0, separator);
+                    Integer entityId = Integer.valueOf(key.substring(separator + 1));
+                    if (CONTACT.equals(entityType)) {
+                        rows += documentMetadataRepository.refreshContactClient(entityId);
+                    } else {
+                        rows += documentPermissionService.refreshClientOwner(entityType, entityId);
+                    }
+                }
+                return rows;
+            });
+            if (changed != null && changed > 0) {
+                documentPermissionService.invalidateAll();
+            }
+        } catch (Exception e) {
+            // Never fail the business write; the permission cache TTL bounds staleness
+            logger.warn("Failed to refresh document owners {}: {}", keys, e.getMessage());
+        }
+    }
+}
@@ -1,183 +1,395 @@
 package com.skillbridge.service.common;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.skillbridge.entity.auth.User;
-import com.skillbridge.entity.contact.Contact;
-import com.skillbridge.entity.contract.Contract;
-import com.skillbridge.entity.contract.SOWContract;
+import com.skillbridge.entity.document.DocumentAcl;
 import com.skillbridge.entity.document.DocumentMetadata;
 import com.skillbridge.entity.proposal.Proposal;
-import com.skillbridge.repository.contact.ContactRepository;
-import com.skillbridge.repository.contract.ContractRepository;
-import com.skillbridge.repository.contract.SOWContractRepository;
+import com.skillbridge.repository.document.DocumentAclRepository;
 import com.skillbridge.repository.document.DocumentMetadataRepository;
 import com.skillbridge.repository.proposal.ProposalRepository;
+import com.skillbridge.util.JsonCodec;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Document Permission Service
- * Checks user permissions for accessing documents
+ * Checks user permissions for accessing documents.
+ *
+ * Grants live in document_acl (one row per allowed role/user) and the client that owns the
+ * related proposal/contract is denormalized onto document_metadata.client_user_id, so a check
+ * is one indexed query. Decisions are cached per (s3Key, userId) in a bounded LRU with a TTL;
+ * indexDocument/removeDocument evict a document, and DocumentOwnershipListener evicts
+ * everything when a proposal/contact/contract changes the client owner of a document.
+ * The cache is per node; the TTL bounds staleness for changes made elsewhere.
  */
 @Service
+@Timed("service.method")
 public class DocumentPermissionService {
 
     @Autowired
     private DocumentMetadataRepository documentMetadataRepository;
     
     @Autowired
-    private ContractRepository contractRepository;
+    private ProposalRepository proposalRepository;
     
     @Autowired
-    private SOWContractRepository sowContractRepository;
-    
+    private DocumentAclRepository documentAclRepository;
+
     @Autowired
-    private ProposalRepository proposalRepository;
-    
+    private PlatformTransactionManager transactionManager;
+
     @Autowired
-    private ContactRepository contactRepository;
+    private JsonCodec jsonCodec;
+
+    @Value("${document.acl.cache-size:10000}")
+    private int cacheSize;
 
-    private final Gson gson = new Gson();
+    @Value("${document.acl.cache-ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentPermissionService.class);
+
+    private static final int MAX_USERS_PER_DOCUMENT = 256;
+
+    /**
+     * s3Key -> decisions per user, least recently used documents evicted beyond cacheSize
+     */
+    private final Map<String, CachedDecisions> decisionCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, CachedDecisions>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedDecisions> eldest) {
+                    return size() > cacheSize;
+                }
+            });
 
     /**
      * Check if user has permission to access document
+     * Cache hit, or one indexed lookup (hasAccess). Documents whose ACL has not been indexed yet
+     * are indexed on the first denied check and re-checked.
      * @param s3Key S3 key of the document
      * @param user Current user
      * @return true if user has permission, false otherwise
      */
     public boolean hasPermission(String s3Key, User user) {
-        if (user == null) {
+        if (user == null || s3Key == null) {
             return false;
         }
 
+        Boolean cached = getCachedDecision(s3Key, user.getId());
+        if (cached != null) {
+            return cached;
+        }
+
+        if (checkAccess(s3Key, user)) {
+            cacheDecision(s3Key, user.getId(), true);
+            return true;
+        }
+
         DocumentMetadata metadata = documentMetadataRepository.findByS3Key(s3Key)
                 .orElse(null);
+        return recheckDenied(s3Key, metadata, user);
+    }
 
-        // If no metadata found, try fallback check for proposal (legacy support)
-        if (metadata == null) {
-            // Check if this might be a proposal document (S3 key contains "proposals/")
-            if (s3Key != null && s3Key.contains("proposals/")) {
-                // For CLIENT/CLIENT_USER, check if they have access to any proposal with this S3 key
-                if ("CLIENT".equals(user.getRole()) || "CLIENT_USER".equals(user.getRole())) {
-                    // Find proposal by link (s3Key)
-                    List<Proposal> proposals = proposalRepository.findAll();
-                    for (Proposal proposal : proposals) {
-                        if (s3Key.equals(proposal.getLink())) {
-                            // Found proposal with this link, check if contact belongs to client
-                            if (proposal.getContactId() != null) {
-                                Optional<Contact> contactOpt = contactRepository.findById(proposal.getContactId());
-                                if (contactOpt.isPresent()) {
-                                    Contact contact = contactOpt.get();
-                                    if (contact.getClientUserId() != null && contact.getClientUserId().equals(user.getId())) {
-                                        return true; // Client has access to this proposal
-                                    }
-                                }
-                            }
-                        }
-                        // Also check attachments manifest (JSON array of file links)
-                        if (proposal.getAttachmentsManifest() != null && !proposal.getAttachmentsManifest().isEmpty()) {
-                            try {
-                                Type listType = new TypeToken<List<String>>(){}.getType();
-                                List<String> attachments = gson.fromJson(proposal.getAttachmentsManifest(), listType);
-                                if (attachments != null && attachments.contains(s3Key)) {
-                                    // Found proposal with this attachment, check if contact belongs to client
-                                    if (proposal.getContactId() != null) {
-                                        Optional<Contact> contactOpt = contactRepository.findById(proposal.getContactId());
-                                        if (contactOpt.isPresent()) {
-                                            Contact contact = contactOpt.get();
-                                            if (contact.getClientUserId() != null && contact.getClientUserId().equals(user.getId())) {
-                                                return true; // Client has access to this proposal attachment
-                                            }
-                                        }
-                                    }
-                                }
-                            } catch (Exception e) {
-                                // Invalid JSON, skip
-                            }
-                        }
-                    }
-                }
+    /**
+     * Batch form of hasPermission for attachment lists
+     * Cached decisions first, then one query for the remaining keys; only keys that are legacy
+     * (no metadata or ACL not indexed yet) fall back to a per-key check. The result is built from
+     * the decisions made here; the cache is only a shortcut (it may drop or skip entries).
+     * @param s3Keys S3 keys of the documents
+     * @param user Current user
+     * @return Keys the user may access, in request order
+     */
+    public Set<String> getPermittedKeys(Collection<String> s3Keys, User user) {
+        Set<String> permitted = new LinkedHashSet<>();
+        if (user == null || s3Keys == null || s3Keys.isEmpty()) {
+            return permitted;
+        }
+
+        Set<String> requested = new LinkedHashSet<>();
+        for (String s3Key : s3Keys) {
+            if (s3Key != null) {
+                requested.add(s3Key);
+            }
+        }
+        Map<String, Boolean> decisions = new HashMap<>();
+        Set<String> unresolved = new LinkedHashSet<>();
+        for (String s3Key : requested) {
+            Boolean cached = getCachedDecision(s3Key, user.getId());
+            if (cached != null) {
+                decisions.put(s3Key, cached);
+            } else {
+                unresolved.add(s3Key);
             }
-            // If no metadata found and not a proposal, deny access
-            return false;
         }
 
-        // Owner always has access
-        if (metadata.getOwnerId().equals(user.getId())) {
-            return true;
+        if (!unresolved.isEmpty()) {
+            List<String> accessible;
+            if ("ADMIN".equals(user.getRole())) {
+                accessible = documentMetadataRepository.findExistingS3Keys(unresolved);
+            } else {
+                Integer clientUserId = isClient(user) ? user.getId() : null;
+                accessible = documentMetadataRepository.findAccessibleS3Keys(unresolved, user.getId(), user.getRole(), clientUserId);
+            }
+            for (String s3Key : accessible) {
+                decisions.put(s3Key, true);
+                cacheDecision(s3Key, user.getId(), true);
+                unresolved.remove(s3Key);
+            }
         }
 
-        // Admin always has access
-        if ("ADMIN".equals(user.getRole())) {
-            return true;
+        if (!unresolved.isEmpty()) {
+            Map<String, DocumentMetadata> metadataByKey = new HashMap<>();
+            for (DocumentMetadata metadata : documentMetadataRepository.findByS3KeyIn(unresolved)) {
+                metadataByKey.put(metadata.getS3Key(), metadata);
+            }
+            for (String s3Key : unresolved) {
+                decisions.put(s3Key, recheckDenied(s3Key, metadataByKey.get(s3Key), user));
+            }
         }
 
-        // Check allowed roles
-        if (metadata.getAllowedRoles() != null && !metadata.getAllowedRoles().isEmpty()) {
-            Type listType = new TypeToken<List<String>>(){}.getType();
-            List<String> allowedRoles = gson.fromJson(metadata.getAllowedRoles(), listType);
-            if (allowedRoles != null && allowedRoles.contains(user.getRole())) {
-                return true;
+        for (String s3Key : requested) {
+            if (Boolean.TRUE.equals(decisions.get(s3Key))) {
+                permitted.add(s3Key);
             }
         }
+        return permitted;
+    }
 
-        // Check allowed users
-        if (metadata.getAllowedUsers() != null && !metadata.getAllowedUsers().isEmpty()) {
-            Type listType = new TypeToken<List<Integer>>(){}.getType();
-            List<Integer> allowedUsers = gson.fromJson(metadata.getAllowedUsers(), listType);
-            if (allowedUsers != null && allowedUsers.contains(user.getId())) {
-                return true;
+    /**
+     * Rebuild the document_acl rows and the denormalized client owner of a document
+     * Call after creating a DocumentMetadata row or changing its allowedRoles/allowedUsers.
+     * Joins the caller's transaction if there is one.
+     * @param metadata Saved document metadata
+     */
+    public void indexDocument(DocumentMetadata metadata) {
+        if (metadata == null || metadata.getId() == null) {
+            return;
+        }
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            documentAclRepository.deleteByDocumentId(metadata.getId());
+            List<DocumentAcl> entries = new ArrayList<>();
+            for (String role : parseList(metadata.getAllowedRoles(), jsonCodec::readStringList)) {
+                entries.add(DocumentAcl.forRole(metadata.getId(), role));
             }
+            for (Integer userId : parseList(metadata.getAllowedUsers(), jsonCodec::readIntegerList)) {
+                entries.add(DocumentAcl.forUser(metadata.getId(), userId));
+            }
+            if (!entries.isEmpty()) {
+                documentAclRepository.saveAll(entries);
+            }
+            metadata.setAclIndexed(true);
+            documentMetadataRepository.save(metadata);
+            refreshClientOwner(metadata.getEntityType(), metadata.getEntityId());
+        });
+        invalidateAfterCommit(metadata.getS3Key());
+    }
+
+    /**
+     * Delete a document's metadata together with its ACL rows
+     * @param metadata Document metadata
+     */
+    public void removeDocument(DocumentMetadata metadata) {
+        if (metadata == null) {
+            return;
         }
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            documentAclRepository.deleteByDocumentId(metadata.getId());
+            documentMetadataRepository.delete(metadata);
+        });
+        invalidateAfterCommit(metadata.getS3Key());
+    }
 
-        // Check if document belongs to a contract/proposal and user is the client of that entity
-        if (metadata.getEntityType() != null && metadata.getEntityId() != null) {
-            String entityType = metadata.getEntityType();
-            Integer entityId = metadata.getEntityId();
-            
-            // Check if user is CLIENT or CLIENT_USER
-            if ("CLIENT".equals(user.getRole()) || "CLIENT_USER".equals(user.getRole())) {
-                // Check proposal - client can view proposals for their contacts
-                if ("proposal".equals(entityType)) {
-                    Optional<Proposal> proposalOpt = proposalRepository.findById(entityId);
-                    if (proposalOpt.isPresent()) {
-                        Proposal proposal = proposalOpt.get();
-                        // Check if proposal has a contact_id
-                        if (proposal.getContactId() != null) {
-                            Optional<Contact> contactOpt = contactRepository.findById(proposal.getContactId());
-                            if (contactOpt.isPresent()) {
-                                Contact contact = contactOpt.get();
-                                // Check if contact belongs to this client
-                                if (contact.getClientUserId() != null && contact.getClientUserId().equals(user.getId())) {
-                                    return true; // User is the client of this contact's proposal
-                                }
-                            }
-                        }
-                    }
-                }
-                // Check MSA contract
-                else if ("msa_contract".equals(entityType)) {
-                    Optional<Contract> contractOpt = contractRepository.findByIdAndClientId(entityId, user.getId());
-                    if (contractOpt.isPresent()) {
-                        return true; // User is the client of this MSA contract
-                    }
+    /**
+     * Re-derive the client owner of the documents of an entity
+     * Must run inside a transaction.
+     * @param entityType proposal, msa_contract or sow_contract (others are ignored)
+     * @param entityId Entity ID
+     * @return Number of documents whose owner changed
+     */
+    public int refreshClientOwner(String entityType, Integer entityId) {
+        if (entityType == null || entityId == null) {
+            return 0;
+        }
+        switch (entityType) {
+            case DocumentMetadata.ENTITY_PROPOSAL:
+                return documentMetadataRepository.refreshProposalClient(entityId);
+            case DocumentMetadata.ENTITY_MSA_CONTRACT:
+                return documentMetadataRepository.refreshMSAContractClient(entityId);
+            case DocumentMetadata.ENTITY_SOW_CONTRACT:
+                return documentMetadataRepository.refreshSOWContractClient(entityId);
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Drop cached decisions for one document
+     */
+    public void invalidate(String s3Key) {
+        if (s3Key != null) {
+            decisionCache.remove(s3Key);
+        }
+    }
+
+    /**
+     * Drop all cached decisions (e.g. after entity ownership changed)
+     */
+    public void invalidateAll() {
+        decisionCache.clear();
+    }
+
+    /**
+     * Decide a key the indexed lookup denied: legacy proposal key, not yet indexed, or really denied
+     */
+    private boolean recheckDenied(String s3Key, DocumentMetadata metadata, User user) {
+        // If no metadata found, try fallback check for proposal (legacy support)
+        if (metadata == null) {
+            return hasLegacyProposalAccess(s3Key, user);
+        }
+
+        boolean allowed = false;
+        if (!Boolean.TRUE.equals(metadata.getAclIndexed())) {
+            indexDocument(metadata);
+            allowed = checkAccess(s3Key, user);
+        }
+        cacheDecision(s3Key, user.getId(), allowed);
+        return allowed;
+    }
+
+    private boolean checkAccess(String s3Key, User user) {
+        // Admin has access to every document that has metadata
+        if ("ADMIN".equals(user.getRole())) {
+            return documentMetadataRepository.existsByS3Key(s3Key);
+        }
+        Integer clientUserId = isClient(user) ? user.getId() : null;
+        return documentMetadataRepository.hasAccess(s3Key, user.getId(), user.getRole(), clientUserId);
+    }
+
+    private boolean isClient(User user) {
+        return "CLIENT".equals(user.getRole()) || "CLIENT_USER".equals(user.getRole());
+    }
+
+    private Boolean getCachedDecision(String s3Key, Integer userId) {
+        CachedDecisions entry = decisionCache.get(s3Key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            decisionCache.remove(s3Key);
+            return null;
+        }
+        return entry.decisions.get(userId);
+    }
+
+    private void cacheDecision(String s3Key, Integer userId, boolean allowed) {
+        if (userId == null) {
+            return;
+        }
+        CachedDecisions entry = decisionCache.computeIfAbsent(s3Key,
+                key -> new CachedDecisions(System.currentTimeMillis() + cacheTtlSeconds * 1000));
+        if (entry.decisions.size() < MAX_USERS_PER_DOCUMENT) {
+            entry.decisions.put(userId, allowed);
+        }
+    }
+
+    private void invalidateAfterCommit(String s3Key) {
+        invalidate(s3Key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Also evict after commit, so a check racing with the write cannot cache the old state
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(s3Key);
                 }
-                // Check SOW contract
-                else if ("sow_contract".equals(entityType)) {
-                    Optional<SOWContract> sowContractOpt = sowContractRepository.findByIdAndClientId(entityId, user.getId());
-                    if (sowContractOpt.isPresent()) {
-                        return true; // User is the client of this SOW contract
-                    }
+            });
+        }
+    }
+
+    private <T> List<T> parseList(String json, Function<String, List<T>> reader) {
+        try {
+            List<T> result = new ArrayList<>();
+            for (T value : reader.apply(json)) {
+                if (value != null) {
+                    result.add(value);
                 }
             }
+            return result;
+        } catch (Exception e) {
+            logger.warn("Invalid ACL JSON '{}': {}", json, e.getMessage());
+            return new ArrayList<>();
         }
+    }
 
-        return false;
+    /**
+     * Legacy support: proposal documents uploaded before document_metadata existed
+     * Looks the key up through idx_proposals_link and registers its metadata, so later checks
+     * take the indexed path. Keys that only appear in an attachments manifest are covered by
+     * ProposalDocumentBackfillService.
+     */
+    private boolean hasLegacyProposalAccess(String s3Key, User user) {
+        if (!s3Key.contains("proposals/")) {
+            return false;
+        }
+        Proposal proposal = proposalRepository.findFirstByLinkOrderByIdAsc(s3Key).orElse(null);
+        if (proposal == null) {
+            return false;
+        }
+        try {
+            registerProposalDocument(proposal, s3Key);
+        } catch (Exception e) {
+            // Registered concurrently (unique s3_key); the check below sees the winner's row
+            logger.debug("Proposal document {} already registered: {}", s3Key, e.getMessage());
+        }
+        boolean allowed = checkAccess(s3Key, user);
+        cacheDecision(s3Key, user.getId(), allowed);
+        return allowed;
+    }
+
+    /**
+     * Create and index the metadata of a proposal document that has none
+     * Same grants as a freshly uploaded proposal file: the creator, sales roles and the client
+     * of the proposal's contact.
+     * @param proposal Proposal referencing the key (link or attachments manifest)
+     * @param s3Key S3 key of the document
+     * @return Saved metadata
+     */
+    public DocumentMetadata registerProposalDocument(Proposal proposal, String s3Key) {
+        DocumentMetadata metadata = new DocumentMetadata();
+        metadata.setS3Key(s3Key);
+        metadata.setOwnerId(proposal.getCreatedBy());
+        metadata.setDocumentType("proposal");
+        metadata.setEntityId(proposal.getID());
+        metadata.setEntityType(DocumentMetadata.ENTITY_PROPOSAL);
+        metadata.setAllowedRoles(jsonCodec.writeStringList(Arrays.asList("SALES_MANAGER", "SALES_REP")));
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            documentMetadataRepository.save(metadata);
+            indexDocument(metadata);
+        });
+        return metadata;
     }
 
     /**
@@ -210,5 +422,13 @@ public class DocumentPermissionService {
     public DocumentMetadata getMetadata(String s3Key) {
         return documentMetadataRepository.findByS3Key(s3Key).orElse(null);
     }
-}
 
+    private static class CachedDecisions {
+        private final long expiresAt;
+        private final Map<Integer, Boolean> decisions = new ConcurrentHashMap<>();
+
+        CachedDecisions(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+}
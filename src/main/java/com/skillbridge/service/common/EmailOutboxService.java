@@ -0,0 +1,499 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.entity.common.EmailOutboxMessage;
+import com.skillbridge.entity.common.EmailOutboxMessage.Status;
+import com.skillbridge.repository.common.EmailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Email Outbox Service
+ * Durable asynchronous delivery for EmailService.
+ * EmailService only inserts an email_outbox row (in the caller's transaction, so an email is
+ * queued if and only if the business change commits). This service polls due rows, claims them
+ * under a lease (LeasedWorkQueue) and sends them on a bounded worker pool. Failed sends are
+ * retried with exponential backoff; after maxAttempts the row is moved to DEAD (dead letter)
+ * for manual inspection. Delivery is at-least-once: a message whose node stops heart-beating
+ * mid-send is re-queued and may be sent again.
+ *
+ * Bodies may hold credentials (initial passwords, reset links), so a body is cleared as soon as
+ * the message is SENT (and when a SENSITIVE_TEMPLATES message goes DEAD), and SENT rows are
+ * deleted after email.outbox.sent-retention-days.
+ *
+ * Delivery is batched: each worker gets up to batchSize claimed rows and hands them to
+ * JavaMailSender in one send(...) call, which reuses a single SMTP connection for the batch.
+ * Notification templates (COALESCIBLE_TEMPLATES) are held for a short window after the first
+ * pending one to the recipient; later ones share its due time, so the burst is claimed together
+ * and coalesced into one digest email.
+ *
+ * Per-template metrics: email.outbox.enqueued / sent / failed / dead counters and
+ * email.outbox.latency (queued to sent) timer. Transport metrics: email.outbox.connections
+ * (SMTP connections opened), email.outbox.messages (emails actually sent, after coalescing),
+ * email.outbox.batch.size and email.outbox.batch.send (time per batch; messages/sec is
+ * email.outbox.messages rate).
+ */
+@Service
+public class EmailOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    private static final String DEFAULT_FROM = "noreply@skillbridge.com";
+
+    /**
+     * Notifications that may be merged into a digest when several go to the same recipient.
+     * Credentials and password reset mails are always sent on their own, without delay.
+     */
+    static final Set<String> COALESCIBLE_TEMPLATES = Set.of(
+        "new_contact_notification", "new_proposal_notification", "contract_pending_approval");
+
+    static final String DIGEST_TEMPLATE = "digest";
+
+    /**
+     * Templates whose body carries a credential (initial password, reset link).
+     * Their body is also cleared when they go DEAD, so such a message cannot be re-sent;
+     * the user requests a new password reset instead.
+     */
+    static final Set<String> SENSITIVE_TEMPLATES = Set.of("confirmation", "welcome", "password_reset");
+
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired(required = false)
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    @Qualifier("emailOutboxExecutor")
+    private ThreadPoolTaskExecutor emailOutboxExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${email.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${email.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${email.outbox.lease-timeout-minutes:10}")
+    private long leaseTimeoutMinutes;
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.coalesce-window-seconds:10}")
+    private long coalesceWindowSeconds;
+
+    @Value("${email.outbox.sent-retention-days:7}")
+    private long sentRetentionDays;
+
+    @Value("${email.from:support_skillbridge.inisoft.vn}")
+    private String smtpFromEmail;
+
+    private volatile String resolvedFromAddress;
+
+    private LeasedWorkQueue<EmailOutboxMessage, Long> outboxQueue;
+
+    /**
+     * Queue an email for delivery
+     * Joins the caller's transaction if there is one
+     * @param template Template key, used for metrics (e.g. "confirmation")
+     * @param toEmail Recipient
+     * @param subject Subject
+     * @param body Plain text body
+     * @return Saved outbox row, or null if mail sending is not configured
+     */
+    public EmailOutboxMessage enqueue(String template, String toEmail, String subject, String body) {
+        if (javaMailSender == null) {
+            logger.info("JavaMailSender is not configured. Email '{}' to {} will not be sent.", template, toEmail);
+            return null;
+        }
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setTemplate(template);
+        message.setToEmail(toEmail);
+        message.setSubject(subject);
+        message.setBody(body);
+        message.setStatus(Status.PENDING);
+        if (COALESCIBLE_TEMPLATES.contains(template)) {
+            // Hold briefly so other notifications to the same recipient can join the digest
+            message.setNextAttemptAt(coalesceDeadline(toEmail));
+        }
+        message = emailOutboxRepository.save(message);
+        meterRegistry.counter("email.outbox.enqueued", "template", template).increment();
+        return message;
+    }
+
+    /**
+     * Due time of a coalescible notification: the due time of the recipient's oldest pending
+     * notification, so both become due (and are claimed) together; otherwise the end of a new window
+     */
+    LocalDateTime coalesceDeadline(String toEmail) {
+        LocalDateTime windowEnd = LocalDateTime.now().plusSeconds(coalesceWindowSeconds);
+        return emailOutboxRepository.findFirstByToEmailAndStatusAndTemplateInOrderByNextAttemptAtAsc(
+                toEmail, Status.PENDING, COALESCIBLE_TEMPLATES)
+            .map(EmailOutboxMessage::getNextAttemptAt)
+            .filter(dueAt -> dueAt.isBefore(windowEnd))
+            .orElse(windowEnd);
+    }
+
+    /**
+     * Poll for due messages and hand them to the worker pool in batches
+     * Claims at most one batch per idle worker, with a single UPDATE ... LIMIT; also keeps the
+     * leases of this node's in-flight messages alive and re-queues those of dead nodes
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:1000}")
+    public void pollDueMessages() {
+        if (!enabled || javaMailSender == null) {
+            return;
+        }
+
+        int capacity = Math.max(emailOutboxExecutor.getMaxPoolSize() - emailOutboxExecutor.getActiveCount(), 0);
+        LeasedWorkQueue.Claim<EmailOutboxMessage> claim = outboxQueue().poll(capacity * batchSize, leaseTimeoutMinutes);
+        String leaseOwner = claim.getLeaseOwner();
+
+        List<List<Long>> batches = partitionByRecipient(claim.getItems(), batchSize);
+        for (int i = 0; i < batches.size(); i++) {
+            List<Long> batch = batches.get(i);
+            try {
+                emailOutboxExecutor.execute(() -> deliverBatch(batch, leaseOwner));
+            } catch (TaskRejectedException e) {
+                // Pool is full; hand the remaining messages back without counting the attempt
+                List<Long> remaining = new ArrayList<>();
+                batches.subList(i, batches.size()).forEach(remaining::addAll);
+                outboxQueue().release(remaining, leaseOwner);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Send one claimed message on its own
+     * @param messageId Outbox message ID (must already be in SENDING status)
+     * @param leaseOwner Lease the message was claimed under
+     */
+    public void deliver(Long messageId, String leaseOwner) {
+        deliverBatch(List.of(messageId), leaseOwner);
+    }
+
+    /**
+     * Send a batch of claimed messages over one SMTP connection and record each outcome
+     * Coalescible notifications to the same recipient are merged into one digest email.
+     * Outcomes are only written for messages that still carry the lease; a message whose lease
+     * expired mid-send was re-queued and belongs to whoever claimed it next.
+     * @param messageIds Outbox message IDs (must already be in SENDING status)
+     * @param leaseOwner Lease the messages were claimed under
+     */
+    public void deliverBatch(List<Long> messageIds, String leaseOwner) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        List<EmailOutboxMessage> messages = tx.execute(status -> {
+            List<EmailOutboxMessage> found = new ArrayList<>();
+            for (EmailOutboxMessage message : emailOutboxRepository.findAllById(messageIds)) {
+                if (leaseOwner.equals(message.getLeaseOwner()) && message.getStatus() == Status.SENDING) {
+                    found.add(message);
+                }
+            }
+            found.sort(Comparator.comparing(EmailOutboxMessage::getId));
+            return found;
+        });
+        if (messages == null || messages.isEmpty()) {
+            logger.warn("Outbox emails {} are no longer leased by {}; not sending", messageIds, leaseOwner);
+            return;
+        }
+
+        List<OutgoingMail> outgoing = coalesce(messages);
+        SimpleMailMessage[] mails = outgoing.stream().map(o -> o.mail).toArray(SimpleMailMessage[]::new);
+
+        // Failed original messages -> cause; a failure without details fails the whole batch
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        Exception batchFailure = null;
+        long started = System.nanoTime();
+        try {
+            javaMailSender.send(mails);
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                batchFailure = e;
+            } else {
+                failures.putAll(e.getFailedMessages());
+            }
+        } catch (Exception e) {
+            batchFailure = e;
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        recordBatchMetrics(mails.length, elapsedNanos);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> updated = new ArrayList<>();
+        for (OutgoingMail mail : outgoing) {
+            Exception failure = batchFailure != null ? batchFailure : failures.get(mail.mail);
+            for (EmailOutboxMessage message : mail.sources) {
+                if (failure == null) {
+                    markSent(message, now);
+                } else {
+                    markFailed(message, failure);
+                }
+                updated.add(message);
+            }
+        }
+        tx.executeWithoutResult(status -> {
+            Set<Long> stillLeased = new HashSet<>();
+            for (EmailOutboxMessage locked : emailOutboxRepository.findByIdInAndLeaseOwnerAndStatus(
+                    messages.stream().map(EmailOutboxMessage::getId).toList(), leaseOwner, Status.SENDING)) {
+                stillLeased.add(locked.getId());
+            }
+            List<EmailOutboxMessage> owned = updated.stream().filter(m -> stillLeased.contains(m.getId())).toList();
+            if (owned.size() < updated.size()) {
+                logger.warn("{} outbox email(s) lost their lease while sending; outcome not recorded",
+                    updated.size() - owned.size());
+            }
+            emailOutboxRepository.saveAll(owned);
+        });
+
+        long failedCount = updated.stream().filter(m -> m.getStatus() != Status.SENT).count();
+        logger.info("Outbox batch: {} row(s) as {} email(s) in {} ms, {} failed",
+            messages.size(), mails.length, elapsedNanos / 1_000_000, failedCount);
+    }
+
+    /**
+     * Delete SENT rows older than the retention period
+     * Their body is already cleared on send; the row only serves metrics and support lookups.
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.purge-interval-ms:3600000}")
+    public void purgeSentMessages() {
+        if (!enabled) {
+            return;
+        }
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(sentRetentionDays);
+        int purged = 0;
+        Integer deleted;
+        do {
+            deleted = tx.execute(status -> emailOutboxRepository.deleteSentBefore(cutoff, PURGE_BATCH_SIZE));
+            purged += deleted != null ? deleted : 0;
+        } while (deleted != null && deleted == PURGE_BATCH_SIZE);
+        if (purged > 0) {
+            logger.info("Purged {} sent outbox email(s) older than {} day(s)", purged, sentRetentionDays);
+        }
+    }
+
+    /**
+     * Manually re-queue a DEAD message
+     * @param messageId Outbox message ID
+     */
+    public void retryDeadMessage(Long messageId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            EmailOutboxMessage message = emailOutboxRepository.findById(messageId)
+                .orElseThrow(() -> new RuntimeException("Outbox email not found"));
+            if (message.getStatus() != Status.DEAD) {
+                throw new RuntimeException("Only DEAD outbox emails can be retried");
+            }
+            if (message.getBody() == null) {
+                throw new RuntimeException("Outbox email contained a credential and was cleared; it cannot be re-sent");
+            }
+            message.setStatus(Status.RETRY);
+            message.setAttempts(0);
+            message.setNextAttemptAt(LocalDateTime.now());
+            emailOutboxRepository.save(message);
+        });
+    }
+
+    /**
+     * Number of outbox rows per status
+     * @return Status to count
+     */
+    public Map<Status, Long> getOutboxCounts() {
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            counts.put(status, emailOutboxRepository.countByStatus(status));
+        }
+        return counts;
+    }
+
+    /**
+     * Group claimed messages by recipient and pack the groups into batches
+     * A recipient's messages always land in the same batch so they can be coalesced
+     */
+    List<List<Long>> partitionByRecipient(List<EmailOutboxMessage> messages, int maxBatchSize) {
+        Map<String, List<Long>> byRecipient = new LinkedHashMap<>();
+        for (EmailOutboxMessage message : messages) {
+            byRecipient.computeIfAbsent(recipientKey(message), k -> new ArrayList<>()).add(message.getId());
+        }
+
+        List<List<Long>> batches = new ArrayList<>();
+        List<Long> current = new ArrayList<>();
+        for (List<Long> group : byRecipient.values()) {
+            if (!current.isEmpty() && current.size() + group.size() > maxBatchSize) {
+                batches.add(current);
+                current = new ArrayList<>();
+            }
+            current.addAll(group);
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+
+    /**
+     * Build the emails to send: one per non-coalescible message, one digest per recipient
+     * for coalescible notifications (a single notification is sent unchanged)
+     */
+    List<OutgoingMail> coalesce(List<EmailOutboxMessage> messages) {
+        String from = fromAddress();
+        List<OutgoingMail> outgoing = new ArrayList<>();
+        Map<String, List<EmailOutboxMessage>> digestGroups = new LinkedHashMap<>();
+        for (EmailOutboxMessage message : messages) {
+            if (COALESCIBLE_TEMPLATES.contains(message.getTemplate())) {
+                digestGroups.computeIfAbsent(recipientKey(message), k -> new ArrayList<>()).add(message);
+            } else {
+                outgoing.add(new OutgoingMail(toMail(from, message.getToEmail(), message.getSubject(), message.getBody()),
+                    List.of(message)));
+            }
+        }
+
+        for (List<EmailOutboxMessage> group : digestGroups.values()) {
+            if (group.size() == 1) {
+                EmailOutboxMessage message = group.get(0);
+                outgoing.add(new OutgoingMail(toMail(from, message.getToEmail(), message.getSubject(), message.getBody()),
+                    group));
+                continue;
+            }
+            StringBuilder body = new StringBuilder();
+            body.append("You have ").append(group.size()).append(" new notifications from SkillBridge.\n\n");
+            for (EmailOutboxMessage message : group) {
+                body.append("=== ").append(message.getSubject()).append(" ===\n\n");
+                body.append(message.getBody()).append("\n\n");
+            }
+            String subject = "You have " + group.size() + " new notifications - SkillBridge";
+            outgoing.add(new OutgoingMail(toMail(from, group.get(0).getToEmail(), subject, body.toString()), group));
+            meterRegistry.counter("email.outbox.coalesced", "template", DIGEST_TEMPLATE).increment(group.size() - 1);
+        }
+        return outgoing;
+    }
+
+    private SimpleMailMessage toMail(String from, String to, String subject, String body) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(from);
+        mail.setTo(to);
+        mail.setSubject(subject);
+        mail.setText(body);
+        return mail;
+    }
+
+    private String recipientKey(EmailOutboxMessage message) {
+        return message.getToEmail() != null ? message.getToEmail().trim().toLowerCase() : "";
+    }
+
+    private void markSent(EmailOutboxMessage message, LocalDateTime now) {
+        message.setStatus(Status.SENT);
+        message.setLeaseOwner(null);
+        message.setBody(null); // Delivered; don't keep passwords or reset links at rest
+        message.setLastError(null);
+        message.setSentAt(now);
+        meterRegistry.counter("email.outbox.sent", "template", message.getTemplate()).increment();
+        if (message.getCreatedAt() != null) {
+            meterRegistry.timer("email.outbox.latency", "template", message.getTemplate())
+                .record(Duration.between(message.getCreatedAt(), now));
+        }
+    }
+
+    private void markFailed(EmailOutboxMessage message, Exception failure) {
+        meterRegistry.counter("email.outbox.failed", "template", message.getTemplate()).increment();
+        logger.error("Outbox email {} ({}) to {} failed (attempt {}): {}",
+            message.getId(), message.getTemplate(), message.getToEmail(), message.getAttempts(), failure.getMessage());
+        message.setLastError(LeasedWorkQueue.describeError(failure));
+        message.setLeaseOwner(null);
+        if (message.getAttempts() >= maxAttempts) {
+            message.setStatus(Status.DEAD);
+            if (SENSITIVE_TEMPLATES.contains(message.getTemplate())) {
+                message.setBody(null);
+            }
+            meterRegistry.counter("email.outbox.dead", "template", message.getTemplate()).increment();
+        } else {
+            message.setStatus(Status.RETRY);
+            message.setNextAttemptAt(LocalDateTime.now().plusSeconds(
+                LeasedWorkQueue.backoffSeconds(backoffBaseSeconds, message.getAttempts())));
+        }
+    }
+
+    private void recordBatchMetrics(int mailCount, long elapsedNanos) {
+        meterRegistry.counter("email.outbox.connections").increment();
+        meterRegistry.counter("email.outbox.messages").increment(mailCount);
+        meterRegistry.summary("email.outbox.batch.size").record(mailCount);
+        meterRegistry.timer("email.outbox.batch.send").record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Sender address, validated once instead of on every send
+     */
+    String fromAddress() {
+        String resolved = resolvedFromAddress;
+        if (resolved == null) {
+            resolved = smtpFromEmail;
+            if (resolved == null || resolved.trim().isEmpty()) {
+                resolved = DEFAULT_FROM;
+            } else if (!resolved.contains("@")) {
+                // If from email doesn't have @, use a default format
+                resolved = resolved + "@skillbridge.com";
+            }
+            if (!resolved.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$")) {
+                logger.warn("Invalid from email format: {}", resolved);
+                resolved = DEFAULT_FROM;
+            }
+            resolvedFromAddress = resolved;
+        }
+        return resolved;
+    }
+
+    private LeasedWorkQueue<EmailOutboxMessage, Long> outboxQueue() {
+        if (outboxQueue == null) {
+            outboxQueue = new LeasedWorkQueue<>("outbox email", emailOutboxRepository, transactionManager);
+        }
+        return outboxQueue;
+    }
+
+    /**
+     * One email to hand to the transport and the outbox rows it covers
+     */
+    static class OutgoingMail {
+        final SimpleMailMessage mail;
+        final List<EmailOutboxMessage> sources;
+
+        OutgoingMail(SimpleMailMessage mail, List<EmailOutboxMessage> sources) {
+            this.mail = mail;
+            this.sources = sources;
+        }
+    }
+}
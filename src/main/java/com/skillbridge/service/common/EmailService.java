@@ -1,32 +1,39 @@
 package com.skillbridge.service.common;
 
-import com.skillbridge.entity.common.EmailTemplate;
 import com.skillbridge.entity.contact.Contact;
 import com.skillbridge.entity.auth.User;
 import com.skillbridge.dto.contact.request.ContactFormData;
-import com.skillbridge.repository.common.EmailTemplateRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import com.amazonaws.services.simpleemail.AmazonSimpleEmailService;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Email Service
- * Handles email sending using AWS SES
+ * Builds notification emails and queues them in the email outbox.
+ * Subject/body text comes from EmailTemplateEngine (email_templates rows with built-in defaults).
+ * Delivery happens asynchronously in EmailOutboxService, so request threads never wait on SMTP.
  */
 @Service
+@Timed("service.method")
 public class EmailService {
 
+    private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
+
     @Autowired(required = false)
     private AmazonSimpleEmailService amazonSES;
 
-    @Autowired(required = false)
-    private JavaMailSender javaMailSender;
+    @Autowired
+    private EmailOutboxService emailOutboxService;
 
-    @Autowired(required = false)
-    private EmailTemplateRepository emailTemplateRepository;
+    @Autowired
+    private EmailTemplateEngine emailTemplateEngine;
 
     @Value("${aws.ses.enabled:false}")
     private boolean sesEnabled;
@@ -34,9 +41,6 @@ public class EmailService {
     @Value("${aws.ses.from-email:noreply@skillbridge.com}")
     private String fromEmail;
 
-    @Value("${email.from:support_skillbridge.inisoft.vn}")
-    private String smtpFromEmail;
-
     @Value("${email.from-name:SkillBridge Support}")
     private String smtpFromName;
 
@@ -62,102 +66,31 @@ public class EmailService {
             String contactTitle = contact.getTitle() != null ? contact.getTitle() : "";
             String loginUrl = baseUrl + "/client/login";
 
-            // Build email subject
-            String subject = "Thank you for your contact request - SkillBridge";
+            Map<String, String> vars = new HashMap<>();
+            vars.put("client_name", clientName);
+            vars.put("contact_title", contactTitle);
+            vars.put("company_line", companyName.isEmpty() ? "" : "- Company: " + companyName + "\n");
+            vars.put("email", user.getEmail());
+            vars.put("login_url", loginUrl);
+            vars.put("password", plainPassword);
+            vars.put("from_name", smtpFromName);
 
-            // Build email body
-            StringBuilder bodyBuilder = new StringBuilder();
-            bodyBuilder.append("Dear ").append(clientName).append(",\n\n");
-            bodyBuilder.append("Thank you for contacting SkillBridge. We have received your contact request and appreciate your interest in our services.\n\n");
+            String templateName = plainPassword != null
+                ? DefaultEmailTemplates.CONFIRMATION_NEW_ACCOUNT
+                : DefaultEmailTemplates.CONFIRMATION;
+            EmailTemplateEngine.RenderedEmail email = emailTemplateEngine.render(templateName, vars);
+            String subject = email.getSubject();
+            String body = email.getBody();
 
-            // Contact information
-            bodyBuilder.append("Contact Details:\n");
-            bodyBuilder.append("- Title: ").append(contactTitle).append("\n");
-            if (!companyName.isEmpty()) {
-                bodyBuilder.append("- Company: ").append(companyName).append("\n");
-            }
-            bodyBuilder.append("- Email: ").append(user.getEmail()).append("\n\n");
-
-            // Account information for new users
-            if (plainPassword != null) {
-                bodyBuilder.append("Your account has been created successfully. Please use the following credentials to log in:\n\n");
-                bodyBuilder.append("Login URL: ").append(loginUrl).append("\n");
-                bodyBuilder.append("Email: ").append(user.getEmail()).append("\n");
-                bodyBuilder.append("Initial Password: ").append(plainPassword).append("\n\n");
-                bodyBuilder.append("For security reasons, please change your password after your first login.\n\n");
-            } else {
-                bodyBuilder.append("You can log in to your account using the following link:\n");
-                bodyBuilder.append(loginUrl).append("\n\n");
-            }
+            // Queue for asynchronous delivery (EmailOutboxService)
+            emailOutboxService.enqueue("confirmation", user.getEmail(), subject, body);
 
-            bodyBuilder.append("Our team will review your request and get back to you as soon as possible.\n\n");
-            bodyBuilder.append("Best regards,\n");
-            bodyBuilder.append(smtpFromName).append("\n");
-            bodyBuilder.append("SkillBridge Team");
-
-            String body = bodyBuilder.toString();
-
-            // Send email if JavaMailSender is configured
-            if (javaMailSender != null) {
-                try {
-                    SimpleMailMessage message = new SimpleMailMessage();
-                    // Validate and format from email properly
-                    String fromEmailAddress = smtpFromEmail;
-                    if (fromEmailAddress == null || fromEmailAddress.trim().isEmpty()) {
-                        fromEmailAddress = "noreply@skillbridge.com";
-                    } else if (!fromEmailAddress.contains("@")) {
-                        // If from email doesn't have @, use a default format
-                        fromEmailAddress = fromEmailAddress + "@skillbridge.com";
-                    }
-                    // Validate email format
-                    if (!fromEmailAddress.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$")) {
-                        System.err.println("Invalid from email format: " + fromEmailAddress);
-                        fromEmailAddress = "noreply@skillbridge.com";
-                    }
-                    message.setFrom(fromEmailAddress);
-                    message.setTo(user.getEmail());
-                    message.setSubject(subject);
-                    message.setText(body);
-                    javaMailSender.send(message);
-                    System.out.println("Confirmation email sent successfully to: " + user.getEmail());
-                    System.out.println("From: " + fromEmailAddress);
-                } catch (Exception e) {
-                    // Log detailed error information
-                    System.err.println("=== ERROR: Failed to send confirmation email ===");
-                    System.err.println("To: " + user.getEmail());
-                    System.err.println("From: " + smtpFromEmail);
-                    System.err.println("Error: " + e.getClass().getSimpleName());
-                    System.err.println("Message: " + e.getMessage());
-                    if (e.getCause() != null) {
-                        System.err.println("Cause: " + e.getCause().getMessage());
-                    }
-                    e.printStackTrace();
-                    System.err.println("================================================");
-                    // Don't throw exception - just log and continue
-                    // This ensures contact creation is not blocked by email sending failure
-                }
-            } else {
-                System.out.println("JavaMailSender is not configured. Email will not be sent.");
-            }
-
-            // Log email content (for development/testing)
-            System.out.println("=== Contact Confirmation Email ===");
-            System.out.println("To: " + user.getEmail());
-            System.out.println("Subject: " + subject);
-            System.out.println("Body:\n" + body);
-            if (plainPassword != null) {
-                System.out.println("\n=== NEW USER ACCOUNT CREDENTIALS ===");
-                System.out.println("Email: " + user.getEmail());
-                System.out.println("Password: " + plainPassword);
-                System.out.println("Login URL: " + loginUrl);
-                System.out.println("===================================");
-            }
-            System.out.println("================================================");
+            // Never log the body: it may contain the initial password
+            logger.info("Confirmation email queued for {} (new account: {})", user.getEmail(), plainPassword != null);
 
         } catch (Exception e) {
             // Log error but don't fail the contact submission
-            System.err.println("Failed to prepare confirmation email: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Failed to prepare confirmation email for {}", user.getEmail(), e);
         }
     }
 
@@ -174,10 +107,6 @@ public class EmailService {
         return fromEmail;
     }
 
-    public EmailTemplateRepository getEmailTemplateRepository() {
-        return emailTemplateRepository;
-    }
-
     // Default constructor
     public EmailService() {
         // Default constructor for Spring
@@ -195,97 +124,27 @@ public class EmailService {
                                "SALES_REP".equals(user.getRole()) ? "Sale Rep" : user.getRole();
             String loginUrl = baseUrl + "/admin/login";
 
-            // Build email subject
-            String subject = "Welcome to SkillBridge - Your Account Has Been Created";
+            Map<String, String> vars = new HashMap<>();
+            vars.put("name", userName);
+            vars.put("role", roleDisplay);
+            vars.put("email", user.getEmail());
+            vars.put("login_url", loginUrl);
+            vars.put("password", plainPassword);
+            vars.put("from_name", smtpFromName);
 
-            // Build email body
-            StringBuilder bodyBuilder = new StringBuilder();
-            bodyBuilder.append("Dear ").append(userName).append(",\n\n");
-            bodyBuilder.append("Welcome to SkillBridge! Your account has been created successfully.\n\n");
-            
-            // Account information
-            bodyBuilder.append("Account Details:\n");
-            bodyBuilder.append("- Name: ").append(userName).append("\n");
-            bodyBuilder.append("- Role: ").append(roleDisplay).append("\n");
-            bodyBuilder.append("- Email: ").append(user.getEmail()).append("\n\n");
-
-            // Login credentials
-            bodyBuilder.append("Login Credentials:\n");
-            bodyBuilder.append("Login URL: ").append(loginUrl).append("\n");
-            bodyBuilder.append("Email: ").append(user.getEmail()).append("\n");
-            bodyBuilder.append("Initial Password: ").append(plainPassword).append("\n\n");
-
-            // Security reminder
-            bodyBuilder.append("IMPORTANT SECURITY REMINDER:\n");
-            bodyBuilder.append("For security reasons, please change your password after your first login.\n\n");
-
-            // Support information
-            bodyBuilder.append("If you have any questions or need assistance, please contact our support team.\n\n");
-            bodyBuilder.append("Best regards,\n");
-            bodyBuilder.append(smtpFromName).append("\n");
-            bodyBuilder.append("SkillBridge Team");
-
-            String body = bodyBuilder.toString();
-
-            // Send email if JavaMailSender is configured
-            if (javaMailSender != null) {
-                try {
-                    SimpleMailMessage message = new SimpleMailMessage();
-                    // Validate and format from email properly
-                    String fromEmailAddress = smtpFromEmail;
-                    if (fromEmailAddress == null || fromEmailAddress.trim().isEmpty()) {
-                        fromEmailAddress = "noreply@skillbridge.com";
-                    } else if (!fromEmailAddress.contains("@")) {
-                        // If from email doesn't have @, use a default format
-                        fromEmailAddress = fromEmailAddress + "@skillbridge.com";
-                    }
-                    // Validate email format
-                    if (!fromEmailAddress.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$")) {
-                        System.err.println("Invalid from email format: " + fromEmailAddress);
-                        fromEmailAddress = "noreply@skillbridge.com";
-                    }
-                    message.setFrom(fromEmailAddress);
-                    message.setTo(user.getEmail());
-                    message.setSubject(subject);
-                    message.setText(body);
-                    javaMailSender.send(message);
-                    System.out.println("Welcome email sent successfully to: " + user.getEmail());
-                    System.out.println("From: " + fromEmailAddress);
-                } catch (Exception e) {
-                    // Log detailed error information
-                    System.err.println("=== ERROR: Failed to send welcome email ===");
-                    System.err.println("To: " + user.getEmail());
-                    System.err.println("From: " + smtpFromEmail);
-                    System.err.println("Error: " + e.getClass().getSimpleName());
-                    System.err.println("Message: " + e.getMessage());
-                    if (e.getCause() != null) {
-                        System.err.println("Cause: " + e.getCause().getMessage());
-                    }
-                    e.printStackTrace();
-                    System.err.println("================================================");
-                    // Don't throw exception - just log and continue
-                    // This ensures user creation is not blocked by email sending failure
-                }
-            } else {
-                System.out.println("JavaMailSender is not configured. Email will not be sent.");
-            }
+            EmailTemplateEngine.RenderedEmail email = emailTemplateEngine.render(DefaultEmailTemplates.WELCOME, vars);
+            String subject = email.getSubject();
+            String body = email.getBody();
+
+            // Queue for asynchronous delivery (EmailOutboxService)
+            emailOutboxService.enqueue("welcome", user.getEmail(), subject, body);
 
-            // Log email content (for development/testing)
-            System.out.println("=== Welcome Email ===");
-            System.out.println("To: " + user.getEmail());
-            System.out.println("Subject: " + subject);
-            System.out.println("Body:\n" + body);
-            System.out.println("\n=== NEW USER ACCOUNT CREDENTIALS ===");
-            System.out.println("Email: " + user.getEmail());
-            System.out.println("Password: " + plainPassword);
-            System.out.println("Login URL: " + loginUrl);
-            System.out.println("===================================");
-            System.out.println("================================================");
+            // Never log the body: it contains the initial password
+            logger.info("Welcome email queued for {}", user.getEmail());
 
         } catch (Exception e) {
             // Log error but don't fail the user creation
-            System.err.println("Failed to prepare welcome email: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Failed to prepare welcome email for {}", user.getEmail(), e);
         }
     }
 
@@ -297,45 +156,23 @@ public class EmailService {
      * @param meetingDateTime Meeting date and time (format: YYYY/MM/DD HH:MM)
      */
     public void sendMeetingInvitation(String clientEmail, String clientName, String meetingLink, String meetingDateTime) {
-        if (javaMailSender == null) {
-            // Log email content if mail sender is not configured
-            System.out.println("=== Meeting Invitation Email (Mail Sender not configured) ===");
-            System.out.println("To: " + clientEmail);
-            System.out.println("Subject: Meeting Invitation - SkillBridge");
-            System.out.println("Body:");
-            System.out.println("Dear " + (clientName != null ? clientName : "Client") + ",");
-            System.out.println("");
-            System.out.println("We would like to invite you to an online meeting.");
-            System.out.println("");
-            System.out.println("Meeting Link: " + meetingLink);
-            System.out.println("Date & Time: " + meetingDateTime);
-            System.out.println("");
-            System.out.println("Best regards,");
-            System.out.println("SkillBridge Support Team");
-            System.out.println("================================================================");
-            return;
-        }
-
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(smtpFromEmail);
-            message.setTo(clientEmail);
-            message.setSubject("Meeting Invitation - SkillBridge");
-
-            String body = "Dear " + (clientName != null ? clientName : "Client") + ",\n\n";
-            body += "We would like to invite you to an online meeting.\n\n";
-            body += "Meeting Link: " + meetingLink + "\n";
-            body += "Date & Time: " + meetingDateTime + "\n\n";
-            body += "Best regards,\n";
-            body += smtpFromName;
-
-            message.setText(body);
-            javaMailSender.send(message);
-
-            System.out.println("Meeting invitation email sent successfully to: " + clientEmail);
+            Map<String, String> vars = new HashMap<>();
+            vars.put("client_name", clientName != null ? clientName : "Client");
+            vars.put("meeting_link", meetingLink);
+            vars.put("meeting_date_time", meetingDateTime);
+            vars.put("from_name", smtpFromName);
+
+            EmailTemplateEngine.RenderedEmail email = emailTemplateEngine.render(DefaultEmailTemplates.MEETING_INVITATION, vars);
+            String subject = email.getSubject();
+            String body = email.getBody();
+
+            // Queue for asynchronous delivery (EmailOutboxService)
+            emailOutboxService.enqueue("meeting_invitation", clientEmail, subject, body);
+
+            logger.info("Meeting invitation email queued for {}", clientEmail);
         } catch (Exception e) {
-            System.err.println("Failed to send meeting invitation email: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Failed to queue meeting invitation email for {}", clientEmail, e);
             throw new RuntimeException("Failed to send meeting invitation email", e);
         }
     }
@@ -355,85 +192,28 @@ public class EmailService {
             String title = contactData.getTitle() != null ? contactData.getTitle() : "Contact Request";
             String message = contactData.getMessage() != null ? contactData.getMessage() : "No message provided";
 
-            // Build email subject
-            String subject = "New Contact Request - " + clientName + " (" + companyName + ")";
+            Map<String, String> vars = new HashMap<>();
+            vars.put("client_name", clientName);
+            vars.put("company_name", companyName);
+            vars.put("client_email", clientEmail);
+            vars.put("phone", phone);
+            vars.put("title", title);
+            vars.put("message", message);
+            vars.put("contact_id", String.valueOf(contactId));
+            vars.put("from_name", smtpFromName);
 
-            // Build email body
-            StringBuilder bodyBuilder = new StringBuilder();
-            bodyBuilder.append("Dear Sales Team,\n\n");
-            bodyBuilder.append("A new contact request has been submitted through the Contact Us form.\n\n");
-            
-            // Contact information
-            bodyBuilder.append("Contact Details:\n");
-            bodyBuilder.append("- Name: ").append(clientName).append("\n");
-            bodyBuilder.append("- Company: ").append(companyName).append("\n");
-            bodyBuilder.append("- Email: ").append(clientEmail).append("\n");
-            bodyBuilder.append("- Phone: ").append(phone).append("\n");
-            bodyBuilder.append("- Title: ").append(title).append("\n");
-            bodyBuilder.append("- Message: ").append(message).append("\n");
-            bodyBuilder.append("- Contact ID: ").append(contactId).append("\n\n");
-
-            bodyBuilder.append("Please review this contact request and follow up with the client as soon as possible.\n\n");
-            bodyBuilder.append("Best regards,\n");
-            bodyBuilder.append(smtpFromName).append("\n");
-            bodyBuilder.append("SkillBridge System");
-
-            String body = bodyBuilder.toString();
-
-            // Send email if JavaMailSender is configured
-            if (javaMailSender != null) {
-                try {
-                    SimpleMailMessage messageObj = new SimpleMailMessage();
-                    // Validate and format from email properly
-                    String fromEmailAddress = smtpFromEmail;
-                    if (fromEmailAddress == null || fromEmailAddress.trim().isEmpty()) {
-                        fromEmailAddress = "noreply@skillbridge.com";
-                    } else if (!fromEmailAddress.contains("@")) {
-                        // If from email doesn't have @, use a default format
-                        fromEmailAddress = fromEmailAddress + "@skillbridge.com";
-                    }
-                    // Validate email format
-                    if (!fromEmailAddress.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$")) {
-                        System.err.println("Invalid from email format: " + fromEmailAddress);
-                        fromEmailAddress = "noreply@skillbridge.com";
-                    }
-                    messageObj.setFrom(fromEmailAddress);
-                    messageObj.setTo(salesEmail);
-                    messageObj.setSubject(subject);
-                    messageObj.setText(body);
-                    javaMailSender.send(messageObj);
-                    System.out.println("New contact notification email sent successfully to Sales: " + salesEmail);
-                    System.out.println("From: " + fromEmailAddress);
-                } catch (Exception e) {
-                    // Log detailed error information
-                    System.err.println("=== ERROR: Failed to send new contact notification email ===");
-                    System.err.println("To: " + salesEmail);
-                    System.err.println("From: " + smtpFromEmail);
-                    System.err.println("Error: " + e.getClass().getSimpleName());
-                    System.err.println("Message: " + e.getMessage());
-                    if (e.getCause() != null) {
-                        System.err.println("Cause: " + e.getCause().getMessage());
-                    }
-                    e.printStackTrace();
-                    System.err.println("================================================");
-                    // Don't throw exception - just log and continue
-                    // This ensures contact creation is not blocked by email sending failure
-                }
-            } else {
-                System.out.println("JavaMailSender is not configured. Email will not be sent.");
-            }
+            EmailTemplateEngine.RenderedEmail email = emailTemplateEngine.render(DefaultEmailTemplates.NEW_CONTACT_NOTIFICATION, vars);
+            String subject = email.getSubject();
+            String body = email.getBody();
 
-            // Log email content (for development/testing)
-            System.out.println("=== New Contact Notification Email ===");
-            System.out.println("To: " + salesEmail);
-            System.out.println("Subject: " + subject);
-            System.out.println("Body:\n" + body);
-            System.out.println("================================================");
+            // Queue for asynchronous delivery (EmailOutboxService)
+            emailOutboxService.enqueue("new_contact_notification", salesEmail, subject, body);
+
+            logger.info("New contact notification email queued for {} (contact {})", salesEmail, contactId);
 
         } catch (Exception e) {
             // Log error but don't fail the contact submission
-            System.err.println("Failed to prepare new contact notification email: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Failed to prepare new contact notification email (contact {})", contactId, e);
         }
     }
 
@@ -450,93 +230,30 @@ public class EmailService {
             String clientEmail = clientUser.getEmail() != null ? clientUser.getEmail() : null;
             
             if (clientEmail == null || clientEmail.isEmpty()) {
-                System.err.println("Client email is missing. Cannot send proposal notification email.");
+                logger.warn("Client email is missing. Cannot send proposal notification email.");
                 return;
             }
 
-            // Build email subject
-            String subject = "New Proposal Available - " + proposalTitle;
+            Map<String, String> vars = new HashMap<>();
+            vars.put("client_name", clientName);
+            vars.put("proposal_title", proposalTitle);
+            vars.put("opportunity_line", opportunityTitle != null && !opportunityTitle.isEmpty()
+                ? "- Opportunity: " + opportunityTitle + "\n" : "");
+            vars.put("login_url", baseUrl + "/client/login");
+            vars.put("from_name", smtpFromName);
 
-            // Build email body
-            StringBuilder bodyBuilder = new StringBuilder();
-            bodyBuilder.append("Dear ").append(clientName).append(",\n\n");
-            bodyBuilder.append("We are pleased to inform you that a new proposal has been approved and is now available for your review.\n\n");
-            
-            // Proposal information
-            bodyBuilder.append("Proposal Details:\n");
-            bodyBuilder.append("- Title: ").append(proposalTitle).append("\n");
-            if (opportunityTitle != null && !opportunityTitle.isEmpty()) {
-                bodyBuilder.append("- Opportunity: ").append(opportunityTitle).append("\n");
-            }
-            bodyBuilder.append("\n");
+            EmailTemplateEngine.RenderedEmail email = emailTemplateEngine.render(DefaultEmailTemplates.NEW_PROPOSAL_NOTIFICATION, vars);
+            String subject = email.getSubject();
+            String body = email.getBody();
 
-            // Login information
-            String loginUrl = baseUrl + "/client/login";
-            bodyBuilder.append("Please log in to your account to review the proposal:\n");
-            bodyBuilder.append(loginUrl).append("\n\n");
-
-            bodyBuilder.append("You can access your proposals and provide feedback through your client portal.\n\n");
-            bodyBuilder.append("If you have any questions, please feel free to contact us.\n\n");
-            bodyBuilder.append("Best regards,\n");
-            bodyBuilder.append(smtpFromName).append("\n");
-            bodyBuilder.append("SkillBridge Team");
-
-            String body = bodyBuilder.toString();
-
-            // Send email if JavaMailSender is configured
-            if (javaMailSender != null) {
-                try {
-                    SimpleMailMessage message = new SimpleMailMessage();
-                    // Validate and format from email properly
-                    String fromEmailAddress = smtpFromEmail;
-                    if (fromEmailAddress == null || fromEmailAddress.trim().isEmpty()) {
-                        fromEmailAddress = "noreply@skillbridge.com";
-                    } else if (!fromEmailAddress.contains("@")) {
-                        // If from email doesn't have @, use a default format
-                        fromEmailAddress = fromEmailAddress + "@skillbridge.com";
-                    }
-                    // Validate email format
-                    if (!fromEmailAddress.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$")) {
-                        System.err.println("Invalid from email format: " + fromEmailAddress);
-                        fromEmailAddress = "noreply@skillbridge.com";
-                    }
-                    message.setFrom(fromEmailAddress);
-                    message.setTo(clientEmail);
-                    message.setSubject(subject);
-                    message.setText(body);
-                    javaMailSender.send(message);
-                    System.out.println("New proposal notification email sent successfully to Client: " + clientEmail);
-                    System.out.println("From: " + fromEmailAddress);
-                } catch (Exception e) {
-                    // Log detailed error information
-                    System.err.println("=== ERROR: Failed to send new proposal notification email ===");
-                    System.err.println("To: " + clientEmail);
-                    System.err.println("From: " + smtpFromEmail);
-                    System.err.println("Error: " + e.getClass().getSimpleName());
-                    System.err.println("Message: " + e.getMessage());
-                    if (e.getCause() != null) {
-                        System.err.println("Cause: " + e.getCause().getMessage());
-                    }
-                    e.printStackTrace();
-                    System.err.println("================================================");
-                    // Don't throw exception - just log and continue
-                    // This ensures proposal approval is not blocked by email sending failure
-                }
-            } else {
-                System.out.println("JavaMailSender is not configured. Email will not be sent.");
-            }
+            // Queue for asynchronous delivery (EmailOutboxService)
+            emailOutboxService.enqueue("new_proposal_notification", clientEmail, subject, body);
 
-            // Log email content (for development/testing)
-            System.out.println("=== New Proposal Notification Email ===");
-            System.out.println("To: " + clientEmail);
-            System.out.println("Subject: " + subject);
-            System.out.println("Body:\n" + body);
-            System.out.println("================================================");
+            logger.info("New proposal notification email queued for {}", clientEmail);
 
         } catch (Exception e) {
             // Log error but don't fail the proposal approval
-            System.err.println("Failed to prepare new proposal notification email: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Failed to prepare new proposal notification email", e);
         }
     }
 
@@ -553,93 +270,30 @@ public class EmailService {
             String clientEmail = clientUser.getEmail() != null ? clientUser.getEmail() : null;
             
             if (clientEmail == null || clientEmail.isEmpty()) {
-                System.err.println("Client email is missing. Cannot send contract pending approval notification email.");
+                logger.warn("Client email is missing. Cannot send contract pending approval notification email.");
                 return;
             }
 
-            // Build email subject
-            String contractTypeDisplay = "MSA".equalsIgnoreCase(contractType) ? "MSA" : "SOW";
-            String subject = "Contract Pending Your Approval - " + contractName + " (" + contractId + ")";
+            Map<String, String> vars = new HashMap<>();
+            vars.put("client_name", clientName);
+            vars.put("contract_type", "MSA".equalsIgnoreCase(contractType) ? "MSA" : "SOW");
+            vars.put("contract_name", contractName != null ? contractName : "Contract");
+            vars.put("contract_id", contractId != null ? contractId : "N/A");
+            vars.put("login_url", baseUrl + "/client/login");
+            vars.put("from_name", smtpFromName);
 
-            // Build email body
-            StringBuilder bodyBuilder = new StringBuilder();
-            bodyBuilder.append("Dear ").append(clientName).append(",\n\n");
-            bodyBuilder.append("We are pleased to inform you that a new ").append(contractTypeDisplay).append(" contract has been approved by our Sales Manager and is now pending your review and approval.\n\n");
-            
-            // Contract information
-            bodyBuilder.append("Contract Details:\n");
-            bodyBuilder.append("- Type: ").append(contractTypeDisplay).append("\n");
-            bodyBuilder.append("- Name: ").append(contractName != null ? contractName : "Contract").append("\n");
-            bodyBuilder.append("- Contract ID: ").append(contractId != null ? contractId : "N/A").append("\n");
-            bodyBuilder.append("\n");
-
-            // Login information
-            String loginUrl = baseUrl + "/client/login";
-            bodyBuilder.append("Please log in to your account to review and approve the contract:\n");
-            bodyBuilder.append(loginUrl).append("\n\n");
-
-            bodyBuilder.append("You can access your contracts and provide approval through your client portal.\n\n");
-            bodyBuilder.append("If you have any questions or need clarification, please feel free to contact us.\n\n");
-            bodyBuilder.append("Best regards,\n");
-            bodyBuilder.append(smtpFromName).append("\n");
-            bodyBuilder.append("SkillBridge Team");
-
-            String body = bodyBuilder.toString();
-
-            // Send email if JavaMailSender is configured
-            if (javaMailSender != null) {
-                try {
-                    SimpleMailMessage message = new SimpleMailMessage();
-                    // Validate and format from email properly
-                    String fromEmailAddress = smtpFromEmail;
-                    if (fromEmailAddress == null || fromEmailAddress.trim().isEmpty()) {
-                        fromEmailAddress = "noreply@skillbridge.com";
-                    } else if (!fromEmailAddress.contains("@")) {
-                        // If from email doesn't have @, use a default format
-                        fromEmailAddress = fromEmailAddress + "@skillbridge.com";
-                    }
-                    // Validate email format
-                    if (!fromEmailAddress.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$")) {
-                        System.err.println("Invalid from email format: " + fromEmailAddress);
-                        fromEmailAddress = "noreply@skillbridge.com";
-                    }
-                    message.setFrom(fromEmailAddress);
-                    message.setTo(clientEmail);
-                    message.setSubject(subject);
-                    message.setText(body);
-                    javaMailSender.send(message);
-                    System.out.println("Contract pending approval notification email sent successfully to Client: " + clientEmail);
-                    System.out.println("From: " + fromEmailAddress);
-                } catch (Exception e) {
-                    // Log detailed error information
-                    System.err.println("=== ERROR: Failed to send contract pending approval notification email ===");
-                    System.err.println("To: " + clientEmail);
-                    System.err.println("From: " + smtpFromEmail);
-                    System.err.println("Error: " + e.getClass().getSimpleName());
-                    System.err.println("Message: " + e.getMessage());
-                    if (e.getCause() != null) {
-                        System.err.println("Cause: " + e.getCause().getMessage());
-                    }
-                    e.printStackTrace();
-                    System.err.println("================================================");
-                    // Don't throw exception - just log and continue
-                    // This ensures contract approval is not blocked by email sending failure
-                }
-            } else {
-                System.out.println("JavaMailSender is not configured. Email will not be sent.");
-            }
+            EmailTemplateEngine.RenderedEmail email = emailTemplateEngine.render(DefaultEmailTemplates.CONTRACT_PENDING_APPROVAL, vars);
+            String subject = email.getSubject();
+            String body = email.getBody();
 
-            // Log email content (for development/testing)
-            System.out.println("=== Contract Pending Approval Notification Email ===");
-            System.out.println("To: " + clientEmail);
-            System.out.println("Subject: " + subject);
-            System.out.println("Body:\n" + body);
-            System.out.println("================================================");
+            // Queue for asynchronous delivery (EmailOutboxService)
+            emailOutboxService.enqueue("contract_pending_approval", clientEmail, subject, body);
+
+            logger.info("Contract pending approval email queued for {} ({})", clientEmail, contractId);
 
         } catch (Exception e) {
             // Log error but don't fail the contract approval
-            System.err.println("Failed to prepare contract pending approval notification email: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Failed to prepare contract pending approval notification email ({})", contractId, e);
         }
     }
 
@@ -653,88 +307,24 @@ public class EmailService {
         try {
             String userName = user.getFullName() != null ? user.getFullName() : "User";
 
-            // Try to get email template
-            String subject = "Password Reset Request";
-            String body = "Hello " + userName + ",\n\n" +
-                    "You requested a password reset. Please click the link below to reset your password:\n\n" +
-                    resetLink + "\n\n" +
-                    "This link will expire in " + expirationMinutes + " minutes.\n\n" +
-                    "If you did not request this, please ignore this email.\n\n" +
-                    "Best regards,\nSkillBridge Team";
-
-            if (emailTemplateRepository != null) {
-                try {
-                    EmailTemplate template = emailTemplateRepository
-                            .findByTemplateName("password_reset")
-                            .orElse(null);
-                    
-                    if (template != null) {
-                        subject = template.getSubject();
-                        body = template.getBody()
-                                .replace("{name}", userName)
-                                .replace("{reset_link}", resetLink)
-                                .replace("{expiration_minutes}", String.valueOf(expirationMinutes));
-                    }
-                } catch (Exception e) {
-                    System.err.println("Failed to load email template, using default: " + e.getMessage());
-                }
-            }
+            Map<String, String> vars = new HashMap<>();
+            vars.put("name", userName);
+            vars.put("reset_link", resetLink);
+            vars.put("expiration_minutes", String.valueOf(expirationMinutes));
 
-            // Send email if JavaMailSender is configured
-            if (javaMailSender != null) {
-                try {
-                    SimpleMailMessage message = new SimpleMailMessage();
-                    // Validate and format from email properly
-                    String fromEmailAddress = smtpFromEmail;
-                    if (fromEmailAddress == null || fromEmailAddress.trim().isEmpty()) {
-                        fromEmailAddress = "noreply@skillbridge.com";
-                    } else if (!fromEmailAddress.contains("@")) {
-                        // If from email doesn't have @, use a default format
-                        fromEmailAddress = fromEmailAddress + "@skillbridge.com";
-                    }
-                    // Validate email format
-                    if (!fromEmailAddress.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$")) {
-                        System.err.println("Invalid from email format: " + fromEmailAddress);
-                        fromEmailAddress = "noreply@skillbridge.com";
-                    }
-                    message.setFrom(fromEmailAddress);
-                    message.setTo(user.getEmail());
-                    message.setSubject(subject);
-                    message.setText(body);
-                    javaMailSender.send(message);
-                    System.out.println("Password reset email sent successfully to: " + user.getEmail());
-                    System.out.println("From: " + fromEmailAddress);
-                } catch (Exception e) {
-                    // Log detailed error information
-                    System.err.println("=== ERROR: Failed to send password reset email ===");
-                    System.err.println("To: " + user.getEmail());
-                    System.err.println("From: " + smtpFromEmail);
-                    System.err.println("Error: " + e.getClass().getSimpleName());
-                    System.err.println("Message: " + e.getMessage());
-                    if (e.getCause() != null) {
-                        System.err.println("Cause: " + e.getCause().getMessage());
-                    }
-                    e.printStackTrace();
-                    System.err.println("================================================");
-                    // Don't throw exception - just log and continue
-                    // This ensures password reset request is not blocked by email sending failure
-                }
-            } else {
-                System.out.println("JavaMailSender is not configured. Email will not be sent.");
-            }
+            EmailTemplateEngine.RenderedEmail email = emailTemplateEngine.render(DefaultEmailTemplates.PASSWORD_RESET, vars);
+            String subject = email.getSubject();
+            String body = email.getBody();
+
+            // Queue for asynchronous delivery (EmailOutboxService)
+            emailOutboxService.enqueue("password_reset", user.getEmail(), subject, body);
 
-            // Log email content (for development/testing)
-            System.out.println("=== Password Reset Email ===");
-            System.out.println("To: " + user.getEmail());
-            System.out.println("Subject: " + subject);
-            System.out.println("Body:\n" + body);
-            System.out.println("Reset Link: " + resetLink);
-            System.out.println("================================================");
+            // Never log the body or the link: the token in it resets the account password
+            logger.info("Password reset email queued for {}", user.getEmail());
 
         } catch (Exception e) {
             // Log error but don't fail the password reset request
-            System.err.println("Failed to prepare password reset email: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Failed to prepare password reset email for {}", user.getEmail(), e);
         }
     }
 }
@@ -0,0 +1,41 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.entity.common.EmailTemplate;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Email Template Cache Listener
+ * JPA entity listener on EmailTemplate: evicts the compiled template from EmailTemplateEngine
+ * once the edit commits, so the next email renders the new text.
+ */
+@Component
+public class EmailTemplateCacheListener {
+
+    @Autowired
+    @Lazy
+    private EmailTemplateEngine emailTemplateEngine;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onTemplateChange(EmailTemplate template) {
+        String templateName = template.getTemplateName();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    emailTemplateEngine.invalidate(templateName);
+                }
+            });
+        } else {
+            emailTemplateEngine.invalidate(templateName);
+        }
+    }
+}
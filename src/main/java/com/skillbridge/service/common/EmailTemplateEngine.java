@@ -0,0 +1,208 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.entity.common.EmailTemplate;
+import com.skillbridge.repository.common.EmailTemplateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Email Template Engine
+ * Renders every email EmailService sends. Templates come from the email_templates table
+ * (active row by template_name) with a built-in fallback (DefaultEmailTemplates).
+ *
+ * Each template is parsed once into a segment list (literal text and {placeholder} names)
+ * and cached; rendering is a single pass into a pre-sized StringBuilder, with no regex and no
+ * intermediate strings. Substituted values are never re-scanned, so a value containing "{x}"
+ * is emitted as-is. Unknown placeholders are left in the output unchanged.
+ * The cache is evicted when a template row is saved or deleted (EmailTemplateCacheListener).
+ */
+@Service
+public class EmailTemplateEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailTemplateEngine.class);
+
+    @Autowired(required = false)
+    private EmailTemplateRepository emailTemplateRepository;
+
+    private final Map<String, CompiledEmail> cache = new ConcurrentHashMap<>();
+
+    // Bumped by invalidate(), so a load that raced with a template edit is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Render a template
+     * @param templateName Template name (e.g. "password_reset")
+     * @param variables Placeholder values (null values render as empty text)
+     * @return Rendered subject and body
+     */
+    public RenderedEmail render(String templateName, Map<String, String> variables) {
+        CompiledEmail compiled = cache.get(templateName);
+        if (compiled == null) {
+            // Loaded outside computeIfAbsent: the DB read must not run under the map's bin lock,
+            // which would pin a virtual thread to its carrier and block other templates in the bin
+            long loadGeneration = generation.get();
+            compiled = load(templateName);
+            cache.putIfAbsent(templateName, compiled);
+            // Checked after the put: an invalidate() between a check and the put would otherwise
+            // leave the pre-edit template cached until the next edit
+            if (generation.get() != loadGeneration) {
+                cache.remove(templateName, compiled);
+            }
+        }
+        return new RenderedEmail(compiled.subject.render(variables), compiled.body.render(variables));
+    }
+
+    /**
+     * Drop one cached template (next render reloads it)
+     * @param templateName Template name
+     */
+    public void invalidate(String templateName) {
+        if (templateName != null) {
+            generation.incrementAndGet();
+            cache.remove(templateName);
+        }
+    }
+
+    /**
+     * Drop all cached templates
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    private CompiledEmail load(String templateName) {
+        if (emailTemplateRepository != null) {
+            try {
+                EmailTemplate template = emailTemplateRepository.findByTemplateNameAndIsActiveTrue(templateName).orElse(null);
+                if (template != null && template.getBody() != null) {
+                    String[] defaults = DefaultEmailTemplates.TEMPLATES.get(templateName);
+                    String subject = template.getSubject() != null ? template.getSubject()
+                        : (defaults != null ? defaults[0] : "");
+                    return new CompiledEmail(compile(subject), compile(template.getBody()));
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to load email template '{}', using default: {}", templateName, e.getMessage());
+            }
+        }
+        String[] defaults = DefaultEmailTemplates.TEMPLATES.get(templateName);
+        if (defaults == null) {
+            throw new IllegalArgumentException("Unknown email template: " + templateName);
+        }
+        return new CompiledEmail(compile(defaults[0]), compile(defaults[1]));
+    }
+
+    /**
+     * Parse template text into alternating literal / placeholder segments
+     * A placeholder is "{" + [A-Za-z0-9_]+ + "}"; any other brace is literal text.
+     */
+    static CompiledTemplate compile(String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        int length = text.length();
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '{') {
+                int end = i + 1;
+                while (end < length && isNameChar(text.charAt(end))) {
+                    end++;
+                }
+                if (end < length && end > i + 1 && text.charAt(end) == '}') {
+                    literals.add(literal.toString());
+                    names.add(text.substring(i + 1, end));
+                    literal.setLength(0);
+                    i = end + 1;
+                    continue;
+                }
+            }
+            literal.append(c);
+            i++;
+        }
+        literals.add(literal.toString());
+        return new CompiledTemplate(literals.toArray(new String[0]), names.toArray(new String[0]));
+    }
+
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * Precompiled template: literals[0] name[0] literals[1] name[1] ... literals[n]
+     */
+    static final class CompiledTemplate {
+        private final String[] literals;
+        private final String[] names;
+        private final int literalLength;
+
+        CompiledTemplate(String[] literals, String[] names) {
+            this.literals = literals;
+            this.names = names;
+            int total = 0;
+            for (String literal : literals) {
+                total += literal.length();
+            }
+            this.literalLength = total;
+        }
+
+        String render(Map<String, String> variables) {
+            if (names.length == 0) {
+                return literals[0];
+            }
+            StringBuilder out = new StringBuilder(literalLength + names.length * 16);
+            for (int i = 0; i < names.length; i++) {
+                out.append(literals[i]);
+                if (variables.containsKey(names[i])) {
+                    String value = variables.get(names[i]);
+                    if (value != null) {
+                        out.append(value);
+                    }
+                } else {
+                    out.append('{').append(names[i]).append('}');
+                }
+            }
+            out.append(literals[names.length]);
+            return out.toString();
+        }
+    }
+
+    private static final class CompiledEmail {
+        private final CompiledTemplate subject;
+        private final CompiledTemplate body;
+
+        private CompiledEmail(CompiledTemplate subject, CompiledTemplate body) {
+            this.subject = subject;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Rendered subject and body
+     */
+    public static final class RenderedEmail {
+        private final String subject;
+        private final String body;
+
+        public RenderedEmail(String subject, String body) {
+            this.subject = subject;
+            this.body = body;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public String getBody() {
+            return body;
+        }
+    }
+}
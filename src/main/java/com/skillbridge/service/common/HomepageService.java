@@ -6,11 +6,13 @@ import com.skillbridge.entity.engineer.Engineer;
 import com.skillbridge.repository.engineer.EngineerRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 public class HomepageService {
 
     @Autowired
@@ -0,0 +1,158 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.repository.common.LeasedQueueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Leased Work Queue
+ * Claim, lease and backoff logic shared by the background work tables (cr_approval_jobs,
+ * email_outbox).
+ * poll() first refreshes the heartbeat of the rows this node is running and re-queues rows
+ * whose node stopped heart-beating, then claims a batch of due rows with one UPDATE ... LIMIT
+ * under a new lease owner ("<node>:<sequence>"). A row is only re-queued once its heartbeat
+ * is older than the lease timeout, so a slow but live worker keeps its rows; workers still
+ * record outcomes only while the row carries their lease, which fences off a worker that lost
+ * its lease (e.g. a long GC pause) from completing a row another node has claimed again.
+ */
+public class LeasedWorkQueue<T, ID> {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeasedWorkQueue.class);
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private static final long MAX_BACKOFF_SECONDS = 3600L;
+
+    /** Identifies this JVM in lease owners; the random suffix tells restarts on the same host apart */
+    static final String NODE_ID = nodeId();
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final String name;
+    private final LeasedQueueRepository<T, ID> repository;
+    private final TransactionTemplate tx;
+
+    /**
+     * @param name Queue name for logs (e.g. "CR approval job")
+     * @param repository Repository of the work table
+     * @param transactionManager Transaction manager; each step runs in its own short transaction
+     */
+    public LeasedWorkQueue(String name, LeasedQueueRepository<T, ID> repository,
+                           PlatformTransactionManager transactionManager) {
+        this.name = name;
+        this.repository = repository;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Heartbeat this node's rows, re-queue expired leases and claim up to limit due rows
+     * @param limit Max number of rows to claim (0 only heartbeats and re-queues)
+     * @param leaseTimeoutMinutes Re-queue running rows whose heartbeat is older than this
+     * @return Claimed rows and their lease owner
+     */
+    public Claim<T> poll(int limit, long leaseTimeoutMinutes) {
+        LocalDateTime now = LocalDateTime.now();
+        tx.execute(status -> repository.heartbeat(NODE_ID + ":%", now));
+
+        Integer requeued = tx.execute(status ->
+            repository.requeueExpired(now.minusMinutes(leaseTimeoutMinutes), now));
+        if (requeued != null && requeued > 0) {
+            logger.warn("Re-queued {} {}(s) whose worker stopped heart-beating", requeued, name);
+        }
+
+        String leaseOwner = NODE_ID + ":" + SEQUENCE.incrementAndGet();
+        if (limit <= 0) {
+            return new Claim<>(leaseOwner, List.of());
+        }
+        List<T> claimed = tx.execute(status -> repository.claimBatch(leaseOwner, now, limit) > 0
+            ? repository.findByLeaseOwner(leaseOwner)
+            : List.of());
+        return new Claim<>(leaseOwner, claimed != null ? claimed : List.of());
+    }
+
+    /**
+     * Hand claimed rows back without counting the attempt (e.g. worker pool full)
+     * @param ids Row IDs
+     * @param leaseOwner Lease the rows were claimed under
+     */
+    public void release(Collection<ID> ids, String leaseOwner) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        tx.execute(status -> repository.releaseClaims(ids, leaseOwner, LocalDateTime.now()));
+    }
+
+    /**
+     * Exponential backoff: base * 2^(attempts - 1), capped at one hour
+     */
+    public static long backoffSeconds(long baseSeconds, int attempts) {
+        long factor = 1L << Math.min(Math.max(attempts - 1, 0), 16);
+        return Math.min(baseSeconds * factor, MAX_BACKOFF_SECONDS);
+    }
+
+    /**
+     * Error text to store on a failed row ("ExceptionType: message"), truncated to fit last_error
+     */
+    public static String describeError(Exception e) {
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static String nodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        host = host.replaceAll("[^A-Za-z0-9.-]", "-");
+        if (host.length() > 60) {
+            host = host.substring(0, 60);
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Rows claimed by one poll
+     */
+    public static class Claim<T> {
+
+        private final String leaseOwner;
+        private final List<T> items;
+
+        Claim(String leaseOwner, List<T> items) {
+            this.leaseOwner = leaseOwner;
+            this.items = items;
+        }
+
+        public String getLeaseOwner() {
+            return leaseOwner;
+        }
+
+        public List<T> getItems() {
+            return items;
+        }
+    }
+
+    /**
+     * Thrown inside a worker transaction when the row no longer carries the worker's lease,
+     * so everything the attempt did is rolled back
+     */
+    public static class LeaseLostException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public LeaseLostException(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,67 +1,377 @@
 package com.skillbridge.service.common;
 
-import com.skillbridge.entity.auth.User;
+import com.skillbridge.dto.common.DashboardEventDTO;
+import com.skillbridge.dto.common.NotificationDTO;
+import com.skillbridge.dto.common.NotificationInboxDTO;
+import com.skillbridge.entity.common.Notification;
+import com.skillbridge.entity.common.NotificationCounter;
 import com.skillbridge.entity.contact.Contact;
-import com.skillbridge.repository.auth.UserRepository;
+import com.skillbridge.repository.common.NotificationCounterRepository;
+import com.skillbridge.repository.common.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Notification Service
- * Handles notifications to sales managers
+ * In-app notifications for sales users (new contacts, proposals to review, change requests).
+ *
+ * Write paths call notify*() inside their transaction; the recipients are resolved and the
+ * notification rows and unread counters are written on the notificationExecutor pool after
+ * that transaction commits, so request threads never do the fan-out. Clients read the inbox
+ * or long-poll for new notifications (waitForNotifications), which is woken up as soon as a
+ * fan-out for that user finishes on this node and otherwise times out with an empty result.
+ * Users with an open dashboard stream also get the new unread count pushed over SSE.
  */
 @Service
 public class NotificationService {
 
+    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
+    private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    @Autowired
+    private SalesRecipientResolver salesRecipientResolver;
+
+    @Autowired
+    private DashboardEventService dashboardEventService;
+
     @Autowired
-    private UserRepository userRepository;
+    private NotificationRepository notificationRepository;
 
     @Autowired
-    private EmailService emailService;
+    private NotificationCounterRepository notificationCounterRepository;
+
+    @Autowired
+    @Qualifier("notificationExecutor")
+    private ThreadPoolTaskExecutor notificationExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${notification.long-poll.timeout-seconds:25}")
+    private long longPollTimeoutSeconds;
+
+    @Value("${notification.long-poll.max-batch:50}")
+    private int maxBatch;
+
+    private final Map<Integer, Set<Waiter<?>>> waiters = new ConcurrentHashMap<>();
 
     /**
-     * Notify sales manager about new contact
+     * Notify all sales managers (and the assignee, if any) about a new contact
      * @param contact Contact record
      */
     public void notifySalesManager(Contact contact) {
         try {
-            // Find sales manager
-            List<User> salesManagers = userRepository.findByRole("SALES_MANAGER");
-            if (salesManagers.isEmpty()) {
-                // Fallback to admin users
-                salesManagers = userRepository.findByRole("ADMIN");
+            String clientName = null;
+            String companyName = null;
+            if (contact.getClientUser() != null) {
+                clientName = contact.getClientUser().getFullName();
+                companyName = contact.getClientUser().getCompanyName();
             }
+            String message = (clientName != null ? clientName : "A guest") +
+                (companyName != null && !companyName.isEmpty() ? " (" + companyName + ")" : "") +
+                " submitted a contact request";
 
-            if (!salesManagers.isEmpty()) {
-                User salesManager = salesManagers.get(0);
-                sendSalesNotification(salesManager, contact);
-            } else {
-                System.out.println("No sales manager or admin found to notify");
-            }
+            publish(Collections.singletonList(contact.getAssigneeUserId()), true,
+                Notification.TYPE_NEW_CONTACT, "New contact request", message, "contact", contact.getId());
         } catch (Exception e) {
             // Log error but don't fail the contact submission
-            System.err.println("Failed to notify sales manager: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Failed to notify sales managers for contact {}: {}", contact.getId(), e.getMessage(), e);
         }
     }
 
     /**
-     * Send sales notification
-     * @param salesManager Sales manager user
-     * @param contact Contact record
+     * Notify specific users
+     * @param userIds Recipient user IDs (nulls and duplicates are ignored)
+     * @param type Notification type (Notification.TYPE_*)
+     * @param title Short title
+     * @param message Message text
+     * @param entityType Related entity type (e.g. "proposal")
+     * @param entityId Related entity ID
      */
-    private void sendSalesNotification(User salesManager, Contact contact) {
-        // Log notification content (for development/testing)
-        System.out.println("=== Sales Manager Notification Prepared (SES not enabled) ===");
-        System.out.println("Sales Manager: " + salesManager.getEmail());
-        System.out.println("Contact ID: " + contact.getId());
-        if (contact.getClientUser() != null) {
-            System.out.println("Client: " + contact.getClientUser().getFullName());
-            System.out.println("Company: " + contact.getClientUser().getCompanyName());
+    public void notifyUsers(Collection<Integer> userIds, String type, String title, String message,
+                            String entityType, Integer entityId) {
+        try {
+            publish(userIds, false, type, title, message, entityType, entityId);
+        } catch (Exception e) {
+            logger.error("Failed to publish {} notification for {} {}: {}", type, entityType, entityId, e.getMessage(), e);
         }
-        System.out.println("==========================================================");
     }
-}
 
+    /**
+     * Notify all sales managers plus specific users (e.g. the contract assignee)
+     */
+    public void notifySalesManagersAndUsers(Collection<Integer> userIds, String type, String title, String message,
+                                            String entityType, Integer entityId) {
+        try {
+            publish(userIds, true, type, title, message, entityType, entityId);
+        } catch (Exception e) {
+            logger.error("Failed to publish {} notification for {} {}: {}", type, entityType, entityId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get latest notifications and unread count of a user
+     * @param userId User ID
+     * @param limit Max number of notifications
+     * @return Inbox
+     */
+    public NotificationInboxDTO getInbox(Integer userId, int limit) {
+        int size = Math.max(1, Math.min(limit, maxBatch));
+        List<Notification> notifications = notificationRepository.findByUserIdOrderByIdDesc(userId, PageRequest.of(0, size));
+        Long lastId = notifications.isEmpty() ? 0L : notifications.get(0).getId();
+        return new NotificationInboxDTO(getUnreadCount(userId), lastId, toDTOs(notifications));
+    }
+
+    /**
+     * Get unread notification count of a user (single primary-key read)
+     * @param userId User ID
+     * @return Unread count
+     */
+    public int getUnreadCount(Integer userId) {
+        return notificationCounterRepository.findById(userId)
+            .map(NotificationCounter::getUnreadCount)
+            .orElse(0);
+    }
+
+    /**
+     * Wait for notifications newer than afterId
+     * Completes immediately if there already are some; otherwise completes when a fan-out
+     * for this user finishes, or with an empty list after the long-poll timeout.
+     * @param userId User ID
+     * @param afterId Last notification ID the client has seen (0 for none)
+     * @param mapper Maps the inbox with only the new notifications to the response
+     * @return Deferred response (served without holding a request thread)
+     */
+    public <T> DeferredResult<T> waitForNotifications(Integer userId, Long afterId, Function<NotificationInboxDTO, T> mapper) {
+        long cursor = afterId != null ? afterId : 0L;
+        DeferredResult<T> result = new DeferredResult<>(longPollTimeoutSeconds * 1000);
+        Waiter<T> waiter = new Waiter<>(userId, cursor, result, mapper);
+
+        // Register before checking, so a fan-out that finishes in between still wakes us up
+        waiters.computeIfAbsent(userId, id -> new CopyOnWriteArraySet<>()).add(waiter);
+        result.onCompletion(() -> removeWaiter(waiter));
+        result.onTimeout(() -> waiter.complete(new NotificationInboxDTO(getUnreadCount(userId), cursor, new ArrayList<>())));
+        result.onError(error -> removeWaiter(waiter));
+
+        NotificationInboxDTO pending = loadAfter(userId, cursor);
+        if (!pending.getNotifications().isEmpty()) {
+            waiter.complete(pending);
+        }
+        return result;
+    }
+
+    /**
+     * Mark notifications as read
+     * @param userId User ID (only this user's notifications are touched)
+     * @param ids Notification IDs
+     * @return Remaining unread count
+     */
+    public int markRead(Integer userId, Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return getUnreadCount(userId);
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            int changed = notificationRepository.markRead(userId, ids, LocalDateTime.now());
+            if (changed > 0) {
+                notificationCounterRepository.decrement(userId, changed);
+            }
+        });
+        return getUnreadCount(userId);
+    }
+
+    /**
+     * Mark all notifications of a user as read
+     * @param userId User ID
+     */
+    public void markAllRead(Integer userId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            notificationRepository.markAllRead(userId, LocalDateTime.now());
+            notificationCounterRepository.reset(userId);
+        });
+    }
+
+    /**
+     * Hand a notification to the fan-out pool once the current transaction commits
+     * (immediately when called outside a transaction). Nothing is written if the caller rolls back.
+     */
+    private void publish(Collection<Integer> userIds, boolean includeSalesManagers, String type, String title,
+                         String message, String entityType, Integer entityId) {
+        Set<Integer> explicitIds = userIds == null ? new LinkedHashSet<>() : userIds.stream()
+            .filter(id -> id != null)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (explicitIds.isEmpty() && !includeSalesManagers) {
+            return;
+        }
+
+        Runnable task = () -> fanOut(explicitIds, includeSalesManagers, type, title, message, entityType, entityId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(task);
+                }
+            });
+        } else {
+            submit(task);
+        }
+    }
+
+    private void submit(Runnable task) {
+        try {
+            notificationExecutor.execute(task);
+        } catch (TaskRejectedException e) {
+            // Pool saturated: do the fan-out on the caller rather than drop it
+            logger.warn("Notification fan-out pool is full, running on caller thread");
+            task.run();
+        }
+    }
+
+    /**
+     * Write one notification per recipient and bump their unread counters, then wake long-polls
+     */
+    void fanOut(Set<Integer> explicitIds, boolean includeSalesManagers, String type, String title,
+                String message, String entityType, Integer entityId) {
+        try {
+            Set<Integer> recipients = new LinkedHashSet<>(explicitIds);
+            if (includeSalesManagers) {
+                recipients.addAll(salesRecipientResolver.getSalesManagerIds());
+            }
+            if (recipients.isEmpty()) {
+                logger.info("No recipients for {} notification ({} {})", type, entityType, entityId);
+                return;
+            }
+
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            tx.executeWithoutResult(status -> {
+                List<Notification> rows = new ArrayList<>(recipients.size());
+                for (Integer userId : recipients) {
+                    Notification notification = new Notification();
+                    notification.setUserId(userId);
+                    notification.setType(type);
+                    notification.setTitle(title);
+                    notification.setMessage(message);
+                    notification.setEntityType(entityType);
+                    notification.setEntityId(entityId);
+                    rows.add(notification);
+                }
+                notificationRepository.saveAll(rows);
+                for (Integer userId : recipients) {
+                    notificationCounterRepository.increment(userId, 1);
+                }
+            });
+
+            for (Integer userId : recipients) {
+                wakeUp(userId);
+                if (dashboardEventService.isConnected(userId)) {
+                    dashboardEventService.publishToUsers(
+                        Collections.singletonList(userId),
+                        DashboardEventDTO.notification(entityType, entityId, title, getUnreadCount(userId))
+                    );
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Notification fan-out failed for {} {} {}: {}", type, entityType, entityId, e.getMessage(), e);
+        }
+    }
+
+    private void wakeUp(Integer userId) {
+        Set<Waiter<?>> userWaiters = waiters.get(userId);
+        if (userWaiters == null || userWaiters.isEmpty()) {
+            return;
+        }
+        for (Waiter<?> waiter : userWaiters) {
+            if (waiter.result.isSetOrExpired()) {
+                continue;
+            }
+            try {
+                NotificationInboxDTO inbox = loadAfter(userId, waiter.afterId);
+                if (!inbox.getNotifications().isEmpty()) {
+                    waiter.complete(inbox);
+                }
+            } catch (Exception e) {
+                waiter.result.setErrorResult(e);
+            }
+        }
+    }
+
+    private void removeWaiter(Waiter<?> waiter) {
+        waiters.computeIfPresent(waiter.userId, (id, set) -> {
+            set.remove(waiter);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private NotificationInboxDTO loadAfter(Integer userId, long afterId) {
+        List<Notification> notifications = notificationRepository
+            .findByUserIdAndIdGreaterThanOrderByIdAsc(userId, afterId, PageRequest.of(0, maxBatch));
+        Long lastId = notifications.isEmpty() ? afterId : notifications.get(notifications.size() - 1).getId();
+        return new NotificationInboxDTO(getUnreadCount(userId), lastId, toDTOs(notifications));
+    }
+
+    private List<NotificationDTO> toDTOs(List<Notification> notifications) {
+        List<NotificationDTO> dtos = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            NotificationDTO dto = new NotificationDTO();
+            dto.setId(notification.getId());
+            dto.setType(notification.getType());
+            dto.setTitle(notification.getTitle());
+            dto.setMessage(notification.getMessage());
+            dto.setEntityType(notification.getEntityType());
+            dto.setEntityId(notification.getEntityId());
+            dto.setIsRead(notification.getIsRead());
+            dto.setCreatedAt(notification.getCreatedAt() != null ? notification.getCreatedAt().format(ISO_FORMATTER) : null);
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    /**
+     * A pending long-poll request
+     */
+    private static final class Waiter<T> {
+        private final Integer userId;
+        private final long afterId;
+        private final DeferredResult<T> result;
+        private final Function<NotificationInboxDTO, T> mapper;
+
+        private Waiter(Integer userId, long afterId, DeferredResult<T> result, Function<NotificationInboxDTO, T> mapper) {
+            this.userId = userId;
+            this.afterId = afterId;
+            this.result = result;
+            this.mapper = mapper;
+        }
+
+        private boolean complete(NotificationInboxDTO inbox) {
+            return result.setResult(mapper.apply(inbox));
+        }
+    }
+}
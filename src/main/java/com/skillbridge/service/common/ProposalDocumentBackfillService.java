@@ -0,0 +1,142 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.dto.common.AttachmentInfo;
+import com.skillbridge.entity.common.BackgroundJobRun;
+import com.skillbridge.entity.proposal.Proposal;
+import com.skillbridge.repository.common.BackgroundJobRunRepository;
+import com.skillbridge.repository.document.DocumentMetadataRepository;
+import com.skillbridge.repository.proposal.ProposalRepository;
+import com.skillbridge.util.JsonCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Proposal Document Backfill Service
+ * Creates document_metadata rows for proposal files uploaded before metadata was recorded
+ * (proposal.link and every attachments manifest entry), so document permission checks never
+ * have to scan proposals. Runs after startup in keyset batches until it has completed once;
+ * completion is recorded in background_job_runs, so later startups skip it. It is idempotent
+ * (keys that already have metadata are skipped), so an interrupted run or two nodes starting
+ * together are harmless.
+ */
+@Service
+public class ProposalDocumentBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProposalDocumentBackfillService.class);
+
+    static final String JOB_NAME = "proposal_document_backfill";
+
+    @Autowired
+    private ProposalRepository proposalRepository;
+
+    @Autowired
+    private DocumentMetadataRepository documentMetadataRepository;
+
+    @Autowired
+    private DocumentPermissionService documentPermissionService;
+
+    @Autowired
+    private JsonCodec jsonCodec;
+
+    @Autowired
+    private BackgroundJobRunRepository backgroundJobRunRepository;
+
+    @Value("${document.proposal-backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${document.proposal-backfill.batch-size:200}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (backgroundJobRunRepository.existsById(JOB_NAME)) {
+                return;
+            }
+            int created = backfill();
+            backgroundJobRunRepository.save(new BackgroundJobRun(JOB_NAME, LocalDateTime.now()));
+            logger.info("Backfilled document metadata for {} legacy proposal documents", created);
+        } catch (Exception e) {
+            // Not fatal: unregistered keys are still found through proposals.link
+            logger.error("Proposal document backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Register metadata for every proposal document key that has none
+     * @return Number of metadata rows created
+     */
+    public int backfill() {
+        int created = 0;
+        Integer afterId = 0;
+        while (true) {
+            List<Proposal> proposals = proposalRepository.findWithDocumentsAfter(afterId, PageRequest.of(0, batchSize));
+            if (proposals.isEmpty()) {
+                return created;
+            }
+            created += backfillBatch(proposals);
+            afterId = proposals.get(proposals.size() - 1).getID();
+        }
+    }
+
+    private int backfillBatch(List<Proposal> proposals) {
+        // First proposal referencing a key owns it (matches the old scan order). Keys of earlier
+        // batches already have metadata by now, so findExistingS3Keys drops them below.
+        Map<String, Proposal> owners = new LinkedHashMap<>();
+        for (Proposal proposal : proposals) {
+            for (String s3Key : extractKeys(proposal)) {
+                owners.putIfAbsent(s3Key, proposal);
+            }
+        }
+        if (owners.isEmpty()) {
+            return 0;
+        }
+        documentMetadataRepository.findExistingS3Keys(owners.keySet()).forEach(owners::remove);
+
+        int created = 0;
+        for (Map.Entry<String, Proposal> entry : owners.entrySet()) {
+            try {
+                documentPermissionService.registerProposalDocument(entry.getValue(), entry.getKey());
+                created++;
+            } catch (Exception e) {
+                logger.warn("Skipping proposal document {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        return created;
+    }
+
+    /**
+     * S3 keys referenced by a proposal: link plus manifest entries, either a JSON array of keys
+     * (legacy) or of AttachmentInfo objects. Only keys under proposals/ are considered.
+     */
+    Set<String> extractKeys(Proposal proposal) {
+        Set<String> keys = new LinkedHashSet<>();
+        addKey(keys, proposal.getLink());
+        for (AttachmentInfo info : jsonCodec.readAttachments(proposal.getAttachmentsManifest())) {
+            addKey(keys, info.getS3Key());
+        }
+        return keys;
+    }
+
+    private void addKey(Set<String> keys, String s3Key) {
+        if (s3Key != null && s3Key.contains("proposals/")) {
+            keys.add(s3Key);
+        }
+    }
+}
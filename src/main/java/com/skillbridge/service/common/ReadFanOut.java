@@ -0,0 +1,223 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.util.QueryBudget;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Read Fan-Out
+ * Runs the independent reads of a detail endpoint (history, attachments, billing, ...) at the
+ * same time, so the endpoint takes about as long as its slowest read instead of the sum.
+ * Structured-concurrency style: tasks are forked inside a scope and join() waits for all of
+ * them, rethrowing the first failure and cancelling the rest; closing the scope cancels
+ * anything not started yet (running reads are left to finish, not interrupted mid-query).
+ *
+ *   Contract contract = ReadFanOut.read(readFanOut, () -> contractRepository.findById(id)).orElseThrow(...);
+ *   try (ReadFanOut.Scope reads = ReadFanOut.open(readFanOut)) {
+ *       ReadFanOut.Subtask<List<ContractHistory>> history = reads.fork(() -> historyRepository.find...(id));
+ *       ReadFanOut.Subtask<List<AttachmentInfo>> files = reads.fork(() -> attachmentService.getAttachments(...));
+ *       reads.join();
+ *       ... history.get(), files.get()
+ *   }
+ *
+ * Forked tasks run on detailReadExecutor, each in its own read-only transaction (so on its own
+ * connection, from the replica when one is configured), with the caller's security context;
+ * their SQL counts are added to the caller's QueryBudget. They must only read committed data
+ * and must not return lazy associations, since their persistence context is closed on return.
+ * Tasks the pool rejects (queue full) run on the caller in fork(), and tasks still queued when
+ * the caller joins run on the caller in join(), so the pool size bounds extra connections
+ * without ever losing a read.
+ *
+ * Entry points that open a scope must not hold a connection while they wait in join(): a
+ * request thread blocked there would keep it while its workers wait for theirs, and under load
+ * the request threads could hold every pooled connection. So they run without a transaction
+ * (@Transactional NOT_SUPPORTED), and spring.jpa.open-in-view is off, since a request-scoped
+ * EntityManager would hold the connection of the first point lookup until the response is
+ * written. Every read of such an entry point is forked or goes through read(): a repository call
+ * made directly in the NOT_SUPPORTED scope would bind a shared EntityManager to that scope, and
+ * it keeps its connection until the scope ends. Reads that run on the caller (read(), rejected
+ * or unstarted forks) get their own short read-only transaction.
+ */
+@Component
+public class ReadFanOut {
+
+    @Autowired
+    @Qualifier("detailReadExecutor")
+    private ThreadPoolTaskExecutor detailReadExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Open a scope on the given fan-out, or one that runs tasks on the caller when it is null
+     * (e.g. services built without Spring in unit tests)
+     */
+    public static Scope open(ReadFanOut fanOut) {
+        return fanOut != null ? fanOut.open() : new Scope(null);
+    }
+
+    public Scope open() {
+        return new Scope(this);
+    }
+
+    /**
+     * Run one read on the caller in its own short read-only transaction, so the caller holds no
+     * connection afterwards (e.g. the lookup a scope's forks depend on); runs the task directly
+     * when the fan-out is null
+     */
+    public static <T> T read(ReadFanOut fanOut, Callable<T> task) {
+        if (fanOut == null) {
+            return call(task);
+        }
+        TransactionTemplate readOnly = new TransactionTemplate(fanOut.transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> call(task));
+    }
+
+    private <T> Callable<T> inWorker(Callable<T> task, Thread caller, Subtask<T> subtask) {
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return () -> {
+            if (Thread.currentThread() == caller) {
+                // Rejected by the pool or not started before join: run here, joining the
+                // caller's transaction if it has one
+                return readOnly.execute(status -> call(task));
+            }
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                Object[] result = new Object[1];
+                subtask.stats = QueryBudget.measure(() -> result[0] = readOnly.execute(status -> call(task)));
+                @SuppressWarnings("unchecked")
+                T value = (T) result[0];
+                return value;
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        };
+    }
+
+    private static <T> T call(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Group of forked reads; use with try-with-resources
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final ReadFanOut fanOut;
+        private final Thread caller = Thread.currentThread();
+        private final List<Subtask<?>> subtasks = new ArrayList<>();
+
+        private Scope(ReadFanOut fanOut) {
+            this.fanOut = fanOut;
+        }
+
+        /**
+         * Start a read
+         * @param task Read to run; may throw, the exception is rethrown by join()
+         */
+        public <T> Subtask<T> fork(Callable<T> task) {
+            Subtask<T> subtask = new Subtask<>();
+            subtask.future = new FutureTask<>(fanOut != null ? fanOut.inWorker(task, caller, subtask) : task);
+            subtasks.add(subtask);
+            if (fanOut != null) {
+                // CallerRunsPolicy: a rejected task runs right here on the caller
+                fanOut.detailReadExecutor.execute(subtask.future);
+            }
+            return subtask;
+        }
+
+        /**
+         * Wait for all forked reads
+         * @throws RuntimeException First failure (unwrapped); the other reads are cancelled
+         */
+        public void join() {
+            try {
+                for (Subtask<?> subtask : subtasks) {
+                    // No-op if a worker already started it
+                    subtask.future.run();
+                }
+                for (Subtask<?> subtask : subtasks) {
+                    subtask.await();
+                }
+            } catch (RuntimeException | Error e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            for (Subtask<?> subtask : subtasks) {
+                subtask.future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Result of one forked read, available after join()
+     */
+    public static final class Subtask<T> {
+
+        private FutureTask<T> future;
+        private volatile QueryBudget.Stats stats;
+        private boolean joined;
+        private T value;
+
+        private void await() {
+            try {
+                value = future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a parallel read", e);
+            } catch (CancellationException e) {
+                throw new RuntimeException("Parallel read was cancelled", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new RuntimeException(cause);
+            } finally {
+                QueryBudget.add(stats);
+                stats = null;
+            }
+            joined = true;
+        }
+
+        /**
+         * @return Result of the read
+         * @throws IllegalStateException If the scope has not been joined
+         */
+        public T get() {
+            if (!joined) {
+                throw new IllegalStateException("Subtask read before join()");
+            }
+            return value;
+        }
+    }
+}
@@ -2,27 +2,46 @@ package com.skillbridge.service.common;
 
 import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
 import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * S3 Service
  * Handles file uploads to AWS S3
  */
 @Service
+@Timed("service.method")
 public class S3Service {
 
+    private static final Logger logger = LoggerFactory.getLogger(S3Service.class);
+
     @Autowired(required = false)
     private AmazonS3 amazonS3;
 
@@ -32,6 +51,17 @@ public class S3Service {
     @Value("${aws.s3.enabled:false}")
     private boolean s3Enabled;
 
+    @Value("${aws.s3.multipart.part-size-mb:8}")
+    private int partSizeMb;
+
+    @Autowired
+    @Qualifier("s3UploadExecutor")
+    private ThreadPoolTaskExecutor s3UploadExecutor;
+
+    @Autowired
+    @Qualifier("s3PartUploadExecutor")
+    private ThreadPoolTaskExecutor s3PartUploadExecutor;
+
     /**
      * Upload file to S3
      * @param file MultipartFile to upload
@@ -48,34 +78,173 @@ public class S3Service {
         }
 
         // Generate unique filename
-        String originalFilename = file.getOriginalFilename();
-        String extension = "";
-        if (originalFilename != null && originalFilename.contains(".")) {
-            extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-        }
-        String uniqueFilename = UUID.randomUUID().toString() + extension;
-        String s3Key = folder + "/" + uniqueFilename;
+        String s3Key = generateKey(folder, file.getOriginalFilename());
 
         // Upload to S3 (private, no public access)
+        putFile(s3Key, file);
+
+        // Return S3 key (not URL)
+        return s3Key;
+    }
+
+    /**
+     * Upload file to S3 on the upload pool
+     * Lets callers start all attachments of a request at once and wait for them together, so
+     * the request thread is held for the slowest upload instead of the sum of all of them.
+     * @param file MultipartFile to upload (must stay readable until the future completes)
+     * @param folder Folder path in S3
+     * @return Future of the S3 key; use awaitUpload to get the key or the original exception
+     */
+    public CompletableFuture<String> uploadFileAsync(MultipartFile file, String folder) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return uploadFile(file, folder);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, s3UploadExecutor);
+    }
+
+    /**
+     * Wait for an upload started with uploadFileAsync
+     * Called through the bean (not static) so the request thread's wait is timed as S3 time.
+     * @return S3 key of uploaded file
+     * @throws IOException if reading the file failed; runtime failures are rethrown as they are
+     */
+    public String awaitUpload(CompletableFuture<String> upload) throws IOException {
+        try {
+            return upload.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Write the file to S3
+     * Files up to one part are sent with a single PUT; larger files go through a multipart
+     * upload so only a few part buffers are in memory, never the whole file.
+     */
+    private void putFile(String s3Key, MultipartFile file) throws IOException {
+        if (file.getSize() <= getPartSizeBytes()) {
+            try (InputStream inputStream = file.getInputStream()) {
+                ObjectMetadata metadata = new ObjectMetadata();
+                metadata.setContentLength(file.getSize());
+                metadata.setContentType(file.getContentType());
+
+                PutObjectRequest putObjectRequest = new PutObjectRequest(
+                        bucketName,
+                        s3Key,
+                        inputStream,
+                        metadata
+                );
+
+                amazonS3.putObject(putObjectRequest);
+            }
+            return;
+        }
+
         try (InputStream inputStream = file.getInputStream()) {
-            ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentLength(file.getSize());
-            metadata.setContentType(file.getContentType());
+            multipartUpload(s3Key, inputStream, file.getContentType());
+        }
+    }
+
+    /**
+     * Stream the input to S3 as a multipart upload
+     * Each part is read into a fixed-size buffer and uploaded on the part pool. The pool runs
+     * parts on the caller once its queue is full, so reading stops while parts are backed up and
+     * heap use stays bounded by the pool size times the part size.
+     * The upload is aborted on any failure so no orphaned parts are billed.
+     */
+    private void multipartUpload(String s3Key, InputStream inputStream, String contentType) throws IOException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        String uploadId = amazonS3.initiateMultipartUpload(
+                new InitiateMultipartUploadRequest(bucketName, s3Key, metadata)).getUploadId();
 
-            PutObjectRequest putObjectRequest = new PutObjectRequest(
-                    bucketName,
-                    s3Key,
-                    inputStream,
-                    metadata
-            );
+        List<CompletableFuture<PartETag>> parts = new ArrayList<>();
+        try {
+            int partNumber = 1;
+            while (true) {
+                byte[] buffer = new byte[getPartSizeBytes()];
+                int length = readPart(inputStream, buffer);
+                if (length == 0 && partNumber > 1) {
+                    break;
+                }
+
+                UploadPartRequest partRequest = new UploadPartRequest()
+                        .withBucketName(bucketName)
+                        .withKey(s3Key)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partNumber++)
+                        .withInputStream(new ByteArrayInputStream(buffer, 0, length))
+                        .withPartSize(length);
+                parts.add(CompletableFuture.supplyAsync(
+                        () -> amazonS3.uploadPart(partRequest).getPartETag(), s3PartUploadExecutor));
 
-            amazonS3.putObject(putObjectRequest);
+                if (length < buffer.length) {
+                    break;
+                }
+            }
 
-            // Return S3 key (not URL)
-            return s3Key;
+            List<PartETag> partETags = new ArrayList<>();
+            for (CompletableFuture<PartETag> part : parts) {
+                partETags.add(part.join());
+            }
+            amazonS3.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucketName, s3Key, uploadId, partETags));
+        } catch (IOException | RuntimeException e) {
+            // Let parts in flight finish first, otherwise they could outlive the abort
+            for (CompletableFuture<PartETag> part : parts) {
+                try {
+                    part.join();
+                } catch (CompletionException ignored) {
+                    // Already failing
+                }
+            }
+            abortMultipartUpload(s3Key, uploadId);
+            if (e instanceof CompletionException && e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void abortMultipartUpload(String s3Key, String uploadId) {
+        try {
+            amazonS3.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, s3Key, uploadId));
+        } catch (Exception e) {
+            logger.warn("Failed to abort multipart upload {} for {}: {}", uploadId, s3Key, e.getMessage());
         }
     }
 
+    /**
+     * Fill the buffer from the stream
+     * @return Bytes read; less than the buffer size only at the end of the stream
+     */
+    private int readPart(InputStream inputStream, byte[] buffer) throws IOException {
+        int length = 0;
+        while (length < buffer.length) {
+            int read = inputStream.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                break;
+            }
+            length += read;
+        }
+        return length;
+    }
+
+    private int getPartSizeBytes() {
+        // S3 rejects parts under 5MB except the last one
+        return Math.max(partSizeMb, 5) * 1024 * 1024;
+    }
+
     /**
      * Generate presigned URL for downloading file from S3
      * @param s3Key S3 key of the file
@@ -100,6 +269,64 @@ public class S3Service {
         return url.toString();
     }
 
+    /**
+     * Generate presigned URL for uploading a file directly to S3
+     * The client must send the same Content-Type header with the PUT.
+     * @param s3Key S3 key the file will be stored under
+     * @param contentType Content type of the file
+     * @param expirationMinutes Expiration time in minutes
+     * @return Presigned PUT URL
+     */
+    public String getPresignedUploadUrl(String s3Key, String contentType, int expirationMinutes) {
+        if (!s3Enabled || amazonS3 == null) {
+            throw new RuntimeException("S3 is not configured or enabled");
+        }
+
+        Date expiration = new Date(System.currentTimeMillis() + 1000L * 60 * expirationMinutes);
+        GeneratePresignedUrlRequest generatePresignedUrlRequest = new GeneratePresignedUrlRequest(bucketName, s3Key)
+                .withMethod(HttpMethod.PUT)
+                .withExpiration(expiration)
+                .withContentType(contentType);
+
+        URL url = amazonS3.generatePresignedUrl(generatePresignedUrlRequest);
+        return url.toString();
+    }
+
+    /**
+     * Get size and content type of a stored file without downloading it
+     * @param s3Key S3 key of the file
+     * @return Object metadata, or null if there is no such object
+     */
+    public ObjectMetadata getObjectMetadata(String s3Key) {
+        if (!s3Enabled || amazonS3 == null) {
+            throw new RuntimeException("S3 is not configured or enabled");
+        }
+
+        try {
+            return amazonS3.getObjectMetadata(bucketName, s3Key);
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Generate a unique S3 key in a folder, keeping the extension of the original file name
+     * @param folder Folder path in S3
+     * @param originalFilename Original file name (may be null)
+     * @return S3 key
+     */
+    public static String generateKey(String folder, String originalFilename) {
+        String extension = "";
+        if (originalFilename != null && originalFilename.contains(".")) {
+            extension = originalFilename.substring(originalFilename.lastIndexOf("."));
+        }
+        String uniqueFilename = UUID.randomUUID().toString() + extension;
+        return folder + "/" + uniqueFilename;
+    }
+
     /**
      * Generate presigned URL with default 10 minutes expiration
      */
@@ -141,32 +368,13 @@ public class S3Service {
         }
 
         // Generate unique filename
-        String originalFilename = file.getOriginalFilename();
-        String extension = "";
-        if (originalFilename != null && originalFilename.contains(".")) {
-            extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-        }
-        String uniqueFilename = UUID.randomUUID().toString() + extension;
-        String s3Key = folder + "/" + uniqueFilename;
+        String s3Key = generateKey(folder, file.getOriginalFilename());
 
         // Upload to S3 (private, no ACL set)
-        try (InputStream inputStream = file.getInputStream()) {
-            ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentLength(file.getSize());
-            metadata.setContentType(file.getContentType());
-
-            PutObjectRequest putObjectRequest = new PutObjectRequest(
-                    bucketName,
-                    s3Key,
-                    inputStream,
-                    metadata
-            );
+        putFile(s3Key, file);
 
-            amazonS3.putObject(putObjectRequest);
-
-            // Return S3 key (not URL)
-            return s3Key;
-        }
+        // Return S3 key (not URL)
+        return s3Key;
     }
 
     /**
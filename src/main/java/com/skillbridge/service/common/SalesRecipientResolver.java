@@ -0,0 +1,55 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.entity.auth.User;
+import com.skillbridge.repository.auth.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Sales Recipient Resolver
+ * Resolves the users that receive sales-wide notifications and dashboard events
+ * (active sales managers, falling back to admins). The ID list is cached briefly so a burst
+ * of write events does not run the role query for every event.
+ */
+@Component
+public class SalesRecipientResolver {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${notification.recipients-cache-seconds:60}")
+    private long recipientsCacheSeconds;
+
+    private volatile List<Integer> cachedManagerIds;
+    private volatile long cachedManagerIdsExpireAt;
+
+    /**
+     * Get IDs of active sales managers (admins if there are none)
+     * @return User IDs
+     */
+    public List<Integer> getSalesManagerIds() {
+        long now = System.currentTimeMillis();
+        List<Integer> ids = cachedManagerIds;
+        if (ids != null && now < cachedManagerIdsExpireAt) {
+            return ids;
+        }
+
+        List<User> managers = userRepository.findByRole("SALES_MANAGER");
+        if (managers.isEmpty()) {
+            // Fallback to admin users
+            managers = userRepository.findByRole("ADMIN");
+        }
+        ids = managers.stream()
+            .filter(user -> !Boolean.FALSE.equals(user.getIsActive()))
+            .map(User::getId)
+            .collect(Collectors.toList());
+
+        cachedManagerIds = ids;
+        cachedManagerIdsExpireAt = now + recipientsCacheSeconds * 1000;
+        return ids;
+    }
+}
@@ -6,6 +6,7 @@ import com.skillbridge.entity.auth.User;
 import com.skillbridge.entity.contact.CommunicationLog;
 import com.skillbridge.entity.contact.ConsultationCancellation;
 import com.skillbridge.entity.contact.Contact;
+import com.skillbridge.entity.document.DocumentMetadata;
 import com.skillbridge.entity.proposal.Proposal;
 import com.skillbridge.entity.proposal.ProposalComment;
 import com.skillbridge.repository.auth.UserRepository;
@@ -14,19 +15,22 @@ import com.skillbridge.repository.contact.ConsultationCancellationRepository;
 import com.skillbridge.repository.contact.ContactRepository;
 import com.skillbridge.repository.proposal.ProposalCommentRepository;
 import com.skillbridge.repository.proposal.ProposalRepository;
+import com.skillbridge.service.common.AttachmentService;
+import com.skillbridge.service.common.ReadFanOut;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import com.skillbridge.entity.opportunity.Opportunity;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-import java.lang.reflect.Type;
 import com.skillbridge.dto.common.AttachmentInfo;
 
 /**
@@ -36,8 +40,6 @@ import com.skillbridge.dto.common.AttachmentInfo;
 @Service
 public class ContactDetailService {
     
-    private final Gson gson = new Gson();
-
     @Autowired
     private ContactRepository contactRepository;
 
@@ -59,61 +61,47 @@ public class ContactDetailService {
     @Autowired
     private com.skillbridge.repository.opportunity.OpportunityRepository opportunityRepository;
 
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired(required = false)
+    private ReadFanOut readFanOut;
+
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
 
     /**
      * Get contact detail for client
+     * Not transactional and reads only through ReadFanOut, so no connection is held while the
+     * parallel reads are joined
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ContactDetailDTO getContactDetail(Integer contactId, Integer clientUserId) {
         // Validate contact belongs to client
-        Contact contact = contactRepository.findByIdAndClientUserId(contactId, clientUserId)
+        Contact contact = ReadFanOut.read(readFanOut, () -> contactRepository.findByIdAndClientUserId(contactId, clientUserId))
             .orElseThrow(() -> new IllegalArgumentException("Contact not found or does not belong to this client"));
 
-        // Get client user information
-        User clientUser = null;
-        if (contact.getClientUserId() != null) {
-            Optional<User> userOpt = userRepository.findById(contact.getClientUserId());
-            clientUser = userOpt.orElse(null);
-        }
+        // Independent reads run in parallel, each on its own read-only connection
+        ReadFanOut.Scope reads = ReadFanOut.open(readFanOut);
 
-        // Get communication logs
-        List<CommunicationLog> logs = communicationLogRepository.findByContactIdOrderByCreatedAtDesc(contactId);
+        // Get communication logs (with author names)
+        ReadFanOut.Subtask<List<CommunicationLogDTO>> logsRead = reads.fork(() ->
+            convertToLogDTOs(communicationLogRepository.findByContactIdOrderByCreatedAtDesc(contactId)));
 
-        // Get proposal for this contact
-        // Priority: Get the most recent proposal that can be reviewed (sent_to_client, revision_requested, approved)
-        // If no reviewable proposal exists, get the most recent proposal
-        List<Proposal> proposals = proposalRepository.findByContactId(contactId);
-        
-        // Also check if contact has an opportunity and get proposals from opportunity
-        // This ensures we get proposals created from opportunities even if contactId is set
-        List<Opportunity> opportunities = opportunityRepository.findByContactId(contactId);
-        
-        // Get all proposals from opportunities linked to this contact
-        List<Proposal> opportunityProposals = new ArrayList<>();
-        for (Opportunity opp : opportunities) {
-            List<Proposal> oppProposals = proposalRepository.findByOpportunityIdOrderByVersionDesc(opp.getId());
-            if (oppProposals != null && !oppProposals.isEmpty()) {
-                opportunityProposals.addAll(oppProposals);
-            }
-        }
-        
-        // Combine proposals from contactId and opportunityId
-        List<Proposal> allProposals = new ArrayList<>();
-        if (proposals != null && !proposals.isEmpty()) {
-            allProposals.addAll(proposals);
-        }
-        if (!opportunityProposals.isEmpty()) {
-            // Add opportunity proposals that are not already in the list (by ID)
-            for (Proposal oppProp : opportunityProposals) {
-                boolean exists = allProposals.stream().anyMatch(p -> p.getId().equals(oppProp.getId()));
-                if (!exists) {
-                    allProposals.add(oppProp);
-                }
-            }
-        }
+        // Get proposals for this contact, directly and through its opportunities
+        ReadFanOut.Subtask<List<Proposal>> proposalsRead = reads.fork(() -> findContactProposals(contactId));
 
         // Get latest proposal comment if exists
-        List<ProposalComment> comments = proposalCommentRepository.findByContactIdOrderByCreatedAtDesc(contactId);
+        ReadFanOut.Subtask<List<ProposalComment>> commentsRead = reads.fork(() ->
+            proposalCommentRepository.findByContactIdOrderByCreatedAtDesc(contactId));
+
+        // Get client user information
+        ReadFanOut.Subtask<Optional<User>> clientUserRead = reads.fork(() -> contact.getClientUserId() != null
+            ? userRepository.findById(contact.getClientUserId()) : Optional.empty());
+
+        reads.join();
+        User clientUser = clientUserRead.get().orElse(null);
+        List<Proposal> allProposals = proposalsRead.get();
+        List<ProposalComment> comments = commentsRead.get();
         ProposalComment latestComment = null;
         if (comments != null && !comments.isEmpty()) {
             latestComment = comments.get(0); // First one is the latest (ordered DESC)
@@ -137,6 +125,14 @@ public class ContactDetailService {
         dto.setOnlineMtgLink(contact.getOnlineMtgLink());
         dto.setStatus(contact.getStatus() != null ? contact.getStatus() : "New");
         
+        // Load attachments of all proposals at once
+        Map<Integer, String> manifests = new HashMap<>();
+        for (Proposal p : allProposals) {
+            manifests.put(p.getID(), p.getAttachmentsManifest());
+        }
+        Map<Integer, List<AttachmentInfo>> proposalAttachments = ReadFanOut.read(readFanOut, () ->
+            attachmentService.getAttachments(DocumentMetadata.ENTITY_PROPOSAL, manifests));
+        
         // Convert all proposals to DTOs and set in response
         List<ContactProposalDTO> proposalDTOs = new ArrayList<>();
         for (Proposal p : allProposals) {
@@ -157,58 +153,12 @@ public class ContactDetailService {
                 proposalDTO.setProposalApprovedAt(p.getUpdatedAt().format(DATE_TIME_FORMATTER));
             }
             
-            // Parse attachments_manifest JSON
             List<ContactProposalDTO.AttachmentDTO> attachments = new ArrayList<>();
-            if (p.getAttachmentsManifest() != null && !p.getAttachmentsManifest().isEmpty()) {
-                try {
-                    // Try to parse as List<AttachmentInfo> (new format with fileName)
-                    Type attachmentInfoListType = new TypeToken<List<AttachmentInfo>>(){}.getType();
-                    List<AttachmentInfo> attachmentInfos = gson.fromJson(p.getAttachmentsManifest(), attachmentInfoListType);
-                    if (attachmentInfos != null && !attachmentInfos.isEmpty()) {
-                        for (AttachmentInfo info : attachmentInfos) {
-                            attachments.add(new ContactProposalDTO.AttachmentDTO(info.getS3Key(), info.getFileName(), null));
-                        }
-                    } else {
-                        // Fallback: try to parse as List<String> (old format)
-                        Type stringListType = new TypeToken<List<String>>(){}.getType();
-                        List<String> attachmentLinks = gson.fromJson(p.getAttachmentsManifest(), stringListType);
-                        if (attachmentLinks != null) {
-                            for (String s3Key : attachmentLinks) {
-                                String fileName = s3Key;
-                                if (fileName.contains("/")) {
-                                    fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                                }
-                                attachments.add(new ContactProposalDTO.AttachmentDTO(s3Key, fileName, null));
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    // If parsing as AttachmentInfo fails, try List<String> (old format)
-                    try {
-                        Type stringListType = new TypeToken<List<String>>(){}.getType();
-                        List<String> attachmentLinks = gson.fromJson(p.getAttachmentsManifest(), stringListType);
-                        if (attachmentLinks != null) {
-                            for (String s3Key : attachmentLinks) {
-                                String fileName = s3Key;
-                                if (fileName.contains("/")) {
-                                    fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                                }
-                                attachments.add(new ContactProposalDTO.AttachmentDTO(s3Key, fileName, null));
-                            }
-                        }
-                    } catch (Exception e2) {
-                        // If both fail, use link as single attachment
-                        if (p.getLink() != null) {
-                            String fileName = p.getLink();
-                            if (fileName.contains("/")) {
-                                fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                            }
-                            attachments.add(new ContactProposalDTO.AttachmentDTO(p.getLink(), fileName, null));
-                        }
-                    }
-                }
-            } else if (p.getLink() != null) {
-                // If no manifest but has link, use link as single attachment
+            for (AttachmentInfo info : proposalAttachments.getOrDefault(p.getID(), Collections.emptyList())) {
+                attachments.add(new ContactProposalDTO.AttachmentDTO(info.getS3Key(), info.getFileName(), null));
+            }
+            if (attachments.isEmpty() && p.getLink() != null) {
+                // If no attachments but has link, use link as single attachment
                 String fileName = p.getLink();
                 if (fileName.contains("/")) {
                     fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
@@ -301,11 +251,50 @@ public class ContactDetailService {
             dto.setProposalComment(commentDTO);
         }
         
-        dto.setCommunicationLogs(convertToLogDTOs(logs));
+        dto.setCommunicationLogs(logsRead.get());
 
         return dto;
     }
 
+    /**
+     * Get proposals of a contact: by contactId plus those of opportunities linked to it
+     */
+    private List<Proposal> findContactProposals(Integer contactId) {
+        // Get proposal for this contact
+        // Priority: Get the most recent proposal that can be reviewed (sent_to_client, revision_requested, approved)
+        // If no reviewable proposal exists, get the most recent proposal
+        List<Proposal> proposals = proposalRepository.findByContactId(contactId);
+        
+        // Also check if contact has an opportunity and get proposals from opportunity
+        // This ensures we get proposals created from opportunities even if contactId is set
+        List<Opportunity> opportunities = opportunityRepository.findByContactId(contactId);
+        
+        // Get all proposals from opportunities linked to this contact
+        List<Proposal> opportunityProposals = new ArrayList<>();
+        for (Opportunity opp : opportunities) {
+            List<Proposal> oppProposals = proposalRepository.findByOpportunityIdOrderByVersionDesc(opp.getId());
+            if (oppProposals != null && !oppProposals.isEmpty()) {
+                opportunityProposals.addAll(oppProposals);
+            }
+        }
+        
+        // Combine proposals from contactId and opportunityId
+        List<Proposal> allProposals = new ArrayList<>();
+        if (proposals != null && !proposals.isEmpty()) {
+            allProposals.addAll(proposals);
+        }
+        if (!opportunityProposals.isEmpty()) {
+            // Add opportunity proposals that are not already in the list (by ID)
+            for (Proposal oppProp : opportunityProposals) {
+                boolean exists = allProposals.stream().anyMatch(p -> p.getId().equals(oppProp.getId()));
+                if (!exists) {
+                    allProposals.add(oppProp);
+                }
+            }
+        }
+        return allProposals;
+    }
+
     /**
      * Add communication log
      */
@@ -35,6 +35,7 @@ public class ContactListService {
     /**
      * Get contacts for client with search, filter, and pagination
      */
+    @Transactional(readOnly = true)
     public ContactListResponse getContactsForClient(
         Integer clientUserId,
         String search,
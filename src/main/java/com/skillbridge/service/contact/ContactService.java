@@ -1,5 +1,6 @@
 package com.skillbridge.service.contact;
 
+import com.skillbridge.dto.common.DashboardEventDTO;
 import com.skillbridge.dto.contact.request.ContactFormData;
 import com.skillbridge.dto.contact.response.ContactSubmissionResponse;
 import com.skillbridge.entity.auth.User;
@@ -10,13 +11,17 @@ import com.skillbridge.repository.contact.ContactRepository;
 import com.skillbridge.repository.contact.ContactStatusHistoryRepository;
 import com.skillbridge.service.auth.PasswordService;
 import com.skillbridge.service.common.EmailService;
+import com.skillbridge.service.common.DashboardEventService;
 import com.skillbridge.service.common.NotificationService;
+import com.skillbridge.service.dashboard.DashboardService;
+import com.skillbridge.service.sales.SalesDashboardService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.Optional;
 
 /**
@@ -41,6 +46,9 @@ public class ContactService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private DashboardEventService dashboardEventService;
+
     @Autowired
     private ContactStatusHistoryRepository contactStatusHistoryRepository;
 
@@ -74,10 +82,32 @@ public class ContactService {
         // Log status change
         logStatusChange(contact, "Guest", "New");
 
+        // Push dashboard deltas to open sales/client dashboards (after commit)
+        publishDashboardEvents(contact, userResult.getUser());
+
         logger.info("Contact submission completed successfully. Contact ID: {}", contact.getId());
         return new ContactSubmissionResponse(true, "Contact submitted successfully", contact.getId());
     }
 
+    /**
+     * Publish the new contact to the sales dashboards (managers and assignee) and the client's dashboard
+     */
+    private void publishDashboardEvents(Contact contact, User clientUser) {
+        String description = "New contact request from " + clientUser.getFullName() +
+            (clientUser.getCompanyName() != null && !clientUser.getCompanyName().isEmpty()
+                ? " (" + clientUser.getCompanyName() + ")" : "");
+
+        DashboardEventDTO salesEvent = DashboardEventDTO.activity("CONTACT", contact.getId(), description)
+            .counter("contacts.all", 1)
+            .transition("contacts.newCount", SalesDashboardService::isNewContact, null, contact.getStatus());
+        salesEvent.setClientName(clientUser.getFullName());
+        dashboardEventService.publishToSales(Collections.singletonList(contact.getAssigneeUserId()), salesEvent);
+
+        DashboardEventDTO clientEvent = DashboardEventDTO.activity("contact", contact.getId(), "Contact request submitted")
+            .transition("contacts.newCount", DashboardService::isNewContact, null, contact.getStatus());
+        dashboardEventService.publishToUsers(Collections.singletonList(clientUser.getId()), clientEvent);
+    }
+
     /**
      * Create or update user from contact form data
      * Generate password for new users only
@@ -1,13 +1,18 @@
 package com.skillbridge.service.contract;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.skillbridge.dto.contract.request.UpdateChangeRequestRequest;
 import com.skillbridge.dto.contract.response.ChangeRequestDetailDTO;
 import com.skillbridge.entity.auth.User;
+import com.skillbridge.entity.common.Notification;
 import com.skillbridge.entity.contract.*;
 import com.skillbridge.repository.auth.UserRepository;
 import com.skillbridge.repository.contract.*;
+import com.skillbridge.service.common.NotificationService;
+import com.skillbridge.service.common.DashboardEventService;
+import com.skillbridge.service.dashboard.DashboardService;
+import com.skillbridge.service.sales.SalesDashboardService;
+import com.skillbridge.dto.common.DashboardEventDTO;
+import com.skillbridge.util.JsonCodec;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +25,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -62,14 +68,23 @@ public class ChangeRequestDetailService {
     
     @Autowired
     private com.skillbridge.service.sales.SalesSOWContractService salesSOWContractService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private DashboardEventService dashboardEventService;
+
+    @Autowired
+    private JsonCodec jsonCodec;
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy/MM/dd");
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
-    private static final ObjectMapper objectMapper = new ObjectMapper();
     
     /**
      * Get change request detail
      */
+    @Transactional(readOnly = true)
     public ChangeRequestDetailDTO getChangeRequestDetail(
         Integer contractId,
         Integer changeRequestId,
@@ -271,6 +286,50 @@ public class ChangeRequestDetailService {
         
         // Log history
         logHistory(changeRequestId, "Submitted", clientUserId);
+        
+        // Notify sales managers and the contract assignee (in-app, after commit)
+        Integer assigneeUserId = getContractAssigneeId(changeRequest);
+        notificationService.notifySalesManagersAndUsers(
+            Collections.singletonList(assigneeUserId),
+            Notification.TYPE_CHANGE_REQUEST,
+            "Change request submitted",
+            changeRequest.getChangeRequestId() + " - " + changeRequest.getTitle(),
+            "change_request",
+            changeRequest.getId()
+        );
+        
+        // Push dashboard deltas to sales and client dashboards (after commit)
+        String description = changeRequest.getChangeRequestId() + " submitted: " + changeRequest.getTitle();
+        dashboardEventService.publishToSales(
+            Collections.singletonList(assigneeUserId),
+            DashboardEventDTO.activity("CHANGE_REQUEST", changeRequest.getId(), description)
+                .transition("changeRequests.underReview", SalesDashboardService::isChangeRequestUnderReview,
+                    "Draft", changeRequest.getStatus())
+        );
+        dashboardEventService.publishToUsers(
+            Collections.singletonList(clientUserId),
+            DashboardEventDTO.activity("changeRequest", changeRequest.getId(), description)
+                .transition("changeRequests.underReview", DashboardService::isChangeRequestUnderReview,
+                    "Draft", changeRequest.getStatus())
+        );
+    }
+    
+    /**
+     * Get the sales user assigned to the change request's contract
+     * (the contract is already in the persistence context from validateAndGetChangeRequest)
+     */
+    private Integer getContractAssigneeId(ChangeRequest changeRequest) {
+        if ("MSA".equals(changeRequest.getContractType()) && changeRequest.getContractId() != null) {
+            return contractRepository.findById(changeRequest.getContractId())
+                .map(Contract::getAssigneeUserId)
+                .orElse(null);
+        }
+        if (changeRequest.getSowContractId() != null) {
+            return sowContractRepository.findById(changeRequest.getSowContractId())
+                .map(SOWContract::getAssigneeUserId)
+                .orElse(null);
+        }
+        return null;
     }
     
     /**
@@ -592,11 +651,7 @@ public class ChangeRequestDetailService {
         }
         
         try {
-            List<ChangeRequestDetailDTO.EvidenceItemDTO> evidence = objectMapper.readValue(
-                evidenceJson, 
-                new TypeReference<List<ChangeRequestDetailDTO.EvidenceItemDTO>>() {}
-            );
-            return evidence;
+            return jsonCodec.readList(evidenceJson, ChangeRequestDetailDTO.EvidenceItemDTO.class);
         } catch (Exception e) {
             logger.warn("Failed to parse evidence JSON: {}", evidenceJson, e);
             return new ArrayList<>();
@@ -10,6 +10,12 @@ import com.skillbridge.repository.contract.ChangeRequestAttachmentRepository;
 import com.skillbridge.repository.contract.ChangeRequestRepository;
 import com.skillbridge.repository.contract.ContractRepository;
 import com.skillbridge.repository.contract.SOWContractRepository;
+import com.skillbridge.entity.common.Notification;
+import com.skillbridge.service.common.NotificationService;
+import com.skillbridge.service.common.DashboardEventService;
+import com.skillbridge.service.dashboard.DashboardService;
+import com.skillbridge.service.sales.SalesDashboardService;
+import com.skillbridge.dto.common.DashboardEventDTO;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +35,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -52,6 +59,12 @@ public class ChangeRequestService {
     
     @Autowired
     private SOWContractRepository sowContractRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private DashboardEventService dashboardEventService;
     
     @Value("${app.upload.dir:uploads/change-requests}")
     private String uploadDir;
@@ -137,6 +150,33 @@ public class ChangeRequestService {
             saveAttachments(changeRequest.getId(), attachments, clientUserId);
         }
         
+        // Notify sales managers and the contract assignee (in-app, after commit)
+        Integer assigneeUserId = msaContract != null ? msaContract.getAssigneeUserId() : sowContract.getAssigneeUserId();
+        notificationService.notifySalesManagersAndUsers(
+            Collections.singletonList(assigneeUserId),
+            Notification.TYPE_CHANGE_REQUEST,
+            "New change request",
+            changeRequest.getChangeRequestId() + " - " + changeRequest.getTitle(),
+            "change_request",
+            changeRequest.getId()
+        );
+        
+        // Push dashboard deltas to sales and client dashboards (after commit)
+        String description = changeRequest.getChangeRequestId() + " submitted: " + changeRequest.getTitle();
+        dashboardEventService.publishToSales(
+            Collections.singletonList(assigneeUserId),
+            DashboardEventDTO.activity("CHANGE_REQUEST", changeRequest.getId(), description)
+                .counter("changeRequests.all", 1)
+                .transition("changeRequests.underReview", SalesDashboardService::isChangeRequestUnderReview,
+                    null, changeRequest.getStatus())
+        );
+        dashboardEventService.publishToUsers(
+            Collections.singletonList(clientUserId),
+            DashboardEventDTO.activity("changeRequest", changeRequest.getId(), description)
+                .transition("changeRequests.underReview", DashboardService::isChangeRequestUnderReview,
+                    null, changeRequest.getStatus())
+        );
+        
         // Return response
         ChangeRequestResponse response = new ChangeRequestResponse();
         response.setSuccess(true);
@@ -8,14 +8,12 @@ import com.skillbridge.repository.auth.UserRepository;
 import com.skillbridge.repository.contract.*;
 import com.skillbridge.repository.contract.ContractInternalReviewRepository;
 import com.skillbridge.repository.document.DocumentMetadataRepository;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.skillbridge.service.common.AttachmentService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -75,12 +73,14 @@ public class ContractDetailService {
     @Autowired(required = false)
     private com.skillbridge.repository.contract.CRBillingEventRepository crBillingEventRepository;
     
-    private final Gson gson = new Gson();
+    @Autowired
+    private AttachmentService attachmentService;
     
     /**
      * Get contract detail for client
      * Tries MSA first, then SOW
      */
+    @Transactional(readOnly = true)
     public ContractDetailDTO getContractDetail(Integer contractId, Integer clientUserId) {
         // Try to find as MSA contract first
         Contract msaContract = contractRepository.findByIdAndClientId(contractId, clientUserId).orElse(null);
@@ -152,57 +152,11 @@ public class ContractDetailService {
         landbridgeContact.setEmail(landbridgeContactEmail);
         dto.setLandbridgeContact(landbridgeContact);
         
-        // Load attachments from attachments_manifest
+        // Load attachments (attachments table, or attachments_manifest if not backfilled yet)
         List<ContractDetailDTO.AttachmentDTO> attachments = new ArrayList<>();
-        
-        // First, try to load from attachments_manifest
-        if (contract.getAttachmentsManifest() != null && !contract.getAttachmentsManifest().trim().isEmpty()) {
-            try {
-                // Try to parse as List<AttachmentInfo> (new format with fileName)
-                Type attachmentInfoListType = new TypeToken<List<AttachmentInfo>>(){}.getType();
-                List<AttachmentInfo> attachmentInfos = gson.fromJson(contract.getAttachmentsManifest(), attachmentInfoListType);
-                if (attachmentInfos != null && !attachmentInfos.isEmpty()) {
-                    for (AttachmentInfo info : attachmentInfos) {
-                        if (info.getS3Key() != null && !info.getS3Key().trim().isEmpty()) {
-                            attachments.add(new ContractDetailDTO.AttachmentDTO(info.getS3Key(), info.getFileName(), null));
-                        }
-                    }
-                } else {
-                    // Fallback: try to parse as List<String> (old format)
-                    Type stringListType = new TypeToken<List<String>>(){}.getType();
-                    List<String> attachmentLinks = gson.fromJson(contract.getAttachmentsManifest(), stringListType);
-                    if (attachmentLinks != null && !attachmentLinks.isEmpty()) {
-                        for (String s3Key : attachmentLinks) {
-                            if (s3Key != null && !s3Key.trim().isEmpty()) {
-                                String fileName = s3Key;
-                                if (fileName.contains("/")) {
-                                    fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                                }
-                                attachments.add(new ContractDetailDTO.AttachmentDTO(s3Key, fileName, null));
-                            }
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                // If parsing as AttachmentInfo fails, try List<String> (old format)
-                try {
-                    Type stringListType = new TypeToken<List<String>>(){}.getType();
-                    List<String> attachmentLinks = gson.fromJson(contract.getAttachmentsManifest(), stringListType);
-                    if (attachmentLinks != null && !attachmentLinks.isEmpty()) {
-                        for (String s3Key : attachmentLinks) {
-                            if (s3Key != null && !s3Key.trim().isEmpty()) {
-                                String fileName = s3Key;
-                                if (fileName.contains("/")) {
-                                    fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                                }
-                                attachments.add(new ContractDetailDTO.AttachmentDTO(s3Key, fileName, null));
-                            }
-                        }
-                    }
-                } catch (Exception e2) {
-                    System.err.println("Error parsing attachments_manifest for contract " + contract.getId() + ": " + e2.getMessage());
-                }
-            }
+        for (AttachmentInfo info : attachmentService.getAttachments(
+                DocumentMetadata.ENTITY_MSA_CONTRACT, contract.getId(), contract.getAttachmentsManifest())) {
+            attachments.add(new ContractDetailDTO.AttachmentDTO(info.getS3Key(), info.getFileName(), null));
         }
         
         // If no attachments from manifest, try link
@@ -247,6 +201,7 @@ public class ContractDetailService {
     /**
      * Get all versions of a SOW contract for client
      */
+    @Transactional(readOnly = true)
     public List<ContractDetailDTO> getSOWContractVersions(Integer contractId, Integer clientUserId) {
         SOWContract contract = sowContractRepository.findByIdAndClientId(contractId, clientUserId)
             .orElseThrow(() -> new EntityNotFoundException("SOW Contract not found"));
@@ -473,57 +428,11 @@ public class ContractDetailService {
             .collect(Collectors.toList());
         dto.setChangeRequests(changeRequestDTOs);
         
-        // Load attachments from attachments_manifest
+        // Load attachments (attachments table, or attachments_manifest if not backfilled yet)
         List<ContractDetailDTO.AttachmentDTO> attachments = new ArrayList<>();
-        
-        // First, try to load from attachments_manifest
-        if (sow.getAttachmentsManifest() != null && !sow.getAttachmentsManifest().trim().isEmpty()) {
-            try {
-                // Try to parse as List<AttachmentInfo> (new format with fileName)
-                Type attachmentInfoListType = new TypeToken<List<AttachmentInfo>>(){}.getType();
-                List<AttachmentInfo> attachmentInfos = gson.fromJson(sow.getAttachmentsManifest(), attachmentInfoListType);
-                if (attachmentInfos != null && !attachmentInfos.isEmpty()) {
-                    for (AttachmentInfo info : attachmentInfos) {
-                        if (info.getS3Key() != null && !info.getS3Key().trim().isEmpty()) {
-                            attachments.add(new ContractDetailDTO.AttachmentDTO(info.getS3Key(), info.getFileName(), null));
-                        }
-                    }
-                } else {
-                    // Fallback: try to parse as List<String> (old format)
-                    Type stringListType = new TypeToken<List<String>>(){}.getType();
-                    List<String> attachmentLinks = gson.fromJson(sow.getAttachmentsManifest(), stringListType);
-                    if (attachmentLinks != null && !attachmentLinks.isEmpty()) {
-                        for (String s3Key : attachmentLinks) {
-                            if (s3Key != null && !s3Key.trim().isEmpty()) {
-                                String fileName = s3Key;
-                                if (fileName.contains("/")) {
-                                    fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                                }
-                                attachments.add(new ContractDetailDTO.AttachmentDTO(s3Key, fileName, null));
-                            }
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                // If parsing as AttachmentInfo fails, try List<String> (old format)
-                try {
-                    Type stringListType = new TypeToken<List<String>>(){}.getType();
-                    List<String> attachmentLinks = gson.fromJson(sow.getAttachmentsManifest(), stringListType);
-                    if (attachmentLinks != null && !attachmentLinks.isEmpty()) {
-                        for (String s3Key : attachmentLinks) {
-                            if (s3Key != null && !s3Key.trim().isEmpty()) {
-                                String fileName = s3Key;
-                                if (fileName.contains("/")) {
-                                    fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                                }
-                                attachments.add(new ContractDetailDTO.AttachmentDTO(s3Key, fileName, null));
-                            }
-                        }
-                    }
-                } catch (Exception e2) {
-                    System.err.println("Error parsing attachments_manifest for SOW contract " + sow.getId() + ": " + e2.getMessage());
-                }
-            }
+        for (AttachmentInfo info : attachmentService.getAttachments(
+                DocumentMetadata.ENTITY_SOW_CONTRACT, sow.getId(), sow.getAttachmentsManifest())) {
+            attachments.add(new ContractDetailDTO.AttachmentDTO(info.getS3Key(), info.getFileName(), null));
         }
         
         // If no attachments from manifest, try link
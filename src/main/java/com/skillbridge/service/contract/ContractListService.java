@@ -16,6 +16,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
@@ -30,6 +31,7 @@ import java.util.stream.Collectors;
  * Handles business logic for contract list operations
  */
 @Service
+@Transactional(readOnly = true)
 public class ContractListService {
     
     @Autowired
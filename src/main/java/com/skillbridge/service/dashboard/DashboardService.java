@@ -29,7 +29,7 @@ import java.util.stream.Collectors;
  * Handles business logic for dashboard data aggregation
  */
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class DashboardService {
 
     @Autowired
@@ -52,6 +52,33 @@ public class DashboardService {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy/MM/dd");
 
+    /**
+     * Summary bucket rules, shared with the dashboard event deltas (DashboardEventDTO)
+     */
+    public static boolean isNewContact(String status) {
+        return "New".equals(status);
+    }
+
+    public static boolean isContactInProgress(String status) {
+        return "InProgress".equals(status);
+    }
+
+    public static boolean isProposalUnderReview(String status) {
+        return "under review".equalsIgnoreCase(status);
+    }
+
+    public static boolean isProposalReviewed(String status) {
+        return "Reviewed".equalsIgnoreCase(status) || "Sent to client".equalsIgnoreCase(status);
+    }
+
+    public static boolean isChangeRequestUnderReview(String status) {
+        return "Under Review".equalsIgnoreCase(status);
+    }
+
+    public static boolean isChangeRequestApproved(String status) {
+        return "Approved".equalsIgnoreCase(status);
+    }
+
     /**
      * Get dashboard summary statistics
      */
@@ -61,10 +88,10 @@ public class DashboardService {
         // Get contacts summary
         List<Contact> contacts = contactRepository.findByClientUserId(clientUserId);
         long inprogressCount = contacts.stream()
-            .filter(c -> "InProgress".equals(c.getStatus()))
+            .filter(c -> isContactInProgress(c.getStatus()))
             .count();
         long newCount = contacts.stream()
-            .filter(c -> "New".equals(c.getStatus()))
+            .filter(c -> isNewContact(c.getStatus()))
             .count();
         summary.getContacts().setInprogress((int) inprogressCount);
         summary.getContacts().setNewCount((int) newCount);
@@ -77,13 +104,10 @@ public class DashboardService {
             allProposals.addAll(proposals);
         }
         long underReviewCount = allProposals.stream()
-            .filter(p -> "under review".equalsIgnoreCase(p.getStatus()) || 
-                        "Under Review".equalsIgnoreCase(p.getStatus()))
+            .filter(p -> isProposalUnderReview(p.getStatus()))
             .count();
         long reviewedCount = allProposals.stream()
-            .filter(p -> "Reviewed".equalsIgnoreCase(p.getStatus()) || 
-                        "reviewed".equalsIgnoreCase(p.getStatus()) ||
-                        "Sent to client".equalsIgnoreCase(p.getStatus()))
+            .filter(p -> isProposalReviewed(p.getStatus()))
             .count();
         summary.getProposals().setUnderReview((int) underReviewCount);
         summary.getProposals().setReviewed((int) reviewedCount);
@@ -128,12 +152,10 @@ public class DashboardService {
         }
 
         long underReviewCRCount = allChangeRequests.stream()
-            .filter(cr -> "Under Review".equalsIgnoreCase(cr.getStatus()) ||
-                         "under review".equalsIgnoreCase(cr.getStatus()))
+            .filter(cr -> isChangeRequestUnderReview(cr.getStatus()))
             .count();
         long approvedCRCount = allChangeRequests.stream()
-            .filter(cr -> "Approved".equalsIgnoreCase(cr.getStatus()) ||
-                         "approved".equalsIgnoreCase(cr.getStatus()))
+            .filter(cr -> isChangeRequestApproved(cr.getStatus()))
             .count();
 
         summary.getChangeRequests().setUnderReview((int) underReviewCRCount);
@@ -3,20 +3,26 @@ package com.skillbridge.service.engineer;
 import com.skillbridge.dto.engineer.request.SearchCriteria;
 import com.skillbridge.dto.engineer.response.EngineerProfile;
 import com.skillbridge.dto.engineer.response.EngineerSearchResponse;
+import com.skillbridge.dto.engineer.response.SkillDTO;
+import com.skillbridge.dto.engineer.response.SkillGroupDTO;
 import com.skillbridge.entity.engineer.Engineer;
 import com.skillbridge.repository.engineer.EngineerRepository;
 import com.skillbridge.service.common.S3Service;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
+@Timed("service.method")
 public class EngineerSearchService {
 
     @Autowired
@@ -25,6 +31,9 @@ public class EngineerSearchService {
     @Autowired(required = false)
     private S3Service s3Service;
 
+    @Autowired
+    private SkillTreeService skillTreeService;
+
     /**
      * Search engineers based on criteria with pagination
      */
@@ -73,6 +82,18 @@ public class EngineerSearchService {
         return engineerRepository.findDistinctPrimarySkills();
     }
 
+    /**
+     * Get parent skills with their sub-skills for the skill filter (from the cached skill tree)
+     */
+    public List<SkillGroupDTO> getSkillTree() {
+        return skillTreeService.getTree().getRoots().stream()
+                .map(parent -> new SkillGroupDTO(parent.getId(), parent.getName(),
+                        parent.getChildren().stream()
+                                .map(child -> new SkillDTO(child.getId(), child.getName()))
+                                .collect(Collectors.toList())))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Get available locations for filters
      */
@@ -11,6 +11,7 @@ import com.skillbridge.repository.engineer.EngineerSkillRepository;
 import com.skillbridge.service.common.S3Service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -20,6 +21,7 @@ import java.util.stream.Collectors;
  * Handles business logic for engineer operations
  */
 @Service
+@Transactional(readOnly = true)
 public class EngineerService {
 
     @Autowired
@@ -0,0 +1,133 @@
+package com.skillbridge.service.engineer;
+
+import com.skillbridge.entity.engineer.Skill;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Skill Tree
+ * Immutable snapshot of the skills table as parent skills with their sub-skills.
+ * Nodes are copies, not entities, so a tree can be shared between threads and requests.
+ * Children are ordered by id, like findByParentSkillId; skills whose parent no longer
+ * exists are treated as roots.
+ */
+public final class SkillTree {
+
+    private final Map<Integer, Node> nodesById;
+    private final List<Node> roots;
+
+    private SkillTree(Map<Integer, Node> nodesById, List<Node> roots) {
+        this.nodesById = nodesById;
+        this.roots = roots;
+    }
+
+    /**
+     * Build a tree from all skill rows
+     */
+    public static SkillTree of(Collection<Skill> skills) {
+        Map<Integer, List<Skill>> childrenByParent = new HashMap<>();
+        List<Skill> rootSkills = new ArrayList<>();
+        Map<Integer, Skill> skillsById = new HashMap<>();
+        for (Skill skill : skills) {
+            skillsById.put(skill.getId(), skill);
+        }
+        for (Skill skill : skills) {
+            Integer parentId = skill.getParentSkillId();
+            if (parentId == null || !skillsById.containsKey(parentId) || parentId.equals(skill.getId())) {
+                rootSkills.add(skill);
+            } else {
+                childrenByParent.computeIfAbsent(parentId, key -> new ArrayList<>()).add(skill);
+            }
+        }
+
+        Map<Integer, Node> nodesById = new HashMap<>(skills.size() * 2);
+        List<Node> roots = build(rootSkills, childrenByParent, nodesById);
+        return new SkillTree(Collections.unmodifiableMap(nodesById), roots);
+    }
+
+    private static List<Node> build(List<Skill> skills, Map<Integer, List<Skill>> childrenByParent,
+                                    Map<Integer, Node> nodesById) {
+        skills.sort(Comparator.comparing(Skill::getId));
+        List<Node> nodes = new ArrayList<>(skills.size());
+        for (Skill skill : skills) {
+            List<Node> children = build(childrenByParent.getOrDefault(skill.getId(), new ArrayList<>()),
+                    childrenByParent, nodesById);
+            Node node = new Node(skill.getId(), skill.getName(), skill.getDescription(), skill.getParentSkillId(), children);
+            nodesById.put(node.getId(), node);
+            nodes.add(node);
+        }
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * @return Top-level (parent) skills
+     */
+    public List<Node> getRoots() {
+        return roots;
+    }
+
+    /**
+     * @return Skill with the given id, or null if it does not exist
+     */
+    public Node getSkill(Integer skillId) {
+        return skillId != null ? nodesById.get(skillId) : null;
+    }
+
+    /**
+     * @return Sub-skills of a skill (empty if it has none or does not exist)
+     */
+    public List<Node> getSubSkills(Integer parentSkillId) {
+        Node parent = getSkill(parentSkillId);
+        return parent != null ? parent.getChildren() : Collections.emptyList();
+    }
+
+    public int size() {
+        return nodesById.size();
+    }
+
+    /**
+     * One skill and its sub-skills
+     */
+    public static final class Node {
+
+        private final Integer id;
+        private final String name;
+        private final String description;
+        private final Integer parentSkillId;
+        private final List<Node> children;
+
+        private Node(Integer id, String name, String description, Integer parentSkillId, List<Node> children) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.parentSkillId = parentSkillId;
+            this.children = children;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public Integer getParentSkillId() {
+            return parentSkillId;
+        }
+
+        public List<Node> getChildren() {
+            return children;
+        }
+    }
+}
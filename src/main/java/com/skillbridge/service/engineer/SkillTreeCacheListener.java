@@ -0,0 +1,40 @@
+package com.skillbridge.service.engineer;
+
+import com.skillbridge.entity.engineer.Skill;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Skill Tree Cache Listener
+ * JPA entity listener on Skill: drops the SkillTreeService tree once the edit commits, so the
+ * next lookup sees the new skill. Hibernate keeps the second-level cache of Skill in step itself.
+ */
+@Component
+public class SkillTreeCacheListener {
+
+    @Autowired
+    @Lazy
+    private SkillTreeService skillTreeService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onSkillChange(Skill skill) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    skillTreeService.invalidate();
+                }
+            });
+        } else {
+            skillTreeService.invalidate();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.skillbridge.service.engineer;
+
+import com.skillbridge.repository.engineer.SkillRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Skill Tree Service
+ * Holds the whole skills table as an immutable SkillTree, loaded at startup with one query.
+ * Sub-skill lookups and the skill filter read the tree instead of MySQL.
+ * The tree is dropped when a skill is saved or deleted (SkillTreeCacheListener) and reloaded on
+ * next use. It is per node, so it is also reloaded every skill-tree.refresh-seconds to pick up
+ * edits made through another node.
+ * A reload can be triggered from a read-only transaction (routed to the replica), so it runs in
+ * its own read-write transaction on the primary: the tree is kept for minutes and must not be
+ * built from a lagging replica right after a skill edit invalidated it.
+ */
+@Service
+public class SkillTreeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkillTreeService.class);
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${skill-tree.refresh-seconds:600}")
+    private long refreshSeconds = 600;
+
+    private volatile Loaded current;
+
+    // Bumped by invalidate(), so a load that raced with an edit is not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        try {
+            logger.info("Skill tree loaded: {} skills", getTree().size());
+        } catch (Exception e) {
+            logger.warn("Failed to preload skill tree, will load on first use: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return Current skill tree, loading it if needed
+     */
+    public SkillTree getTree() {
+        Loaded loaded = current;
+        if (loaded != null && System.nanoTime() - loaded.loadedAt < TimeUnit.SECONDS.toNanos(refreshSeconds)) {
+            return loaded.tree;
+        }
+        long loadGeneration = generation.get();
+        Loaded fresh = new Loaded(loadFromPrimary(), System.nanoTime());
+        if (generation.get() == loadGeneration) {
+            current = fresh;
+        }
+        return fresh.tree;
+    }
+
+    /**
+     * Load the skills in a new read-write transaction, which ReplicaRoutingDataSource sends to the primary
+     */
+    private SkillTree loadFromPrimary() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(false);
+        return template.execute(status -> SkillTree.of(skillRepository.findAll()));
+    }
+
+    /**
+     * Drop the tree (next use reloads it)
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        current = null;
+    }
+
+    private static final class Loaded {
+
+        private final SkillTree tree;
+        private final long loadedAt;
+
+        private Loaded(SkillTree tree, long loadedAt) {
+            this.tree = tree;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.skillbridge.service.sales;
+
+import com.skillbridge.dto.sales.response.ChangeRequestApprovalStatusDTO;
+import com.skillbridge.entity.auth.User;
+import com.skillbridge.entity.contract.ChangeRequest;
+import com.skillbridge.entity.contract.ChangeRequestApprovalJob;
+import com.skillbridge.entity.contract.ChangeRequestApprovalJob.JobStatus;
+import com.skillbridge.entity.contract.ChangeRequestApprovalJob.Stage;
+import com.skillbridge.entity.contract.ContractAppendix;
+import com.skillbridge.repository.auth.UserRepository;
+import com.skillbridge.repository.contract.ChangeRequestApprovalJobRepository;
+import com.skillbridge.repository.contract.ChangeRequestRepository;
+import com.skillbridge.service.common.LeasedWorkQueue;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * CR Approval Pipeline Service
+ * Background worker for approved SOW change requests.
+ * approveChangeRequestForSOW commits the approval plus a cr_approval_jobs row; this service
+ * polls those rows, claims them under a lease (LeasedWorkQueue) and runs the stages on a
+ * bounded worker pool: BASELINE -> EVENTS -> APPENDIX -> NOTIFICATION.
+ * All stages of one attempt and the COMPLETED mark share a transaction, so a failed attempt
+ * leaves no partial events behind and can be retried with exponential backoff until
+ * maxAttempts, then FAILED.
+ */
+@Service
+public class CRApprovalPipelineService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CRApprovalPipelineService.class);
+
+    @Autowired
+    private ChangeRequestApprovalJobRepository jobRepository;
+
+    @Autowired
+    private ChangeRequestRepository changeRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SOWBaselineService sowBaselineService;
+
+    @Autowired
+    private SalesSOWContractService salesSOWContractService;
+
+    @Autowired
+    private ContractAppendixService contractAppendixService;
+
+    @Autowired
+    @Qualifier("crApprovalExecutor")
+    private ThreadPoolTaskExecutor crApprovalExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${sow.approval-pipeline.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sow.approval-pipeline.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${sow.approval-pipeline.backoff-base-seconds:10}")
+    private long backoffBaseSeconds;
+
+    @Value("${sow.approval-pipeline.lease-timeout-minutes:15}")
+    private long leaseTimeoutMinutes;
+
+    private LeasedWorkQueue<ChangeRequestApprovalJob, Integer> jobQueue;
+
+    /**
+     * Poll for due jobs and hand them to the worker pool
+     * Only claims as many jobs as there are idle workers; also keeps the leases of this node's
+     * running jobs alive and re-queues jobs whose node stopped heart-beating
+     */
+    @Scheduled(fixedDelayString = "${sow.approval-pipeline.poll-interval-ms:2000}")
+    public void pollDueJobs() {
+        if (!enabled) {
+            return;
+        }
+
+        int capacity = Math.max(crApprovalExecutor.getMaxPoolSize() - crApprovalExecutor.getActiveCount(), 0);
+        LeasedWorkQueue.Claim<ChangeRequestApprovalJob> claim = jobQueue().poll(capacity, leaseTimeoutMinutes);
+        String leaseOwner = claim.getLeaseOwner();
+        List<Integer> jobIds = claim.getItems().stream().map(ChangeRequestApprovalJob::getId).toList();
+
+        for (int i = 0; i < jobIds.size(); i++) {
+            Integer jobId = jobIds.get(i);
+            try {
+                crApprovalExecutor.execute(() -> runJob(jobId, leaseOwner));
+            } catch (TaskRejectedException e) {
+                // Pool is full; hand the rest back without counting the attempt
+                jobQueue().release(jobIds.subList(i, jobIds.size()), leaseOwner);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Run all stages of a claimed job and record the outcome
+     * The job is marked COMPLETED in the same transaction as the stages, after re-locking it
+     * under the lease it was claimed with. If the lease was lost meanwhile (job re-queued and
+     * possibly claimed again), the whole attempt rolls back, so a CR is applied at most once.
+     * @param jobId Job ID (must already be in RUNNING status)
+     * @param leaseOwner Lease the job was claimed under
+     */
+    public void runJob(Integer jobId, String leaseOwner) {
+        TransactionTemplate tx = transactionTemplate();
+        ChangeRequestApprovalJob job = tx.execute(status -> jobRepository.findById(jobId).orElse(null));
+        if (job == null) {
+            logger.warn("CR approval job {} disappeared before it could run", jobId);
+            return;
+        }
+
+        Map<Stage, Long> timings = new EnumMap<>(Stage.class);
+        Stage[] currentStage = new Stage[1];
+        String[] appendixNumber = new String[1];
+        long started = System.nanoTime();
+
+        try {
+            tx.executeWithoutResult(status -> {
+                ChangeRequest changeRequest = changeRequestRepository.findById(job.getChangeRequestId())
+                    .orElseThrow(() -> new EntityNotFoundException("Change request not found: " + job.getChangeRequestId()));
+                User approvedBy = userRepository.findById(job.getApprovedBy())
+                    .orElseThrow(() -> new EntityNotFoundException("User not found: " + job.getApprovedBy()));
+
+                currentStage[0] = Stage.BASELINE;
+                timeStage(timings, Stage.BASELINE, () -> sowBaselineService.createBaseline(job.getSowContractId()));
+
+                currentStage[0] = Stage.EVENTS;
+                timeStage(timings, Stage.EVENTS, () ->
+                    salesSOWContractService.applyApprovedChangeRequestEvents(changeRequest.getId(), approvedBy));
+
+                currentStage[0] = Stage.APPENDIX;
+                timeStage(timings, Stage.APPENDIX, () -> {
+                    ContractAppendix appendix = contractAppendixService.generateAppendix(changeRequest);
+                    appendixNumber[0] = appendix.getAppendixNumber();
+                });
+
+                currentStage[0] = Stage.NOTIFICATION;
+                timeStage(timings, Stage.NOTIFICATION, () ->
+                    salesSOWContractService.recordChangeRequestApplied(changeRequest.getId(), appendixNumber[0], approvedBy.getId()));
+
+                ChangeRequestApprovalJob done = lockLeasedJob(jobId, leaseOwner)
+                    .orElseThrow(() -> new LeasedWorkQueue.LeaseLostException(
+                        "CR approval job " + jobId + " is no longer leased by " + leaseOwner));
+                applyTimings(done, timings, (System.nanoTime() - started) / 1_000_000);
+                done.setStatus(JobStatus.COMPLETED);
+                done.setCurrentStage(null);
+                done.setLastError(null);
+                done.setLeaseOwner(null);
+                done.setAppendixNumber(appendixNumber[0]);
+                done.setCompletedAt(LocalDateTime.now());
+                jobRepository.save(done);
+            });
+            logger.info("CR approval job {} (CR {}) completed in {} ms: {}",
+                jobId, job.getChangeRequestId(), (System.nanoTime() - started) / 1_000_000, timings);
+        } catch (LeasedWorkQueue.LeaseLostException e) {
+            logger.warn("CR approval job {} (CR {}) lost its lease; attempt rolled back", jobId, job.getChangeRequestId());
+        } catch (Exception e) {
+            long totalMs = (System.nanoTime() - started) / 1_000_000;
+            logger.error("CR approval job {} (CR {}) failed at stage {}: {}",
+                jobId, job.getChangeRequestId(), currentStage[0], e.getMessage(), e);
+            tx.executeWithoutResult(status -> {
+                Optional<ChangeRequestApprovalJob> leased = lockLeasedJob(jobId, leaseOwner);
+                if (leased.isEmpty()) {
+                    logger.warn("CR approval job {} lost its lease; failure not recorded", jobId);
+                    return;
+                }
+                ChangeRequestApprovalJob failed = leased.get();
+                applyTimings(failed, timings, totalMs);
+                failed.setCurrentStage(currentStage[0]);
+                failed.setLastError(LeasedWorkQueue.describeError(e));
+                failed.setLeaseOwner(null);
+                if (failed.getAttempts() >= maxAttempts) {
+                    failed.setStatus(JobStatus.FAILED);
+                } else {
+                    failed.setStatus(JobStatus.RETRY);
+                    failed.setNextAttemptAt(LocalDateTime.now().plusSeconds(
+                        LeasedWorkQueue.backoffSeconds(backoffBaseSeconds, failed.getAttempts())));
+                }
+                jobRepository.save(failed);
+            });
+        }
+    }
+
+    /**
+     * Get the latest pipeline job for a change request
+     * @param changeRequestId Change request ID
+     * @return Latest job, empty if the CR was never approved through the pipeline
+     */
+    public Optional<ChangeRequestApprovalJob> getLatestJob(Integer changeRequestId) {
+        return jobRepository.findFirstByChangeRequestIdOrderByIdDesc(changeRequestId);
+    }
+
+    /**
+     * Get pipeline status and per-stage timings for a change request
+     * @param changeRequestId Change request ID
+     * @return Status DTO, or null if the CR has no approval job
+     */
+    public ChangeRequestApprovalStatusDTO getApprovalStatus(Integer changeRequestId) {
+        return getLatestJob(changeRequestId).map(this::toStatusDTO).orElse(null);
+    }
+
+    /**
+     * Manually re-queue a FAILED job
+     * @param changeRequestId Change request ID
+     */
+    public void retryFailedJob(Integer changeRequestId) {
+        transactionTemplate().executeWithoutResult(status -> {
+            ChangeRequestApprovalJob job = jobRepository.findFirstByChangeRequestIdOrderByIdDesc(changeRequestId)
+                .orElseThrow(() -> new RuntimeException("No approval job found for change request"));
+            if (job.getStatus() != JobStatus.FAILED) {
+                throw new RuntimeException("Only FAILED approval jobs can be retried");
+            }
+            job.setStatus(JobStatus.RETRY);
+            job.setAttempts(0);
+            job.setNextAttemptAt(LocalDateTime.now());
+            jobRepository.save(job);
+        });
+    }
+
+    private ChangeRequestApprovalStatusDTO toStatusDTO(ChangeRequestApprovalJob job) {
+        ChangeRequestApprovalStatusDTO dto = new ChangeRequestApprovalStatusDTO();
+        dto.setJobId(job.getId());
+        dto.setChangeRequestId(job.getChangeRequestId());
+        dto.setStatus(job.getStatus() != null ? job.getStatus().name() : null);
+        dto.setCurrentStage(job.getCurrentStage() != null ? job.getCurrentStage().name() : null);
+        dto.setAttempts(job.getAttempts());
+        dto.setLastError(job.getLastError());
+        dto.setAppendixNumber(job.getAppendixNumber());
+        dto.setBaselineMs(job.getBaselineMs());
+        dto.setEventsMs(job.getEventsMs());
+        dto.setAppendixMs(job.getAppendixMs());
+        dto.setNotificationMs(job.getNotificationMs());
+        dto.setTotalMs(job.getTotalMs());
+        dto.setNextAttemptAt(job.getNextAttemptAt() != null ? job.getNextAttemptAt().toString() : null);
+        dto.setStartedAt(job.getStartedAt() != null ? job.getStartedAt().toString() : null);
+        dto.setCompletedAt(job.getCompletedAt() != null ? job.getCompletedAt().toString() : null);
+        dto.setCreatedAt(job.getCreatedAt() != null ? job.getCreatedAt().toString() : null);
+        return dto;
+    }
+
+    private void timeStage(Map<Stage, Long> timings, Stage stage, Runnable work) {
+        long start = System.nanoTime();
+        work.run();
+        timings.put(stage, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void applyTimings(ChangeRequestApprovalJob job, Map<Stage, Long> timings, long totalMs) {
+        job.setBaselineMs(timings.get(Stage.BASELINE));
+        job.setEventsMs(timings.get(Stage.EVENTS));
+        job.setAppendixMs(timings.get(Stage.APPENDIX));
+        job.setNotificationMs(timings.get(Stage.NOTIFICATION));
+        job.setTotalMs(totalMs);
+    }
+
+    private Optional<ChangeRequestApprovalJob> lockLeasedJob(Integer jobId, String leaseOwner) {
+        return jobRepository.findByIdAndLeaseOwnerAndStatus(jobId, leaseOwner, JobStatus.RUNNING);
+    }
+
+    private LeasedWorkQueue<ChangeRequestApprovalJob, Integer> jobQueue() {
+        if (jobQueue == null) {
+            jobQueue = new LeasedWorkQueue<>("CR approval job", jobRepository, transactionManager);
+        }
+        return jobQueue;
+    }
+
+    private TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(transactionManager);
+    }
+}
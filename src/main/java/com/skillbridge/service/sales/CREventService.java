@@ -2,6 +2,7 @@ package com.skillbridge.service.sales;
 
 import com.skillbridge.entity.contract.*;
 import com.skillbridge.repository.contract.*;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +25,7 @@ import java.util.stream.Collectors;
  * Events represent deltas/changes from approved CRs
  */
 @Service
+@Timed("service.method")
 @Transactional
 public class CREventService {
 
@@ -82,9 +85,39 @@ public class CREventService {
             LocalDate endDateOld,
             LocalDate endDateNew,
             LocalDate effectiveStart) {
+        return createResourceEvent(cr, action, engineerId, role, level, ratingOld, ratingNew,
+                unitRateOld, unitRateNew, startDateOld, startDateNew, endDateOld, endDateNew,
+                effectiveStart, null);
+    }
+
+    /**
+     * Create resource event from Change Request, linked to the CR engaged engineer it came from
+     * The link lets snapshot computation pick up billing type and hourly fields without guessing
+     * @param crEngagedEngineerId Source ChangeRequestEngagedEngineer ID (null if the event has no CR engineer row)
+     * @return Created resource event
+     * @see #createResourceEvent(ChangeRequest, CRResourceEvent.ResourceAction, Integer, String, String,
+     *      BigDecimal, BigDecimal, BigDecimal, BigDecimal, LocalDate, LocalDate, LocalDate, LocalDate, LocalDate)
+     */
+    public CRResourceEvent createResourceEvent(
+            ChangeRequest cr,
+            CRResourceEvent.ResourceAction action,
+            Integer engineerId,
+            String role,
+            String level,
+            BigDecimal ratingOld,
+            BigDecimal ratingNew,
+            BigDecimal unitRateOld,
+            BigDecimal unitRateNew,
+            LocalDate startDateOld,
+            LocalDate startDateNew,
+            LocalDate endDateOld,
+            LocalDate endDateNew,
+            LocalDate effectiveStart,
+            Integer crEngagedEngineerId) {
 
         CRResourceEvent event = new CRResourceEvent();
         event.setChangeRequestId(cr.getId());
+        event.setCrEngagedEngineerId(crEngagedEngineerId);
         event.setAction(action);
         event.setEngineerId(engineerId);
         event.setRole(role);
@@ -373,6 +406,10 @@ public class CREventService {
             })
             .collect(Collectors.toList());
         
+        // Load CR engaged engineers for all CRs touched this month in one query
+        Map<Integer, List<ChangeRequestEngagedEngineer>> crEngineersByCr = loadCREngineersByChangeRequest(
+            monthEvents.stream().map(CRResourceEvent::getChangeRequestId).collect(Collectors.toSet()));
+        
         // Apply events (latest wins for same engineer)
         for (CRResourceEvent event : monthEvents) {
             switch (event.getAction()) {
@@ -388,7 +425,7 @@ public class CREventService {
                         snapshot.setSalary(event.getUnitRateNew() != null ? event.getUnitRateNew() : BigDecimal.ZERO);
                         
                         // Get billing type and hourly fields from ChangeRequestEngagedEngineer
-                        ChangeRequestEngagedEngineer crEngineer = findMatchingCREngineer(event);
+                        ChangeRequestEngagedEngineer crEngineer = findMatchingCREngineer(event, crEngineersByCr);
                         if (crEngineer != null) {
                             snapshot.setBillingType(crEngineer.getBillingType() != null ? crEngineer.getBillingType() : "Monthly");
                             snapshot.setHourlyRate(crEngineer.getHourlyRate());
@@ -431,7 +468,7 @@ public class CREventService {
                         if (event.getUnitRateNew() != null) snapshot.setSalary(event.getUnitRateNew());
                         
                         // Update billing type and hourly fields from ChangeRequestEngagedEngineer
-                        ChangeRequestEngagedEngineer crEngineer = findMatchingCREngineer(event);
+                        ChangeRequestEngagedEngineer crEngineer = findMatchingCREngineer(event, crEngineersByCr);
                         if (crEngineer != null) {
                             snapshot.setBillingType(crEngineer.getBillingType() != null ? crEngineer.getBillingType() : "Monthly");
                             snapshot.setHourlyRate(crEngineer.getHourlyRate());
@@ -493,45 +530,83 @@ public class CREventService {
         return result;
     }
     
+    /**
+     * Bulk load CR engaged engineers for a set of change requests
+     * @param changeRequestIds Change request IDs
+     * @return Map of changeRequestId to its engaged engineers (ordered by ID)
+     */
+    public Map<Integer, List<ChangeRequestEngagedEngineer>> loadCREngineersByChangeRequest(Collection<Integer> changeRequestIds) {
+        if (changeRequestIds == null || changeRequestIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return changeRequestEngagedEngineerRepository
+            .findByChangeRequestIdInOrderByChangeRequestIdAscIdAsc(changeRequestIds)
+            .stream()
+            .collect(Collectors.groupingBy(ChangeRequestEngagedEngineer::getChangeRequestId));
+    }
+
     /**
      * Find matching ChangeRequestEngagedEngineer for a CRResourceEvent
-     * Matches by changeRequestId, engineerLevel (from level or role), and startDate
+     * Uses the persisted crEngagedEngineerId link when present. Legacy events without a link
+     * are matched by engineerLevel and startDate (within 1 day); if that is ambiguous, a CR with
+     * a single engaged engineer resolves to it and anything else resolves to null.
+     * @param event Resource event
+     * @param crEngineersByCr Preloaded engineers from {@link #loadCREngineersByChangeRequest(Collection)}
      */
-    private ChangeRequestEngagedEngineer findMatchingCREngineer(CRResourceEvent event) {
-        try {
-            List<ChangeRequestEngagedEngineer> crEngineers = changeRequestEngagedEngineerRepository
-                .findByChangeRequestId(event.getChangeRequestId());
-            
-            if (crEngineers.isEmpty()) {
-                return null;
-            }
-            
-            // Build engineer level from event (prefer level, fallback to role)
-            String eventEngineerLevel = event.getLevel() != null ? event.getLevel() : event.getRole();
-            LocalDate eventStartDate = event.getStartDateNew() != null ? event.getStartDateNew() : event.getEffectiveStart();
-            
-            // Try to find exact match by engineerLevel and startDate
+    private ChangeRequestEngagedEngineer findMatchingCREngineer(CRResourceEvent event,
+                                                               Map<Integer, List<ChangeRequestEngagedEngineer>> crEngineersByCr) {
+        List<ChangeRequestEngagedEngineer> crEngineers = crEngineersByCr.getOrDefault(event.getChangeRequestId(), List.of());
+        if (crEngineers.isEmpty()) {
+            return null;
+        }
+        
+        if (event.getCrEngagedEngineerId() != null) {
             for (ChangeRequestEngagedEngineer crEngineer : crEngineers) {
-                if (eventEngineerLevel != null && eventEngineerLevel.equals(crEngineer.getEngineerLevel())) {
-                    // If startDate matches or is close (within 1 day), consider it a match
-                    if (eventStartDate != null && crEngineer.getStartDate() != null) {
-                        long daysDiff = Math.abs(java.time.temporal.ChronoUnit.DAYS.between(eventStartDate, crEngineer.getStartDate()));
-                        if (daysDiff <= 1) {
-                            return crEngineer;
-                        }
-                    } else if (eventStartDate == null && crEngineer.getStartDate() == null) {
+                if (event.getCrEngagedEngineerId().equals(crEngineer.getId())) {
+                    return crEngineer;
+                }
+            }
+            logger.warn("CR engaged engineer {} linked from event {} no longer exists",
+                event.getCrEngagedEngineerId(), event.getId());
+            return null;
+        }
+        
+        // Legacy event: rebuild the "Level Role" label used by ChangeRequestEngagedEngineer
+        String eventEngineerLevel = buildEngineerLevel(event);
+        LocalDate eventStartDate = event.getStartDateNew() != null ? event.getStartDateNew() : event.getEffectiveStart();
+        
+        for (ChangeRequestEngagedEngineer crEngineer : crEngineers) {
+            if (eventEngineerLevel != null && eventEngineerLevel.equalsIgnoreCase(crEngineer.getEngineerLevel())) {
+                // If startDate matches or is close (within 1 day), consider it a match
+                if (eventStartDate != null && crEngineer.getStartDate() != null) {
+                    long daysDiff = Math.abs(java.time.temporal.ChronoUnit.DAYS.between(eventStartDate, crEngineer.getStartDate()));
+                    if (daysDiff <= 1) {
                         return crEngineer;
                     }
+                } else if (eventStartDate == null && crEngineer.getStartDate() == null) {
+                    return crEngineer;
                 }
             }
-            
-            // If no exact match, return first engineer from the same CR (fallback)
-            // This handles cases where engineerLevel format might differ slightly
+        }
+        
+        if (crEngineers.size() == 1) {
             return crEngineers.get(0);
-        } catch (Exception e) {
-            logger.warn("Error finding matching CR engineer for event {}: {}", event.getId(), e.getMessage());
-            return null;
         }
+        
+        logger.debug("No CR engaged engineer matches legacy event {} in CR {}", event.getId(), event.getChangeRequestId());
+        return null;
+    }
+
+    /**
+     * Build engineerLevel label ("Middle Backend Engineer") from an event's level and role
+     */
+    private String buildEngineerLevel(CRResourceEvent event) {
+        String level = event.getLevel() != null ? event.getLevel().trim() : "";
+        String role = event.getRole() != null ? event.getRole().trim() : "";
+        if (level.isEmpty()) {
+            return role.isEmpty() ? null : role;
+        }
+        return role.isEmpty() ? level : level + " " + role;
     }
 
     /**
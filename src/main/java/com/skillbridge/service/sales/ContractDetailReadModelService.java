@@ -0,0 +1,155 @@
+package com.skillbridge.service.sales;
+
+import com.skillbridge.dto.sales.response.MSAContractDetailDTO;
+import com.skillbridge.dto.sales.response.SOWContractDetailDTO;
+import com.skillbridge.entity.auth.User;
+import com.skillbridge.entity.contract.ContractDetailView;
+import com.skillbridge.repository.contract.ContractDetailViewRepository;
+import com.skillbridge.util.JsonCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Contract Detail Read Model Service
+ * Serves the Sales SOW/MSA detail pages from contract_detail_views (one keyed read)
+ * instead of assembling the detail from 15+ repository calls on every request.
+ *
+ * The payload is built by the existing assemblers (SalesSOWContractService.getSOWContractDetail,
+ * SalesMSAContractService.getMSAContractDetail). Writes to the contract aggregate mark the row
+ * stale (ContractDetailViewInvalidator) and the next read rebuilds it, so a burst of writes
+ * costs one rebuild. Rows older than max-age are rebuilt as well, which covers data the
+ * listener does not see (e.g. renamed users).
+ * Not transactional as a whole: the rebuild runs in the assembler's own transaction and the
+ * store runs in a short one, so a failed store never fails the read.
+ */
+@Service
+public class ContractDetailReadModelService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContractDetailReadModelService.class);
+
+    @Autowired
+    private ContractDetailViewRepository contractDetailViewRepository;
+
+    @Autowired
+    private SalesSOWContractService salesSOWContractService;
+
+    @Autowired
+    private SalesMSAContractService salesMSAContractService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${contract-detail.read-model.enabled:true}")
+    private boolean enabled;
+
+    @Value("${contract-detail.read-model.max-age-minutes:10}")
+    private long maxAgeMinutes;
+
+    @Autowired
+    private JsonCodec jsonCodec;
+
+    /**
+     * Get SOW contract detail from the read model, rebuilding it if missing or stale
+     */
+    public SOWContractDetailDTO getSOWContractDetail(Integer contractId, User currentUser) {
+        if (!enabled) {
+            return salesSOWContractService.getSOWContractDetail(contractId, currentUser);
+        }
+        return read(ContractDetailView.TYPE_SOW, contractId, currentUser, SOWContractDetailDTO.class,
+            () -> salesSOWContractService.getSOWContractDetail(contractId, currentUser),
+            SOWContractDetailDTO::getAssigneeUserId);
+    }
+
+    /**
+     * Get MSA contract detail from the read model, rebuilding it if missing or stale
+     */
+    public MSAContractDetailDTO getMSAContractDetail(Integer contractId, User currentUser) {
+        if (!enabled) {
+            return salesMSAContractService.getMSAContractDetail(contractId, currentUser);
+        }
+        return read(ContractDetailView.TYPE_MSA, contractId, currentUser, MSAContractDetailDTO.class,
+            () -> salesMSAContractService.getMSAContractDetail(contractId, currentUser),
+            MSAContractDetailDTO::getAssigneeUserId);
+    }
+
+    private <T> T read(String contractType, Integer contractId, User currentUser, Class<T> type,
+                       Supplier<T> assembler, Function<T, Integer> assigneeOf) {
+        Optional<ContractDetailView> existing = contractDetailViewRepository.findByContractTypeAndContractId(contractType, contractId);
+
+        if (existing.isPresent() && isFresh(existing.get())) {
+            ContractDetailView view = existing.get();
+            checkAccess(view.getAssigneeUserId(), currentUser);
+            try {
+                return jsonCodec.read(view.getPayload(), type);
+            } catch (RuntimeException e) {
+                // Unreadable payload (e.g. written by an older DTO shape): rebuild it below
+                logger.warn("Contract detail view {}:{} could not be read, rebuilding: {}", contractType, contractId, e.getMessage());
+            }
+        }
+
+        // Rebuild (the assembler performs its own access check)
+        T dto = assembler.get();
+        store(contractType, contractId, existing.orElse(null), jsonCodec.write(dto), assigneeOf.apply(dto));
+        return dto;
+    }
+
+    boolean isFresh(ContractDetailView view) {
+        if (Boolean.TRUE.equals(view.getStale()) || view.getBuiltAt() == null) {
+            return false;
+        }
+        return view.getBuiltAt().isAfter(LocalDateTime.now().minusMinutes(maxAgeMinutes));
+    }
+
+    private void checkAccess(Integer assigneeUserId, User currentUser) {
+        // Same rule as the assemblers: Sales Manager sees all, Sales Rep sees only assigned
+        if (!"SALES_MANAGER".equals(currentUser.getRole())) {
+            if (assigneeUserId == null || !assigneeUserId.equals(currentUser.getId())) {
+                throw new RuntimeException("Access denied: You can only view contracts assigned to you");
+            }
+        }
+    }
+
+    private void store(String contractType, Integer contractId, ContractDetailView existing, String payload, Integer assigneeUserId) {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                if (existing != null) {
+                    // Skipped if the contract was written to while we were rebuilding; the next read retries
+                    int updated = contractDetailViewRepository.storeRebuilt(existing.getId(), existing.getGeneration(),
+                        payload, assigneeUserId, now);
+                    if (updated == 0) {
+                        logger.debug("Contract detail view {}:{} invalidated during rebuild, not stored", contractType, contractId);
+                    }
+                    return;
+                }
+
+                ContractDetailView view = new ContractDetailView();
+                view.setContractType(contractType);
+                view.setContractId(contractId);
+                view.setAssigneeUserId(assigneeUserId);
+                view.setPayload(payload);
+                view.setStale(false);
+                view.setGeneration(0);
+                view.setBuiltAt(now);
+                contractDetailViewRepository.save(view);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another request built it first, or the contract was written to during this first
+            // build (markStale creates the row); either way the next read uses or rebuilds that row
+            logger.debug("Contract detail view {}:{} already created", contractType, contractId);
+        } catch (Exception e) {
+            logger.warn("Failed to store contract detail view {}:{}: {}", contractType, contractId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.skillbridge.service.sales;
+
+import com.skillbridge.entity.contract.ChangeRequest;
+import com.skillbridge.entity.contract.Contract;
+import com.skillbridge.entity.contract.ContractDetailView;
+import com.skillbridge.entity.contract.ContractHistory;
+import com.skillbridge.entity.contract.DeliveryItem;
+import com.skillbridge.entity.contract.FixedPriceBillingDetail;
+import com.skillbridge.entity.contract.MilestoneDeliverable;
+import com.skillbridge.entity.contract.RetainerBillingDetail;
+import com.skillbridge.entity.contract.SOWContract;
+import com.skillbridge.entity.contract.SOWEngagedEngineer;
+import com.skillbridge.entity.document.Attachment;
+import com.skillbridge.entity.document.DocumentMetadata;
+import com.skillbridge.repository.contract.ContractDetailViewRepository;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Contract Detail View Invalidator
+ * JPA entity listener on the SOW/MSA contract aggregates (contract row, change requests,
+ * history, line items, billing, attachments). Any insert/update/delete marks the owning contract's
+ * detail read model stale once the writing transaction commits.
+ * Writes that bypass JPA (JDBC batch inserts) go through the contract row in the same
+ * transaction, which triggers the listener; bulk attachment deletes call invalidateAttachments
+ * explicitly. The read model max-age covers anything else.
+ */
+@Component
+public class ContractDetailViewInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContractDetailViewInvalidator.class);
+
+    @Autowired
+    private ContractDetailViewRepository contractDetailViewRepository;
+
+    @Autowired
+    @Lazy
+    private PlatformTransactionManager transactionManager;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onAggregateChange(Object entity) {
+        if (entity instanceof SOWContract) {
+            invalidateSOW(((SOWContract) entity).getId());
+        } else if (entity instanceof Contract) {
+            invalidateMSA(((Contract) entity).getId());
+        } else if (entity instanceof ChangeRequest) {
+            ChangeRequest cr = (ChangeRequest) entity;
+            invalidateSOW(cr.getSowContractId());
+            invalidateMSA(cr.getContractId());
+        } else if (entity instanceof ContractHistory) {
+            ContractHistory history = (ContractHistory) entity;
+            invalidateSOW(history.getSowContractId());
+            invalidateMSA(history.getContractId());
+        } else if (entity instanceof MilestoneDeliverable) {
+            invalidateSOW(((MilestoneDeliverable) entity).getSowContractId());
+        } else if (entity instanceof DeliveryItem) {
+            invalidateSOW(((DeliveryItem) entity).getSowContractId());
+        } else if (entity instanceof FixedPriceBillingDetail) {
+            invalidateSOW(((FixedPriceBillingDetail) entity).getSowContractId());
+        } else if (entity instanceof RetainerBillingDetail) {
+            invalidateSOW(((RetainerBillingDetail) entity).getSowContractId());
+        } else if (entity instanceof SOWEngagedEngineer) {
+            invalidateSOW(((SOWEngagedEngineer) entity).getSowContractId());
+        } else if (entity instanceof Attachment) {
+            Attachment attachment = (Attachment) entity;
+            invalidateAttachments(attachment.getEntityType(), attachment.getEntityId());
+        }
+    }
+
+    /**
+     * Invalidate the detail read model of the contract that owns a set of attachments
+     * @param entityType Attachment entity type (proposals have no read model and are ignored)
+     * @param entityId Contract ID
+     */
+    public void invalidateAttachments(String entityType, Integer entityId) {
+        if (DocumentMetadata.ENTITY_SOW_CONTRACT.equals(entityType)) {
+            invalidateSOW(entityId);
+        } else if (DocumentMetadata.ENTITY_MSA_CONTRACT.equals(entityType)) {
+            invalidateMSA(entityId);
+        }
+    }
+
+    /**
+     * Invalidate the detail read model of a SOW contract
+     * @param sowContractId SOW contract ID (ignored if null)
+     */
+    public void invalidateSOW(Integer sowContractId) {
+        invalidate(ContractDetailView.TYPE_SOW, sowContractId);
+    }
+
+    /**
+     * Invalidate the detail read model of an MSA contract
+     * @param contractId MSA contract ID (ignored if null)
+     */
+    public void invalidateMSA(Integer contractId) {
+        invalidate(ContractDetailView.TYPE_MSA, contractId);
+    }
+
+    /**
+     * Mark stale after commit (deduplicated per transaction), or immediately outside a transaction
+     */
+    @SuppressWarnings("unchecked")
+    void invalidate(String contractType, Integer contractId) {
+        if (contractId == null) {
+            return;
+        }
+        String key = contractType + ":" + contractId;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markStale(Set.of(key));
+            return;
+        }
+
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> keys = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, keys);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    markStale(keys);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ContractDetailViewInvalidator.this);
+                }
+            });
+            pending = keys;
+        }
+        pending.add(key);
+    }
+
+    private void markStale(Set<String> keys) {
+        try {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            template.executeWithoutResult(status -> {
+                for (String key : keys) {
+                    int separator = key.indexOf(':');
+                    contractDetailViewRepository.markStale(key.substring(0, separator),
+                        Integer.valueOf(key.substring(separator + 1)));
+                }
+            });
+        } catch (Exception e) {
+            // Never fail the business write; the read model max-age bounds staleness
+            logger.warn("Failed to invalidate contract detail views {}: {}", keys, e.getMessage());
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package com.skillbridge.service.sales;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.skillbridge.dto.sales.request.AssignReviewerRequest;
 import com.skillbridge.dto.sales.request.SubmitReviewRequest;
 import com.skillbridge.dto.sales.response.ProposalDTO;
@@ -20,22 +18,30 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.skillbridge.service.common.S3Service;
+import com.skillbridge.service.common.AttachmentService;
 import com.skillbridge.service.common.DocumentPermissionService;
 import com.skillbridge.service.common.EmailService;
+import com.skillbridge.service.common.NotificationService;
+import com.skillbridge.service.common.DashboardEventService;
+import com.skillbridge.service.dashboard.DashboardService;
+import com.skillbridge.dto.common.DashboardEventDTO;
+import com.skillbridge.entity.common.Notification;
 import com.skillbridge.entity.document.DocumentMetadata;
 import com.skillbridge.entity.contact.Contact;
 import com.skillbridge.repository.document.DocumentMetadataRepository;
 import com.skillbridge.repository.contact.ContactRepository;
 import java.io.IOException;
-import java.lang.reflect.Type;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import com.skillbridge.dto.common.AttachmentInfo;
+import com.skillbridge.util.JsonCodec;
 
 /**
  * Proposal Service
@@ -71,13 +77,23 @@ public class ProposalService {
     @Autowired
     private ContactRepository contactRepository;
 
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private DashboardEventService dashboardEventService;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
     @Value("${app.upload.dir:uploads/proposals}")
     private String uploadDir;
 
     @Value("${aws.s3.enabled:false}")
     private boolean s3Enabled;
 
-    private final Gson gson = new Gson();
+    @Autowired
+    private JsonCodec jsonCodec;
 
     /**
      * Create proposal for opportunity
@@ -152,8 +168,8 @@ public class ProposalService {
         if (files != null && files.length > 0) {
             List<AttachmentInfo> fileInfos = uploadFiles(files, opportunity.getId(), proposal.getId(), currentUser.getId());
             if (!fileInfos.isEmpty()) {
+                attachmentService.replaceAttachments(DocumentMetadata.ENTITY_PROPOSAL, proposal.getID(), fileInfos);
                 proposal.setLink(fileInfos.get(0).getS3Key()); // Store first file S3 key
-                proposal.setAttachmentsManifest(gson.toJson(fileInfos));
                 proposal = proposalRepository.save(proposal); // Update with file links
             }
         }
@@ -166,6 +182,10 @@ public class ProposalService {
         // Update opportunity status
         updateOpportunityStatus(opportunity);
 
+        if (proposal.getReviewerId() != null) {
+            notifyReviewer(proposal, currentUser);
+        }
+
         ProposalDTO dto = convertProposalToDTO(proposal);
         dto.setCanEdit(true); // New proposal can be edited
         return dto;
@@ -224,8 +244,9 @@ public class ProposalService {
             List<AttachmentInfo> fileInfos = uploadFiles(files, opportunity.getId(), proposal.getId(), currentUser.getId());
             if (!fileInfos.isEmpty()) {
                 AttachmentInfo firstFile = fileInfos.get(0);
+                attachmentService.replaceAttachments(DocumentMetadata.ENTITY_PROPOSAL, proposal.getID(), fileInfos);
                 proposal.setLink(firstFile.getS3Key());
-                proposal.setAttachmentsManifest(gson.toJson(fileInfos));
+                proposal.setAttachmentsManifest(null); // Attachments now live in the attachments table
 
                 // Create history entry for file upload
                 createHistoryEntry(opportunity.getId(), proposal.getId(), "UPLOADED",
@@ -275,6 +296,8 @@ public class ProposalService {
         // Update opportunity status
         updateOpportunityStatus(opportunity);
 
+        notifyReviewer(proposal, currentUser);
+
         ProposalDTO dto = convertProposalToDTO(proposal);
         dto.setCanEdit(false); // Cannot edit after reviewer assignment
         return dto;
@@ -294,6 +317,8 @@ public class ProposalService {
             throw new RuntimeException("Access denied. Only assigned reviewer can submit review");
         }
 
+        String previousStatus = proposal.getStatus();
+
         // Update proposal with review
         proposal.setReviewNotes(request.getReviewNotes());
         proposal.setReviewAction(request.getAction());
@@ -323,6 +348,14 @@ public class ProposalService {
         // Update opportunity status
         updateOpportunityStatus(opportunity);
 
+        // Push dashboard deltas to the sales dashboards (after commit)
+        dashboardEventService.publishToSales(
+                Arrays.asList(opportunity.getAssigneeUserId(), proposal.getCreatedBy()),
+                DashboardEventDTO.activity("PROPOSAL", proposal.getID(),
+                                "Proposal v" + proposal.getVersion() + " " + actionText + " by " + currentUser.getFullName())
+                        .transition("proposals.underReview", SalesDashboardService::isProposalUnderReview,
+                                previousStatus, proposal.getStatus()));
+
         // Send email notification to client when Sales Manager approves proposal
         if ("APPROVE".equals(request.getAction())) {
             try {
@@ -352,6 +385,15 @@ public class ProposalService {
                                     proposalLink,
                                     opportunityInfo
                                 );
+                                // Push dashboard deltas to the client's dashboard (after commit)
+                                dashboardEventService.publishToUsers(
+                                    List.of(clientUser.getId()),
+                                    DashboardEventDTO.activity("proposal", proposal.getID(), "New proposal available: " + proposal.getTitle())
+                                        .transition("proposals.underReview", DashboardService::isProposalUnderReview,
+                                            previousStatus, proposal.getStatus())
+                                        .transition("proposals.reviewed", DashboardService::isProposalReviewed,
+                                            previousStatus, proposal.getStatus())
+                                );
                             }
                         }
                     }
@@ -379,6 +421,8 @@ public class ProposalService {
     private List<AttachmentInfo> uploadFiles(MultipartFile[] files, Integer opportunityId, Integer proposalId, Integer ownerId) {
         List<AttachmentInfo> fileInfos = new ArrayList<>();
 
+        // Start all S3 uploads at once; metadata is saved below in the original order
+        Map<MultipartFile, CompletableFuture<String>> uploads = new LinkedHashMap<>();
         for (MultipartFile file : files) {
             if (file.isEmpty()) {
                 continue;
@@ -390,12 +434,17 @@ public class ProposalService {
                 continue; // Skip non-PDF files
             }
 
+            uploads.put(file, s3Enabled && s3Service != null ? s3Service.uploadFileAsync(file, "proposals") : null);
+        }
+
+        for (Map.Entry<MultipartFile, CompletableFuture<String>> upload : uploads.entrySet()) {
+            MultipartFile file = upload.getKey();
             try {
                 String originalFileName = file.getOriginalFilename();
                 String s3Key;
                 if (s3Enabled && s3Service != null) {
-                    // Upload to S3 (returns S3 key)
-                    s3Key = s3Service.uploadFile(file, "proposals");
+                    // Wait for the upload to S3 (returns S3 key)
+                    s3Key = s3Service.awaitUpload(upload.getValue());
 
                     // Save document metadata
                     DocumentMetadata metadata = new DocumentMetadata();
@@ -405,8 +454,9 @@ public class ProposalService {
                     metadata.setEntityId(proposalId);
                     metadata.setEntityType("proposal");
                     // Allow SALES_MANAGER and SALES_REP roles to access
-                    metadata.setAllowedRoles(gson.toJson(Arrays.asList("SALES_MANAGER", "SALES_REP")));
+                    metadata.setAllowedRoles(jsonCodec.writeStringList(Arrays.asList("SALES_MANAGER", "SALES_REP")));
                     documentMetadataRepository.save(metadata);
+                    documentPermissionService.indexDocument(metadata);
                 } else {
                     // Fallback to local file system
                     s3Key = saveFileLocally(file, opportunityId);
@@ -518,58 +568,14 @@ public class ProposalService {
         dto.setCreatedAt(proposal.getCreatedAt());
         dto.setUpdatedAt(proposal.getUpdatedAt());
 
-        // Parse attachments_manifest JSON
+        // Load attachments (attachments table, or attachments_manifest if not backfilled yet)
         List<ProposalDTO.AttachmentDTO> attachments = new ArrayList<>();
-        if (proposal.getAttachmentsManifest() != null && !proposal.getAttachmentsManifest().isEmpty()) {
-            try {
-                // Try to parse as List<AttachmentInfo> (new format with fileName)
-                Type attachmentInfoListType = new TypeToken<List<AttachmentInfo>>(){}.getType();
-                List<AttachmentInfo> attachmentInfos = gson.fromJson(proposal.getAttachmentsManifest(), attachmentInfoListType);
-                if (attachmentInfos != null && !attachmentInfos.isEmpty()) {
-                    for (AttachmentInfo info : attachmentInfos) {
-                        attachments.add(new ProposalDTO.AttachmentDTO(info.getS3Key(), info.getFileName(), null));
-                    }
-                } else {
-                    // Fallback: try to parse as List<String> (old format)
-                    Type stringListType = new TypeToken<List<String>>(){}.getType();
-                    List<String> attachmentLinks = gson.fromJson(proposal.getAttachmentsManifest(), stringListType);
-                    if (attachmentLinks != null) {
-                        for (String s3Key : attachmentLinks) {
-                            String fileName = s3Key;
-                            if (fileName.contains("/")) {
-                                fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                            }
-                            attachments.add(new ProposalDTO.AttachmentDTO(s3Key, fileName, null));
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                // If parsing fails, try to parse as List<String> (old format)
-                try {
-                    Type stringListType = new TypeToken<List<String>>(){}.getType();
-                    List<String> attachmentLinks = gson.fromJson(proposal.getAttachmentsManifest(), stringListType);
-                    if (attachmentLinks != null) {
-                        for (String s3Key : attachmentLinks) {
-                            String fileName = s3Key;
-                            if (fileName.contains("/")) {
-                                fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                            }
-                            attachments.add(new ProposalDTO.AttachmentDTO(s3Key, fileName, null));
-                        }
-                    }
-                } catch (Exception e2) {
-                    // If both fail, use link as single attachment
-                if (proposal.getLink() != null) {
-                        String fileName = proposal.getLink();
-                        if (fileName.contains("/")) {
-                            fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                        }
-                        attachments.add(new ProposalDTO.AttachmentDTO(proposal.getLink(), fileName, null));
-                }
-                }
-            }
-        } else if (proposal.getLink() != null) {
-            // If no manifest but has link, use link as single attachment
+        for (AttachmentInfo info : attachmentService.getAttachments(
+                DocumentMetadata.ENTITY_PROPOSAL, proposal.getID(), proposal.getAttachmentsManifest())) {
+            attachments.add(new ProposalDTO.AttachmentDTO(info.getS3Key(), info.getFileName(), null));
+        }
+        if (attachments.isEmpty() && proposal.getLink() != null) {
+            // If no attachments but has link, use link as single attachment
             String fileName = proposal.getLink();
             if (fileName.contains("/")) {
                 fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
@@ -597,5 +603,17 @@ public class ProposalService {
 
         return dto;
     }
-}
 
+    /**
+     * Notify the assigned reviewer (in-app) that a proposal is waiting for review
+     */
+    private void notifyReviewer(Proposal proposal, User currentUser) {
+        notificationService.notifyUsers(
+                List.of(proposal.getReviewerId()),
+                Notification.TYPE_PROPOSAL_REVIEW,
+                "Proposal waiting for your review",
+                "\"" + proposal.getTitle() + "\" v" + proposal.getVersion() + " was sent for review by " + currentUser.getFullName(),
+                "proposal",
+                proposal.getID());
+    }
+}
@@ -11,7 +11,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * SOW Baseline Service
@@ -39,9 +42,13 @@ public class SOWBaselineService {
     @Autowired
     private RetainerBillingDetailRepository retainerBillingDetailRepository;
     
+    @Autowired
+    private SOWLineItemBatchRepository sowLineItemBatchRepository;
+    
     /**
      * Create baseline from current contract data
      * This should be called when contract is first approved/activated
+     * Baseline engineers and billing rows are written as JDBC batches
      * @param sowContractId SOW contract ID
      */
     public void createBaseline(Integer sowContractId) {
@@ -65,6 +72,7 @@ public class SOWBaselineService {
         
         // Copy engaged engineers to baseline
         List<SOWEngagedEngineer> engineers = sowEngagedEngineerRepository.findBySowContractId(sowContractId);
+        List<SOWEngagedEngineerBase> baseEngineers = new ArrayList<>();
         for (SOWEngagedEngineer engineer : engineers) {
             SOWEngagedEngineerBase baseEngineer = new SOWEngagedEngineerBase();
             baseEngineer.setSowContractId(sowContractId);
@@ -74,18 +82,22 @@ public class SOWBaselineService {
             baseEngineer.setUnitRate(engineer.getSalary());
             baseEngineer.setStartDate(engineer.getStartDate());
             baseEngineer.setEndDate(engineer.getEndDate());
-            sowEngagedEngineerBaseRepository.save(baseEngineer);
+            baseEngineers.add(baseEngineer);
         }
+        sowLineItemBatchRepository.insertEngineerBaselines(baseEngineers);
         
         // Copy billing details to baseline
         List<RetainerBillingDetail> billingDetails = retainerBillingDetailRepository
             .findBySowContractIdOrderByPaymentDateDesc(sowContractId);
+        // Guard against duplicate baseline rows (uk_base_sow_month on sow_contract_id + billing_month),
+        // both against existing rows and within this batch
+        Set<LocalDate> baselineMonths = new HashSet<>();
+        for (RetainerBillingBase existing : retainerBillingBaseRepository.findBySowContractIdOrderByBillingMonthDesc(sowContractId)) {
+            baselineMonths.add(existing.getBillingMonth());
+        }
+        List<RetainerBillingBase> baseBillings = new ArrayList<>();
         for (RetainerBillingDetail billing : billingDetails) {
-            // Guard against duplicate baseline rows (uk_base_sow_month on sow_contract_id + billing_month)
-            if (billing.getPaymentDate() != null &&
-                retainerBillingBaseRepository
-                    .findBySowContractIdAndBillingMonth(sowContractId, billing.getPaymentDate())
-                    .isPresent()) {
+            if (billing.getPaymentDate() != null && !baselineMonths.add(billing.getPaymentDate())) {
                 // Baseline for this contract and month already exists, skip
                 continue;
             }
@@ -95,8 +107,9 @@ public class SOWBaselineService {
             baseBilling.setBillingMonth(billing.getPaymentDate());
             baseBilling.setAmount(billing.getAmount());
             baseBilling.setDescription(billing.getDeliveryNote());
-            retainerBillingBaseRepository.save(baseBilling);
+            baseBillings.add(baseBilling);
         }
+        sowLineItemBatchRepository.insertBillingBaselines(baseBillings);
         
         // Calculate and set base_total_amount
         BigDecimal totalAmount = billingDetails.stream()
@@ -0,0 +1,356 @@
+package com.skillbridge.service.sales;
+
+import com.skillbridge.dto.sales.response.SOWContractVersionDTO;
+import com.skillbridge.entity.contract.SOWContract;
+import com.skillbridge.entity.contract.SOWContractVersion;
+import com.skillbridge.entity.contract.SOWContractVersionDelta;
+import com.skillbridge.repository.contract.SOWContractRepository;
+import com.skillbridge.repository.contract.SOWContractVersionDeltaRepository;
+import com.skillbridge.repository.contract.SOWContractVersionRepository;
+import com.skillbridge.util.JsonCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * SOW Contract Version Service
+ * Stores SOW contract versions as field-level deltas instead of full row clones.
+ *
+ * The sow_contracts row is always the latest version. Each new version writes one
+ * sow_contract_versions header plus one sow_contract_version_deltas row per changed column
+ * (old and new value), and keeps a snapshot of its field values on its header (cleared from
+ * the previous header, so only one snapshot per contract is stored). Any older version is
+ * rebuilt by starting from that snapshot and undoing deltas newest-first, so storage and
+ * reconstruction cost scale with the size of the changes, not with the number of columns
+ * times the number of versions.
+ *
+ * Reconstruction never starts from the live row: edits made in place between versions
+ * (updateSOWContract, submitReview, status changes, ...) belong to the current version and
+ * are captured by the next version's deltas, which are taken against the stored snapshot.
+ * A version is therefore the contract as it was when the version was recorded.
+ * Rebuilt versions are kept in a small LRU cache.
+ */
+@Service
+@Transactional
+public class SOWContractVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SOWContractVersionService.class);
+
+    /**
+     * Versioned columns, in display order
+     * Immutable columns (id, client, parent MSA, engagement type) are not tracked; attachments
+     * live in the attachments table and are not part of a version
+     */
+    private static final Map<String, VersionedField> FIELDS = new LinkedHashMap<>();
+
+    static {
+        field("contractName", SOWContract::getContractName, SOWContract::setContractName, s -> s);
+        field("status", SOWContract::getStatus, SOWContract::setStatus, SOWContract.SOWContractStatus::valueOf);
+        field("projectName", SOWContract::getProjectName, SOWContract::setProjectName, s -> s);
+        field("scopeSummary", SOWContract::getScopeSummary, SOWContract::setScopeSummary, s -> s);
+        field("periodStart", SOWContract::getPeriodStart, SOWContract::setPeriodStart, LocalDate::parse);
+        field("periodEnd", SOWContract::getPeriodEnd, SOWContract::setPeriodEnd, LocalDate::parse);
+        field("value", SOWContract::getValue, SOWContract::setValue, BigDecimal::new);
+        field("baseTotalAmount", SOWContract::getBaseTotalAmount, SOWContract::setBaseTotalAmount, BigDecimal::new);
+        field("assigneeId", SOWContract::getAssigneeId, SOWContract::setAssigneeId, s -> s);
+        field("assigneeUserId", SOWContract::getAssigneeUserId, SOWContract::setAssigneeUserId, Integer::valueOf);
+        field("reviewerId", SOWContract::getReviewerId, SOWContract::setReviewerId, Integer::valueOf);
+        field("currency", SOWContract::getCurrency, SOWContract::setCurrency, s -> s);
+        field("paymentTerms", SOWContract::getPaymentTerms, SOWContract::setPaymentTerms, s -> s);
+        field("invoicingCycle", SOWContract::getInvoicingCycle, SOWContract::setInvoicingCycle, s -> s);
+        field("billingDay", SOWContract::getBillingDay, SOWContract::setBillingDay, s -> s);
+        field("taxWithholding", SOWContract::getTaxWithholding, SOWContract::setTaxWithholding, s -> s);
+        field("ipOwnership", SOWContract::getIpOwnership, SOWContract::setIpOwnership, s -> s);
+        field("governingLaw", SOWContract::getGoverningLaw, SOWContract::setGoverningLaw, s -> s);
+        field("landbridgeContactName", SOWContract::getLandbridgeContactName, SOWContract::setLandbridgeContactName, s -> s);
+        field("landbridgeContactEmail", SOWContract::getLandbridgeContactEmail, SOWContract::setLandbridgeContactEmail, s -> s);
+        field("link", SOWContract::getLink, SOWContract::setLink, s -> s);
+    }
+
+    @Autowired
+    private SOWContractRepository sowContractRepository;
+
+    @Autowired
+    private SOWContractVersionRepository versionRepository;
+
+    @Autowired
+    private SOWContractVersionDeltaRepository deltaRepository;
+
+    @Autowired
+    private JsonCodec jsonCodec;
+
+    @Value("${sow.versions.cache-size:256}")
+    private int cacheSize = 256;
+
+    // (contractId:version:updatedAt) -> field values of that version
+    private final Map<String, Map<String, String>> reconstructedCache =
+        Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, String>> eldest) {
+                return size() > cacheSize;
+            }
+        });
+
+    /**
+     * Capture the versioned field values of a contract
+     * Call before applying changes, then pass the result to recordVersion
+     * @param contract SOW contract
+     * @return Field name to string value (null values included)
+     */
+    public Map<String, String> snapshot(SOWContract contract) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Map.Entry<String, VersionedField> entry : FIELDS.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().read(contract));
+        }
+        return values;
+    }
+
+    /**
+     * Record a new version of a contract
+     * Writes only the columns that differ from the previous recorded version (its stored
+     * snapshot, or the given before snapshot for the first recorded version), so in-place edits
+     * made since then are part of this version's deltas. The contract's version number is bumped
+     * even when no tracked column changed (e.g. resource-only CRs), so versions stay aligned with CRs.
+     * @param contract SOW contract after the change (managed entity)
+     * @param before Snapshot taken before the change
+     * @param changeRequestId CR that produced the version (nullable)
+     * @param userId User who made the change (nullable)
+     * @return New version number
+     */
+    public Integer recordVersion(SOWContract contract, Map<String, String> before, Integer changeRequestId, Integer userId) {
+        Map<String, String> after = snapshot(contract);
+
+        Integer maxRecorded = versionRepository.findMaxVersionBySowContractId(contract.getId());
+        int currentVersion = contract.getVersion() != null ? contract.getVersion() : 1;
+        int newVersion = Math.max(currentVersion, maxRecorded != null ? maxRecorded : 0) + 1;
+
+        Optional<SOWContractVersion> previous = versionRepository.findFirstBySowContractIdOrderByVersionDesc(contract.getId());
+        Map<String, String> base = previous.map(this::readSnapshot).orElse(null);
+        if (base == null) {
+            base = before;
+        }
+
+        List<SOWContractVersionDelta> deltas = new ArrayList<>();
+        for (String fieldName : FIELDS.keySet()) {
+            String oldValue = base.get(fieldName);
+            String newValue = after.get(fieldName);
+            if (!Objects.equals(oldValue, newValue)) {
+                deltas.add(new SOWContractVersionDelta(contract.getId(), newVersion, fieldName, oldValue, newValue));
+            }
+        }
+
+        SOWContractVersion header = new SOWContractVersion();
+        header.setSowContractId(contract.getId());
+        header.setVersion(newVersion);
+        header.setChangeRequestId(changeRequestId);
+        header.setChangedFieldCount(deltas.size());
+        header.setCreatedBy(userId);
+        header.setSnapshot(jsonCodec.write(after));
+        previous.ifPresent(p -> {
+            p.setSnapshot(null);
+            versionRepository.save(p);
+        });
+        versionRepository.save(header);
+        if (!deltas.isEmpty()) {
+            deltaRepository.saveAll(deltas);
+        }
+
+        contract.setVersion(newVersion);
+        sowContractRepository.save(contract);
+
+        evict(contract.getId());
+        logger.debug("Recorded SOW contract {} version {} ({} changed fields)", contract.getId(), newVersion, deltas.size());
+        return newVersion;
+    }
+
+    /**
+     * Get the version history of a contract without rebuilding every version
+     * Two queries (headers + deltas), independent of how many columns a contract has
+     * @param contract SOW contract
+     * @return Versions, newest first; V1 is always the last entry
+     */
+    @Transactional(readOnly = true)
+    public List<SOWContractVersionDTO> getVersionHistory(SOWContract contract) {
+        List<SOWContractVersion> headers = versionRepository.findBySowContractIdOrderByVersionDesc(contract.getId());
+        Map<Integer, List<SOWContractVersionDTO.FieldChange>> changesByVersion = new LinkedHashMap<>();
+        for (SOWContractVersionDelta delta : deltaRepository.findBySowContractIdOrderByVersionDescIdAsc(contract.getId())) {
+            changesByVersion.computeIfAbsent(delta.getVersion(), v -> new ArrayList<>())
+                .add(new SOWContractVersionDTO.FieldChange(delta.getFieldName(), delta.getOldValue(), delta.getNewValue()));
+        }
+
+        Integer currentVersion = contract.getVersion();
+        List<SOWContractVersionDTO> history = new ArrayList<>();
+        for (SOWContractVersion header : headers) {
+            SOWContractVersionDTO dto = toDTO(contract.getId(), header.getVersion(), currentVersion);
+            dto.setChangeRequestId(header.getChangeRequestId());
+            dto.setCreatedBy(header.getCreatedBy());
+            dto.setCreatedAt(header.getCreatedAt() != null ? header.getCreatedAt().toString() : null);
+            dto.setChanges(changesByVersion.getOrDefault(header.getVersion(), Collections.emptyList()));
+            history.add(dto);
+        }
+
+        // Initial version (no header: it is the contract as originally created)
+        int firstVersion = headers.isEmpty() ? (currentVersion != null ? currentVersion : 1)
+            : headers.get(headers.size() - 1).getVersion() - 1;
+        if (firstVersion >= 1) {
+            SOWContractVersionDTO initial = toDTO(contract.getId(), firstVersion, currentVersion);
+            initial.setCreatedAt(contract.getCreatedAt() != null ? contract.getCreatedAt().toString() : null);
+            initial.setChanges(Collections.emptyList());
+            history.add(initial);
+        }
+        return history;
+    }
+
+    /**
+     * Rebuild the field values of one version of a contract
+     * @param contract SOW contract (current row)
+     * @param version Version to rebuild
+     * @return Version DTO with full field values
+     */
+    @Transactional(readOnly = true)
+    public SOWContractVersionDTO getVersion(SOWContract contract, Integer version) {
+        SOWContractVersionDTO dto = toDTO(contract.getId(), version, contract.getVersion());
+        dto.setFields(reconstructFields(contract, version));
+        return dto;
+    }
+
+    /**
+     * Rebuild a version as a detached SOWContract (never saved)
+     * @param contract SOW contract (current row)
+     * @param version Version to rebuild
+     * @return Detached contract holding the field values of that version
+     */
+    @Transactional(readOnly = true)
+    public SOWContract reconstruct(SOWContract contract, Integer version) {
+        Map<String, String> fields = reconstructFields(contract, version);
+        SOWContract copy = new SOWContract();
+        copy.setId(contract.getId());
+        copy.setClientId(contract.getClientId());
+        copy.setEngagementType(contract.getEngagementType());
+        copy.setParentMsaId(contract.getParentMsaId());
+        copy.setParentVersionId(contract.getParentVersionId());
+        copy.setCreatedAt(contract.getCreatedAt());
+        copy.setVersion(version);
+        for (Map.Entry<String, VersionedField> entry : FIELDS.entrySet()) {
+            entry.getValue().write(copy, fields.get(entry.getKey()));
+        }
+        return copy;
+    }
+
+    /**
+     * Field values of a version, from cache or by undoing newer deltas on the latest recorded snapshot
+     */
+    Map<String, String> reconstructFields(SOWContract contract, Integer version) {
+        int currentVersion = contract.getVersion() != null ? contract.getVersion() : 1;
+        if (version == null || version < 1 || version > currentVersion) {
+            throw new RuntimeException("Version " + version + " does not exist for this SOW contract");
+        }
+        if (version == currentVersion) {
+            return Collections.unmodifiableMap(snapshot(contract));
+        }
+
+        String key = cacheKey(contract, version);
+        Map<String, String> cached = reconstructedCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Map<String, String> fields = versionRepository.findFirstBySowContractIdOrderByVersionDesc(contract.getId())
+            .filter(latest -> latest.getVersion() == currentVersion)
+            .map(this::readSnapshot)
+            .orElse(null);
+        if (fields == null) {
+            // Versions recorded before snapshots were stored: best effort from the live row
+            logger.warn("SOW contract {} version {} has no stored snapshot; rebuilding from the current row",
+                contract.getId(), currentVersion);
+            fields = snapshot(contract);
+        }
+        for (SOWContractVersionDelta delta : deltaRepository
+                .findBySowContractIdAndVersionGreaterThanOrderByVersionDescIdAsc(contract.getId(), version)) {
+            // Skip deltas of columns no longer tracked (attachmentsManifest)
+            if (FIELDS.containsKey(delta.getFieldName())) {
+                fields.put(delta.getFieldName(), delta.getOldValue());
+            }
+        }
+        Map<String, String> result = Collections.unmodifiableMap(fields);
+        reconstructedCache.put(key, result);
+        return result;
+    }
+
+    /**
+     * Drop cached versions of a contract
+     * @param sowContractId SOW contract ID
+     */
+    public void evict(Integer sowContractId) {
+        String prefix = sowContractId + ":";
+        synchronized (reconstructedCache) {
+            reconstructedCache.keySet().removeIf(k -> k.startsWith(prefix));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> readSnapshot(SOWContractVersion header) {
+        if (header.getSnapshot() == null) {
+            return null;
+        }
+        Map<String, String> fields = new LinkedHashMap<String, String>(jsonCodec.read(header.getSnapshot(), Map.class));
+        fields.keySet().retainAll(FIELDS.keySet());
+        return fields;
+    }
+
+    private String cacheKey(SOWContract contract, Integer version) {
+        return contract.getId() + ":" + version + ":" + contract.getUpdatedAt();
+    }
+
+    private SOWContractVersionDTO toDTO(Integer sowContractId, Integer version, Integer currentVersion) {
+        SOWContractVersionDTO dto = new SOWContractVersionDTO();
+        dto.setSowContractId(sowContractId);
+        dto.setVersion(version);
+        dto.setName("V" + version);
+        dto.setIsCurrent(Objects.equals(version, currentVersion));
+        return dto;
+    }
+
+    private static <T> void field(String name, Function<SOWContract, T> getter,
+                                  BiConsumer<SOWContract, T> setter, Function<String, T> parser) {
+        FIELDS.put(name, new VersionedField() {
+            @Override
+            public String read(SOWContract contract) {
+                T value = getter.apply(contract);
+                if (value == null) {
+                    return null;
+                }
+                return value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+            }
+
+            @Override
+            public void write(SOWContract contract, String value) {
+                setter.accept(contract, value != null ? parser.apply(value) : null);
+            }
+        });
+    }
+
+    /**
+     * Read/write access to one versioned column in its string form
+     */
+    private interface VersionedField {
+        String read(SOWContract contract);
+
+        void write(SOWContract contract, String value);
+    }
+}
@@ -45,6 +45,7 @@ public class SalesContactDetailService {
     /**
      * Get contact detail with role-based authorization
      */
+    @Transactional(readOnly = true)
     public SalesContactDetailDTO getContactDetail(Integer contactId, User currentUser) {
         Contact contact = contactRepository.findById(contactId)
             .orElseThrow(() -> new RuntimeException("Contact not found"));
@@ -14,6 +14,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -40,6 +41,7 @@ public class SalesContactService {
      * Sales Manager: all contacts
      * Sales Man: only assigned contacts
      */
+    @Transactional(readOnly = true)
     public SalesContactListResponse getContacts(
             String search,
             List<String> status,
@@ -1,7 +1,6 @@
 package com.skillbridge.service.sales;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.skillbridge.dto.common.AttachmentInfo;
 import com.skillbridge.dto.contract.response.ContractListItemDTO;
 import com.skillbridge.dto.contract.response.ContractListResponse;
 import com.skillbridge.entity.auth.User;
@@ -10,12 +9,14 @@ import com.skillbridge.entity.contract.ChangeRequest;
 import com.skillbridge.entity.contract.SOWContract;
 import com.skillbridge.entity.contract.ProjectCloseRequest;
 import com.skillbridge.entity.contract.ContractInternalReview;
+import com.skillbridge.entity.document.DocumentMetadata;
 import com.skillbridge.repository.auth.UserRepository;
 import com.skillbridge.repository.contract.ContractRepository;
 import com.skillbridge.repository.contract.SOWContractRepository;
 import com.skillbridge.repository.contract.ProjectCloseRequestRepository;
 import com.skillbridge.repository.contract.ContractInternalReviewRepository;
 import com.skillbridge.repository.contract.ChangeRequestRepository;
+import com.skillbridge.service.common.AttachmentService;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -24,15 +25,18 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -40,6 +44,7 @@ import java.util.Optional;
  * Handles business logic for sales contract list operations with role-based filtering
  */
 @Service
+@Transactional(readOnly = true)
 public class SalesContractService {
     
     @Autowired
@@ -60,6 +65,9 @@ public class SalesContractService {
     @Autowired
     private ChangeRequestRepository changeRequestRepository;
     
+    @Autowired
+    private AttachmentService attachmentService;
+    
     /**
      * Get contracts list with role-based filtering
      * - Sales Manager: sees all contracts
@@ -98,9 +106,16 @@ public class SalesContractService {
         // Convert to DTOs
         List<ContractListItemDTO> contracts = new ArrayList<>();
         
-        // Convert MSA contracts
+        // Convert MSA contracts (attachments of the whole page loaded at once)
+        Map<Integer, String> msaManifests = new HashMap<>();
+        for (Contract contract : msaPage.getContent()) {
+            msaManifests.put(contract.getId(), contract.getAttachmentsManifest());
+        }
+        Map<Integer, List<AttachmentInfo>> msaAttachments =
+            attachmentService.getAttachments(DocumentMetadata.ENTITY_MSA_CONTRACT, msaManifests);
         for (Contract contract : msaPage.getContent()) {
-            ContractListItemDTO dto = convertMSAToDTO(contract);
+            ContractListItemDTO dto = convertMSAToDTO(contract,
+                msaAttachments.getOrDefault(contract.getId(), Collections.emptyList()));
             contracts.add(dto);
         }
         
@@ -235,7 +250,7 @@ public class SalesContractService {
     /**
      * Convert MSA Contract to DTO
      */
-    private ContractListItemDTO convertMSAToDTO(Contract contract) {
+    private ContractListItemDTO convertMSAToDTO(Contract contract, List<AttachmentInfo> attachmentInfos) {
         ContractListItemDTO dto = new ContractListItemDTO();
         dto.setInternalId(contract.getId());
         dto.setId(generateContractId(contract.getId(), "MSA", contract.getCreatedAt()));
@@ -265,29 +280,16 @@ public class SalesContractService {
             });
         }
         
-        // Parse attachments_manifest JSON (similar to Proposal)
-        Gson gson = new Gson();
-        if (contract.getAttachmentsManifest() != null && !contract.getAttachmentsManifest().isEmpty()) {
-            try {
-                Type listType = new TypeToken<List<String>>(){}.getType();
-                List<String> attachments = gson.fromJson(contract.getAttachmentsManifest(), listType);
-                dto.setAttachments(attachments);
-            } catch (Exception e) {
-                // If parsing fails, use link as single attachment
-                List<String> attachments = new ArrayList<>();
-                if (contract.getLink() != null) {
-                    attachments.add(contract.getLink());
-                }
-                dto.setAttachments(attachments);
-            }
-        } else if (contract.getLink() != null) {
-            // If no manifest but has link, use link as single attachment
-            List<String> attachments = new ArrayList<>();
+        // Attachment S3 keys (similar to Proposal)
+        List<String> attachments = new ArrayList<>();
+        for (AttachmentInfo info : attachmentInfos) {
+            attachments.add(info.getS3Key());
+        }
+        if (attachments.isEmpty() && contract.getLink() != null) {
+            // If no attachments but has link, use link as single attachment
             attachments.add(contract.getLink());
-            dto.setAttachments(attachments);
-        } else {
-            dto.setAttachments(new ArrayList<>());
         }
+        dto.setAttachments(attachments);
         
         dto.setCreatedAt(contract.getCreatedAt() != null ? contract.getCreatedAt().toString() : null);
         return dto;
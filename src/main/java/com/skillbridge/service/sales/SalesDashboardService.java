@@ -34,7 +34,7 @@ import java.util.stream.Collectors;
  * Handles business logic for Sales Dashboard data aggregation with role-based filtering
  */
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class SalesDashboardService {
 
     @Autowired
@@ -61,6 +61,38 @@ public class SalesDashboardService {
     private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy/MM");
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
+    /**
+     * Summary bucket rules, shared with the dashboard event deltas (DashboardEventDTO)
+     */
+    public static boolean isNewContact(String status) {
+        return "New".equalsIgnoreCase(status);
+    }
+
+    public static boolean isProposalUnderReview(String status) {
+        return status != null && (
+            status.equalsIgnoreCase("under review") ||
+            status.equalsIgnoreCase("revision_requested")
+        );
+    }
+
+    public static boolean isMSAContractUnderReview(Contract.ContractStatus status) {
+        return status == Contract.ContractStatus.Under_Review ||
+            status == Contract.ContractStatus.Request_for_Change;
+    }
+
+    public static boolean isSOWContractUnderReview(SOWContract.SOWContractStatus status) {
+        return status == SOWContract.SOWContractStatus.Under_Review ||
+            status == SOWContract.SOWContractStatus.Request_for_Change;
+    }
+
+    public static boolean isChangeRequestUnderReview(String status) {
+        return status != null && (
+            status.equalsIgnoreCase("Under Review") ||
+            status.equalsIgnoreCase("Client Under Review") ||
+            status.equalsIgnoreCase("Pending")
+        );
+    }
+
     /**
      * Check if user is Sales Manager
      */
@@ -82,7 +114,7 @@ public class SalesDashboardService {
         List<Contact> contacts = getContacts(assigneeUserId);
         summary.getContacts().setAll(contacts.size());
         long newCount = contacts.stream()
-            .filter(c -> "New".equalsIgnoreCase(c.getStatus()))
+            .filter(c -> isNewContact(c.getStatus()))
             .count();
         summary.getContacts().setNewCount((int) newCount);
 
@@ -105,14 +137,7 @@ public class SalesDashboardService {
         List<Proposal> proposals = getProposals(assigneeUserId);
         summary.getProposals().setAll(proposals.size());
         long underReviewPropCount = proposals.stream()
-            .filter(p -> {
-                String status = p.getStatus();
-                return status != null && (
-                    status.equalsIgnoreCase("under review") ||
-                    status.equalsIgnoreCase("Under Review") ||
-                    status.equalsIgnoreCase("revision_requested")
-                );
-            })
+            .filter(p -> isProposalUnderReview(p.getStatus()))
             .count();
         summary.getProposals().setUnderReview((int) underReviewPropCount);
 
@@ -123,22 +148,10 @@ public class SalesDashboardService {
         summary.getContracts().setAll(totalContracts);
         
         long underReviewContractCount = msaContracts.stream()
-            .filter(c -> {
-                Contract.ContractStatus status = c.getStatus();
-                return status != null && (
-                    status == Contract.ContractStatus.Under_Review ||
-                    status == Contract.ContractStatus.Request_for_Change
-                );
-            })
+            .filter(c -> isMSAContractUnderReview(c.getStatus()))
             .count();
         underReviewContractCount += sowContracts.stream()
-            .filter(c -> {
-                SOWContract.SOWContractStatus status = c.getStatus();
-                return status != null && (
-                    status == SOWContract.SOWContractStatus.Under_Review ||
-                    status == SOWContract.SOWContractStatus.Request_for_Change
-                );
-            })
+            .filter(c -> isSOWContractUnderReview(c.getStatus()))
             .count();
         summary.getContracts().setUnderReview((int) underReviewContractCount);
 
@@ -146,14 +159,7 @@ public class SalesDashboardService {
         List<ChangeRequest> changeRequests = getChangeRequests(assigneeUserId);
         summary.getChangeRequests().setAll(changeRequests.size());
         long underReviewCRCount = changeRequests.stream()
-            .filter(cr -> {
-                String status = cr.getStatus();
-                return status != null && (
-                    status.equalsIgnoreCase("Under Review") ||
-                    status.equalsIgnoreCase("Client Under Review") ||
-                    status.equalsIgnoreCase("Pending")
-                );
-            })
+            .filter(cr -> isChangeRequestUnderReview(cr.getStatus()))
             .count();
         summary.getChangeRequests().setUnderReview((int) underReviewCRCount);
 
@@ -1,7 +1,5 @@
 package com.skillbridge.service.sales;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.skillbridge.dto.sales.request.CreateMSARequest;
 import com.skillbridge.dto.sales.request.CreateChangeRequestRequest;
 import com.skillbridge.dto.sales.response.MSAContractDTO;
@@ -34,6 +32,11 @@ import com.skillbridge.repository.opportunity.OpportunityRepository;
 import com.skillbridge.repository.proposal.ProposalRepository;
 import com.skillbridge.service.common.S3Service;
 import com.skillbridge.service.common.EmailService;
+import com.skillbridge.service.common.DashboardEventService;
+import com.skillbridge.service.common.AttachmentService;
+import com.skillbridge.service.common.DocumentPermissionService;
+import com.skillbridge.service.common.ReadFanOut;
+import com.skillbridge.dto.common.DashboardEventDTO;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -41,15 +44,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import com.skillbridge.dto.common.AttachmentInfo;
+import com.skillbridge.util.JsonCodec;
 
 /**
  * Sales MSA Contract Service
@@ -104,7 +111,20 @@ public class SalesMSAContractService {
     @Autowired
     private EmailService emailService;
     
-    private final Gson gson = new Gson();
+    @Autowired
+    private DashboardEventService dashboardEventService;
+    
+    @Autowired
+    private DocumentPermissionService documentPermissionService;
+    
+    @Autowired
+    private AttachmentService attachmentService;
+    
+    @Autowired
+    private JsonCodec jsonCodec;
+    
+    @Autowired(required = false)
+    private ReadFanOut readFanOut;
     
     private static final java.time.format.DateTimeFormatter DATE_FORMATTER = java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd");
     
@@ -195,8 +215,8 @@ public class SalesMSAContractService {
         if (attachments != null && attachments.length > 0) {
             List<AttachmentInfo> fileInfos = uploadAttachments(contract.getId(), attachments, currentUser.getId());
             if (!fileInfos.isEmpty()) {
+                attachmentService.replaceAttachments(DocumentMetadata.ENTITY_MSA_CONTRACT, contract.getId(), fileInfos);
                 contract.setLink(fileInfos.get(0).getS3Key()); // Store first file S3 key
-                contract.setAttachmentsManifest(gson.toJson(fileInfos));
                 contract = contractRepository.save(contract); // Update with file links
             }
         }
@@ -289,9 +309,12 @@ public class SalesMSAContractService {
     
     /**
      * Get MSA contract detail
+     * Runs without the class transaction and reads only through ReadFanOut, so no connection is
+     * held while the parallel reads are joined
      */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public MSAContractDetailDTO getMSAContractDetail(Integer contractId, User currentUser) {
-        Contract contract = contractRepository.findById(contractId)
+        Contract contract = ReadFanOut.read(readFanOut, () -> contractRepository.findById(contractId))
             .orElseThrow(() -> new RuntimeException("Contract not found"));
         
         // Check access permission (Sales Manager sees all, Sales Rep sees only assigned)
@@ -302,165 +325,70 @@ public class SalesMSAContractService {
         }
         
         // Load client information
-        User client = userRepository.findById(contract.getClientId())
+        User client = ReadFanOut.read(readFanOut, () -> userRepository.findById(contract.getClientId()))
             .orElseThrow(() -> new RuntimeException("Client not found"));
         
-        // Load assignee
-        User assignee = null;
-        if (contract.getAssigneeUserId() != null) {
-            assignee = userRepository.findById(contract.getAssigneeUserId()).orElse(null);
-        }
+        // Independent reads run in parallel, each on its own read-only connection
+        ReadFanOut.Scope reads = ReadFanOut.open(readFanOut);
         
-        // Load client contact (default to client, in real scenario might need separate mapping)
-        User clientContact = client; // Default to client
+        // Load assignee
+        ReadFanOut.Subtask<Optional<User>> assigneeRead = reads.fork(() -> contract.getAssigneeUserId() != null
+            ? userRepository.findById(contract.getAssigneeUserId()) : Optional.empty());
         
         // Load landbridge contact
-        User landbridgeContact = null;
-        if (contract.getLandbridgeContactEmail() != null) {
-            landbridgeContact = userRepository.findByEmail(contract.getLandbridgeContactEmail()).orElse(null);
-        }
-        if (landbridgeContact == null && assignee != null) {
-            landbridgeContact = assignee;
-        }
+        ReadFanOut.Subtask<Optional<User>> landbridgeContactRead = reads.fork(() -> contract.getLandbridgeContactEmail() != null
+            ? userRepository.findByEmail(contract.getLandbridgeContactEmail()) : Optional.empty());
+        
+        // Get reviewer info: first from contract.reviewerId (assigned reviewer), then from review if submitted
+        Integer reviewerId = contract.getReviewerId(); // Get assigned reviewer from contract
+        ReadFanOut.Subtask<Optional<User>> reviewerRead = reads.fork(() -> reviewerId != null
+            ? userRepository.findById(reviewerId) : Optional.empty());
         
         // Try to find opportunity (simplified - in real scenario might need contract_opportunity mapping)
-        String opportunityId = null;
-        if (client.getEmail() != null) {
+        ReadFanOut.Subtask<String> opportunityIdRead = reads.fork(() -> {
+            if (client.getEmail() == null) {
+                return null;
+            }
             List<Opportunity> opportunities = opportunityRepository.findAll().stream()
                 .filter(opp -> client.getEmail().equals(opp.getClientEmail()))
                 .filter(opp -> "WON".equals(opp.getStatus()))
                 .limit(1)
                 .collect(java.util.stream.Collectors.toList());
-            if (!opportunities.isEmpty()) {
-                opportunityId = opportunities.get(0).getOpportunityId();
-            }
-        }
+            return !opportunities.isEmpty() ? opportunities.get(0).getOpportunityId() : null;
+        });
         
-        // Load attachments from attachments_manifest (similar to Proposal)
-        // Priority: attachments_manifest > link > DocumentMetadata
-        List<MSAContractDetailDTO.AttachmentDTO> attachments = new ArrayList<>();
+        // Load attachments (attachments table, or attachments_manifest if not backfilled yet)
+        // Priority: attachments > link > DocumentMetadata
+        ReadFanOut.Subtask<List<MSAContractDetailDTO.AttachmentDTO>> attachmentsRead =
+            reads.fork(() -> loadMSAAttachments(contract));
         
-        // First, try to load from attachments_manifest
-        if (contract.getAttachmentsManifest() != null && !contract.getAttachmentsManifest().trim().isEmpty()) {
-            try {
-                // Try to parse as List<AttachmentInfo> (new format with fileName)
-                Type attachmentInfoListType = new TypeToken<List<AttachmentInfo>>(){}.getType();
-                List<AttachmentInfo> attachmentInfos = gson.fromJson(contract.getAttachmentsManifest(), attachmentInfoListType);
-                if (attachmentInfos != null && !attachmentInfos.isEmpty()) {
-                    for (AttachmentInfo info : attachmentInfos) {
-                        if (info.getS3Key() != null && !info.getS3Key().trim().isEmpty()) {
-                            attachments.add(new MSAContractDetailDTO.AttachmentDTO(info.getS3Key(), info.getFileName(), null));
-                        }
-                    }
-                } else {
-                    // Fallback: try to parse as List<String> (old format)
-                    Type stringListType = new TypeToken<List<String>>(){}.getType();
-                    List<String> attachmentLinks = gson.fromJson(contract.getAttachmentsManifest(), stringListType);
-                    if (attachmentLinks != null && !attachmentLinks.isEmpty()) {
-                        for (String s3Key : attachmentLinks) {
-                            if (s3Key != null && !s3Key.trim().isEmpty()) {
-                                String fileName = s3Key;
-                                if (fileName.contains("/")) {
-                                    fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                                }
-                                attachments.add(new MSAContractDetailDTO.AttachmentDTO(s3Key, fileName, null));
-                            }
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                // If parsing as AttachmentInfo fails, try List<String> (old format)
-                try {
-                    Type stringListType = new TypeToken<List<String>>(){}.getType();
-                    List<String> attachmentLinks = gson.fromJson(contract.getAttachmentsManifest(), stringListType);
-                    if (attachmentLinks != null && !attachmentLinks.isEmpty()) {
-                        for (String s3Key : attachmentLinks) {
-                            if (s3Key != null && !s3Key.trim().isEmpty()) {
-                                String fileName = s3Key;
-                                if (fileName.contains("/")) {
-                                    fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                                }
-                                attachments.add(new MSAContractDetailDTO.AttachmentDTO(s3Key, fileName, null));
-                            }
-                        }
-                    }
-                } catch (Exception e2) {
-                    System.err.println("Error parsing attachments_manifest for contract " + contractId + ": " + e2.getMessage());
-                    // Continue to fallback
-                }
-            }
-        }
+        // Get latest review info from contract_internal_review table (if review was submitted)
+        ReadFanOut.Subtask<Optional<ContractInternalReview>> reviewRead = reads.fork(() -> contractInternalReviewRepository
+            .findFirstByContractIdAndContractTypeOrderByReviewedAtDesc(contractId, "MSA"));
         
-        // If no attachments from manifest, try link
-        if (attachments.isEmpty() && contract.getLink() != null && !contract.getLink().trim().isEmpty()) {
-            String fileName = contract.getLink();
-            if (fileName.contains("/")) {
-                fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-            }
-            attachments.add(new MSAContractDetailDTO.AttachmentDTO(contract.getLink(), fileName, null));
-        }
+        // Load history
+        ReadFanOut.Subtask<List<ContractHistory>> historyRead =
+            reads.fork(() -> contractHistoryRepository.findByContractIdOrderByEntryDateDesc(contractId));
         
-        // Fallback: Always check DocumentMetadata (in case attachments_manifest is not set but files exist)
-        // This ensures backward compatibility and handles cases where files were uploaded but manifest wasn't updated
-        List<DocumentMetadata> documents = documentMetadataRepository.findByEntityIdAndEntityType(
-            contractId, "msa_contract");
+        reads.join();
+        User assignee = assigneeRead.get().orElse(null);
         
-        // If we have attachments from manifest/link, verify they exist in DocumentMetadata
-        // If we don't have attachments, use DocumentMetadata as source
-        if (attachments.isEmpty()) {
-            // No attachments from manifest/link, use DocumentMetadata
-            attachments = documents.stream()
-                .map(doc -> {
-                    String fileName = doc.getS3Key();
-                    if (fileName != null && fileName.contains("/")) {
-                        fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                    }
-                    return new MSAContractDetailDTO.AttachmentDTO(
-                        doc.getS3Key(),
-                        fileName,
-                        null
-                    );
-                })
-                .collect(java.util.stream.Collectors.toList());
-        } else if (!documents.isEmpty()) {
-            // We have attachments from manifest, but also check DocumentMetadata
-            // Merge any additional files from DocumentMetadata that aren't in manifest
-            List<String> existingS3Keys = attachments.stream()
-                .map(MSAContractDetailDTO.AttachmentDTO::getS3Key)
-                .collect(java.util.stream.Collectors.toList());
-            
-            for (DocumentMetadata doc : documents) {
-                if (doc.getS3Key() != null && !existingS3Keys.contains(doc.getS3Key())) {
-                    String fileName = doc.getS3Key();
-                    if (fileName.contains("/")) {
-                        fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                    }
-                    attachments.add(new MSAContractDetailDTO.AttachmentDTO(
-                        doc.getS3Key(),
-                        fileName,
-                        null
-                    ));
-                }
-            }
+        // Load client contact (default to client, in real scenario might need separate mapping)
+        User clientContact = client; // Default to client
+        
+        User landbridgeContact = landbridgeContactRead.get().orElse(null);
+        if (landbridgeContact == null && assignee != null) {
+            landbridgeContact = assignee;
         }
         
-        // Get reviewer info: first from contract.reviewerId (assigned reviewer), then from review if submitted
-        Integer reviewerId = contract.getReviewerId(); // Get assigned reviewer from contract
-        String reviewerName = null;
+        // Get reviewer name from contract.reviewerId
+        String reviewerName = reviewerRead.get().map(User::getFullName).orElse(null);
         String reviewNotes = null;
         String reviewAction = null;
         
-        // Get reviewer name from contract.reviewerId
-        if (reviewerId != null) {
-            User reviewer = userRepository.findById(reviewerId).orElse(null);
-            if (reviewer != null) {
-                reviewerName = reviewer.getFullName();
-            }
-        }
-        
-        // Get latest review info from contract_internal_review table (if review was submitted)
-        Optional<ContractInternalReview> reviewOpt = contractInternalReviewRepository
-            .findFirstByContractIdAndContractTypeOrderByReviewedAtDesc(contractId, "MSA");
+        String opportunityId = opportunityIdRead.get();
+        List<MSAContractDetailDTO.AttachmentDTO> attachments = attachmentsRead.get();
+        Optional<ContractInternalReview> reviewOpt = reviewRead.get();
         
         if (reviewOpt.isPresent()) {
             ContractInternalReview review = reviewOpt.get();
@@ -521,9 +449,8 @@ public class SalesMSAContractService {
         dto.setReviewAction(reviewAction);
         
         // Load history
-        List<ContractHistory> allHistory = contractHistoryRepository.findByContractIdOrderByEntryDateDesc(contractId);
         List<MSAContractDetailDTO.HistoryItemDTO> history = new ArrayList<>();
-        for (ContractHistory hist : allHistory) {
+        for (ContractHistory hist : historyRead.get()) {
             MSAContractDetailDTO.HistoryItemDTO historyDTO = new MSAContractDetailDTO.HistoryItemDTO();
             historyDTO.setId(hist.getId());
             historyDTO.setDate(hist.getEntryDate() != null ? hist.getEntryDate().toString() : null);
@@ -537,6 +464,73 @@ public class SalesMSAContractService {
         return dto;
     }
     
+    /**
+     * Load MSA attachments: attachments table (or attachments_manifest), then link, then DocumentMetadata
+     */
+    private List<MSAContractDetailDTO.AttachmentDTO> loadMSAAttachments(Contract contract) {
+        Integer contractId = contract.getId();
+        List<MSAContractDetailDTO.AttachmentDTO> attachments = new ArrayList<>();
+        
+        for (AttachmentInfo info : attachmentService.getAttachments(
+                DocumentMetadata.ENTITY_MSA_CONTRACT, contract.getId(), contract.getAttachmentsManifest())) {
+            attachments.add(new MSAContractDetailDTO.AttachmentDTO(info.getS3Key(), info.getFileName(), null));
+        }
+        
+        // If no attachments from manifest, try link
+        if (attachments.isEmpty() && contract.getLink() != null && !contract.getLink().trim().isEmpty()) {
+            String fileName = contract.getLink();
+            if (fileName.contains("/")) {
+                fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
+            }
+            attachments.add(new MSAContractDetailDTO.AttachmentDTO(contract.getLink(), fileName, null));
+        }
+        
+        // Fallback: Always check DocumentMetadata (in case attachments_manifest is not set but files exist)
+        // This ensures backward compatibility and handles cases where files were uploaded but manifest wasn't updated
+        List<DocumentMetadata> documents = documentMetadataRepository.findByEntityIdAndEntityType(
+            contractId, "msa_contract");
+        
+        // If we have attachments from manifest/link, verify they exist in DocumentMetadata
+        // If we don't have attachments, use DocumentMetadata as source
+        if (attachments.isEmpty()) {
+            // No attachments from manifest/link, use DocumentMetadata
+            attachments = documents.stream()
+                .map(doc -> {
+                    String fileName = doc.getS3Key();
+                    if (fileName != null && fileName.contains("/")) {
+                        fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
+                    }
+                    return new MSAContractDetailDTO.AttachmentDTO(
+                        doc.getS3Key(),
+                        fileName,
+                        null
+                    );
+                })
+                .collect(java.util.stream.Collectors.toList());
+        } else if (!documents.isEmpty()) {
+            // We have attachments from manifest, but also check DocumentMetadata
+            // Merge any additional files from DocumentMetadata that aren't in manifest
+            List<String> existingS3Keys = attachments.stream()
+                .map(MSAContractDetailDTO.AttachmentDTO::getS3Key)
+                .collect(java.util.stream.Collectors.toList());
+            
+            for (DocumentMetadata doc : documents) {
+                if (doc.getS3Key() != null && !existingS3Keys.contains(doc.getS3Key())) {
+                    String fileName = doc.getS3Key();
+                    if (fileName.contains("/")) {
+                        fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
+                    }
+                    attachments.add(new MSAContractDetailDTO.AttachmentDTO(
+                        doc.getS3Key(),
+                        fileName,
+                        null
+                    ));
+                }
+            }
+        }
+        return attachments;
+    }
+    
     /**
      * Update MSA contract (only allowed when status is Draft)
      */
@@ -646,47 +640,17 @@ public class SalesMSAContractService {
                 contract = contractRepository.findById(contract.getId())
                     .orElseThrow(() -> new RuntimeException("Contract not found after save"));
                 
-                // If contract already has attachments, merge with new ones
-                List<AttachmentInfo> existingInfos = new ArrayList<>();
-                if (contract.getAttachmentsManifest() != null && !contract.getAttachmentsManifest().trim().isEmpty()) {
-                    try {
-                        // Try to parse as List<AttachmentInfo> (new format)
-                        Type attachmentInfoListType = new TypeToken<List<AttachmentInfo>>(){}.getType();
-                        existingInfos = gson.fromJson(contract.getAttachmentsManifest(), attachmentInfoListType);
-                        if (existingInfos == null) {
-                            // Fallback: try to parse as List<String> (old format)
-                            Type stringListType = new TypeToken<List<String>>(){}.getType();
-                            List<String> existingLinks = gson.fromJson(contract.getAttachmentsManifest(), stringListType);
-                            if (existingLinks != null) {
-                                for (String s3Key : existingLinks) {
-                                    String fileName = s3Key;
-                                    if (fileName.contains("/")) {
-                                        fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                                    }
-                                    existingInfos.add(new AttachmentInfo(s3Key, fileName));
-                                }
-                            }
-                        }
-                        System.out.println("Existing attachments from manifest: " + existingInfos.size());
-                    } catch (Exception e) {
-                        System.err.println("Error parsing existing attachments_manifest: " + e.getMessage());
-                        // If parsing fails, start fresh
-                        existingInfos = new ArrayList<>();
-                    }
-                }
-                if (existingInfos == null) {
-                    existingInfos = new ArrayList<>();
-                }
-                existingInfos.addAll(fileInfos);
-                System.out.println("Merged attachments list: " + existingInfos.size() + " files");
+                // Append after existing attachments
+                List<AttachmentInfo> allInfos = attachmentService.appendAttachments(
+                    DocumentMetadata.ENTITY_MSA_CONTRACT, contract.getId(), contract.getAttachmentsManifest(), fileInfos);
+                System.out.println("Merged attachments list: " + allInfos.size() + " files");
                 
-                contract.setLink(existingInfos.get(0).getS3Key()); // Store first file S3 key
-                contract.setAttachmentsManifest(gson.toJson(existingInfos));
-                System.out.println("Saving contract with link: " + contract.getLink() + ", manifest: " + contract.getAttachmentsManifest());
+                contract.setLink(allInfos.get(0).getS3Key()); // Store first file S3 key
+                contract.setAttachmentsManifest(null); // Attachments now live in the attachments table
                 
                 contract = contractRepository.save(contract); // Update with file links
                 contractRepository.flush(); // Force flush to database
-                System.out.println("Contract saved successfully. Contract ID: " + contract.getId() + ", Link: " + contract.getLink() + ", Manifest length: " + (contract.getAttachmentsManifest() != null ? contract.getAttachmentsManifest().length() : 0));
+                System.out.println("Contract saved successfully. Contract ID: " + contract.getId() + ", Link: " + contract.getLink());
             } else {
                 System.out.println("No files were uploaded (fileLinks is empty)");
             }
@@ -725,6 +689,8 @@ public class SalesMSAContractService {
             throw new RuntimeException("Only Sales Managers can submit reviews");
         }
         
+        Contract.ContractStatus previousStatus = contract.getStatus();
+        
         // Update contract status based on action
         if ("APPROVE".equalsIgnoreCase(action)) {
             // When approved, change status to "Client Under Review" (mapped from Under_Review enum)
@@ -763,6 +729,21 @@ public class SalesMSAContractService {
         }
         dto.setStatus(statusDisplay);
         
+        // Push dashboard deltas (after commit)
+        String eventDescription = dto.getContractId() + " reviewed: " + statusDisplay;
+        dashboardEventService.publishToSales(
+            Collections.singletonList(contract.getAssigneeUserId()),
+            DashboardEventDTO.activity("CONTRACT", contract.getId(), eventDescription)
+                .transition("contracts.underReview", SalesDashboardService::isMSAContractUnderReview,
+                    previousStatus, contract.getStatus())
+        );
+        if ("APPROVE".equalsIgnoreCase(action) && contract.getClientId() != null) {
+            dashboardEventService.publishToUsers(
+                Collections.singletonList(contract.getClientId()),
+                DashboardEventDTO.activity("contract", contract.getId(), dto.getContractId() + " is pending your approval")
+            );
+        }
+        
         // Send email notification to client when Sales Manager approves contract
         if ("APPROVE".equalsIgnoreCase(action)) {
             try {
@@ -840,6 +821,8 @@ public class SalesMSAContractService {
             return fileInfos;
         }
         
+        // Start all uploads at once; metadata is saved below in the original order
+        Map<MultipartFile, CompletableFuture<String>> uploads = new LinkedHashMap<>();
         for (MultipartFile file : attachments) {
             if (file.isEmpty()) {
                 System.out.println("Skipping empty file: " + file.getOriginalFilename());
@@ -855,9 +838,14 @@ public class SalesMSAContractService {
                 continue; // Skip non-PDF files
             }
             
+            uploads.put(file, s3Service.uploadFileAsync(file, "contracts/msa/" + contractId));
+        }
+        
+        for (Map.Entry<MultipartFile, CompletableFuture<String>> upload : uploads.entrySet()) {
+            String originalFileName = upload.getKey().getOriginalFilename();
             try {
-                // Upload to S3 (returns S3 key)
-                String s3Key = s3Service.uploadFile(file, "contracts/msa/" + contractId);
+                // Wait for the upload to S3 (returns S3 key)
+                String s3Key = s3Service.awaitUpload(upload.getValue());
                 System.out.println("File uploaded successfully. S3 key: " + s3Key);
                 fileInfos.add(new AttachmentInfo(s3Key, originalFileName));
                 
@@ -869,8 +857,9 @@ public class SalesMSAContractService {
                 metadata.setEntityId(contractId);
                 metadata.setEntityType("msa_contract");
                 // Allow SALES_MANAGER and SALES_REP roles to access
-                metadata.setAllowedRoles(gson.toJson(Arrays.asList("SALES_MANAGER", "SALES_REP")));
+                metadata.setAllowedRoles(jsonCodec.writeStringList(Arrays.asList("SALES_MANAGER", "SALES_REP")));
                 documentMetadataRepository.save(metadata);
+                documentPermissionService.indexDocument(metadata);
                 System.out.println("DocumentMetadata saved for S3 key: " + s3Key);
             } catch (IOException e) {
                 System.err.println("IOException uploading file: " + originalFileName + " - " + e.getMessage());
@@ -907,72 +896,11 @@ public class SalesMSAContractService {
             throw new RuntimeException("Attachments can only be deleted when contract status is Draft. Current status: " + contract.getStatus().name());
         }
         
-        // Remove from attachments_manifest
-        if (contract.getAttachmentsManifest() != null && !contract.getAttachmentsManifest().trim().isEmpty()) {
-            try {
-                // Try to parse as List<AttachmentInfo> (new format)
-                Type attachmentInfoListType = new TypeToken<List<AttachmentInfo>>(){}.getType();
-                List<AttachmentInfo> attachmentInfos = gson.fromJson(contract.getAttachmentsManifest(), attachmentInfoListType);
-                if (attachmentInfos != null && !attachmentInfos.isEmpty()) {
-                    boolean removed = attachmentInfos.removeIf(info -> s3Key.equals(info.getS3Key()));
-                    if (!removed) {
-                        throw new RuntimeException("Attachment not found in contract");
-                    }
-                    
-                    // Update contract
-                    if (attachmentInfos.isEmpty()) {
-                        contract.setLink(null);
-                        contract.setAttachmentsManifest(null);
-                    } else {
-                        contract.setLink(attachmentInfos.get(0).getS3Key());
-                        contract.setAttachmentsManifest(gson.toJson(attachmentInfos));
-                    }
-                } else {
-                    // Fallback: try to parse as List<String> (old format)
-                    Type stringListType = new TypeToken<List<String>>(){}.getType();
-                    List<String> attachmentLinks = gson.fromJson(contract.getAttachmentsManifest(), stringListType);
-                    if (attachmentLinks != null) {
-                        boolean removed = attachmentLinks.remove(s3Key);
-                        if (!removed) {
-                            throw new RuntimeException("Attachment not found in contract");
-                        }
-                        
-                        // Update contract
-                        if (attachmentLinks.isEmpty()) {
-                            contract.setLink(null);
-                            contract.setAttachmentsManifest(null);
-                        } else {
-                            contract.setLink(attachmentLinks.get(0));
-                            contract.setAttachmentsManifest(gson.toJson(attachmentLinks));
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                // If parsing as AttachmentInfo fails, try List<String> (old format)
-                try {
-                    Type stringListType = new TypeToken<List<String>>(){}.getType();
-                    List<String> attachmentLinks = gson.fromJson(contract.getAttachmentsManifest(), stringListType);
-                    if (attachmentLinks != null) {
-                        boolean removed = attachmentLinks.remove(s3Key);
-                        if (!removed) {
-                            throw new RuntimeException("Attachment not found in contract");
-                        }
-                        
-                        // Update contract
-                        if (attachmentLinks.isEmpty()) {
-                            contract.setLink(null);
-                            contract.setAttachmentsManifest(null);
-                        } else {
-                            contract.setLink(attachmentLinks.get(0));
-                            contract.setAttachmentsManifest(gson.toJson(attachmentLinks));
-                        }
-                    }
-                } catch (Exception e2) {
-                    System.err.println("Error parsing attachments_manifest: " + e2.getMessage());
-                    throw new RuntimeException("Failed to parse attachments manifest", e2);
-                }
-            }
-        }
+        // Remove from attachments
+        List<AttachmentInfo> remaining = attachmentService.removeAttachment(
+            DocumentMetadata.ENTITY_MSA_CONTRACT, contract.getId(), contract.getAttachmentsManifest(), s3Key);
+        contract.setLink(remaining.isEmpty() ? null : remaining.get(0).getS3Key());
+        contract.setAttachmentsManifest(null);
         contractRepository.save(contract);
         contractRepository.flush();
         
@@ -990,7 +918,7 @@ public class SalesMSAContractService {
         // Delete from DocumentMetadata
         Optional<DocumentMetadata> docMeta = documentMetadataRepository.findByS3Key(s3Key);
         if (docMeta.isPresent()) {
-            documentMetadataRepository.delete(docMeta.get());
+            documentPermissionService.removeDocument(docMeta.get());
             System.out.println("DocumentMetadata deleted for S3 key: " + s3Key);
         }
         
@@ -1066,7 +994,7 @@ public class SalesMSAContractService {
         if (request.getReferences() != null && !request.getReferences().trim().isEmpty()) {
             List<String> evidenceList = new ArrayList<>();
             evidenceList.add(request.getReferences());
-            changeRequest.setEvidence(gson.toJson(evidenceList));
+            changeRequest.setEvidence(jsonCodec.writeStringList(evidenceList));
         }
         
         // Calculate total amount from billing details
@@ -1187,6 +1115,8 @@ public class SalesMSAContractService {
         
         List<String> fileLinks = new ArrayList<>();
         
+        // Validate all files before uploading any of them
+        List<MultipartFile> validFiles = new ArrayList<>();
         for (MultipartFile file : files) {
             if (file.isEmpty()) {
                 continue;
@@ -1203,15 +1133,26 @@ public class SalesMSAContractService {
             if (file.getSize() > maxSize) {
                 throw new RuntimeException("File size exceeds 10MB limit. File: " + file.getOriginalFilename());
             }
-            
+            validFiles.add(file);
+        }
+        
+        // Start all S3 uploads at once; attachments are saved below in the original order
+        Map<MultipartFile, CompletableFuture<String>> uploads = new LinkedHashMap<>();
+        if (s3Enabled && s3Service != null) {
+            for (MultipartFile file : validFiles) {
+                String fileName = file.getOriginalFilename();
+                String uniqueFileName = "change-requests/" + changeRequestId + "/" + System.currentTimeMillis() + "_" + fileName;
+                uploads.put(file, s3Service.uploadFileAsync(file, uniqueFileName));
+            }
+        }
+        
+        for (MultipartFile file : validFiles) {
             try {
                 String s3Key = null;
                 
                 // Upload to S3 if enabled
                 if (s3Enabled && s3Service != null) {
-                    String fileName = file.getOriginalFilename();
-                    String uniqueFileName = "change-requests/" + changeRequestId + "/" + System.currentTimeMillis() + "_" + fileName;
-                    s3Key = s3Service.uploadFile(file, uniqueFileName);
+                    s3Key = s3Service.awaitUpload(uploads.get(file));
                     fileLinks.add(s3Key);
                 } else {
                     // Save to local storage
@@ -1384,7 +1325,7 @@ public class SalesMSAContractService {
         String references = null;
         if (changeRequest.getEvidence() != null && !changeRequest.getEvidence().trim().isEmpty()) {
             try {
-                List<String> evidenceList = gson.fromJson(changeRequest.getEvidence(), new TypeToken<List<String>>(){}.getType());
+                List<String> evidenceList = jsonCodec.readStringList(changeRequest.getEvidence());
                 if (evidenceList != null && !evidenceList.isEmpty()) {
                     references = String.join(", ", evidenceList);
                 }
@@ -1473,7 +1414,7 @@ public class SalesMSAContractService {
         if (request.getReferences() != null) {
             List<String> evidenceList = new ArrayList<>();
             evidenceList.add(request.getReferences());
-            changeRequest.setEvidence(gson.toJson(evidenceList));
+            changeRequest.setEvidence(jsonCodec.writeStringList(evidenceList));
         }
         if (request.getComment() != null) {
             changeRequest.setReason(request.getComment());
@@ -1,7 +1,5 @@
 package com.skillbridge.service.sales;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.skillbridge.dto.sales.request.CreateOpportunityRequest;
 import com.skillbridge.dto.sales.request.UpdateOpportunityRequest;
 import com.skillbridge.dto.sales.response.OpportunityDetailDTO;
@@ -10,6 +8,7 @@ import com.skillbridge.dto.sales.response.HistoryEntryDTO;
 import com.skillbridge.dto.sales.response.ProposalVersionDTO;
 import com.skillbridge.entity.auth.User;
 import com.skillbridge.entity.contact.Contact;
+import com.skillbridge.entity.document.DocumentMetadata;
 import com.skillbridge.entity.opportunity.Opportunity;
 import com.skillbridge.entity.proposal.Proposal;
 import com.skillbridge.entity.proposal.ProposalHistory;
@@ -18,11 +17,13 @@ import com.skillbridge.repository.contact.ContactRepository;
 import com.skillbridge.repository.opportunity.OpportunityRepository;
 import com.skillbridge.repository.proposal.ProposalHistoryRepository;
 import com.skillbridge.repository.proposal.ProposalRepository;
+import com.skillbridge.service.common.AttachmentService;
+import com.skillbridge.service.common.ReadFanOut;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -53,7 +54,11 @@ public class SalesOpportunityDetailService {
     @Autowired
     private ProposalHistoryRepository proposalHistoryRepository;
 
-    private final Gson gson = new Gson();
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired(required = false)
+    private ReadFanOut readFanOut;
 
     /**
      * Create opportunity from contact
@@ -101,7 +106,10 @@ public class SalesOpportunityDetailService {
     /**
      * Get opportunity by ID with proposal
      * Supports both numeric ID and opportunityId string format (e.g., "OP-2025-01")
+     * Not transactional and reads only through ReadFanOut, so no connection is held while the
+     * parallel reads are joined
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OpportunityDetailDTO getOpportunityById(String opportunityId, User currentUser) {
         Opportunity opportunity;
         
@@ -109,11 +117,11 @@ public class SalesOpportunityDetailService {
         if (opportunityId.matches("\\d+")) {
             // Numeric ID - find by ID
             Integer id = Integer.parseInt(opportunityId);
-            opportunity = opportunityRepository.findById(id)
+            opportunity = ReadFanOut.read(readFanOut, () -> opportunityRepository.findById(id))
                 .orElseThrow(() -> new RuntimeException("Opportunity not found"));
         } else {
             // String format - find by opportunityId
-            opportunity = opportunityRepository.findByOpportunityId(opportunityId)
+            opportunity = ReadFanOut.read(readFanOut, () -> opportunityRepository.findByOpportunityId(opportunityId))
                 .orElseThrow(() -> new RuntimeException("Opportunity not found"));
         }
 
@@ -125,33 +133,52 @@ public class SalesOpportunityDetailService {
             }
         }
 
-        OpportunityDetailDTO dto = convertToDetailDTO(opportunity);
+        // Independent reads run in parallel, each on its own read-only connection
+        ReadFanOut.Scope reads = ReadFanOut.open(readFanOut);
+        Integer id = opportunity.getId();
 
         // Load current proposal if exists
-        Optional<Proposal> currentProposalOpt = proposalRepository.findByOpportunityIdAndIsCurrent(opportunity.getId(), true);
-        if (currentProposalOpt.isPresent()) {
+        ReadFanOut.Subtask<ProposalDTO> proposalRead = reads.fork(() -> {
+            Optional<Proposal> currentProposalOpt = proposalRepository.findByOpportunityIdAndIsCurrent(id, true);
+            if (currentProposalOpt.isEmpty()) {
+                return null;
+            }
             Proposal proposal = currentProposalOpt.get();
             ProposalDTO proposalDTO = convertProposalToDTO(proposal);
 
             // Calculate if proposal can be edited
             proposalDTO.setCanEdit(canEditProposal(proposal));
+            return proposalDTO;
+        });
+
+        // Load all proposal versions
+        ReadFanOut.Subtask<List<Proposal>> allProposalsRead = reads.fork(() ->
+            proposalRepository.findByOpportunityIdOrderByVersionDesc(id));
 
-            dto.setProposal(proposalDTO);
+        // Load history
+        ReadFanOut.Subtask<List<HistoryEntryDTO>> historyRead = reads.fork(() ->
+            proposalHistoryRepository.findByOpportunityIdOrderByCreatedAtDesc(id).stream()
+                .map(this::convertToHistoryEntryDTO)
+                .collect(java.util.stream.Collectors.toList()));
+
+        // Opportunity fields, assignee and creator names
+        Opportunity loaded = opportunity;
+        ReadFanOut.Subtask<OpportunityDetailDTO> detailRead = reads.fork(() -> convertToDetailDTO(loaded));
+
+        reads.join();
+        OpportunityDetailDTO dto = detailRead.get();
+        if (proposalRead.get() != null) {
+            dto.setProposal(proposalRead.get());
         }
 
-        // Load all proposal versions
-        List<Proposal> allProposals = proposalRepository.findByOpportunityIdOrderByVersionDesc(opportunity.getId());
-        List<ProposalVersionDTO> proposalVersions = allProposals.stream()
+        // Creator and reviewer names of each version
+        List<Proposal> allProposals = allProposalsRead.get();
+        List<ProposalVersionDTO> proposalVersions = ReadFanOut.read(readFanOut, () -> allProposals.stream()
             .map(this::convertToProposalVersionDTO)
-            .collect(java.util.stream.Collectors.toList());
+            .collect(java.util.stream.Collectors.toList()));
         dto.setProposalVersions(proposalVersions);
 
-        // Load history
-        List<ProposalHistory> historyList = proposalHistoryRepository.findByOpportunityIdOrderByCreatedAtDesc(opportunity.getId());
-        List<HistoryEntryDTO> history = historyList.stream()
-            .map(this::convertToHistoryEntryDTO)
-            .collect(java.util.stream.Collectors.toList());
-        dto.setHistory(history);
+        dto.setHistory(historyRead.get());
 
         // Check if can convert to contract (if any proposal is approved)
         boolean canConvert = allProposals.stream()
@@ -331,58 +358,14 @@ public class SalesOpportunityDetailService {
         dto.setCreatedAt(proposal.getCreatedAt());
         dto.setUpdatedAt(proposal.getUpdatedAt());
 
-        // Parse attachments_manifest JSON
+        // Load attachments (attachments table, or attachments_manifest if not backfilled yet)
         List<ProposalDTO.AttachmentDTO> attachments = new ArrayList<>();
-        if (proposal.getAttachmentsManifest() != null && !proposal.getAttachmentsManifest().isEmpty()) {
-            try {
-                // Try to parse as List<AttachmentInfo> (new format with fileName)
-                Type attachmentInfoListType = new TypeToken<List<AttachmentInfo>>(){}.getType();
-                List<AttachmentInfo> attachmentInfos = gson.fromJson(proposal.getAttachmentsManifest(), attachmentInfoListType);
-                if (attachmentInfos != null && !attachmentInfos.isEmpty()) {
-                    for (AttachmentInfo info : attachmentInfos) {
-                        attachments.add(new ProposalDTO.AttachmentDTO(info.getS3Key(), info.getFileName(), null));
-                    }
-                } else {
-                    // Fallback: try to parse as List<String> (old format)
-                    Type stringListType = new TypeToken<List<String>>(){}.getType();
-                    List<String> attachmentLinks = gson.fromJson(proposal.getAttachmentsManifest(), stringListType);
-                    if (attachmentLinks != null) {
-                        for (String s3Key : attachmentLinks) {
-                            String fileName = s3Key;
-                            if (fileName.contains("/")) {
-                                fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                            }
-                            attachments.add(new ProposalDTO.AttachmentDTO(s3Key, fileName, null));
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                // If parsing as AttachmentInfo fails, try List<String> (old format)
-                try {
-                    Type stringListType = new TypeToken<List<String>>(){}.getType();
-                    List<String> attachmentLinks = gson.fromJson(proposal.getAttachmentsManifest(), stringListType);
-                    if (attachmentLinks != null) {
-                        for (String s3Key : attachmentLinks) {
-                            String fileName = s3Key;
-                            if (fileName.contains("/")) {
-                                fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                            }
-                            attachments.add(new ProposalDTO.AttachmentDTO(s3Key, fileName, null));
-                        }
-                    }
-                } catch (Exception e2) {
-                    // If both fail, use link as single attachment
-                    if (proposal.getLink() != null) {
-                        String fileName = proposal.getLink();
-                        if (fileName.contains("/")) {
-                            fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                        }
-                        attachments.add(new ProposalDTO.AttachmentDTO(proposal.getLink(), fileName, null));
-                    }
-                }
-            }
-        } else if (proposal.getLink() != null) {
-            // If no manifest but has link, use link as single attachment
+        for (AttachmentInfo info : attachmentService.getAttachments(
+                DocumentMetadata.ENTITY_PROPOSAL, proposal.getID(), proposal.getAttachmentsManifest())) {
+            attachments.add(new ProposalDTO.AttachmentDTO(info.getS3Key(), info.getFileName(), null));
+        }
+        if (attachments.isEmpty() && proposal.getLink() != null) {
+            // If no attachments but has link, use link as single attachment
             String fileName = proposal.getLink();
             if (fileName.contains("/")) {
                 fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
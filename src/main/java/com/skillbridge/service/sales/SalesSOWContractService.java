@@ -1,11 +1,10 @@
 package com.skillbridge.service.sales;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.skillbridge.dto.sales.request.CreateSOWRequest;
 import com.skillbridge.dto.sales.request.CreateChangeRequestRequest;
 import com.skillbridge.dto.sales.response.SOWContractDTO;
 import com.skillbridge.dto.sales.response.SOWContractDetailDTO;
+import com.skillbridge.dto.sales.response.SOWContractVersionDTO;
 import com.skillbridge.dto.sales.response.ChangeRequestListItemDTO;
 import com.skillbridge.dto.sales.response.ChangeRequestsListResponseDTO;
 import com.skillbridge.dto.sales.response.ChangeRequestResponseDTO;
@@ -28,36 +27,50 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import com.skillbridge.service.common.S3Service;
 import com.skillbridge.service.common.EmailService;
+import com.skillbridge.service.common.DashboardEventService;
+import com.skillbridge.service.common.AttachmentService;
+import com.skillbridge.service.common.DocumentPermissionService;
+import com.skillbridge.service.common.ReadFanOut;
+import com.skillbridge.dto.common.DashboardEventDTO;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.web.multipart.MultipartFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import com.skillbridge.dto.common.AttachmentInfo;
+import com.skillbridge.util.JsonCodec;
 
 /**
  * Sales SOW Contract Service
  * Handles business logic for creating SOW contracts
  */
 @Service
+@Timed("service.method")
 @Transactional
 public class SalesSOWContractService {
     
     private static final Logger logger = LoggerFactory.getLogger(SalesSOWContractService.class);
     
+    private static final List<String> SUPPORTED_SOW_CR_TYPES = Arrays.asList(
+        "RESOURCE_CHANGE", "SCHEDULE_CHANGE", "SCOPE_ADJUSTMENT", "RATE_ADJUSTMENT");
+    
     @Autowired
     private SOWContractRepository sowContractRepository;
     
@@ -127,7 +140,29 @@ public class SalesSOWContractService {
     @Autowired
     private EmailService emailService;
     
-    private final Gson gson = new Gson();
+    @Autowired
+    private DashboardEventService dashboardEventService;
+    
+    @Autowired
+    private DocumentPermissionService documentPermissionService;
+    
+    @Autowired
+    private AttachmentService attachmentService;
+    
+    @Autowired
+    private SOWLineItemBatchRepository sowLineItemBatchRepository;
+    
+    @Autowired
+    private ChangeRequestApprovalJobRepository changeRequestApprovalJobRepository;
+    
+    @Autowired
+    private SOWContractVersionService sowContractVersionService;
+    
+    @Autowired
+    private JsonCodec jsonCodec;
+    
+    @Autowired(required = false)
+    private ReadFanOut readFanOut;
     
     /**
      * Create SOW contract
@@ -281,8 +316,8 @@ public class SalesSOWContractService {
         if (attachments != null && attachments.length > 0) {
             List<AttachmentInfo> fileInfos = uploadAttachments(contract.getId(), attachments, currentUser.getId());
             if (!fileInfos.isEmpty()) {
+                attachmentService.replaceAttachments(DocumentMetadata.ENTITY_SOW_CONTRACT, contract.getId(), fileInfos);
                 contract.setLink(fileInfos.get(0).getS3Key()); // Store first file S3 key
-                contract.setAttachmentsManifest(gson.toJson(fileInfos));
                 contract = sowContractRepository.save(contract); // Update with file links
                 sowContractRepository.flush(); // Force flush to database
             }
@@ -324,6 +359,8 @@ public class SalesSOWContractService {
             throw new RuntimeException("Only the assigned reviewer can submit review");
         }
         
+        SOWContract.SOWContractStatus previousStatus = contract.getStatus();
+        
         // Update contract status based on action
         if ("APPROVE".equalsIgnoreCase(action)) {
             // When approved, change status to "Client Under Review" (mapped from Under_Review enum)
@@ -362,6 +399,21 @@ public class SalesSOWContractService {
         }
         dto.setStatus(statusDisplay);
         
+        // Push dashboard deltas (after commit)
+        String eventDescription = contractIdForDto + " reviewed: " + statusDisplay;
+        dashboardEventService.publishToSales(
+            Collections.singletonList(contract.getAssigneeUserId()),
+            DashboardEventDTO.activity("CONTRACT", contract.getId(), eventDescription)
+                .transition("contracts.underReview", SalesDashboardService::isSOWContractUnderReview,
+                    previousStatus, contract.getStatus())
+        );
+        if ("APPROVE".equalsIgnoreCase(action) && contract.getClientId() != null) {
+            dashboardEventService.publishToUsers(
+                Collections.singletonList(contract.getClientId()),
+                DashboardEventDTO.activity("contract", contract.getId(), contractIdForDto + " is pending your approval")
+            );
+        }
+        
         // Send email notification to client when Sales Manager approves contract
         if ("APPROVE".equalsIgnoreCase(action)) {
             try {
@@ -686,36 +738,10 @@ public class SalesSOWContractService {
                 contract = sowContractRepository.findById(contractId)
                     .orElseThrow(() -> new RuntimeException("Contract not found after save"));
                 
-                List<AttachmentInfo> existingInfos = new ArrayList<>();
-                if (contract.getAttachmentsManifest() != null && !contract.getAttachmentsManifest().trim().isEmpty()) {
-                    try {
-                        // Try to parse as List<AttachmentInfo> (new format)
-                        Type attachmentInfoListType = new TypeToken<List<AttachmentInfo>>(){}.getType();
-                        existingInfos = gson.fromJson(contract.getAttachmentsManifest(), attachmentInfoListType);
-                        if (existingInfos == null) {
-                            // Fallback: try to parse as List<String> (old format)
-                            Type stringListType = new TypeToken<List<String>>(){}.getType();
-                            List<String> existingLinks = gson.fromJson(contract.getAttachmentsManifest(), stringListType);
-                            if (existingLinks != null) {
-                                for (String s3Key : existingLinks) {
-                                    String fileName = s3Key;
-                                    if (fileName.contains("/")) {
-                                        fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                                    }
-                                    existingInfos.add(new AttachmentInfo(s3Key, fileName));
-                                }
-                            }
-                        }
-                    } catch (Exception e) {
-                        System.out.println("Error parsing attachments manifest: " + e.getMessage());
-                        existingInfos = new ArrayList<>();
-                    }
-                }
-                if (existingInfos == null) {
-                    existingInfos = new ArrayList<>();
-                }
-                existingInfos.addAll(fileInfos);
-                contract.setAttachmentsManifest(gson.toJson(existingInfos));
+                // Append after existing attachments
+                attachmentService.appendAttachments(
+                    DocumentMetadata.ENTITY_SOW_CONTRACT, contractId, contract.getAttachmentsManifest(), fileInfos);
+                contract.setAttachmentsManifest(null); // Attachments now live in the attachments table
                 contract = sowContractRepository.save(contract);
             }
         }
@@ -772,7 +798,10 @@ public class SalesSOWContractService {
         return versionDTOs;
     }
     
-    public SOWContractDetailDTO getSOWContractDetail(Integer contractId, User currentUser) {
+    /**
+     * Get the version history of a SOW contract (field-level deltas, no per-version detail load)
+     */
+    public List<SOWContractVersionDTO> getSOWContractVersionHistory(Integer contractId, User currentUser) {
         SOWContract contract = sowContractRepository.findById(contractId)
             .orElseThrow(() -> new RuntimeException("SOW Contract not found"));
         
@@ -783,96 +812,215 @@ public class SalesSOWContractService {
             }
         }
         
+        return sowContractVersionService.getVersionHistory(contract);
+    }
+    
+    /**
+     * Get one version of a SOW contract, rebuilt from the current row and its deltas
+     */
+    public SOWContractVersionDTO getSOWContractVersion(Integer contractId, Integer version, User currentUser) {
+        SOWContract contract = sowContractRepository.findById(contractId)
+            .orElseThrow(() -> new RuntimeException("SOW Contract not found"));
+        
+        // Check access permission (Sales Manager sees all, Sales Rep sees only assigned)
+        if (!"SALES_MANAGER".equals(currentUser.getRole())) {
+            if (contract.getAssigneeUserId() == null || !contract.getAssigneeUserId().equals(currentUser.getId())) {
+                throw new RuntimeException("Access denied: You can only view contracts assigned to you");
+            }
+        }
+        
+        return sowContractVersionService.getVersion(contract, version);
+    }
+    
+    /**
+     * Get SOW contract detail
+     * Runs without the class transaction and reads only through ReadFanOut, so no connection is
+     * held while the parallel reads are joined
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public SOWContractDetailDTO getSOWContractDetail(Integer contractId, User currentUser) {
+        SOWContract contract = ReadFanOut.read(readFanOut, () -> sowContractRepository.findById(contractId))
+            .orElseThrow(() -> new RuntimeException("SOW Contract not found"));
+        
+        // Check access permission (Sales Manager sees all, Sales Rep sees only assigned)
+        if (!"SALES_MANAGER".equals(currentUser.getRole())) {
+            if (contract.getAssigneeUserId() == null || !contract.getAssigneeUserId().equals(currentUser.getId())) {
+                throw new RuntimeException("Access denied: You can only view contracts assigned to you");
+            }
+        }
+        
         // Load client information
-        User client = userRepository.findById(contract.getClientId())
+        User client = ReadFanOut.read(readFanOut, () -> userRepository.findById(contract.getClientId()))
             .orElseThrow(() -> new RuntimeException("Client not found"));
         
+        // Independent reads run in parallel, each on its own read-only connection
+        ReadFanOut.Scope reads = ReadFanOut.open(readFanOut);
+        
         // Load assignee
-        User assignee = null;
-        if (contract.getAssigneeUserId() != null) {
-            assignee = userRepository.findById(contract.getAssigneeUserId()).orElse(null);
-        }
+        ReadFanOut.Subtask<Optional<User>> assigneeRead = reads.fork(() -> contract.getAssigneeUserId() != null
+            ? userRepository.findById(contract.getAssigneeUserId()) : Optional.empty());
         
         // Load parent MSA
-        Contract parentMSA = null;
+        ReadFanOut.Subtask<Optional<Contract>> parentMSARead = reads.fork(() -> contract.getParentMsaId() != null
+            ? contractRepository.findById(contract.getParentMsaId()) : Optional.empty());
+        
+        // Load landbridge contact
+        ReadFanOut.Subtask<Optional<User>> landbridgeContactRead = reads.fork(() -> contract.getLandbridgeContactEmail() != null
+            ? userRepository.findByEmail(contract.getLandbridgeContactEmail()) : Optional.empty());
+        
+        // Load reviewer (assigned reviewer from contract)
+        Integer reviewerId = contract.getReviewerId();
+        ReadFanOut.Subtask<Optional<User>> reviewerRead = reads.fork(() -> reviewerId != null
+            ? userRepository.findById(reviewerId) : Optional.empty());
+        
+        // Load attachments (attachments table, or attachments_manifest if not backfilled yet)
+        ReadFanOut.Subtask<List<SOWContractDetailDTO.AttachmentDTO>> attachmentsRead =
+            reads.fork(() -> loadSOWAttachments(contract));
+        
+        // Get latest review info from contract_internal_review table
+        ReadFanOut.Subtask<Optional<ContractInternalReview>> reviewRead = reads.fork(() -> contractInternalReviewRepository
+            .findFirstBySowContractIdAndContractTypeOrderByReviewedAtDesc(contractId, "SOW"));
+        
+        // Load SOW-specific data based on engagement type
+        List<SOWContractDetailDTO.MilestoneDeliverableDTO> milestoneDeliverables = new ArrayList<>();
+        List<SOWContractDetailDTO.DeliveryItemDTO> deliveryItems = new ArrayList<>();
+        List<SOWContractDetailDTO.EngagedEngineerDTO> engagedEngineers = new ArrayList<>();
+        List<SOWContractDetailDTO.BillingDetailDTO> billingDetails = new ArrayList<>();
+        reads.fork(() -> {
+            loadSOWEngagementDetails(contract, milestoneDeliverables, deliveryItems, engagedEngineers, billingDetails);
+            return null;
+        });
+        
+        // Load history
+        ReadFanOut.Subtask<List<ContractHistory>> historyRead =
+            reads.fork(() -> contractHistoryRepository.findBySowContractIdOrderByEntryDateDesc(contractId));
+        
+        reads.join();
+        User assignee = assigneeRead.get().orElse(null);
+        
+        Contract parentMSA = parentMSARead.get().orElse(null);
         String msaId = null;
-        if (contract.getParentMsaId() != null) {
-            parentMSA = contractRepository.findById(contract.getParentMsaId()).orElse(null);
-            if (parentMSA != null) {
-                // Generate MSA ID (format: MSA-YYYY-NN)
-                int year = parentMSA.getCreatedAt() != null ? parentMSA.getCreatedAt().getYear() : 2025;
-                int sequenceNumber = parentMSA.getId() % 100;
-                msaId = String.format("MSA-%d-%02d", year, sequenceNumber);
-            }
+        if (parentMSA != null) {
+            // Generate MSA ID (format: MSA-YYYY-NN)
+            int year = parentMSA.getCreatedAt() != null ? parentMSA.getCreatedAt().getYear() : 2025;
+            int sequenceNumber = parentMSA.getId() % 100;
+            msaId = String.format("MSA-%d-%02d", year, sequenceNumber);
         }
         
         // Load client contact (default to client)
         User clientContact = client;
         
-        // Load landbridge contact
-        User landbridgeContact = null;
-        if (contract.getLandbridgeContactEmail() != null) {
-            landbridgeContact = userRepository.findByEmail(contract.getLandbridgeContactEmail()).orElse(null);
-        }
+        User landbridgeContact = landbridgeContactRead.get().orElse(null);
         if (landbridgeContact == null && assignee != null) {
             landbridgeContact = assignee;
         }
         
-        // Load attachments from attachments_manifest
-        List<SOWContractDetailDTO.AttachmentDTO> attachments = new ArrayList<>();
-        if (contract.getAttachmentsManifest() != null && !contract.getAttachmentsManifest().trim().isEmpty()) {
-            try {
-                // Try to parse as List<AttachmentInfo> (new format with fileName)
-                Type attachmentInfoListType = new TypeToken<List<AttachmentInfo>>(){}.getType();
-                List<AttachmentInfo> attachmentInfos = gson.fromJson(contract.getAttachmentsManifest(), attachmentInfoListType);
-                if (attachmentInfos != null && !attachmentInfos.isEmpty()) {
-                    for (AttachmentInfo info : attachmentInfos) {
-                        if (info.getS3Key() != null && !info.getS3Key().trim().isEmpty()) {
-                            attachments.add(new SOWContractDetailDTO.AttachmentDTO(info.getS3Key(), info.getFileName(), null));
-                        }
-                    }
-                } else {
-                    // Fallback: try to parse as List<String> (old format)
-                    Type stringListType = new TypeToken<List<String>>(){}.getType();
-                    List<String> attachmentLinks = gson.fromJson(contract.getAttachmentsManifest(), stringListType);
-                    if (attachmentLinks != null && !attachmentLinks.isEmpty()) {
-                        for (String s3Key : attachmentLinks) {
-                            if (s3Key != null && !s3Key.trim().isEmpty()) {
-                                String fileName = s3Key;
-                                if (fileName.contains("/")) {
-                                    fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                                }
-                                attachments.add(new SOWContractDetailDTO.AttachmentDTO(s3Key, fileName, null));
-                            }
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                // If parsing as AttachmentInfo fails, try List<String> (old format)
-                try {
-                    Type stringListType = new TypeToken<List<String>>(){}.getType();
-                    List<String> attachmentLinks = gson.fromJson(contract.getAttachmentsManifest(), stringListType);
-                    if (attachmentLinks != null && !attachmentLinks.isEmpty()) {
-                        for (String s3Key : attachmentLinks) {
-                            if (s3Key != null && !s3Key.trim().isEmpty()) {
-                                String fileName = s3Key;
-                                if (fileName.contains("/")) {
-                                    fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-                                }
-                                attachments.add(new SOWContractDetailDTO.AttachmentDTO(s3Key, fileName, null));
-                            }
-                        }
-                    }
-                } catch (Exception e2) {
-                    System.err.println("Error parsing attachments_manifest for SOW contract " + contractId + ": " + e2.getMessage());
-                }
+        // Get reviewer info
+        String reviewerName = reviewerRead.get().map(User::getFullName).orElse(null);
+        String reviewNotes = null;
+        String reviewAction = null;
+        
+        List<SOWContractDetailDTO.AttachmentDTO> attachments = attachmentsRead.get();
+        Optional<ContractInternalReview> reviewOpt = reviewRead.get();
+        
+        if (reviewOpt.isPresent()) {
+            ContractInternalReview review = reviewOpt.get();
+            reviewAction = review.getReviewAction();
+            reviewNotes = review.getReviewNotes();
+        }
+        
+        List<SOWContractDetailDTO.HistoryItemDTO> history = new ArrayList<>();
+        for (ContractHistory hist : historyRead.get()) {
+            SOWContractDetailDTO.HistoryItemDTO dto = new SOWContractDetailDTO.HistoryItemDTO();
+            dto.setId(hist.getId());
+            dto.setDate(hist.getEntryDate() != null ? hist.getEntryDate().toString() : null);
+            dto.setDescription(hist.getDescription());
+            dto.setDocumentLink(hist.getDocumentLink());
+            dto.setDocumentName(hist.getDocumentName());
+            history.add(dto);
+        }
+        
+        // Build DTO
+        SOWContractDetailDTO dto = new SOWContractDetailDTO();
+        dto.setId(contract.getId());
+        dto.setContractId(generateContractId(contract.getId(), contract.getCreatedAt()));
+        dto.setContractName(contract.getContractName());
+        
+        // Map status for display
+        String statusDisplay = contract.getStatus().name().replace("_", " ");
+        if ("Under Review".equals(statusDisplay)) {
+            if (reviewOpt.isPresent() && "APPROVE".equals(reviewOpt.get().getReviewAction())) {
+                statusDisplay = "Client Under Review";
+            } else {
+                statusDisplay = "Internal Review";
             }
         }
+        dto.setStatus(statusDisplay);
+        
+        dto.setMsaId(msaId);
+        dto.setClientId(contract.getClientId());
+        dto.setClientName(client.getFullName());
+        dto.setClientEmail(client.getEmail());
+        dto.setEffectiveStart(contract.getPeriodStart() != null ? contract.getPeriodStart().toString() : null);
+        dto.setEffectiveEnd(contract.getPeriodEnd() != null ? contract.getPeriodEnd().toString() : null);
+        dto.setAssigneeUserId(contract.getAssigneeUserId());
+        dto.setAssigneeName(assignee != null ? assignee.getFullName() : null);
+        dto.setProjectName(contract.getProjectName());
+        dto.setScopeSummary(contract.getScopeSummary());
+        dto.setEngagementType(contract.getEngagementType() != null ? contract.getEngagementType().replace("_", " ") : null);
+        dto.setValue(contract.getValue() != null ? contract.getValue().doubleValue() : null);
+        
+        dto.setCurrency(contract.getCurrency());
+        dto.setPaymentTerms(contract.getPaymentTerms());
+        dto.setInvoicingCycle(contract.getInvoicingCycle());
+        dto.setBillingDay(contract.getBillingDay());
+        dto.setTaxWithholding(contract.getTaxWithholding());
+        // Set taxType from parent MSA (SOW inherits tax settings from MSA)
+        if (parentMSA != null) {
+            dto.setTaxType(parentMSA.getTaxType());
+        } else {
+            dto.setTaxType(null); // Default to null if no parent MSA
+        }
+        dto.setIpOwnership(contract.getIpOwnership());
+        dto.setGoverningLaw(contract.getGoverningLaw());
+        
+        dto.setClientContactId(clientContact.getId());
+        dto.setClientContactName(clientContact.getFullName());
+        dto.setClientContactEmail(clientContact.getEmail());
+        dto.setLandbridgeContactId(landbridgeContact != null ? landbridgeContact.getId() : null);
+        dto.setLandbridgeContactName(landbridgeContact != null ? landbridgeContact.getFullName() : null);
+        dto.setLandbridgeContactEmail(landbridgeContact != null ? landbridgeContact.getEmail() : null);
+        
+        dto.setMilestoneDeliverables(milestoneDeliverables);
+        dto.setDeliveryItems(deliveryItems);
+        dto.setEngagedEngineers(engagedEngineers);
+        dto.setBillingDetails(billingDetails);
+        dto.setAttachments(attachments);
+        dto.setReviewerId(reviewerId);
+        dto.setReviewerName(reviewerName);
+        dto.setReviewNotes(reviewNotes);
+        dto.setReviewAction(reviewAction);
+        dto.setHistory(history);
+        dto.setVersion(contract.getVersion()); // Set version number
+        
+        return dto;
+    }
+    
+    /**
+     * Load SOW attachments (attachments table, or attachments_manifest if not backfilled yet),
+     * falling back to DocumentMetadata
+     */
+    private List<SOWContractDetailDTO.AttachmentDTO> loadSOWAttachments(SOWContract contract) {
+        List<SOWContractDetailDTO.AttachmentDTO> attachments = new ArrayList<>();
+        for (AttachmentInfo info : attachmentService.getAttachments(
+                DocumentMetadata.ENTITY_SOW_CONTRACT, contract.getId(), contract.getAttachmentsManifest())) {
+            attachments.add(new SOWContractDetailDTO.AttachmentDTO(info.getS3Key(), info.getFileName(), null));
+        }
         
         // Fallback to DocumentMetadata if no attachments from manifest
         if (attachments.isEmpty()) {
             List<DocumentMetadata> documents = documentMetadataRepository.findByEntityIdAndEntityType(
-                contractId, "sow_contract");
+                contract.getId(), "sow_contract");
             attachments = documents.stream()
                 .map(doc -> {
                     String fileName = doc.getS3Key();
@@ -887,36 +1035,18 @@ public class SalesSOWContractService {
                 })
                 .collect(java.util.stream.Collectors.toList());
         }
-        
-        // Get reviewer info
-        Integer reviewerId = contract.getReviewerId();
-        String reviewerName = null;
-        String reviewNotes = null;
-        String reviewAction = null;
-        
-        if (reviewerId != null) {
-            User reviewer = userRepository.findById(reviewerId).orElse(null);
-            if (reviewer != null) {
-                reviewerName = reviewer.getFullName();
-            }
-        }
-        
-        // Get latest review info from contract_internal_review table
-        Optional<ContractInternalReview> reviewOpt = contractInternalReviewRepository
-            .findFirstBySowContractIdAndContractTypeOrderByReviewedAtDesc(contractId, "SOW");
-        
-        if (reviewOpt.isPresent()) {
-            ContractInternalReview review = reviewOpt.get();
-            reviewAction = review.getReviewAction();
-            reviewNotes = review.getReviewNotes();
-        }
-        
-        // Load SOW-specific data based on engagement type
-        List<SOWContractDetailDTO.MilestoneDeliverableDTO> milestoneDeliverables = new ArrayList<>();
-        List<SOWContractDetailDTO.DeliveryItemDTO> deliveryItems = new ArrayList<>();
-        List<SOWContractDetailDTO.EngagedEngineerDTO> engagedEngineers = new ArrayList<>();
-        List<SOWContractDetailDTO.BillingDetailDTO> billingDetails = new ArrayList<>();
-        
+        return attachments;
+    }
+    
+    /**
+     * Load milestones/billing (Fixed Price) or delivery items/engineers/billing (Retainer) into the given lists
+     */
+    private void loadSOWEngagementDetails(SOWContract contract,
+                                          List<SOWContractDetailDTO.MilestoneDeliverableDTO> milestoneDeliverables,
+                                          List<SOWContractDetailDTO.DeliveryItemDTO> deliveryItems,
+                                          List<SOWContractDetailDTO.EngagedEngineerDTO> engagedEngineers,
+                                          List<SOWContractDetailDTO.BillingDetailDTO> billingDetails) {
+        Integer contractId = contract.getId();
         String engagementType = contract.getEngagementType() != null ? contract.getEngagementType() : "";
         if ("Fixed_Price".equals(engagementType) || "Fixed Price".equals(engagementType)) {
             // Load milestone deliverables
@@ -1066,7 +1196,7 @@ public class SalesSOWContractService {
                     dto.setIsPaid(false); // Event-based billing details don't have payment status
                     billingDetails.add(dto);
                 }
-
+    
                 // Fallback: if for any reason current resources list is empty, use legacy table
                 if (engagedEngineers.isEmpty()) {
                     List<SOWEngagedEngineer> engineers = sowEngagedEngineerRepository.findBySowContractId(contractId);
@@ -1134,84 +1264,6 @@ public class SalesSOWContractService {
                 }
             }
         }
-        
-        // Load history
-        List<ContractHistory> allHistory = contractHistoryRepository.findBySowContractIdOrderByEntryDateDesc(contractId);
-        List<SOWContractDetailDTO.HistoryItemDTO> history = new ArrayList<>();
-        for (ContractHistory hist : allHistory) {
-            SOWContractDetailDTO.HistoryItemDTO dto = new SOWContractDetailDTO.HistoryItemDTO();
-            dto.setId(hist.getId());
-            dto.setDate(hist.getEntryDate() != null ? hist.getEntryDate().toString() : null);
-            dto.setDescription(hist.getDescription());
-            dto.setDocumentLink(hist.getDocumentLink());
-            dto.setDocumentName(hist.getDocumentName());
-            history.add(dto);
-        }
-        
-        // Build DTO
-        SOWContractDetailDTO dto = new SOWContractDetailDTO();
-        dto.setId(contract.getId());
-        dto.setContractId(generateContractId(contract.getId(), contract.getCreatedAt()));
-        dto.setContractName(contract.getContractName());
-        
-        // Map status for display
-        String statusDisplay = contract.getStatus().name().replace("_", " ");
-        if ("Under Review".equals(statusDisplay)) {
-            if (reviewOpt.isPresent() && "APPROVE".equals(reviewOpt.get().getReviewAction())) {
-                statusDisplay = "Client Under Review";
-            } else {
-                statusDisplay = "Internal Review";
-            }
-        }
-        dto.setStatus(statusDisplay);
-        
-        dto.setMsaId(msaId);
-        dto.setClientId(contract.getClientId());
-        dto.setClientName(client.getFullName());
-        dto.setClientEmail(client.getEmail());
-        dto.setEffectiveStart(contract.getPeriodStart() != null ? contract.getPeriodStart().toString() : null);
-        dto.setEffectiveEnd(contract.getPeriodEnd() != null ? contract.getPeriodEnd().toString() : null);
-        dto.setAssigneeUserId(contract.getAssigneeUserId());
-        dto.setAssigneeName(assignee != null ? assignee.getFullName() : null);
-        dto.setProjectName(contract.getProjectName());
-        dto.setScopeSummary(contract.getScopeSummary());
-        dto.setEngagementType(contract.getEngagementType() != null ? contract.getEngagementType().replace("_", " ") : null);
-        dto.setValue(contract.getValue() != null ? contract.getValue().doubleValue() : null);
-        
-        dto.setCurrency(contract.getCurrency());
-        dto.setPaymentTerms(contract.getPaymentTerms());
-        dto.setInvoicingCycle(contract.getInvoicingCycle());
-        dto.setBillingDay(contract.getBillingDay());
-        dto.setTaxWithholding(contract.getTaxWithholding());
-        // Set taxType from parent MSA (SOW inherits tax settings from MSA)
-        if (parentMSA != null) {
-            dto.setTaxType(parentMSA.getTaxType());
-        } else {
-            dto.setTaxType(null); // Default to null if no parent MSA
-        }
-        dto.setIpOwnership(contract.getIpOwnership());
-        dto.setGoverningLaw(contract.getGoverningLaw());
-        
-        dto.setClientContactId(clientContact.getId());
-        dto.setClientContactName(clientContact.getFullName());
-        dto.setClientContactEmail(clientContact.getEmail());
-        dto.setLandbridgeContactId(landbridgeContact != null ? landbridgeContact.getId() : null);
-        dto.setLandbridgeContactName(landbridgeContact != null ? landbridgeContact.getFullName() : null);
-        dto.setLandbridgeContactEmail(landbridgeContact != null ? landbridgeContact.getEmail() : null);
-        
-        dto.setMilestoneDeliverables(milestoneDeliverables);
-        dto.setDeliveryItems(deliveryItems);
-        dto.setEngagedEngineers(engagedEngineers);
-        dto.setBillingDetails(billingDetails);
-        dto.setAttachments(attachments);
-        dto.setReviewerId(reviewerId);
-        dto.setReviewerName(reviewerName);
-        dto.setReviewNotes(reviewNotes);
-        dto.setReviewAction(reviewAction);
-        dto.setHistory(history);
-        dto.setVersion(contract.getVersion()); // Set version number
-        
-        return dto;
     }
     
     /**
@@ -1297,9 +1349,10 @@ public class SalesSOWContractService {
     }
     
     /**
-     * Create delivery items for Retainer SOW
+     * Create delivery items for Retainer SOW (single JDBC batch)
      */
     private void createDeliveryItems(Integer sowContractId, List<CreateSOWRequest.DeliveryItemDTO> deliveryItems) {
+        List<DeliveryItem> rows = new ArrayList<>();
         for (CreateSOWRequest.DeliveryItemDTO item : deliveryItems) {
             DeliveryItem deliveryItem = new DeliveryItem();
             deliveryItem.setSowContractId(sowContractId);
@@ -1307,14 +1360,16 @@ public class SalesSOWContractService {
             deliveryItem.setDeliveryNote(item.getDeliveryNote());
             deliveryItem.setAmount(BigDecimal.valueOf(item.getAmount()));
             deliveryItem.setPaymentDate(LocalDate.parse(item.getPaymentDate()));
-            deliveryItemRepository.save(deliveryItem);
+            rows.add(deliveryItem);
         }
+        sowLineItemBatchRepository.insertDeliveryItems(rows);
     }
     
     /**
-     * Create milestone deliverables for Fixed Price SOW
+     * Create milestone deliverables for Fixed Price SOW (single JDBC batch)
      */
     private void createMilestoneDeliverables(Integer sowContractId, List<CreateSOWRequest.MilestoneDeliverableDTO> milestones) {
+        List<MilestoneDeliverable> rows = new ArrayList<>();
         for (CreateSOWRequest.MilestoneDeliverableDTO milestone : milestones) {
             MilestoneDeliverable deliverable = new MilestoneDeliverable();
             deliverable.setSowContractId(sowContractId);
@@ -1323,15 +1378,17 @@ public class SalesSOWContractService {
             deliverable.setAcceptanceCriteria(milestone.getAcceptanceCriteria());
             deliverable.setPlannedEnd(LocalDate.parse(milestone.getPlannedEnd()));
             deliverable.setPaymentPercentage(BigDecimal.valueOf(milestone.getPaymentPercentage()));
-            milestoneDeliverableRepository.save(deliverable);
+            rows.add(deliverable);
         }
+        sowLineItemBatchRepository.insertMilestoneDeliverables(rows);
     }
     
     /**
-     * Create retainer billing details
+     * Create retainer billing details (single JDBC batch)
      * Stores Total Amount (including tax) based on parent MSA tax settings
      */
     private void createRetainerBillingDetails(Integer sowContractId, List<CreateSOWRequest.BillingDetailDTO> billingDetails, Contract parentMSA) {
+        List<RetainerBillingDetail> rows = new ArrayList<>();
         for (CreateSOWRequest.BillingDetailDTO detail : billingDetails) {
             if (detail.getAmount() == null) {
                 continue;
@@ -1344,14 +1401,16 @@ public class SalesSOWContractService {
             // (including tax logic according to parent MSA). Do not re-apply tax here.
             BigDecimal finalAmount = BigDecimal.valueOf(detail.getAmount());
             billingDetail.setAmount(finalAmount);
-            retainerBillingDetailRepository.save(billingDetail);
+            rows.add(billingDetail);
         }
+        sowLineItemBatchRepository.insertRetainerBillingDetails(rows);
     }
     
     /**
-     * Create SOW engaged engineers for Retainer SOW
+     * Create SOW engaged engineers for Retainer SOW (single JDBC batch)
      */
     private void createSOWEngagedEngineers(Integer sowContractId, List<CreateSOWRequest.EngagedEngineerDTO> engagedEngineers) {
+        List<SOWEngagedEngineer> rows = new ArrayList<>();
         for (CreateSOWRequest.EngagedEngineerDTO engineerDTO : engagedEngineers) {
             SOWEngagedEngineer engineer = new SOWEngagedEngineer();
             engineer.setSowContractId(sowContractId);
@@ -1403,8 +1462,9 @@ public class SalesSOWContractService {
                     engineer.setSalary(BigDecimal.valueOf(engineerDTO.getSalary()));
                 }
             }
-            sowEngagedEngineerRepository.save(engineer);
+            rows.add(engineer);
         }
+        sowLineItemBatchRepository.insertSOWEngagedEngineers(rows);
     }
     
     /**
@@ -1529,6 +1589,8 @@ public class SalesSOWContractService {
             return fileInfos;
         }
         
+        // Start all uploads at once; metadata is saved below in the original order
+        Map<MultipartFile, CompletableFuture<String>> uploads = new LinkedHashMap<>();
         for (MultipartFile file : attachments) {
             if (file.isEmpty()) {
                 System.out.println("Skipping empty file: " + file.getOriginalFilename());
@@ -1544,9 +1606,14 @@ public class SalesSOWContractService {
                 continue; // Skip non-PDF files
             }
             
+            uploads.put(file, s3Service.uploadFileAsync(file, "contracts/sow/" + contractId));
+        }
+        
+        for (Map.Entry<MultipartFile, CompletableFuture<String>> upload : uploads.entrySet()) {
+            String originalFileName = upload.getKey().getOriginalFilename();
             try {
-                // Upload to S3 (returns S3 key)
-                String s3Key = s3Service.uploadFile(file, "contracts/sow/" + contractId);
+                // Wait for the upload to S3 (returns S3 key)
+                String s3Key = s3Service.awaitUpload(upload.getValue());
                 System.out.println("File uploaded successfully. S3 key: " + s3Key);
                 fileInfos.add(new AttachmentInfo(s3Key, originalFileName));
                 
@@ -1558,8 +1625,9 @@ public class SalesSOWContractService {
                 metadata.setEntityId(contractId);
                 metadata.setEntityType("sow_contract");
                 // Allow SALES_MANAGER and SALES_REP roles to access
-                metadata.setAllowedRoles(gson.toJson(Arrays.asList("SALES_MANAGER", "SALES_REP")));
+                metadata.setAllowedRoles(jsonCodec.writeStringList(Arrays.asList("SALES_MANAGER", "SALES_REP")));
                 documentMetadataRepository.save(metadata);
+                documentPermissionService.indexDocument(metadata);
                 System.out.println("DocumentMetadata saved for S3 key: " + s3Key);
             } catch (IOException e) {
                 System.err.println("IOException uploading file: " + originalFileName + " - " + e.getMessage());
@@ -1727,7 +1795,7 @@ public class SalesSOWContractService {
         if (request.getReferences() != null && !request.getReferences().trim().isEmpty()) {
             List<String> evidenceList = new ArrayList<>();
             evidenceList.add(request.getReferences());
-            changeRequest.setEvidence(gson.toJson(evidenceList));
+            changeRequest.setEvidence(jsonCodec.writeStringList(evidenceList));
         }
         
         // Calculate total amount based on engagement type
@@ -1923,6 +1991,8 @@ public class SalesSOWContractService {
         
         List<String> fileLinks = new ArrayList<>();
         
+        // Validate all files before uploading any of them
+        List<MultipartFile> validFiles = new ArrayList<>();
         for (MultipartFile file : files) {
             if (file.isEmpty()) {
                 continue;
@@ -1939,15 +2009,26 @@ public class SalesSOWContractService {
             if (file.getSize() > maxSize) {
                 throw new RuntimeException("File size exceeds 10MB limit. File: " + file.getOriginalFilename());
             }
-            
+            validFiles.add(file);
+        }
+        
+        // Start all S3 uploads at once; attachments are saved below in the original order
+        Map<MultipartFile, CompletableFuture<String>> uploads = new LinkedHashMap<>();
+        if (s3Enabled && s3Service != null) {
+            for (MultipartFile file : validFiles) {
+                String fileName = file.getOriginalFilename();
+                String uniqueFileName = "change-requests/" + changeRequestId + "/" + System.currentTimeMillis() + "_" + fileName;
+                uploads.put(file, s3Service.uploadFileAsync(file, uniqueFileName));
+            }
+        }
+        
+        for (MultipartFile file : validFiles) {
             try {
                 String s3Key = null;
                 
                 // Upload to S3 if enabled
                 if (s3Enabled && s3Service != null) {
-                    String fileName = file.getOriginalFilename();
-                    String uniqueFileName = "change-requests/" + changeRequestId + "/" + System.currentTimeMillis() + "_" + fileName;
-                    s3Key = s3Service.uploadFile(file, uniqueFileName);
+                    s3Key = s3Service.awaitUpload(uploads.get(file));
                     fileLinks.add(s3Key);
                 } else {
                     // Save to local storage
@@ -2116,7 +2197,7 @@ public class SalesSOWContractService {
         String references = null;
         if (changeRequest.getEvidence() != null && !changeRequest.getEvidence().trim().isEmpty()) {
             try {
-                List<String> evidenceList = gson.fromJson(changeRequest.getEvidence(), new TypeToken<List<String>>(){}.getType());
+                List<String> evidenceList = jsonCodec.readStringList(changeRequest.getEvidence());
                 if (evidenceList != null && !evidenceList.isEmpty()) {
                     references = String.join(", ", evidenceList);
                 }
@@ -2216,7 +2297,7 @@ public class SalesSOWContractService {
         if (request.getReferences() != null) {
             List<String> evidenceList = new ArrayList<>();
             evidenceList.add(request.getReferences());
-            changeRequest.setEvidence(gson.toJson(evidenceList));
+            changeRequest.setEvidence(jsonCodec.writeStringList(evidenceList));
         }
         if (request.getComment() != null) {
             changeRequest.setReason(request.getComment());
@@ -2457,9 +2538,10 @@ public class SalesSOWContractService {
     }
     
     /**
-     * Approve change request and apply changes to contract (for Retainer SOW) - EVENT-BASED
-     * This applies changes based on CR type: RESOURCE_CHANGE, SCHEDULE_CHANGE, SCOPE_ADJUSTMENT
-     * Creates events instead of new contract version
+     * Approve change request (for Retainer SOW) - EVENT-BASED
+     * Only validates and commits the approval here, together with a cr_approval_jobs outbox row.
+     * Baseline creation, CR events, appendix generation and the history entry are applied
+     * in the background by CRApprovalPipelineService (see applyApprovedChangeRequestEvents).
      */
     @Transactional
     public void approveChangeRequestForSOW(
@@ -2492,32 +2574,15 @@ public class SalesSOWContractService {
             throw new RuntimeException("Only Processing, Under Review, or Client Under Review change requests can be approved");
         }
         
-        LocalDate effectiveStart = changeRequest.getEffectiveFrom();
-        if (effectiveStart == null) {
+        if (changeRequest.getEffectiveFrom() == null) {
             throw new RuntimeException("Effective start date is required");
         }
         
-        // Ensure baseline exists (create if not exists)
-        sowBaselineService.createBaseline(sowContractId);
-        
         String crType = changeRequest.getType();
-        
-        // Create events based on CR type (EVENT-BASED APPROACH)
-        if ("RESOURCE_CHANGE".equals(crType)) {
-            applyResourceChangeEventBased(sowContractId, changeRequest, effectiveStart, currentUser);
-        } else if ("SCHEDULE_CHANGE".equals(crType)) {
-            applyScheduleChangeEventBased(sowContract, changeRequest, effectiveStart, currentUser);
-        } else if ("SCOPE_ADJUSTMENT".equals(crType)) {
-            applyScopeAdjustmentEventBased(sowContractId, changeRequest, effectiveStart, currentUser);
-        } else if ("RATE_ADJUSTMENT".equals(crType)) {
-            applyRateAdjustmentEventBased(sowContractId, changeRequest, effectiveStart, currentUser);
-        } else {
+        if (!SUPPORTED_SOW_CR_TYPES.contains(crType)) {
             throw new RuntimeException("Unsupported CR type: " + crType);
         }
         
-        // Generate appendix
-        ContractAppendix appendix = contractAppendixService.generateAppendix(changeRequest);
-        
         // Update CR status to APPROVED
         changeRequest.setStatus("Approved");
         changeRequest.setApprovedBy(currentUser.getId());
@@ -2527,58 +2592,74 @@ public class SalesSOWContractService {
         }
         changeRequestRepository.save(changeRequest);
         
+        // Queue the contract changes (outbox row commits with the approval)
+        ChangeRequestApprovalJob job = new ChangeRequestApprovalJob();
+        job.setChangeRequestId(changeRequestId);
+        job.setSowContractId(sowContractId);
+        job.setApprovedBy(currentUser.getId());
+        job.setStatus(ChangeRequestApprovalJob.JobStatus.PENDING);
+        changeRequestApprovalJobRepository.save(job);
+        
         // Create history entry
         createChangeRequestHistoryEntry(changeRequestId, "APPROVED",
             "Change request approved by " + currentUser.getFullName() + 
             (reviewNotes != null && !reviewNotes.trim().isEmpty() ? ". Notes: " + reviewNotes : "") +
-            ". Appendix " + appendix.getAppendixNumber() + " created.", 
+            ". Contract changes queued.", 
             currentUser.getId());
     }
     
     /**
-     * Clone SOW contract to create a new version
+     * Apply the events of an approved change request (pipeline EVENTS stage)
+     * Creates events based on CR type: RESOURCE_CHANGE, SCHEDULE_CHANGE, SCOPE_ADJUSTMENT, RATE_ADJUSTMENT.
+     * The baseline must already exist (pipeline BASELINE stage).
+     * @param changeRequestId Approved change request ID
+     * @param approvedBy User who approved the change request
+     */
+    @Transactional
+    public void applyApprovedChangeRequestEvents(Integer changeRequestId, User approvedBy) {
+        ChangeRequest changeRequest = changeRequestRepository.findById(changeRequestId)
+            .orElseThrow(() -> new RuntimeException("Change request not found"));
+        Integer sowContractId = changeRequest.getSowContractId();
+        SOWContract sowContract = sowContractRepository.findById(sowContractId)
+            .orElseThrow(() -> new RuntimeException("SOW Contract not found"));
+        
+        LocalDate effectiveStart = changeRequest.getEffectiveFrom();
+        if (effectiveStart == null) {
+            throw new RuntimeException("Effective start date is required");
+        }
+        
+        String crType = changeRequest.getType();
+        
+        // Snapshot contract fields so the new version is stored as a field-level delta
+        java.util.Map<String, String> before = sowContractVersionService.snapshot(sowContract);
+        
+        // Create events based on CR type (EVENT-BASED APPROACH)
+        if ("RESOURCE_CHANGE".equals(crType)) {
+            applyResourceChangeEventBased(sowContractId, changeRequest, effectiveStart, approvedBy);
+        } else if ("SCHEDULE_CHANGE".equals(crType)) {
+            applyScheduleChangeEventBased(sowContract, changeRequest, effectiveStart, approvedBy);
+        } else if ("SCOPE_ADJUSTMENT".equals(crType)) {
+            applyScopeAdjustmentEventBased(sowContractId, changeRequest, effectiveStart, approvedBy);
+        } else if ("RATE_ADJUSTMENT".equals(crType)) {
+            applyRateAdjustmentEventBased(sowContractId, changeRequest, effectiveStart, approvedBy);
+        } else {
+            throw new RuntimeException("Unsupported CR type: " + crType);
+        }
+        
+        sowContractVersionService.recordVersion(sowContract, before, changeRequestId, approvedBy.getId());
+    }
+    
+    /**
+     * Record that an approved change request has been applied (pipeline NOTIFICATION stage)
+     * @param changeRequestId Change request ID
+     * @param appendixNumber Generated appendix number
+     * @param approvedBy User ID who approved the change request
      */
-    private SOWContract cloneSOWContractForNewVersion(SOWContract original) {
-        // Get the latest version number for this contract family
-        Integer maxVersion = sowContractRepository.findMaxVersionByParentVersionId(original.getParentVersionId() != null ? 
-            original.getParentVersionId() : original.getId());
-        Integer newVersionNumber = maxVersion != null ? maxVersion + 1 : original.getVersion() + 1;
-        
-        // Create new version
-        SOWContract newVersion = new SOWContract();
-        newVersion.setClientId(original.getClientId());
-        newVersion.setContractName(original.getContractName());
-        newVersion.setStatus(original.getStatus());
-        newVersion.setEngagementType(original.getEngagementType());
-        newVersion.setParentMsaId(original.getParentMsaId());
-        newVersion.setProjectName(original.getProjectName());
-        newVersion.setScopeSummary(original.getScopeSummary());
-        newVersion.setPeriodStart(original.getPeriodStart());
-        newVersion.setPeriodEnd(original.getPeriodEnd());
-        newVersion.setValue(original.getValue());
-        newVersion.setAssigneeId(original.getAssigneeId());
-        newVersion.setAssigneeUserId(original.getAssigneeUserId());
-        newVersion.setReviewerId(original.getReviewerId());
-        newVersion.setCurrency(original.getCurrency());
-        newVersion.setPaymentTerms(original.getPaymentTerms());
-        newVersion.setInvoicingCycle(original.getInvoicingCycle());
-        newVersion.setBillingDay(original.getBillingDay());
-        newVersion.setTaxWithholding(original.getTaxWithholding());
-        newVersion.setIpOwnership(original.getIpOwnership());
-        newVersion.setGoverningLaw(original.getGoverningLaw());
-        newVersion.setLandbridgeContactName(original.getLandbridgeContactName());
-        newVersion.setLandbridgeContactEmail(original.getLandbridgeContactEmail());
-        newVersion.setLink(original.getLink());
-        newVersion.setAttachmentsManifest(original.getAttachmentsManifest());
-        newVersion.setVersion(newVersionNumber);
-        newVersion.setParentVersionId(original.getParentVersionId() != null ? original.getParentVersionId() : original.getId());
-        
-        newVersion = sowContractRepository.save(newVersion);
-        
-        // Note: Engaged engineers and billing details will be populated from the approved CR
-        // They are NOT cloned from the original version
-        
-        return newVersion;
+    @Transactional
+    public void recordChangeRequestApplied(Integer changeRequestId, String appendixNumber, Integer approvedBy) {
+        createChangeRequestHistoryEntry(changeRequestId, "APPLIED",
+            "Contract changes applied. Appendix " + appendixNumber + " created.",
+            approvedBy);
     }
     
     /**
@@ -2986,7 +3067,8 @@ public class SalesSOWContractService {
                     crEng.getStartDate() != null ? crEng.getStartDate() : effectiveStart,
                     matchingBaseEng.getEndDate(),
                     crEng.getEndDate(),
-                    effectiveStart
+                    effectiveStart,
+                    crEng.getId()
                 );
                 }
             } else {
@@ -3036,7 +3118,8 @@ public class SalesSOWContractService {
                     crEng.getStartDate() != null ? crEng.getStartDate() : effectiveStart,
                     null,
                     crEng.getEndDate(),
-                    effectiveStart
+                    effectiveStart,
+                    crEng.getId()
                 );
                 }
             }
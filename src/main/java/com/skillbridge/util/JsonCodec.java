@@ -0,0 +1,160 @@
+package com.skillbridge.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.skillbridge.dto.common.AttachmentInfo;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON Codec
+ * Single JSON component for JSON stored in columns (attachments manifests, document ACL lists,
+ * change request evidence, contract detail views) and JSON form fields of multipart requests.
+ * Readers and writers for the common types are resolved once; other types are resolved on first
+ * use and cached. Uses its own mapper, so stored JSON does not change with the web (spring.jackson)
+ * settings. Thread-safe.
+ */
+@Component
+public class JsonCodec {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private final ObjectReader treeReader = objectMapper.reader();
+    private final ObjectReader stringListReader = objectMapper.readerFor(new TypeReference<List<String>>() {});
+    private final ObjectReader integerListReader = objectMapper.readerFor(new TypeReference<List<Integer>>() {});
+    private final ObjectWriter stringListWriter = objectMapper.writerFor(new TypeReference<List<String>>() {});
+    private final ObjectWriter attachmentListWriter = objectMapper.writerFor(new TypeReference<List<AttachmentInfo>>() {});
+    private final ObjectWriter valueWriter = objectMapper.writer();
+
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectReader> listReaders = new ConcurrentHashMap<>();
+
+    /**
+     * Parse an attachments manifest in one pass: a JSON array of AttachmentInfo objects, or of
+     * S3 keys (old format, file name taken from the key)
+     * @return Attachments; empty if the manifest is empty or invalid
+     */
+    public List<AttachmentInfo> readAttachments(String manifest) {
+        List<AttachmentInfo> attachments = new ArrayList<>();
+        if (manifest == null || manifest.trim().isEmpty()) {
+            return attachments;
+        }
+        JsonNode root;
+        try {
+            root = treeReader.readTree(manifest);
+        } catch (JsonProcessingException e) {
+            // Invalid JSON, treat as no attachments
+            return attachments;
+        }
+        if (root == null || !root.isArray()) {
+            return attachments;
+        }
+        for (JsonNode entry : root) {
+            if (entry.isValueNode() && !entry.isNull()) {
+                String s3Key = entry.asText();
+                if (!s3Key.trim().isEmpty()) {
+                    String fileName = s3Key.contains("/") ? s3Key.substring(s3Key.lastIndexOf("/") + 1) : s3Key;
+                    attachments.add(new AttachmentInfo(s3Key, fileName));
+                }
+            } else if (entry.isObject()) {
+                String s3Key = textOf(entry, "s3Key");
+                if (s3Key != null && !s3Key.trim().isEmpty()) {
+                    attachments.add(new AttachmentInfo(s3Key, textOf(entry, "fileName")));
+                }
+            }
+        }
+        return attachments;
+    }
+
+    public String writeAttachments(List<AttachmentInfo> attachments) {
+        return write(attachmentListWriter, attachments);
+    }
+
+    /**
+     * Parse a JSON array of strings (ACL roles, evidence links)
+     * @return Values, empty for null/empty input
+     * @throws RuntimeException if the JSON is invalid
+     */
+    public List<String> readStringList(String json) {
+        return readList(stringListReader, json);
+    }
+
+    /**
+     * Parse a JSON array of integers (ACL user IDs)
+     * @return Values, empty for null/empty input
+     * @throws RuntimeException if the JSON is invalid
+     */
+    public List<Integer> readIntegerList(String json) {
+        return readList(integerListReader, json);
+    }
+
+    public String writeStringList(List<String> values) {
+        return write(stringListWriter, values);
+    }
+
+    /**
+     * Parse a JSON array of the given element type
+     * @return Values, empty for null/empty input
+     * @throws RuntimeException if the JSON is invalid
+     */
+    public <T> List<T> readList(String json, Class<T> elementType) {
+        ObjectReader reader = listReaders.computeIfAbsent(elementType,
+                type -> objectMapper.readerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, type)));
+        return readList(reader, json);
+    }
+
+    /**
+     * Parse a JSON value of the given type
+     * @throws RuntimeException if the JSON is invalid
+     */
+    public <T> T read(String json, Class<T> type) {
+        ObjectReader reader = readers.computeIfAbsent(type, objectMapper::readerFor);
+        try {
+            return reader.readValue(json);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Invalid JSON for " + type.getSimpleName() + ": " + e.getOriginalMessage(), e);
+        }
+    }
+
+    public String write(Object value) {
+        return write(valueWriter, value);
+    }
+
+    private <T> List<T> readList(ObjectReader reader, String json) {
+        if (json == null || json.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            List<T> values = reader.readValue(json);
+            return values != null ? values : new ArrayList<>();
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Invalid JSON list: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private String write(ObjectWriter writer, Object value) {
+        try {
+            return writer.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to write JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private static String textOf(JsonNode object, String name) {
+        JsonNode value = object.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
@@ -0,0 +1,186 @@
+package com.skillbridge.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Query Budget
+ * Per-thread counters of the SQL work done for the current HTTP request (or measured block):
+ * statements prepared by Hibernate, entities hydrated and time spent executing statements,
+ * plus calls to other systems (S3, mail) for the slow-request breakdown.
+ * Fed by the Hibernate hooks registered in QueryBudgetConfig and by ExternalCallTimingAspect;
+ * nothing is counted on a thread that has no active measurement. JdbcTemplate statements do
+ * not go through Hibernate and are not counted.
+ */
+public final class QueryBudget {
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    private QueryBudget() {
+    }
+
+    /**
+     * Start counting on this thread, replacing any measurement in progress
+     */
+    public static Stats start() {
+        Stats stats = new Stats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stop counting on this thread
+     * @return Counters of the measurement, or null if none was active
+     */
+    public static Stats stop() {
+        Stats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * @return Counters of the active measurement, or null if none
+     */
+    public static Stats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Count the SQL work of a block of code, e.g. in tests:
+     * assertTrue(QueryBudget.measure(() -> service.getContracts(...)).getStatements() <= 3)
+     * Restores the enclosing measurement afterwards and adds the block's counts to it.
+     */
+    public static Stats measure(Runnable action) {
+        Stats outer = CURRENT.get();
+        Stats stats = start();
+        try {
+            action.run();
+        } finally {
+            if (outer != null) {
+                outer.add(stats);
+                CURRENT.set(outer);
+            } else {
+                CURRENT.remove();
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Add counts measured on another thread (e.g. a ReadFanOut worker) to this thread's
+     * measurement; ignored if either is missing
+     */
+    public static void add(Stats stats) {
+        Stats current = CURRENT.get();
+        if (current != null && stats != null) {
+            current.add(stats);
+        }
+    }
+
+    // Hooks called by the Hibernate listeners in QueryBudgetConfig
+
+    public static void onStatement(String sql) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.statementCounts.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public static void onEntityLoaded() {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entitiesLoaded++;
+        }
+    }
+
+    public static void onStatementExecuted(long nanos) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.dbNanos += nanos;
+        }
+    }
+
+    /**
+     * Count one call to another system
+     * @param system Short name used in logs, e.g. "s3" or "mail"
+     */
+    public static void onExternalCall(String system, long nanos) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            long[] counters = stats.externalCalls.computeIfAbsent(system, key -> new long[2]);
+            counters[0]++;
+            counters[1] += nanos;
+        }
+    }
+
+    /**
+     * Counters of one measurement; only touched by the measuring thread
+     */
+    public static final class Stats {
+
+        private int statements;
+        private int entitiesLoaded;
+        private long dbNanos;
+        private final Map<String, Integer> statementCounts = new HashMap<>();
+        // System -> {calls, nanos}
+        private final Map<String, long[]> externalCalls = new TreeMap<>();
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public int getEntitiesLoaded() {
+            return entitiesLoaded;
+        }
+
+        public long getDbNanos() {
+            return dbNanos;
+        }
+
+        public int getExternalCalls(String system) {
+            long[] counters = externalCalls.get(system);
+            return counters != null ? (int) counters[0] : 0;
+        }
+
+        public long getExternalNanos(String system) {
+            long[] counters = externalCalls.get(system);
+            return counters != null ? counters[1] : 0;
+        }
+
+        /**
+         * @return Systems called during the measurement, in name order
+         */
+        public Set<String> getExternalSystems() {
+            return externalCalls.keySet();
+        }
+
+        /**
+         * SQL text executed most often, the usual sign of an N+1 loop
+         * @return Entry of SQL text -> executions, or null if no statement ran
+         */
+        public Map.Entry<String, Integer> getMostRepeatedStatement() {
+            Map.Entry<String, Integer> top = null;
+            for (Map.Entry<String, Integer> entry : statementCounts.entrySet()) {
+                if (top == null || entry.getValue() > top.getValue()) {
+                    top = entry;
+                }
+            }
+            return top;
+        }
+
+        private void add(Stats other) {
+            statements += other.statements;
+            entitiesLoaded += other.entitiesLoaded;
+            dbNanos += other.dbNanos;
+            other.statementCounts.forEach((sql, count) -> statementCounts.merge(sql, count, Integer::sum));
+            other.externalCalls.forEach((system, counters) -> {
+                long[] own = externalCalls.computeIfAbsent(system, key -> new long[2]);
+                own[0] += counters[0];
+                own[1] += counters[1];
+            });
+        }
+    }
+}
@@ -0,0 +1,12 @@
+-- One row per role or user allowed on a document (indexed form of allowed_roles/allowed_users)
+
+CREATE TABLE document_acl (
+    id INT NOT NULL AUTO_INCREMENT,
+    document_id INT NOT NULL,
+    role VARCHAR(50),
+    user_id INT,
+    created_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_document_acl_doc_role ON document_acl (document_id, role);
+CREATE INDEX idx_document_acl_doc_user ON document_acl (document_id, user_id);
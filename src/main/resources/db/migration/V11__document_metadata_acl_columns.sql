@@ -0,0 +1,6 @@
+-- Owning client of a document and whether its document_acl rows are in sync.
+-- Existing rows start unindexed; DocumentPermissionService indexes them on first use.
+
+ALTER TABLE document_metadata ADD COLUMN client_user_id INT AFTER allowed_users;
+ALTER TABLE document_metadata ADD COLUMN acl_indexed BIT NOT NULL DEFAULT 0 AFTER client_user_id;
+CREATE INDEX idx_document_metadata_entity ON document_metadata (entity_type, entity_id);
@@ -0,0 +1,3 @@
+-- Proposal lookup by S3 key (legacy proposal document permissions)
+
+CREATE INDEX idx_proposals_link ON proposals (link);
@@ -0,0 +1,17 @@
+-- Presigned upload slots, removed on completion or after they expire
+
+CREATE TABLE pending_uploads (
+    id INT NOT NULL AUTO_INCREMENT,
+    s3_key VARCHAR(500) NOT NULL,
+    entity_type VARCHAR(50) NOT NULL,
+    entity_id INT NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100),
+    max_size BIGINT NOT NULL,
+    user_id INT NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_pending_uploads_s3_key UNIQUE (s3_key)
+);
+CREATE INDEX idx_pending_uploads_expires_at ON pending_uploads (expires_at);
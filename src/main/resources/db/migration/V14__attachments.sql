@@ -0,0 +1,14 @@
+-- Attachments of contracts, SOW contracts and proposals, one row per file in display order
+
+CREATE TABLE attachments (
+    id INT NOT NULL AUTO_INCREMENT,
+    entity_type VARCHAR(50) NOT NULL,
+    entity_id INT NOT NULL,
+    s3_key VARCHAR(500) NOT NULL,
+    file_name VARCHAR(255),
+    position INT NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_attachments_entity_key UNIQUE (entity_type, entity_id, s3_key)
+);
+CREATE INDEX idx_attachments_entity ON attachments (entity_type, entity_id, position);
@@ -0,0 +1,66 @@
+-- Indexes for the hot repository queries. Each index leads with the equality filter of its
+-- queries and continues with their ORDER BY column, so the rows come back in index order
+-- without a filesort. Checked by HotQueryIndexTest (src/test/java/com/skillbridge/repository).
+
+-- MSA contracts: client list (ContractRepository.findByClientIdWithFilters) and sales list
+-- (SalesContractService specification: assignee / status, ordered by created_at)
+CREATE INDEX idx_contracts_client_created ON contracts (client_id, created_at);
+CREATE INDEX idx_contracts_assignee_created ON contracts (assignee_user_id, created_at);
+CREATE INDEX idx_contracts_status_created ON contracts (status, created_at);
+
+-- SOW contracts: client list, sales list, version chain (findAllVersionsByParentVersionId)
+-- and SOWs of an MSA
+CREATE INDEX idx_sow_contracts_client_created ON sow_contracts (client_id, created_at);
+CREATE INDEX idx_sow_contracts_assignee_status ON sow_contracts (assignee_user_id, status, created_at);
+CREATE INDEX idx_sow_contracts_status_created ON sow_contracts (status, created_at);
+CREATE INDEX idx_sow_contracts_parent_version ON sow_contracts (parent_version_id, version);
+CREATE INDEX idx_sow_contracts_parent_msa ON sow_contracts (parent_msa_id);
+
+-- Change requests per contract (lists ordered by created_at, and the approved-CR
+-- subqueries of the CR event repositories)
+CREATE INDEX idx_change_requests_sow_created ON change_requests (sow_contract_id, created_at);
+CREATE INDEX idx_change_requests_contract_created ON change_requests (contract_id, created_at);
+
+-- CR events and child rows, looked up by change request
+CREATE INDEX idx_cr_resource_events_cr_effective ON cr_resource_events (change_request_id, effective_start);
+CREATE INDEX idx_cr_billing_events_cr_month ON cr_billing_events (change_request_id, billing_month);
+CREATE INDEX idx_cr_engaged_engineers_cr ON change_request_engaged_engineers (change_request_id);
+CREATE INDEX idx_cr_billing_details_cr ON change_request_billing_details (change_request_id);
+CREATE INDEX idx_cr_attachments_cr ON change_request_attachments (change_request_id);
+CREATE INDEX idx_cr_history_cr_timestamp ON change_request_history (change_request_id, timestamp);
+CREATE INDEX idx_cr_approval_jobs_status_next ON cr_approval_jobs (status, next_attempt_at);
+CREATE INDEX idx_cr_approval_jobs_lease_owner ON cr_approval_jobs (lease_owner);
+CREATE INDEX idx_email_outbox_lease_owner ON email_outbox (lease_owner);
+
+-- SOW line items, each list ordered by its date column
+CREATE INDEX idx_sow_engaged_engineers_sow_start ON sow_engaged_engineers (sow_contract_id, start_date);
+CREATE INDEX idx_sow_engineers_base_sow_start ON sow_engaged_engineers_base (sow_contract_id, start_date);
+CREATE INDEX idx_delivery_items_sow_payment ON delivery_items (sow_contract_id, payment_date);
+CREATE INDEX idx_milestone_deliverables_sow_planned ON milestone_deliverables (sow_contract_id, planned_end);
+CREATE INDEX idx_retainer_billing_details_sow_payment ON retainer_billing_details (sow_contract_id, payment_date);
+CREATE INDEX idx_fixed_price_billing_sow_invoice ON fixed_price_billing_details (sow_contract_id, invoice_date);
+CREATE INDEX idx_retainer_billing_base_sow_month ON retainer_billing_base (sow_contract_id, billing_month);
+CREATE INDEX idx_contract_appendices_sow ON contract_appendices (sow_contract_id, appendix_number);
+CREATE INDEX idx_project_close_requests_sow_created ON project_close_requests (sow_id, created_at);
+
+-- Contract history and internal reviews
+CREATE INDEX idx_contract_history_contract_entry ON contract_history (contract_id, entry_date, created_at);
+CREATE INDEX idx_contract_history_sow_entry ON contract_history (sow_contract_id, entry_date, created_at);
+CREATE INDEX idx_contract_review_contract ON contract_internal_review (contract_id, contract_type, reviewed_at);
+CREATE INDEX idx_contract_review_sow ON contract_internal_review (sow_contract_id, contract_type, reviewed_at);
+
+-- Proposals: versions of an opportunity (current version, max version, history) and
+-- proposals of a contact
+CREATE INDEX idx_proposals_opportunity_version ON proposals (opportunity_id, version);
+CREATE INDEX idx_proposals_contact_created ON proposals (contact_id, created_at);
+CREATE INDEX idx_proposal_history_opportunity_created ON proposal_history (opportunity_id, created_at);
+
+-- Contacts: client's own contacts and the sales queue by status
+CREATE INDEX idx_contacts_client_user_created ON contacts (client_user_id, created_at);
+CREATE INDEX idx_contacts_status_created ON contacts (status, created_at);
+CREATE INDEX idx_communication_logs_contact_created ON communication_logs (contact_id, created_at);
+CREATE INDEX idx_proposal_comments_contact_created ON proposal_comments (contact_id, created_at);
+CREATE INDEX idx_consultation_cancellations_contact ON consultation_cancellations (contact_id, cancelled_at);
+CREATE INDEX idx_contact_status_history_contact ON contact_status_history (contact_id);
+
+-- document_metadata (entity_type, entity_id) is covered by idx_document_metadata_entity (V11)
@@ -0,0 +1,7 @@
+-- Completion markers of one-time background jobs (e.g. the proposal document backfill)
+
+CREATE TABLE background_job_runs (
+    job_name VARCHAR(100) NOT NULL,
+    completed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (job_name)
+);
@@ -0,0 +1,577 @@
+-- Baseline schema: the tables the application had before it ran Flyway migrations.
+-- Databases that already have these tables (created by ddl-auto) are baselined at
+-- version 1 (spring.flyway.baseline-on-migrate), so this script only runs on empty schemas.
+
+CREATE TABLE certificates (
+    id INT NOT NULL AUTO_INCREMENT,
+    engineer_id INT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    issued_by VARCHAR(255),
+    issued_date DATE,
+    expiry_date DATE,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE change_request_attachments (
+    id INT NOT NULL AUTO_INCREMENT,
+    change_request_id INT NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    file_path VARCHAR(500) NOT NULL,
+    file_size BIGINT NOT NULL,
+    file_type VARCHAR(100),
+    uploaded_by INT NOT NULL,
+    uploaded_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE change_request_billing_details (
+    id INT NOT NULL AUTO_INCREMENT,
+    change_request_id INT NOT NULL,
+    payment_date DATE NOT NULL,
+    delivery_note VARCHAR(500) NOT NULL,
+    amount DECIMAL(16,2) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE change_request_engaged_engineers (
+    id INT NOT NULL AUTO_INCREMENT,
+    change_request_id INT NOT NULL,
+    engineer_level VARCHAR(100) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    billing_type VARCHAR(20) NOT NULL,
+    hourly_rate DECIMAL(16,2),
+    hours DECIMAL(10,2),
+    subtotal DECIMAL(16,2),
+    rating DECIMAL(5,2) NOT NULL,
+    salary DECIMAL(16,2) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE change_request_history (
+    id INT NOT NULL AUTO_INCREMENT,
+    change_request_id INT NOT NULL,
+    action VARCHAR(100) NOT NULL,
+    user_id INT NOT NULL,
+    user_name VARCHAR(255) NOT NULL,
+    timestamp DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE change_requests (
+    id INT NOT NULL AUTO_INCREMENT,
+    contract_id INT,
+    sow_contract_id INT,
+    contract_type VARCHAR(10),
+    change_request_id VARCHAR(50) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    title VARCHAR(255),
+    summary TEXT NOT NULL,
+    description TEXT,
+    reason TEXT,
+    planned_end DATE,
+    effective_from DATE,
+    effective_until DATE,
+    desired_start_date DATE,
+    desired_end_date DATE,
+    amount DECIMAL(16,2) NOT NULL,
+    expected_extra_cost DECIMAL(16,2),
+    cost_estimated_by_landbridge DECIMAL(16,2),
+    dev_hours INT,
+    test_hours INT,
+    new_end_date DATE,
+    delay_duration INT,
+    evidence TEXT,
+    status VARCHAR(50) NOT NULL,
+    created_by INT,
+    internal_reviewer_id INT,
+    appendix_id INT,
+    sales_internal_note TEXT,
+    approved_by INT,
+    approved_at DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_change_requests_change_request_id UNIQUE (change_request_id)
+);
+
+CREATE TABLE communication_logs (
+    id INT NOT NULL AUTO_INCREMENT,
+    contact_id INT NOT NULL,
+    message VARCHAR(500) NOT NULL,
+    created_by INT NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE consultation_cancellations (
+    id INT NOT NULL AUTO_INCREMENT,
+    contact_id INT NOT NULL,
+    reason TEXT NOT NULL,
+    cancelled_by INT NOT NULL,
+    cancelled_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE contact_status_history (
+    id INT NOT NULL AUTO_INCREMENT,
+    contact_id INT NOT NULL,
+    from_status VARCHAR(32),
+    to_status VARCHAR(32),
+    changed_by INT,
+    changed_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE contacts (
+    id INT NOT NULL AUTO_INCREMENT,
+    client_user_id INT,
+    assignee_user_id INT,
+    reviewer_id INT,
+    title VARCHAR(255),
+    description TEXT,
+    status VARCHAR(32),
+    request_type VARCHAR(32),
+    priority VARCHAR(32),
+    internal_note TEXT,
+    online_mtg_link VARCHAR(255),
+    online_mtg_date DATETIME(6),
+    communication_progress VARCHAR(32),
+    created_by INT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    proposal_link VARCHAR(500),
+    proposal_status VARCHAR(50),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE contract_appendices (
+    id INT NOT NULL AUTO_INCREMENT,
+    sow_contract_id INT NOT NULL,
+    change_request_id INT NOT NULL,
+    appendix_number VARCHAR(50) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    summary TEXT,
+    pdf_path VARCHAR(500),
+    signed_at DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE contract_history (
+    id INT NOT NULL AUTO_INCREMENT,
+    contract_id INT,
+    sow_contract_id INT,
+    history_type VARCHAR(10),
+    entry_date DATE NOT NULL,
+    description TEXT NOT NULL,
+    document_link VARCHAR(500),
+    document_name VARCHAR(255),
+    created_by INT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE contract_internal_review (
+    id INT NOT NULL AUTO_INCREMENT,
+    contract_id INT,
+    sow_contract_id INT,
+    contract_type VARCHAR(10) NOT NULL,
+    reviewer_id INT NOT NULL,
+    review_action VARCHAR(32) NOT NULL,
+    review_notes TEXT,
+    reviewed_at DATETIME(6) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE contracts (
+    id INT NOT NULL AUTO_INCREMENT,
+    client_id INT NOT NULL,
+    contract_name VARCHAR(255) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    period_start DATE,
+    period_end DATE,
+    value DECIMAL(16,2),
+    assignee_id VARCHAR(50),
+    assignee_user_id INT,
+    reviewer_id INT,
+    currency VARCHAR(16),
+    payment_terms VARCHAR(128),
+    invoicing_cycle VARCHAR(64),
+    billing_day VARCHAR(64),
+    tax_withholding VARCHAR(16),
+    tax_type VARCHAR(16),
+    ip_ownership VARCHAR(128),
+    governing_law VARCHAR(64),
+    landbridge_contact_name VARCHAR(255),
+    landbridge_contact_email VARCHAR(255),
+    link VARCHAR(500),
+    attachments_manifest TEXT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE cr_billing_events (
+    id INT NOT NULL AUTO_INCREMENT,
+    change_request_id INT NOT NULL,
+    billing_month DATE NOT NULL,
+    delta_amount DECIMAL(16,2) NOT NULL,
+    description TEXT,
+    type ENUM('RETAINER_ADJUST','SCOPE_ADJUSTMENT','CORRECTION') NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE cr_resource_events (
+    id INT NOT NULL AUTO_INCREMENT,
+    change_request_id INT NOT NULL,
+    action ENUM('ADD','REMOVE','MODIFY') NOT NULL,
+    engineer_id INT,
+    role VARCHAR(100),
+    level VARCHAR(50),
+    rating_old DECIMAL(5,2),
+    rating_new DECIMAL(5,2),
+    unit_rate_old DECIMAL(16,2),
+    unit_rate_new DECIMAL(16,2),
+    start_date_old DATE,
+    start_date_new DATE,
+    end_date_old DATE,
+    end_date_new DATE,
+    effective_start DATE NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE delivery_items (
+    id INT NOT NULL AUTO_INCREMENT,
+    sow_contract_id INT NOT NULL,
+    milestone VARCHAR(255) NOT NULL,
+    delivery_note TEXT NOT NULL,
+    amount DECIMAL(16,2) NOT NULL,
+    payment_date DATE NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE document_metadata (
+    id INT NOT NULL AUTO_INCREMENT,
+    s3_key VARCHAR(500) NOT NULL,
+    owner_id INT NOT NULL,
+    document_type VARCHAR(50) NOT NULL,
+    entity_id INT,
+    entity_type VARCHAR(50),
+    allowed_roles TEXT,
+    allowed_users TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_document_metadata_s3_key UNIQUE (s3_key)
+);
+
+CREATE TABLE email_templates (
+    id INT NOT NULL AUTO_INCREMENT,
+    template_name VARCHAR(100) NOT NULL,
+    subject VARCHAR(255),
+    body TEXT,
+    is_active BIT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_email_templates_template_name UNIQUE (template_name)
+);
+
+CREATE TABLE engineer_skills (
+    engineer_id INT NOT NULL,
+    skill_id INT NOT NULL,
+    level VARCHAR(32),
+    years INT,
+    PRIMARY KEY (engineer_id, skill_id)
+);
+
+CREATE TABLE engineers (
+    id INT NOT NULL AUTO_INCREMENT,
+    full_name VARCHAR(255),
+    years_experience INT,
+    seniority VARCHAR(32),
+    summary TEXT,
+    introduction TEXT,
+    location VARCHAR(128),
+    language_summary VARCHAR(64),
+    status VARCHAR(32),
+    profile_image_url VARCHAR(500),
+    salary_expectation DECIMAL(10,2),
+    primary_skill VARCHAR(255),
+    email VARCHAR(255),
+    phone VARCHAR(20),
+    gender VARCHAR(16),
+    date_of_birth DATE,
+    interested_in_japan BIT,
+    project_type_experience VARCHAR(500),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_engineers_email UNIQUE (email)
+);
+
+CREATE TABLE fixed_price_billing_details (
+    id INT NOT NULL AUTO_INCREMENT,
+    sow_contract_id INT NOT NULL,
+    billing_name VARCHAR(255) NOT NULL,
+    milestone VARCHAR(255),
+    amount DECIMAL(16,2) NOT NULL,
+    percentage DECIMAL(5,2),
+    invoice_date DATE NOT NULL,
+    milestone_deliverable_id INT,
+    change_request_id INT,
+    is_paid BIT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE milestone_deliverables (
+    id INT NOT NULL AUTO_INCREMENT,
+    sow_contract_id INT NOT NULL,
+    milestone VARCHAR(255) NOT NULL,
+    delivery_note TEXT,
+    acceptance_criteria TEXT,
+    planned_end DATE NOT NULL,
+    payment_percentage DECIMAL(5,2) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE opportunities (
+    id INT NOT NULL AUTO_INCREMENT,
+    opportunity_id VARCHAR(50) NOT NULL,
+    contact_id INT,
+    est_value DECIMAL(15,2) NOT NULL,
+    currency VARCHAR(10),
+    probability INT,
+    client_email VARCHAR(255) NOT NULL,
+    client_name VARCHAR(255) NOT NULL,
+    client_company VARCHAR(255),
+    status VARCHAR(32),
+    assignee_user_id INT,
+    created_by INT NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_opportunities_opportunity_id UNIQUE (opportunity_id)
+);
+
+CREATE TABLE password_reset_tokens (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id INT NOT NULL,
+    token VARCHAR(255) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    used BIT NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_password_reset_tokens_token UNIQUE (token)
+);
+
+CREATE TABLE project_close_requests (
+    id INT NOT NULL AUTO_INCREMENT,
+    sow_id INT NOT NULL,
+    requested_by_user_id INT NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    message TEXT,
+    links TEXT,
+    client_reject_reason TEXT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE project_types (
+    id INT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(128) NOT NULL,
+    description TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_project_types_name UNIQUE (name)
+);
+
+CREATE TABLE proposal_comments (
+    id INT NOT NULL AUTO_INCREMENT,
+    contact_id INT NOT NULL,
+    message TEXT NOT NULL,
+    created_by INT NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE proposal_history (
+    id INT NOT NULL AUTO_INCREMENT,
+    opportunity_id INT NOT NULL,
+    proposal_id INT,
+    activity_type VARCHAR(50) NOT NULL,
+    activity_description TEXT,
+    file_link VARCHAR(500),
+    file_url VARCHAR(500),
+    created_by INT,
+    created_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE proposals (
+    id INT NOT NULL AUTO_INCREMENT,
+    version INT,
+    is_current BIT,
+    title VARCHAR(255) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    reviewer_id INT,
+    contact_id INT,
+    opportunity_id INT,
+    review_notes TEXT,
+    review_action VARCHAR(32),
+    review_submitted_at DATETIME(6),
+    link VARCHAR(500),
+    attachments_manifest TEXT,
+    client_feedback TEXT,
+    created_by INT NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE retainer_billing_base (
+    id INT NOT NULL AUTO_INCREMENT,
+    sow_contract_id INT NOT NULL,
+    billing_month DATE NOT NULL,
+    amount DECIMAL(16,2) NOT NULL,
+    description TEXT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE retainer_billing_details (
+    id INT NOT NULL AUTO_INCREMENT,
+    sow_contract_id INT NOT NULL,
+    payment_date DATE NOT NULL,
+    delivery_note TEXT NOT NULL,
+    amount DECIMAL(16,2) NOT NULL,
+    delivery_item_id INT,
+    change_request_id INT,
+    is_paid BIT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE skills (
+    id INT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(128),
+    parent_skill_id INT,
+    description TEXT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE sow_contracts (
+    id INT NOT NULL AUTO_INCREMENT,
+    client_id INT NOT NULL,
+    contract_name VARCHAR(255) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    engagement_type VARCHAR(50) NOT NULL,
+    parent_msa_id INT NOT NULL,
+    project_name VARCHAR(255) NOT NULL,
+    scope_summary TEXT,
+    period_start DATE,
+    period_end DATE,
+    value DECIMAL(16,2),
+    base_total_amount DECIMAL(16,2),
+    assignee_id VARCHAR(50),
+    assignee_user_id INT,
+    reviewer_id INT,
+    currency VARCHAR(16),
+    payment_terms VARCHAR(128),
+    invoicing_cycle VARCHAR(64),
+    billing_day VARCHAR(64),
+    tax_withholding VARCHAR(16),
+    ip_ownership VARCHAR(128),
+    governing_law VARCHAR(64),
+    landbridge_contact_name VARCHAR(255),
+    landbridge_contact_email VARCHAR(255),
+    link VARCHAR(500),
+    attachments_manifest TEXT,
+    version INT NOT NULL,
+    parent_version_id INT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE sow_engaged_engineers (
+    id INT NOT NULL AUTO_INCREMENT,
+    sow_contract_id INT NOT NULL,
+    engineer_level VARCHAR(100) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    billing_type VARCHAR(20) NOT NULL,
+    hourly_rate DECIMAL(16,2),
+    hours DECIMAL(10,2),
+    subtotal DECIMAL(16,2),
+    rating DECIMAL(5,2) NOT NULL,
+    salary DECIMAL(16,2) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE sow_engaged_engineers_base (
+    id INT NOT NULL AUTO_INCREMENT,
+    sow_contract_id INT NOT NULL,
+    engineer_id INT,
+    role VARCHAR(100) NOT NULL,
+    level VARCHAR(50) NOT NULL,
+    rating DECIMAL(5,2) NOT NULL,
+    unit_rate DECIMAL(16,2) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE users (
+    id INT NOT NULL AUTO_INCREMENT,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    first_password VARCHAR(255),
+    company_name VARCHAR(255),
+    full_name VARCHAR(255),
+    phone VARCHAR(50),
+    role VARCHAR(32),
+    is_active BIT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+ALTER TABLE communication_logs ADD CONSTRAINT fk_communication_logs_created_by FOREIGN KEY (created_by) REFERENCES users (id);
+ALTER TABLE consultation_cancellations ADD CONSTRAINT fk_consultation_cancellations_cancelled_by FOREIGN KEY (cancelled_by) REFERENCES users (id);
+ALTER TABLE contact_status_history ADD CONSTRAINT fk_contact_status_history_contact_id FOREIGN KEY (contact_id) REFERENCES contacts (id);
+ALTER TABLE contacts ADD CONSTRAINT fk_contacts_client_user_id FOREIGN KEY (client_user_id) REFERENCES users (id);
+ALTER TABLE proposal_comments ADD CONSTRAINT fk_proposal_comments_created_by FOREIGN KEY (created_by) REFERENCES users (id);
+ALTER TABLE proposal_history ADD CONSTRAINT fk_proposal_history_opportunity_id FOREIGN KEY (opportunity_id) REFERENCES opportunities (id);
+ALTER TABLE proposal_history ADD CONSTRAINT fk_proposal_history_proposal_id FOREIGN KEY (proposal_id) REFERENCES proposals (id);
+ALTER TABLE proposal_history ADD CONSTRAINT fk_proposal_history_created_by FOREIGN KEY (created_by) REFERENCES users (id);
+ALTER TABLE proposals ADD CONSTRAINT fk_proposals_contact_id FOREIGN KEY (contact_id) REFERENCES contacts (id);
+ALTER TABLE proposals ADD CONSTRAINT fk_proposals_opportunity_id FOREIGN KEY (opportunity_id) REFERENCES opportunities (id);
+ALTER TABLE proposals ADD CONSTRAINT fk_proposals_reviewer_id FOREIGN KEY (reviewer_id) REFERENCES users (id);
+ALTER TABLE proposals ADD CONSTRAINT fk_proposals_created_by FOREIGN KEY (created_by) REFERENCES users (id);
@@ -0,0 +1,4 @@
+-- CR resource events point at the CR engaged engineer row they were created from
+-- (null for events recorded before the link existed)
+
+ALTER TABLE cr_resource_events ADD COLUMN cr_engaged_engineer_id INT AFTER engineer_id;
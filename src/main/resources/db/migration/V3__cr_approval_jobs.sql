@@ -0,0 +1,26 @@
+-- Background pipeline for applying approved SOW change requests, one row per approval
+
+CREATE TABLE cr_approval_jobs (
+    id INT NOT NULL AUTO_INCREMENT,
+    change_request_id INT NOT NULL,
+    sow_contract_id INT NOT NULL,
+    approved_by INT NOT NULL,
+    status ENUM('PENDING','RUNNING','RETRY','COMPLETED','FAILED') NOT NULL,
+    current_stage ENUM('BASELINE','EVENTS','APPENDIX','NOTIFICATION'),
+    attempts INT NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error TEXT,
+    appendix_number VARCHAR(50),
+    baseline_ms BIGINT,
+    events_ms BIGINT,
+    appendix_ms BIGINT,
+    notification_ms BIGINT,
+    total_ms BIGINT,
+    lease_owner VARCHAR(100),
+    heartbeat_at DATETIME(6),
+    started_at DATETIME(6),
+    completed_at DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,14 @@
+-- SOW contract version headers; the latest header keeps a snapshot of the versioned fields
+
+CREATE TABLE sow_contract_versions (
+    id INT NOT NULL AUTO_INCREMENT,
+    sow_contract_id INT NOT NULL,
+    version INT NOT NULL,
+    change_request_id INT,
+    changed_field_count INT NOT NULL,
+    created_by INT,
+    snapshot TEXT,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_sow_contract_versions_contract_version UNIQUE (sow_contract_id, version)
+);
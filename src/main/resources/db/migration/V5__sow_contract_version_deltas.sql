@@ -0,0 +1,12 @@
+-- Field-level changes of each SOW contract version
+
+CREATE TABLE sow_contract_version_deltas (
+    id INT NOT NULL AUTO_INCREMENT,
+    sow_contract_id INT NOT NULL,
+    version INT NOT NULL,
+    field_name VARCHAR(64) NOT NULL,
+    old_value TEXT,
+    new_value TEXT,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_sow_version_deltas_contract_version ON sow_contract_version_deltas (sow_contract_id, version);
@@ -0,0 +1,14 @@
+-- Denormalized SOW/MSA detail read model, one JSON payload per contract
+
+CREATE TABLE contract_detail_views (
+    id INT NOT NULL AUTO_INCREMENT,
+    contract_type VARCHAR(10) NOT NULL,
+    contract_id INT NOT NULL,
+    assignee_user_id INT,
+    payload LONGTEXT NOT NULL,
+    stale BIT NOT NULL,
+    generation INT NOT NULL,
+    built_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_contract_detail_views_contract UNIQUE (contract_type, contract_id)
+);
@@ -0,0 +1,21 @@
+-- Durable queue of outgoing email, drained by the outbox workers
+
+CREATE TABLE email_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    template VARCHAR(100) NOT NULL,
+    to_email VARCHAR(255) NOT NULL,
+    subject VARCHAR(500) NOT NULL,
+    body TEXT,
+    status ENUM('PENDING','SENDING','RETRY','SENT','DEAD') NOT NULL,
+    attempts INT NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error TEXT,
+    lease_owner VARCHAR(100),
+    heartbeat_at DATETIME(6),
+    started_at DATETIME(6),
+    sent_at DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at);
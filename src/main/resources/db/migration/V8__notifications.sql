@@ -0,0 +1,17 @@
+-- In-app notification inbox
+
+CREATE TABLE notifications (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id INT NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT,
+    entity_type VARCHAR(50),
+    entity_id INT,
+    is_read BIT NOT NULL,
+    read_at DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_notifications_user_id ON notifications (user_id, id);
+CREATE INDEX idx_notifications_user_read ON notifications (user_id, is_read, id);
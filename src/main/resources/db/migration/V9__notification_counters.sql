@@ -0,0 +1,8 @@
+-- Unread notification count per user
+
+CREATE TABLE notification_counters (
+    user_id INT NOT NULL,
+    unread_count INT NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (user_id)
+);
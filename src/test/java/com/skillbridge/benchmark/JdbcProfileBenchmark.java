@@ -0,0 +1,133 @@
+package com.skillbridge.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+/**
+ * JDBC Profile Benchmark
+ * Rows per second for the write/read patterns the "perf" profile tunes: one transaction per
+ * statement vs one per request, JDBC batching, prepared statement reuse and fetch size.
+ * Not a unit test; run its main method. Without arguments it uses H2 in MySQL mode; pass a
+ * MySQL URL, user and password to measure the driver settings of application-perf.yml, e.g.
+ * jdbc:mysql://localhost:3307/skillbridge_dev?rewriteBatchedStatements=true&cachePrepStmts=true&useServerPrepStmts=true
+ */
+public class JdbcProfileBenchmark {
+
+    private static final int ROWS = 5000;
+    private static final int BATCH_SIZE = 50;
+    private static final String INSERT = "INSERT INTO bench_events (contract_id, event_type, note, created_at) VALUES (?, ?, ?, ?)";
+
+    public static void main(String[] args) throws SQLException {
+        String url = args.length > 0 ? args[0] : "jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1";
+        String user = args.length > 1 ? args[1] : "sa";
+        String password = args.length > 2 ? args[2] : "";
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            // First round warms up the JIT and the database; only the second is reported
+            for (int round = 0; round < 2; round++) {
+                boolean report = round == 1;
+                resetTable(connection);
+                print(report, "row-by-row, autocommit", insertRowByRow(connection, true));
+                print(report, "row-by-row, one transaction", insertRowByRow(connection, false));
+                print(report, "prepare per row, one transaction", insertPreparePerRow(connection));
+                print(report, "batch of " + BATCH_SIZE + ", one transaction", insertBatched(connection));
+                print(report, "read, default fetch size", read(connection, 0));
+                print(report, "read, fetch size 100", read(connection, 100));
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE bench_events");
+            }
+        }
+    }
+
+    private static void resetTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_events");
+            statement.execute("CREATE TABLE bench_events (id INT AUTO_INCREMENT PRIMARY KEY, contract_id INT NOT NULL, " +
+                    "event_type VARCHAR(50) NOT NULL, note VARCHAR(255), created_at TIMESTAMP NOT NULL)");
+        }
+    }
+
+    private static long insertRowByRow(Connection connection, boolean autoCommit) throws SQLException {
+        long start = System.nanoTime();
+        connection.setAutoCommit(autoCommit);
+        try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            for (int i = 0; i < ROWS; i++) {
+                bind(insert, i);
+                insert.executeUpdate();
+            }
+        }
+        finish(connection, autoCommit);
+        return System.nanoTime() - start;
+    }
+
+    private static long insertPreparePerRow(Connection connection) throws SQLException {
+        long start = System.nanoTime();
+        connection.setAutoCommit(false);
+        for (int i = 0; i < ROWS; i++) {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                bind(insert, i);
+                insert.executeUpdate();
+            }
+        }
+        finish(connection, false);
+        return System.nanoTime() - start;
+    }
+
+    private static long insertBatched(Connection connection) throws SQLException {
+        long start = System.nanoTime();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            for (int i = 0; i < ROWS; i++) {
+                bind(insert, i);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        finish(connection, false);
+        return System.nanoTime() - start;
+    }
+
+    private static long read(Connection connection, int fetchSize) throws SQLException {
+        long start = System.nanoTime();
+        int rows = 0;
+        try (PreparedStatement select = connection.prepareStatement("SELECT id, contract_id, event_type, note, created_at FROM bench_events")) {
+            select.setFetchSize(fetchSize);
+            try (ResultSet resultSet = select.executeQuery()) {
+                while (resultSet.next() && rows < ROWS) {
+                    resultSet.getString(4);
+                    rows++;
+                }
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void bind(PreparedStatement insert, int i) throws SQLException {
+        insert.setInt(1, i % 100);
+        insert.setString(2, "RESOURCE_CHANGE");
+        insert.setString(3, "Engineer allocation changed #" + i);
+        insert.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+    }
+
+    private static void finish(Connection connection, boolean autoCommit) throws SQLException {
+        if (!autoCommit) {
+            connection.commit();
+        }
+        connection.setAutoCommit(true);
+    }
+
+    private static void print(boolean report, String name, long nanos) {
+        if (report) {
+            System.out.printf("%-36s %,10.0f rows/s%n", name, ROWS / (nanos / 1_000_000_000.0));
+        }
+    }
+}
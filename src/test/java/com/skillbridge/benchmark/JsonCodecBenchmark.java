@@ -0,0 +1,122 @@
+package com.skillbridge.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.skillbridge.dto.common.AttachmentInfo;
+import com.skillbridge.util.JsonCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonCodec Benchmark
+ * Per-call cost of parsing attachments manifests and ACL role lists: the previous pattern
+ * (a Gson instance per service, a TypeToken per call, a second parse for old-format manifests)
+ * against the shared JsonCodec.
+ * Not a unit test; run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.skillbridge.benchmark.JsonCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    private static final String MANIFEST =
+            "[{\"s3Key\":\"contracts/msa/12/1700000000000_SOW draft.pdf\",\"fileName\":\"SOW draft.pdf\"},"
+          + "{\"s3Key\":\"contracts/msa/12/1700000000001_Rate card.xlsx\",\"fileName\":\"Rate card.xlsx\"},"
+          + "{\"s3Key\":\"contracts/msa/12/1700000000002_NDA.pdf\",\"fileName\":\"NDA.pdf\"}]";
+
+    private static final String LEGACY_MANIFEST =
+            "[\"contracts/msa/12/1700000000000_SOW draft.pdf\",\"contracts/msa/12/1700000000001_Rate card.xlsx\"]";
+
+    private static final String ROLES = "[\"SALES_MANAGER\",\"SALES_REP\"]";
+
+    private final Gson gson = new Gson();
+    private final JsonCodec jsonCodec = new JsonCodec();
+
+    @Benchmark
+    public List<AttachmentInfo> gsonManifest() {
+        return gsonParseManifest(MANIFEST);
+    }
+
+    @Benchmark
+    public List<AttachmentInfo> gsonLegacyManifest() {
+        return gsonParseManifest(LEGACY_MANIFEST);
+    }
+
+    @Benchmark
+    public List<String> gsonRoles() {
+        Type type = new TypeToken<List<String>>() {}.getType();
+        return gson.fromJson(ROLES, type);
+    }
+
+    @Benchmark
+    public String gsonWriteRoles() {
+        return gson.toJson(Arrays.asList("SALES_MANAGER", "SALES_REP"));
+    }
+
+    @Benchmark
+    public List<AttachmentInfo> codecManifest() {
+        return jsonCodec.readAttachments(MANIFEST);
+    }
+
+    @Benchmark
+    public List<AttachmentInfo> codecLegacyManifest() {
+        return jsonCodec.readAttachments(LEGACY_MANIFEST);
+    }
+
+    @Benchmark
+    public List<String> codecRoles() {
+        return jsonCodec.readStringList(ROLES);
+    }
+
+    @Benchmark
+    public String codecWriteRoles() {
+        return jsonCodec.writeStringList(Arrays.asList("SALES_MANAGER", "SALES_REP"));
+    }
+
+    /**
+     * Manifest parsing as the services did it before JsonCodec: try the AttachmentInfo
+     * format, fall back to a second parse as a list of keys
+     */
+    private List<AttachmentInfo> gsonParseManifest(String manifest) {
+        try {
+            Type infoType = new TypeToken<List<AttachmentInfo>>() {}.getType();
+            List<AttachmentInfo> infos = gson.fromJson(manifest, infoType);
+            if (infos != null) {
+                return infos;
+            }
+        } catch (Exception e) {
+            // Old format, parse as keys below
+        }
+        List<AttachmentInfo> infos = new ArrayList<>();
+        Type keyType = new TypeToken<List<String>>() {}.getType();
+        List<String> keys = gson.fromJson(manifest, keyType);
+        for (String key : keys) {
+            infos.add(new AttachmentInfo(key, key.substring(key.lastIndexOf("/") + 1)));
+        }
+        return infos;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,153 @@
+package com.skillbridge.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Request Throughput Benchmark
+ * Closed-loop load test against a running backend: N clients call the dashboard, search and
+ * upload endpoints back to back for a fixed time, then requests/s, p50 and p99 are printed per
+ * endpoint. Run it once against the default (platform thread) server and once against
+ * --spring.profiles.active=dev,vthreads (Java 21 build, mvn -Pjava21) to compare the two modes.
+ * Not a unit test; run its main method with system properties:
+ *   -Dbase=http://localhost:8080/api   backend URL including the context path
+ *   -Dtoken=...                        JWT of a sales user (dashboard and upload need one)
+ *   -DproposalId=...                   draft proposal the upload step re-uploads a file to
+ *   -Dclients=200 -Dseconds=30         concurrent clients and measured time (after 10 s warm-up)
+ * The upload step is skipped without a proposalId; it creates proposal versions, so use a
+ * throwaway database.
+ */
+public class RequestThroughputBenchmark {
+
+    private static final String BOUNDARY = "----benchmark-boundary";
+
+    public static void main(String[] args) throws Exception {
+        String base = System.getProperty("base", "http://localhost:8080/api");
+        String token = System.getProperty("token", "");
+        String proposalId = System.getProperty("proposalId", "");
+        int clients = Integer.getInteger("clients", 200);
+        int seconds = Integer.getInteger("seconds", 30);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, clients / 10)))
+                .build();
+
+        Map<String, Supplier<HttpRequest>> endpoints = new LinkedHashMap<>();
+        endpoints.put("dashboard", () -> authorized(base + "/sales/dashboard/summary", token).GET().build());
+        endpoints.put("search", () -> HttpRequest.newBuilder(URI.create(base + "/public/engineers/search?page=0&size=20"))
+                .timeout(Duration.ofSeconds(30)).GET().build());
+        if (!proposalId.isEmpty()) {
+            byte[] body = multipartFile("benchmark.pdf", new byte[256 * 1024]);
+            endpoints.put("upload", () -> authorized(base + "/sales/opportunities/proposals/" + proposalId, token)
+                    .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                    .PUT(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build());
+        }
+
+        System.out.printf("%d clients against %s%n", clients, base);
+        for (Map.Entry<String, Supplier<HttpRequest>> endpoint : endpoints.entrySet()) {
+            run(client, endpoint.getValue(), clients, 10);
+            Result result = run(client, endpoint.getValue(), clients, seconds);
+            System.out.printf("%-10s %8.1f req/s  p50 %6d ms  p99 %6d ms  errors %d%n",
+                    endpoint.getKey(), result.count / (double) seconds,
+                    result.percentileMs(0.50), result.percentileMs(0.99), result.errors);
+        }
+        System.exit(0);
+    }
+
+    private static Result run(HttpClient client, Supplier<HttpRequest> request, int clients, int seconds)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicInteger errors = new AtomicInteger();
+        // Latencies of each client; read after the pool has terminated
+        long[][] latencies = new long[clients][];
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        for (int i = 0; i < clients; i++) {
+            int index = i;
+            pool.execute(() -> {
+                long[] nanos = new long[1024];
+                int size = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request.get(), HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    if (size == nanos.length) {
+                        nanos = Arrays.copyOf(nanos, size * 2);
+                    }
+                    nanos[size++] = System.nanoTime() - start;
+                }
+                latencies[index] = Arrays.copyOf(nanos, size);
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+
+        long[] all = Arrays.stream(latencies)
+                .filter(Objects::nonNull)
+                .flatMapToLong(Arrays::stream)
+                .sorted()
+                .toArray();
+        return new Result(all, errors.get());
+    }
+
+    private static HttpRequest.Builder authorized(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private static byte[] multipartFile(String fileName, byte[] content) {
+        String head = "--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"files\"; filename=\"" + fileName + "\"\r\n" +
+                "Content-Type: application/pdf\r\n\r\n";
+        String tail = "\r\n--" + BOUNDARY + "--\r\n";
+        byte[] headBytes = head.getBytes(StandardCharsets.UTF_8);
+        byte[] tailBytes = tail.getBytes(StandardCharsets.UTF_8);
+        byte[] body = new byte[headBytes.length + content.length + tailBytes.length];
+        System.arraycopy(headBytes, 0, body, 0, headBytes.length);
+        System.arraycopy(content, 0, body, headBytes.length, content.length);
+        System.arraycopy(tailBytes, 0, body, headBytes.length + content.length, tailBytes.length);
+        return body;
+    }
+
+    private static final class Result {
+
+        private final long[] sortedNanos;
+        private final int count;
+        private final int errors;
+
+        private Result(long[] sortedNanos, int errors) {
+            this.sortedNanos = sortedNanos;
+            this.count = sortedNanos.length;
+            this.errors = errors;
+        }
+
+        private long percentileMs(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            int index = Math.min(count - 1, (int) Math.ceil(percentile * count) - 1);
+            return TimeUnit.NANOSECONDS.toMillis(sortedNanos[Math.max(0, index)]);
+        }
+    }
+}
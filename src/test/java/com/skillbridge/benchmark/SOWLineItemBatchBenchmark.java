@@ -0,0 +1,125 @@
+package com.skillbridge.benchmark;
+
+import com.skillbridge.entity.contract.SOWEngagedEngineer;
+import com.skillbridge.repository.contract.SOWEngagedEngineerRepository;
+import com.skillbridge.repository.contract.SOWLineItemBatchRepository;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SOW Line Item Batch Benchmark
+ * Rows per second for creating the engaged engineers of a 60-month, 20-engineer retainer SOW:
+ * the SOWEngagedEngineerRepository.save loop the services used before (Hibernate cannot batch
+ * IDENTITY inserts, so every save is its own INSERT) against SOWLineItemBatchRepository.
+ * Both paths run in one transaction per contract on the same connection, as in
+ * SalesSOWContractService.
+ * Not a unit test; run its main method. Uses H2 in MySQL mode, because Hibernate creates and
+ * drops the table; on MySQL the batch path additionally gains from rewriteBatchedStatements.
+ */
+public class SOWLineItemBatchBenchmark {
+
+    private static final int MONTHS = 60;
+    private static final int ENGINEERS = 20;
+    private static final String URL = "jdbc:h2:mem:sow_bench;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    public static void main(String[] args) {
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(SOWEngagedEngineer.class)
+                .setProperty("hibernate.connection.url", URL)
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.connection.password", "")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", "50")
+                .setProperty("hibernate.order_inserts", "true");
+
+        try (SessionFactory sessionFactory = configuration.buildSessionFactory();
+             Session session = sessionFactory.openSession()) {
+            SOWEngagedEngineerRepository repository =
+                    new JpaRepositoryFactory(session).getRepository(SOWEngagedEngineerRepository.class);
+
+            // First rounds warm up the JIT and the database; only the last is reported
+            int contractId = 0;
+            for (int round = 0; round < 3; round++) {
+                boolean report = round == 2;
+                print(report, "repository.save loop", insertWithSaveLoop(session, repository, ++contractId));
+                print(report, "SOWLineItemBatchRepository", insertWithBatch(session, ++contractId));
+            }
+        }
+    }
+
+    private static long insertWithSaveLoop(Session session, SOWEngagedEngineerRepository repository, int contractId) {
+        List<SOWEngagedEngineer> engineers = buildEngineers(contractId);
+        long start = System.nanoTime();
+        inTransaction(session, () -> {
+            for (SOWEngagedEngineer engineer : engineers) {
+                repository.save(engineer);
+            }
+        });
+        return System.nanoTime() - start;
+    }
+
+    private static long insertWithBatch(Session session, int contractId) {
+        List<SOWEngagedEngineer> engineers = buildEngineers(contractId);
+        long start = System.nanoTime();
+        inTransaction(session, () -> session.doWork(connection ->
+                new SOWLineItemBatchRepository(new JdbcTemplate(new SingleConnectionDataSource(connection, true)))
+                        .insertSOWEngagedEngineers(engineers)));
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Runs the work in a transaction with Spring synchronization active, so the entity's
+     * ContractDetailViewInvalidator only collects keys, as it does inside @Transactional.
+     * The after-commit invalidation itself is not part of either path and is skipped.
+     */
+    private static void inTransaction(Session session, Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            session.getTransaction().begin();
+            work.run();
+            session.getTransaction().commit();
+            session.clear();
+        } finally {
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static List<SOWEngagedEngineer> buildEngineers(int sowContractId) {
+        List<SOWEngagedEngineer> engineers = new ArrayList<>();
+        for (int month = 0; month < MONTHS; month++) {
+            for (int i = 0; i < ENGINEERS; i++) {
+                SOWEngagedEngineer engineer = new SOWEngagedEngineer();
+                engineer.setSowContractId(sowContractId);
+                engineer.setEngineerLevel("Middle Backend Engineer " + i);
+                engineer.setStartDate(LocalDate.of(2025, 1, 1).plusMonths(month));
+                engineer.setEndDate(LocalDate.of(2025, 1, 1).plusMonths(month + 1).minusDays(1));
+                engineer.setBillingType("Monthly");
+                engineer.setRating(BigDecimal.valueOf(100));
+                engineer.setSalary(BigDecimal.valueOf(3000));
+                engineers.add(engineer);
+            }
+        }
+        return engineers;
+    }
+
+    private static void print(boolean report, String name, long nanos) {
+        if (report) {
+            System.out.printf("%-30s %,10.0f rows/s (%d rows)%n", name,
+                    MONTHS * ENGINEERS / (nanos / 1_000_000_000.0), MONTHS * ENGINEERS);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.skillbridge.config;
+
+import com.skillbridge.util.QueryBudget;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for QueryBudgetFilter
+ * Tests that the SQL work of a request is recorded per handler
+ */
+class QueryBudgetFilterTest {
+
+    private MeterRegistry meterRegistry;
+    private QueryBudgetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new QueryBudgetFilter();
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "warnStatements", 50);
+        ReflectionTestUtils.setField(filter, "warnRepeatedStatements", 10);
+        ReflectionTestUtils.setField(filter, "slowRequestThresholdMs", 1000L);
+        ReflectionTestUtils.setField(filter, "slowRequestMaxPerMinute", 30);
+    }
+
+    @Test
+    @DisplayName("doFilter - ghi số statement và entity của request, dọn counter sau request")
+    void testDoFilter_RecordsStatements() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/sales/contracts");
+        FilterChain chain = (req, res) -> {
+            QueryBudget.onStatement("select * from contracts");
+            QueryBudget.onStatement("select * from users where id=?");
+            QueryBudget.onEntityLoaded();
+        };
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("http.server.requests.sql.statements").tag("handler", "none")
+                .summary().totalAmount());
+        assertEquals(1.0, meterRegistry.get("http.server.requests.sql.entities").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("http.server.requests.sql.time").timer().count());
+        assertNull(QueryBudget.current());
+    }
+
+    @Test
+    @DisplayName("doFilter - tắt bằng cấu hình → không đo")
+    void testDoFilter_Disabled() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(filter, "enabled", false);
+        FilterChain chain = (req, res) -> assertNull(QueryBudget.current());
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/sales/contracts"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+}
@@ -0,0 +1,156 @@
+package com.skillbridge.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReplicaRoutingDataSource
+ * Tests routing of read-only transactions and read-your-writes fallback
+ */
+class ReplicaRoutingDataSourceTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.clear();
+        List.copyOf(TransactionSynchronizationManager.getResourceMap().keySet())
+                .forEach(TransactionSynchronizationManager::unbindResource);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("determineCurrentLookupKey - không có transaction → primary")
+    void testLookupKey_NoTransaction() {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(5);
+
+        // Act & Assert
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("determineCurrentLookupKey - transaction readOnly → replica")
+    void testLookupKey_ReadOnlyTransaction() {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(5);
+        login("client@example.com");
+        beginTransaction(true);
+
+        // Act & Assert
+        assertEquals(ReplicaRoutingDataSource.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("determineCurrentLookupKey - user vừa commit ghi → đọc từ primary")
+    void testLookupKey_ReadAfterOwnWrite() {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(5);
+        login("client@example.com");
+        beginTransaction(false);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+        commit();
+
+        // Act
+        beginTransaction(true);
+        Object key = routing.determineCurrentLookupKey();
+
+        // Assert
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, key);
+    }
+
+    @Test
+    @DisplayName("determineCurrentLookupKey - user khác vừa ghi → vẫn đọc replica")
+    void testLookupKey_OtherUserWrote() {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(5);
+        routing.recordWrite("sales@example.com");
+        login("client@example.com");
+        beginTransaction(true);
+
+        // Act & Assert
+        assertEquals(ReplicaRoutingDataSource.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("determineCurrentLookupKey - ghi đã quá read-your-writes-seconds → replica")
+    void testLookupKey_WriteExpired() {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(0);
+        routing.recordWrite("client@example.com");
+        login("client@example.com");
+        beginTransaction(true);
+
+        // Act & Assert
+        assertEquals(ReplicaRoutingDataSource.REPLICA, routing.determineCurrentLookupKey());
+        assertFalse(routing.wroteRecently("client@example.com"));
+    }
+
+    @Test
+    @DisplayName("getConnection - transaction readOnly → lấy connection từ pool replica")
+    void testGetConnection_ReadOnlyUsesReplica() throws Exception {
+        // Arrange
+        DataSource primary = mock(DataSource.class);
+        DataSource replica = mock(DataSource.class);
+        Connection replicaConnection = mock(Connection.class);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        ReplicaRoutingDataSource routing = createRouting(primary, replica);
+        beginTransaction(true);
+
+        // Act
+        Connection connection = routing.getConnection();
+
+        // Assert
+        assertSame(replicaConnection, connection);
+        verify(primary, never()).getConnection();
+    }
+
+    // Helper methods
+    private ReplicaRoutingDataSource createRouting(DataSource primary, DataSource replica) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primary);
+        targets.put(ReplicaRoutingDataSource.REPLICA, replica);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(5);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private void login(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    /**
+     * Sets the thread state the way a transaction manager does after begin
+     */
+    private void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.clear();
+    }
+}
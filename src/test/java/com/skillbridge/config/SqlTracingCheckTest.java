@@ -0,0 +1,54 @@
+package com.skillbridge.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SqlTracingCheck
+ * Tests detection of SQL tracing properties
+ */
+class SqlTracingCheckTest {
+
+    @Test
+    @DisplayName("findTracing - show-sql và format_sql bật → liệt kê cả hai")
+    void testFindTracing_ShowSqlEnabled() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.jpa.show-sql", "true")
+                .withProperty("spring.jpa.properties.hibernate.format_sql", "true");
+
+        // Act
+        List<String> tracing = createCheck(environment).findTracing();
+
+        // Assert
+        assertTrue(tracing.contains("spring.jpa.show-sql"));
+        assertTrue(tracing.contains("hibernate.format_sql"));
+    }
+
+    @Test
+    @DisplayName("findTracing - profile perf (show-sql tắt) → không báo show-sql")
+    void testFindTracing_ShowSqlDisabled() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.jpa.show-sql", "false");
+
+        // Act
+        List<String> tracing = createCheck(environment).findTracing();
+
+        // Assert
+        assertFalse(tracing.contains("spring.jpa.show-sql"));
+        assertFalse(tracing.contains("hibernate.format_sql"));
+    }
+
+    // Helper methods
+    private SqlTracingCheck createCheck(MockEnvironment environment) {
+        SqlTracingCheck check = new SqlTracingCheck();
+        ReflectionTestUtils.setField(check, "environment", environment);
+        return check;
+    }
+}
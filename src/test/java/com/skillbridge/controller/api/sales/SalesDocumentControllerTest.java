@@ -1,9 +1,13 @@
 package com.skillbridge.controller.api.sales;
 
+import com.skillbridge.dto.common.BatchPresignedUrlRequest;
+import com.skillbridge.dto.common.BatchPresignedUrlResponse;
+import com.skillbridge.dto.common.CompleteUploadsRequest;
 import com.skillbridge.dto.sales.response.ErrorResponse;
 import com.skillbridge.dto.sales.response.PresignedUrlResponse;
 import com.skillbridge.entity.auth.User;
 import com.skillbridge.repository.auth.UserRepository;
+import com.skillbridge.service.common.DirectUploadService;
 import com.skillbridge.service.common.DocumentPermissionService;
 import com.skillbridge.service.common.S3Service;
 import com.skillbridge.util.JwtTokenProvider;
@@ -19,6 +23,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +40,9 @@ class SalesDocumentControllerTest {
     @Mock
     private DocumentPermissionService documentPermissionService;
 
+    @Mock
+    private DirectUploadService directUploadService;
+
     @Mock
     private UserRepository userRepository;
 
@@ -155,6 +164,79 @@ class SalesDocumentControllerTest {
         assertTrue(body.getMessage().contains("Failed to generate presigned URL"));
     }
 
+    @Test
+    @DisplayName("getPresignedUrls - kiểm tra quyền một lần → 200 với URL cho key được phép và danh sách denied")
+    void testGetPresignedUrls_PartialPermission() {
+        User user = new User();
+        user.setId(1);
+        user.setRole("SALES_REP");
+
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn(userDetails);
+        when(userDetails.getUsername()).thenReturn("rep@example.com");
+        when(userRepository.findByEmail("rep@example.com")).thenReturn(Optional.of(user));
+
+        BatchPresignedUrlRequest batchRequest = new BatchPresignedUrlRequest();
+        batchRequest.setS3Keys(Arrays.asList("key-a", "key-b", "key-a"));
+        when(documentPermissionService.getPermittedKeys(batchRequest.getS3Keys(), user))
+                .thenReturn(Collections.singleton("key-a"));
+        when(s3Service.getPresignedUrl("key-a", 10)).thenReturn("http://signed-a");
+
+        ResponseEntity<?> response = controller.getPresignedUrls(batchRequest, authentication, httpServletRequest);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        BatchPresignedUrlResponse body = (BatchPresignedUrlResponse) response.getBody();
+        assertEquals(1, body.getUrls().size());
+        assertEquals("http://signed-a", body.getUrls().get(0).getPresignedUrl());
+        assertEquals(Collections.singletonList("key-b"), body.getDenied());
+        verify(documentPermissionService, never()).hasPermission(any(), any());
+        verify(s3Service, times(1)).getPresignedUrl(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("getPresignedUrls - danh sách key rỗng → 400")
+    void testGetPresignedUrls_EmptyKeys() {
+        User user = new User();
+        user.setId(1);
+        user.setRole("SALES_MANAGER");
+
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn(userDetails);
+        when(userDetails.getUsername()).thenReturn("manager@example.com");
+        when(userRepository.findByEmail("manager@example.com")).thenReturn(Optional.of(user));
+
+        ResponseEntity<?> response = controller.getPresignedUrls(new BatchPresignedUrlRequest(), authentication, httpServletRequest);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(documentPermissionService, s3Service);
+    }
+
+    @Test
+    @DisplayName("completeUploads - service ném lỗi → 400 với ErrorResponse")
+    void testCompleteUploads_ServiceError() {
+        User user = new User();
+        user.setId(1);
+        user.setRole("SALES_REP");
+
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn(userDetails);
+        when(userDetails.getUsername()).thenReturn("rep@example.com");
+        when(userRepository.findByEmail("rep@example.com")).thenReturn(Optional.of(user));
+
+        CompleteUploadsRequest completeRequest = new CompleteUploadsRequest();
+        completeRequest.setEntityType("msa_contract");
+        completeRequest.setEntityId(3);
+        completeRequest.setS3Keys(Collections.singletonList("contracts/msa/3/a.pdf"));
+        when(directUploadService.completeUploads("msa_contract", 3, completeRequest.getS3Keys(), user))
+                .thenThrow(new RuntimeException("No upload slot found for contracts/msa/3/a.pdf"));
+
+        ResponseEntity<?> response = controller.completeUploads(completeRequest, authentication, httpServletRequest);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        ErrorResponse body = (ErrorResponse) response.getBody();
+        assertTrue(body.getMessage().contains("No upload slot"));
+    }
+
     @Test
     @DisplayName("deleteDocument - currentUser null → 401")
     void testDeleteDocument_Unauthenticated() {
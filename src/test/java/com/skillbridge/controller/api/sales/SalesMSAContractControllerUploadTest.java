@@ -0,0 +1,139 @@
+package com.skillbridge.controller.api.sales;
+
+import com.skillbridge.entity.auth.User;
+import com.skillbridge.repository.auth.UserRepository;
+import com.skillbridge.service.sales.ContractDetailReadModelService;
+import com.skillbridge.service.sales.SalesMSAContractService;
+import com.skillbridge.util.JsonCodec;
+import com.skillbridge.util.JwtTokenProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Upload test for SalesMSAContractController on an embedded server
+ * Sends a real multipart request so the spring.servlet.multipart limits from application.yml
+ * apply: an attachment larger than one S3 part must reach the service (and S3Service's
+ * multipart upload) instead of being rejected by the servlet container.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        classes = SalesMSAContractControllerUploadTest.WebApp.class)
+class SalesMSAContractControllerUploadTest {
+
+    // Above the default 1MB servlet limit and the 8MB S3 part size
+    private static final int FILE_SIZE = 12 * 1024 * 1024;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @MockBean
+    private SalesMSAContractService contractService;
+
+    @MockBean
+    private ContractDetailReadModelService contractDetailReadModelService;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private JwtTokenProvider jwtTokenProvider;
+
+    @MockBean
+    private JsonCodec jsonCodec;
+
+    @Test
+    @DisplayName("createMSAContract - file đính kèm 12MB → tới được service, không bị chặn bởi giới hạn multipart")
+    void testCreateMSAContract_LargeAttachmentReachesService() {
+        // Arrange
+        User user = new User();
+        user.setId(1);
+        user.setEmail("manager@example.com");
+        user.setRole("SALES_MANAGER");
+        when(jwtTokenProvider.isTokenExpired("token")).thenReturn(false);
+        when(jwtTokenProvider.getUsernameFromToken("token")).thenReturn("manager@example.com");
+        when(userRepository.findByEmail("manager@example.com")).thenReturn(Optional.of(user));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        headers.setBearerAuth("token");
+
+        // Act
+        ResponseEntity<String> response = restTemplate.postForEntity("/sales/contracts/msa",
+                new HttpEntity<>(createForm(FILE_SIZE), headers), String.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(contractService).createMSAContract(any(),
+                argThat(files -> files != null && files.length == 1 && files[0].getSize() == FILE_SIZE),
+                eq(user));
+    }
+
+    // Helper methods
+    private MultiValueMap<String, Object> createForm(int fileSize) {
+        MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+        form.add("clientId", "1");
+        form.add("effectiveStart", "2025-01-01");
+        form.add("effectiveEnd", "2025-12-31");
+        form.add("assigneeUserId", "1");
+        form.add("currency", "USD");
+        form.add("paymentTerms", "Net 30");
+        form.add("invoicingCycle", "Monthly");
+        form.add("billingDay", "1");
+        form.add("taxWithholding", "10%");
+        form.add("ipOwnership", "Client");
+        form.add("governingLaw", "Vietnam");
+        form.add("clientContactId", "1");
+        form.add("landbridgeContactId", "1");
+        form.add("attachments", new ByteArrayResource(new byte[fileSize]) {
+            @Override
+            public String getFilename() {
+                return "contract.pdf";
+            }
+        });
+        return form;
+    }
+
+    /**
+     * Just the web layer and the controller under test
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+            PropertyPlaceholderAutoConfiguration.class,
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            MultipartAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class
+    })
+    @Import(SalesMSAContractController.class)
+    static class WebApp {
+    }
+}
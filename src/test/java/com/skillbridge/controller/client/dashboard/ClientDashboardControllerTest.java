@@ -4,6 +4,7 @@ import com.skillbridge.dto.dashboard.response.ActivitiesResponseDTO;
 import com.skillbridge.dto.dashboard.response.AlertsResponseDTO;
 import com.skillbridge.dto.dashboard.response.DashboardSummaryDTO;
 import com.skillbridge.service.dashboard.DashboardService;
+import com.skillbridge.service.common.DashboardEventService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,6 +23,9 @@ class ClientDashboardControllerTest {
     @Mock
     private DashboardService dashboardService;
 
+    @Mock
+    private DashboardEventService dashboardEventService;
+
     @InjectMocks
     private ClientDashboardController controller;
 
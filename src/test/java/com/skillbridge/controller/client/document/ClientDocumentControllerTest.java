@@ -1,5 +1,7 @@
 package com.skillbridge.controller.client.document;
 
+import com.skillbridge.dto.common.BatchPresignedUrlRequest;
+import com.skillbridge.dto.common.BatchPresignedUrlResponse;
 import com.skillbridge.dto.sales.response.ErrorResponse;
 import com.skillbridge.dto.sales.response.PresignedUrlResponse;
 import com.skillbridge.entity.auth.User;
@@ -18,6 +20,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -140,6 +145,46 @@ class ClientDocumentControllerTest {
         ErrorResponse body = (ErrorResponse) response.getBody();
         assertTrue(body.getMessage().contains("Failed to generate presigned URL"));
     }
-}
 
+    @Test
+    @DisplayName("getPresignedUrls - kiểm tra quyền một lần → 200 với URL cho key được phép và danh sách denied")
+    void testGetPresignedUrls_PartialPermission() {
+        User user = buildUser("CLIENT");
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn("client@example.com");
+        when(userRepository.findByEmail("client@example.com")).thenReturn(Optional.of(user));
 
+        BatchPresignedUrlRequest batchRequest = new BatchPresignedUrlRequest();
+        batchRequest.setS3Keys(Arrays.asList("key-a", "key-b"));
+        when(documentPermissionService.getPermittedKeys(batchRequest.getS3Keys(), user))
+                .thenReturn(new LinkedHashSet<>(Arrays.asList("key-a", "key-b")));
+        when(s3Service.getPresignedUrl("key-a", 10)).thenReturn("http://url-a");
+        when(s3Service.getPresignedUrl("key-b", 10)).thenReturn("http://url-b");
+
+        ResponseEntity<?> response = controller.getPresignedUrls(batchRequest, authentication, httpServletRequest);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        BatchPresignedUrlResponse body = (BatchPresignedUrlResponse) response.getBody();
+        assertEquals(2, body.getUrls().size());
+        assertEquals("key-b", body.getUrls().get(1).getS3Key());
+        assertTrue(body.getDenied().isEmpty());
+        assertEquals(10, body.getExpirationMinutes());
+    }
+
+    @Test
+    @DisplayName("getPresignedUrls - role không phải client → 403")
+    void testGetPresignedUrls_ForbiddenRole() {
+        User user = buildUser("SALES_REP");
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn("sales@example.com");
+        when(userRepository.findByEmail("sales@example.com")).thenReturn(Optional.of(user));
+
+        BatchPresignedUrlRequest batchRequest = new BatchPresignedUrlRequest();
+        batchRequest.setS3Keys(Collections.singletonList("key-a"));
+
+        ResponseEntity<?> response = controller.getPresignedUrls(batchRequest, authentication, httpServletRequest);
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        verifyNoInteractions(documentPermissionService, s3Service);
+    }
+}
@@ -0,0 +1,163 @@
+package com.skillbridge.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Flyway migrations against H2 in MySQL mode
+ * Applies all migrations (to an empty schema, and to a pre-Flyway schema baselined at V1),
+ * then EXPLAINs the hot repository queries (as SQL) and fails if
+ * any of them is planned as a full table scan
+ */
+class HotQueryIndexTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // VALUE is a column name (contracts.value) but a keyword in H2
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE", "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    @DisplayName("migrate - schema rỗng → chạy baseline và index pack")
+    void testMigrate_EmptySchema() {
+        // Act
+        int executed = migrate();
+
+        // Assert
+        assertTrue(executed >= 2);
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'IDX_CONTRACTS_CLIENT_CREATED'", Integer.class));
+    }
+
+    @Test
+    @DisplayName("migrate - schema có sẵn từ trước Flyway (baseline V1) → tạo bảng/cột mới và index pack")
+    void testMigrate_BaselinedSchema() {
+        // Arrange
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline_schema.sql")).execute(dataSource);
+
+        // Act
+        int executed = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate()
+                .migrationsExecuted;
+
+        // Assert
+        assertTrue(executed >= 2);
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'EMAIL_OUTBOX'", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'DOCUMENT_METADATA' " +
+                "AND COLUMN_NAME = 'ACL_INDEXED'", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'IDX_CR_APPROVAL_JOBS_LEASE_OWNER'", Integer.class));
+    }
+
+    @Test
+    @DisplayName("EXPLAIN hot queries - mọi truy vấn dùng index, không full scan")
+    void testHotQueries_UseIndexes() {
+        // Arrange
+        migrate();
+        List<String> fullScans = new ArrayList<>();
+
+        // Act
+        for (Map.Entry<String, String> query : hotQueries().entrySet()) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + query.getValue(), String.class);
+            if (plan.contains(".tableScan")) {
+                fullScans.add(query.getKey() + ":\n" + plan);
+            }
+        }
+
+        // Assert
+        assertTrue(fullScans.isEmpty(), "Full table scans:\n" + String.join("\n\n", fullScans));
+    }
+
+    // Helper methods
+    private int migrate() {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate()
+                .migrationsExecuted;
+    }
+
+    /**
+     * Repository queries on the hot paths, written as the SQL Hibernate sends
+     */
+    private Map<String, String> hotQueries() {
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("ContractRepository.findByClientIdWithFilters",
+                "SELECT * FROM contracts WHERE client_id = 1 AND status = 'ACTIVE' ORDER BY created_at DESC");
+        queries.put("SalesContractService MSA list (assignee)",
+                "SELECT * FROM contracts WHERE assignee_user_id = 5 ORDER BY created_at DESC");
+        queries.put("SOWContractRepository.findByClientIdWithFilters",
+                "SELECT * FROM sow_contracts WHERE client_id = 1 ORDER BY created_at DESC");
+        queries.put("SalesContractService SOW list (assignee, status)",
+                "SELECT * FROM sow_contracts WHERE assignee_user_id = 5 AND status = 'ACTIVE' ORDER BY created_at DESC");
+        queries.put("SOWContractRepository.findAllVersionsByParentVersionId",
+                "SELECT * FROM sow_contracts WHERE parent_version_id = 3 ORDER BY version");
+        queries.put("ChangeRequestRepository.findBySowContractIdOrderByCreatedAtDesc",
+                "SELECT * FROM change_requests WHERE sow_contract_id = 3 ORDER BY created_at DESC");
+        queries.put("ChangeRequestRepository.findByContractIdOrderByCreatedAtDesc",
+                "SELECT * FROM change_requests WHERE contract_id = 3 ORDER BY created_at DESC");
+        queries.put("CRResourceEventRepository.findApprovedEventsBySowContractId",
+                "SELECT * FROM cr_resource_events WHERE change_request_id IN (SELECT cr.id FROM change_requests cr " +
+                "WHERE cr.sow_contract_id = 3 AND UPPER(cr.status) IN ('APPROVED', 'ACTIVE')) " +
+                "ORDER BY effective_start, created_at");
+        queries.put("CRResourceEventRepository.findByChangeRequestId",
+                "SELECT * FROM cr_resource_events WHERE change_request_id = 7");
+        queries.put("ProposalRepository.findByOpportunityIdOrderByVersionDesc",
+                "SELECT * FROM proposals WHERE opportunity_id = 2 ORDER BY version DESC");
+        queries.put("ProposalRepository.findByContactId",
+                "SELECT * FROM proposals WHERE contact_id = 2");
+        queries.put("ContactRepository.findByClientUserIdOrderByCreatedAtDesc",
+                "SELECT * FROM contacts WHERE client_user_id = 4 ORDER BY created_at DESC");
+        queries.put("CommunicationLogRepository.findByContactIdOrderByCreatedAtDesc",
+                "SELECT * FROM communication_logs WHERE contact_id = 2 ORDER BY created_at DESC");
+        queries.put("DocumentMetadataRepository.findByEntityIdAndEntityType",
+                "SELECT * FROM document_metadata WHERE entity_id = 2 AND entity_type = 'proposal'");
+        queries.put("AttachmentRepository.findByEntityTypeAndEntityIdOrderByPositionAsc",
+                "SELECT * FROM attachments WHERE entity_type = 'proposal' AND entity_id = 2 ORDER BY position");
+        queries.put("SOWEngagedEngineerRepository.findBySowContractIdOrderByStartDateAsc",
+                "SELECT * FROM sow_engaged_engineers WHERE sow_contract_id = 3 ORDER BY start_date");
+        queries.put("RetainerBillingDetailRepository.findBySowContractIdOrderByPaymentDateDesc",
+                "SELECT * FROM retainer_billing_details WHERE sow_contract_id = 3 ORDER BY payment_date DESC");
+        queries.put("ContractHistoryRepository.findBySowContractIdOrderByEntryDateDesc",
+                "SELECT * FROM contract_history WHERE sow_contract_id = 3 ORDER BY entry_date DESC, created_at DESC");
+        queries.put("ChangeRequestApprovalJobRepository.claimBatch",
+                "SELECT * FROM cr_approval_jobs WHERE status IN ('PENDING', 'RETRY') " +
+                "AND next_attempt_at <= CURRENT_TIMESTAMP ORDER BY next_attempt_at, id");
+        queries.put("ChangeRequestApprovalJobRepository.findByLeaseOwner",
+                "SELECT * FROM cr_approval_jobs WHERE lease_owner = 'node-1:7'");
+        queries.put("EmailOutboxRepository.claimBatch",
+                "SELECT * FROM email_outbox WHERE status IN ('PENDING', 'RETRY') " +
+                "AND next_attempt_at <= CURRENT_TIMESTAMP ORDER BY next_attempt_at, id");
+        queries.put("EmailOutboxRepository.findByLeaseOwner",
+                "SELECT * FROM email_outbox WHERE lease_owner = 'node-1:8'");
+        return queries;
+    }
+}
@@ -0,0 +1,99 @@
+package com.skillbridge.repository.contract;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the native markStale upsert of ContractDetailViewRepository against H2 in MySQL mode
+ * Runs the query from the repository annotation on the V6 table, interleaved with the insert
+ * a first build performs (ContractDetailReadModelService.store)
+ */
+class ContractDetailViewRepositoryTest {
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V6__contract_detail_views.sql")).execute(dataSource);
+    }
+
+    @Test
+    @DisplayName("markStale - hợp đồng được ghi trong lúc build lần đầu → tạo row stale, lần build đầu không ghi đè được")
+    void testMarkStale_DuringFirstBuild() throws Exception {
+        // Act (the reader found no row and is assembling; a write commits, then the build stores)
+        markStale("SOW", 100);
+        assertThrows(DataIntegrityViolationException.class, () -> insertFirstBuild("SOW", 100));
+
+        // Assert
+        Map<String, Object> row = findRow("SOW", 100);
+        assertEquals(Boolean.TRUE, row.get("stale"));
+        assertEquals(1, ((Number) row.get("generation")).intValue());
+        assertEquals("", row.get("payload"));
+    }
+
+    @Test
+    @DisplayName("markStale - row đã build → đánh dấu stale và tăng generation")
+    void testMarkStale_ExistingRow() throws Exception {
+        // Arrange
+        insertFirstBuild("MSA", 20);
+
+        // Act
+        markStale("MSA", 20);
+        markStale("MSA", 20);
+
+        // Assert
+        Map<String, Object> row = findRow("MSA", 20);
+        assertEquals(Boolean.TRUE, row.get("stale"));
+        assertEquals(2, ((Number) row.get("generation")).intValue());
+        assertEquals("{\"id\":20}", row.get("payload"));
+    }
+
+    // Helper methods
+    private void markStale(String contractType, Integer contractId) throws Exception {
+        String sql = ContractDetailViewRepository.class
+                .getMethod("markStale", String.class, Integer.class)
+                .getAnnotation(Query.class)
+                .value();
+        jdbcTemplate.update(sql, new MapSqlParameterSource()
+                .addValue("contractType", contractType)
+                .addValue("contractId", contractId));
+    }
+
+    private void insertFirstBuild(String contractType, Integer contractId) {
+        jdbcTemplate.update("INSERT INTO contract_detail_views " +
+                "(contract_type, contract_id, assignee_user_id, payload, stale, generation, built_at) " +
+                "VALUES (:contractType, :contractId, 5, :payload, FALSE, 0, :builtAt)",
+                new MapSqlParameterSource()
+                        .addValue("contractType", contractType)
+                        .addValue("contractId", contractId)
+                        .addValue("payload", "{\"id\":" + contractId + "}")
+                        .addValue("builtAt", Timestamp.valueOf(LocalDateTime.now())));
+    }
+
+    private Map<String, Object> findRow(String contractType, Integer contractId) {
+        return jdbcTemplate.queryForMap("SELECT payload, stale, generation FROM contract_detail_views " +
+                "WHERE contract_type = :contractType AND contract_id = :contractId",
+                new MapSqlParameterSource()
+                        .addValue("contractType", contractType)
+                        .addValue("contractId", contractId));
+    }
+}
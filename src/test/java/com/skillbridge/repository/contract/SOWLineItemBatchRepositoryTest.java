@@ -0,0 +1,163 @@
+package com.skillbridge.repository.contract;
+
+import com.skillbridge.entity.contract.RetainerBillingBase;
+import com.skillbridge.entity.contract.RetainerBillingDetail;
+import com.skillbridge.entity.contract.SOWEngagedEngineer;
+import com.skillbridge.entity.contract.SOWEngagedEngineerBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SOWLineItemBatchRepository against H2 in MySQL mode
+ * Throughput against the repository.save loop it replaces is measured by SOWLineItemBatchBenchmark
+ */
+class SOWLineItemBatchRepositoryTest {
+
+    private static final int MONTHS = 60;
+    private static final int ENGINEERS = 20;
+
+    private JdbcTemplate jdbcTemplate;
+    private SOWLineItemBatchRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new SOWLineItemBatchRepository(jdbcTemplate);
+
+        jdbcTemplate.execute("CREATE TABLE sow_engaged_engineers (id INT AUTO_INCREMENT PRIMARY KEY, " +
+                "sow_contract_id INT NOT NULL, engineer_level VARCHAR(100) NOT NULL, start_date DATE NOT NULL, " +
+                "end_date DATE NOT NULL, billing_type VARCHAR(20) NOT NULL, hourly_rate DECIMAL(16,2), " +
+                "hours DECIMAL(10,2), subtotal DECIMAL(16,2), rating DECIMAL(5,2) NOT NULL, " +
+                "salary DECIMAL(16,2) NOT NULL, created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE retainer_billing_details (id INT AUTO_INCREMENT PRIMARY KEY, " +
+                "sow_contract_id INT NOT NULL, payment_date DATE NOT NULL, delivery_note TEXT NOT NULL, " +
+                "amount DECIMAL(16,2) NOT NULL, delivery_item_id INT, change_request_id INT, " +
+                "is_paid BOOLEAN NOT NULL, created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE sow_engaged_engineers_base (id INT AUTO_INCREMENT PRIMARY KEY, " +
+                "sow_contract_id INT NOT NULL, engineer_id INT, role VARCHAR(100) NOT NULL, " +
+                "level VARCHAR(50) NOT NULL, rating DECIMAL(5,2) NOT NULL, unit_rate DECIMAL(16,2) NOT NULL, " +
+                "start_date DATE NOT NULL, end_date DATE, created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE retainer_billing_base (id INT AUTO_INCREMENT PRIMARY KEY, " +
+                "sow_contract_id INT NOT NULL, billing_month DATE NOT NULL, amount DECIMAL(16,2) NOT NULL, " +
+                "description TEXT, created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP, " +
+                "CONSTRAINT uk_base_sow_month UNIQUE (sow_contract_id, billing_month))");
+    }
+
+    @Test
+    @DisplayName("insertSOWEngagedEngineers - 60 tháng x 20 engineers → insert đủ dòng, gán createdAt")
+    void testInsertSOWEngagedEngineers_InsertsAllRows() {
+        // Arrange
+        List<SOWEngagedEngineer> engineers = buildEngineers(1);
+
+        // Act
+        int sent = repository.insertSOWEngagedEngineers(engineers);
+
+        // Assert
+        assertEquals(MONTHS * ENGINEERS, sent);
+        assertEquals(MONTHS * ENGINEERS, countRows("sow_engaged_engineers", 1));
+        assertNotNull(engineers.get(0).getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("insertRetainerBillingDetails - dòng có giá trị null → lưu NULL")
+    void testInsertRetainerBillingDetails_NullableColumns() {
+        // Arrange
+        List<RetainerBillingDetail> details = new ArrayList<>();
+        for (int month = 0; month < MONTHS; month++) {
+            RetainerBillingDetail detail = new RetainerBillingDetail();
+            detail.setSowContractId(1);
+            detail.setPaymentDate(LocalDate.of(2025, 1, 15).plusMonths(month));
+            detail.setDeliveryNote("Month " + (month + 1));
+            detail.setAmount(BigDecimal.valueOf(10000));
+            details.add(detail);
+        }
+
+        // Act
+        int sent = repository.insertRetainerBillingDetails(details);
+
+        // Assert
+        assertEquals(MONTHS, sent);
+        assertEquals(MONTHS, countRows("retainer_billing_details", 1));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM retainer_billing_details WHERE change_request_id IS NOT NULL", Integer.class));
+    }
+
+    @Test
+    @DisplayName("insertEngineerBaselines / insertBillingBaselines - tạo baseline → insert đủ dòng")
+    void testInsertBaselines_InsertsAllRows() {
+        // Arrange
+        List<SOWEngagedEngineerBase> baseEngineers = new ArrayList<>();
+        for (SOWEngagedEngineer engineer : buildEngineers(1)) {
+            SOWEngagedEngineerBase base = new SOWEngagedEngineerBase();
+            base.setSowContractId(1);
+            base.setRole(engineer.getEngineerLevel());
+            base.setLevel("Middle");
+            base.setRating(engineer.getRating());
+            base.setUnitRate(engineer.getSalary());
+            base.setStartDate(engineer.getStartDate());
+            base.setEndDate(engineer.getEndDate());
+            baseEngineers.add(base);
+        }
+        List<RetainerBillingBase> baseBillings = new ArrayList<>();
+        for (int month = 0; month < MONTHS; month++) {
+            RetainerBillingBase billing = new RetainerBillingBase();
+            billing.setSowContractId(1);
+            billing.setBillingMonth(LocalDate.of(2025, 1, 1).plusMonths(month));
+            billing.setAmount(BigDecimal.valueOf(20000));
+            baseBillings.add(billing);
+        }
+
+        // Act
+        int sent = repository.insertEngineerBaselines(baseEngineers) + repository.insertBillingBaselines(baseBillings);
+
+        // Assert
+        assertEquals(MONTHS * ENGINEERS + MONTHS, sent);
+        assertEquals(MONTHS * ENGINEERS, countRows("sow_engaged_engineers_base", 1));
+        assertEquals(MONTHS, countRows("retainer_billing_base", 1));
+    }
+
+    @Test
+    @DisplayName("insert* - danh sách rỗng hoặc null → không gọi database")
+    void testInsert_EmptyList() {
+        assertEquals(0, repository.insertDeliveryItems(new ArrayList<>()));
+        assertEquals(0, repository.insertMilestoneDeliverables(null));
+    }
+
+    // Helper methods
+    private List<SOWEngagedEngineer> buildEngineers(Integer sowContractId) {
+        List<SOWEngagedEngineer> engineers = new ArrayList<>();
+        for (int month = 0; month < MONTHS; month++) {
+            for (int i = 0; i < ENGINEERS; i++) {
+                SOWEngagedEngineer engineer = new SOWEngagedEngineer();
+                engineer.setSowContractId(sowContractId);
+                engineer.setEngineerLevel("Middle Backend Engineer " + i);
+                engineer.setStartDate(LocalDate.of(2025, 1, 1).plusMonths(month));
+                engineer.setEndDate(LocalDate.of(2025, 1, 1).plusMonths(month + 1).minusDays(1));
+                engineer.setBillingType("Monthly");
+                engineer.setRating(BigDecimal.valueOf(100));
+                engineer.setSalary(BigDecimal.valueOf(3000));
+                engineers.add(engineer);
+            }
+        }
+        return engineers;
+    }
+
+    private int countRows(String table, Integer sowContractId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE sow_contract_id = ?", Integer.class, sowContractId);
+    }
+}
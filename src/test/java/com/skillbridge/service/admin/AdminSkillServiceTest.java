@@ -7,6 +7,8 @@ import com.skillbridge.dto.admin.response.SkillResponseDTO;
 import com.skillbridge.entity.engineer.Skill;
 import com.skillbridge.repository.engineer.EngineerSkillRepository;
 import com.skillbridge.repository.engineer.SkillRepository;
+import com.skillbridge.service.engineer.SkillTree;
+import com.skillbridge.service.engineer.SkillTreeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -38,6 +40,9 @@ class AdminSkillServiceTest {
     @Mock
     private EngineerSkillRepository engineerSkillRepository;
 
+    @Mock
+    private SkillTreeService skillTreeService;
+
     @InjectMocks
     private AdminSkillService adminSkillService;
 
@@ -82,7 +87,7 @@ class AdminSkillServiceTest {
     @Test
     @DisplayName("getSubSkillsByParentId - throws when parent not found")
     void testGetSubSkillsByParentId_NotFound() {
-        when(skillRepository.findById(1)).thenReturn(Optional.empty());
+        when(skillTreeService.getTree()).thenReturn(SkillTree.of(List.of()));
         assertThrows(RuntimeException.class, () -> adminSkillService.getSubSkillsByParentId(1));
     }
 
@@ -92,11 +97,30 @@ class AdminSkillServiceTest {
         Skill sub = new Skill();
         sub.setId(2);
         sub.setParentSkillId(1);
-        when(skillRepository.findById(2)).thenReturn(Optional.of(sub));
+        when(skillTreeService.getTree()).thenReturn(SkillTree.of(List.of(parentSkill, sub)));
 
         assertThrows(RuntimeException.class, () -> adminSkillService.getSubSkillsByParentId(2));
     }
 
+    @Test
+    @DisplayName("getSubSkillsByParentId - returns sub-skills from the skill tree")
+    void testGetSubSkillsByParentId_Success() {
+        Skill java = new Skill("Java", 1, "JVM");
+        java.setId(3);
+        Skill go = new Skill("Go", 1);
+        go.setId(2);
+        when(skillTreeService.getTree()).thenReturn(SkillTree.of(List.of(java, parentSkill, go)));
+
+        List<SkillResponseDTO> result = adminSkillService.getSubSkillsByParentId(1);
+
+        assertEquals(2, result.size());
+        assertEquals("Go", result.get(0).getName());
+        assertEquals("Java", result.get(1).getName());
+        assertEquals("JVM", result.get(1).getDescription());
+        assertEquals(1, result.get(1).getParentSkillId());
+        verify(skillRepository, never()).findByParentSkillId(any());
+    }
+
     @Test
     @DisplayName("createSkill - throws when name already exists")
     void testCreateSkill_NameExists() {
@@ -0,0 +1,108 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.entity.document.Attachment;
+import com.skillbridge.entity.document.DocumentMetadata;
+import com.skillbridge.repository.contract.ContractRepository;
+import com.skillbridge.repository.contract.SOWContractRepository;
+import com.skillbridge.repository.document.AttachmentRepository;
+import com.skillbridge.repository.proposal.ProposalRepository;
+import com.skillbridge.util.JsonCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AttachmentBackfillService
+ * Tests the keyset batch copy of attachments manifests into the attachments table
+ */
+@ExtendWith(MockitoExtension.class)
+class AttachmentBackfillServiceTest {
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    @Mock
+    private SOWContractRepository sowContractRepository;
+
+    @Mock
+    private ProposalRepository proposalRepository;
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private AttachmentBackfillService backfillService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(backfillService, "jsonCodec", new JsonCodec());
+        ReflectionTestUtils.setField(backfillService, "enabled", true);
+        ReflectionTestUtils.setField(backfillService, "batchSize", 2);
+    }
+
+    @Test
+    @DisplayName("backfill - bỏ qua entity đã có dòng, tạo dòng cho manifest còn lại theo từng batch")
+    @SuppressWarnings("unchecked")
+    void testBackfill_SkipsEntitiesWithRows() {
+        // Arrange
+        when(contractRepository.findManifestsAfter(eq(0), any())).thenReturn(Arrays.asList(
+                row(1, "[\"contracts/msa/1/a.pdf\"]"),
+                row(2, "[{\"s3Key\":\"contracts/msa/2/b.pdf\",\"fileName\":\"B.pdf\"},{\"s3Key\":\"contracts/msa/2/c.pdf\",\"fileName\":\"C.pdf\"}]")));
+        when(contractRepository.findManifestsAfter(eq(2), any())).thenReturn(Collections.singletonList(row(7, "not json")));
+        when(contractRepository.findManifestsAfter(eq(7), any())).thenReturn(new ArrayList<>());
+        when(sowContractRepository.findManifestsAfter(eq(0), any())).thenReturn(new ArrayList<>());
+        when(proposalRepository.findManifestsAfter(eq(0), any())).thenReturn(new ArrayList<>());
+        when(attachmentRepository.findEntityIdsWithAttachments(eq(DocumentMetadata.ENTITY_MSA_CONTRACT), anyCollection()))
+                .thenReturn(Collections.singletonList(1))
+                .thenReturn(new ArrayList<>());
+
+        // Act
+        int created = backfillService.backfill();
+
+        // Assert
+        assertEquals(2, created);
+        ArgumentCaptor<List<Attachment>> captor = ArgumentCaptor.forClass(List.class);
+        verify(attachmentRepository, times(1)).saveAll(captor.capture());
+        List<Attachment> rows = captor.getValue();
+        assertEquals(2, rows.get(0).getEntityId());
+        assertEquals("B.pdf", rows.get(0).getFileName());
+        assertEquals(1, rows.get(1).getPosition());
+    }
+
+    @Test
+    @DisplayName("onApplicationReady - tắt bằng cấu hình → không chạy")
+    void testOnApplicationReady_Disabled() {
+        // Arrange
+        ReflectionTestUtils.setField(backfillService, "enabled", false);
+
+        // Act
+        backfillService.onApplicationReady();
+
+        // Assert
+        verifyNoInteractions(contractRepository, sowContractRepository, proposalRepository, attachmentRepository);
+    }
+
+    // Helper methods
+    private Object[] row(Integer id, String manifest) {
+        return new Object[]{id, manifest};
+    }
+}
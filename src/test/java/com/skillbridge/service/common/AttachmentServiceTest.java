@@ -0,0 +1,170 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.dto.common.AttachmentInfo;
+import com.skillbridge.entity.document.Attachment;
+import com.skillbridge.entity.document.DocumentMetadata;
+import com.skillbridge.repository.document.AttachmentRepository;
+import com.skillbridge.service.sales.ContractDetailViewInvalidator;
+import com.skillbridge.util.JsonCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AttachmentService
+ * Tests reads from the attachments table with manifest fallback, and appends/removals
+ * that first move a not yet backfilled manifest into rows
+ */
+@ExtendWith(MockitoExtension.class)
+class AttachmentServiceTest {
+
+    private static final String MSA = DocumentMetadata.ENTITY_MSA_CONTRACT;
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private ContractDetailViewInvalidator contractDetailViewInvalidator;
+
+    @InjectMocks
+    private AttachmentService attachmentService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(attachmentService, "jsonCodec", new JsonCodec());
+    }
+
+    @Test
+    @DisplayName("getAttachments - đã có dòng trong bảng → trả về theo position, bỏ qua manifest")
+    void testGetAttachments_RowsWinOverManifest() {
+        // Arrange
+        when(attachmentRepository.findByEntityTypeAndEntityIdOrderByPositionAsc(MSA, 3)).thenReturn(Arrays.asList(
+                createAttachment(3, "contracts/msa/3/a.pdf", "a.pdf", 0),
+                createAttachment(3, "contracts/msa/3/b.pdf", "b.pdf", 1)));
+
+        // Act
+        List<AttachmentInfo> result = attachmentService.getAttachments(MSA, 3, "[\"contracts/msa/3/old.pdf\"]");
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("contracts/msa/3/a.pdf", result.get(0).getS3Key());
+        assertEquals("b.pdf", result.get(1).getFileName());
+    }
+
+    @Test
+    @DisplayName("getAttachments - chưa backfill → đọc manifest dạng AttachmentInfo hoặc chuỗi key")
+    void testGetAttachments_ManifestFallback() {
+        // Arrange
+        when(attachmentRepository.findByEntityTypeAndEntityIdOrderByPositionAsc(eq(MSA), anyInt())).thenReturn(new ArrayList<>());
+
+        // Act
+        List<AttachmentInfo> current = attachmentService.getAttachments(MSA, 3,
+                "[{\"s3Key\":\"contracts/msa/3/a.pdf\",\"fileName\":\"Original A.pdf\"}]");
+        List<AttachmentInfo> legacy = attachmentService.getAttachments(MSA, 4, "[\"contracts/msa/4/b.pdf\"]");
+
+        // Assert
+        assertEquals(1, current.size());
+        assertEquals("Original A.pdf", current.get(0).getFileName());
+        assertEquals(1, legacy.size());
+        assertEquals("contracts/msa/4/b.pdf", legacy.get(0).getS3Key());
+        assertEquals("b.pdf", legacy.get(0).getFileName());
+    }
+
+    @Test
+    @DisplayName("getAttachments (nhiều entity) - một truy vấn, entity chưa có dòng thì đọc manifest")
+    void testGetAttachments_Bulk() {
+        // Arrange
+        Map<Integer, String> manifests = new LinkedHashMap<>();
+        manifests.put(1, null);
+        manifests.put(2, "[\"proposals/2/old.pdf\"]");
+        manifests.put(3, null);
+        when(attachmentRepository.findByEntities(eq(DocumentMetadata.ENTITY_PROPOSAL), anyCollection()))
+                .thenReturn(Collections.singletonList(createAttachment(1, "proposals/1/a.pdf", "a.pdf", 0)));
+
+        // Act
+        Map<Integer, List<AttachmentInfo>> result = attachmentService.getAttachments(DocumentMetadata.ENTITY_PROPOSAL, manifests);
+
+        // Assert
+        verify(attachmentRepository, times(1)).findByEntities(eq(DocumentMetadata.ENTITY_PROPOSAL), anyCollection());
+        assertEquals("proposals/1/a.pdf", result.get(1).get(0).getS3Key());
+        assertEquals("proposals/2/old.pdf", result.get(2).get(0).getS3Key());
+        assertTrue(result.get(3).isEmpty());
+    }
+
+    @Test
+    @DisplayName("appendAttachments - manifest chưa backfill → chuyển thành dòng trước, file mới nối sau")
+    @SuppressWarnings("unchecked")
+    void testAppendAttachments_MaterializesManifestFirst() {
+        // Arrange
+        String manifest = "[\"contracts/msa/3/a.pdf\",\"contracts/msa/3/a.pdf\",\"contracts/msa/3/b.pdf\"]";
+        when(attachmentRepository.existsByEntityTypeAndEntityId(MSA, 3)).thenReturn(false);
+        when(attachmentRepository.findMaxPosition(MSA, 3)).thenReturn(1);
+        when(attachmentRepository.findByEntityTypeAndEntityIdOrderByPositionAsc(MSA, 3)).thenReturn(new ArrayList<>());
+
+        // Act
+        attachmentService.appendAttachments(MSA, 3, manifest,
+                Collections.singletonList(new AttachmentInfo("contracts/msa/3/c.pdf", "c.pdf")));
+
+        // Assert
+        ArgumentCaptor<List<Attachment>> captor = ArgumentCaptor.forClass(List.class);
+        verify(attachmentRepository, times(2)).saveAll(captor.capture());
+        List<Attachment> legacyRows = captor.getAllValues().get(0);
+        assertEquals(2, legacyRows.size());
+        assertEquals(0, legacyRows.get(0).getPosition());
+        assertEquals("contracts/msa/3/b.pdf", legacyRows.get(1).getS3Key());
+        Attachment appended = captor.getAllValues().get(1).get(0);
+        assertEquals("contracts/msa/3/c.pdf", appended.getS3Key());
+        assertEquals(2, appended.getPosition());
+    }
+
+    @Test
+    @DisplayName("removeAttachment - key không thuộc entity → báo lỗi")
+    void testRemoveAttachment_NotFound() {
+        // Arrange
+        when(attachmentRepository.existsByEntityTypeAndEntityId(MSA, 3)).thenReturn(true);
+        when(attachmentRepository.deleteByEntityAndS3Key(MSA, 3, "contracts/msa/3/x.pdf")).thenReturn(0);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> attachmentService.removeAttachment(MSA, 3, "[\"contracts/msa/3/a.pdf\"]", "contracts/msa/3/x.pdf"));
+        assertEquals("Attachment not found", exception.getMessage());
+        verify(attachmentRepository, never()).saveAll(any());
+        verifyNoInteractions(contractDetailViewInvalidator);
+    }
+
+    @Test
+    @DisplayName("removeAttachment - xóa hàng loạt không qua listener → invalidate detail view của contract")
+    void testRemoveAttachment_InvalidatesDetailView() {
+        // Arrange
+        when(attachmentRepository.existsByEntityTypeAndEntityId(MSA, 3)).thenReturn(true);
+        when(attachmentRepository.deleteByEntityAndS3Key(MSA, 3, "contracts/msa/3/a.pdf")).thenReturn(1);
+
+        // Act
+        attachmentService.removeAttachment(MSA, 3, "[\"contracts/msa/3/a.pdf\"]", "contracts/msa/3/a.pdf");
+
+        // Assert
+        verify(contractDetailViewInvalidator).invalidateAttachments(MSA, 3);
+    }
+
+    // Helper methods
+    private Attachment createAttachment(Integer entityId, String s3Key, String fileName, int position) {
+        return new Attachment(MSA, entityId, s3Key, fileName, position);
+    }
+}
@@ -0,0 +1,158 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.dto.common.DashboardEventDTO;
+import com.skillbridge.service.dashboard.DashboardService;
+import com.skillbridge.service.sales.SalesDashboardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DashboardEventService
+ * Tests connection bookkeeping, after-commit delivery and counter deltas
+ */
+@ExtendWith(MockitoExtension.class)
+class DashboardEventServiceTest {
+
+    @Mock
+    private SalesRecipientResolver salesRecipientResolver;
+
+    @Mock
+    private ThreadPoolTaskExecutor dashboardStreamExecutor;
+
+    @InjectMocks
+    private DashboardEventService dashboardEventService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dashboardEventService, "timeoutMinutes", 30L);
+        ReflectionTestUtils.setField(dashboardEventService, "maxConnectionsPerUser", 2);
+    }
+
+    @Test
+    @DisplayName("publishToUsers - không có kết nối nào → không đẩy việc sang pool")
+    void testPublish_NoConnections() {
+        // Act
+        dashboardEventService.publishToUsers(Collections.singletonList(5),
+                DashboardEventDTO.activity("contact", 1, "New contact"));
+
+        // Assert
+        verifyNoInteractions(dashboardStreamExecutor);
+        verifyNoInteractions(salesRecipientResolver);
+    }
+
+    @Test
+    @DisplayName("publishToSales - có kết nối → gửi cho assignee và sales manager trên pool")
+    void testPublishToSales_DeliversToManagersAndAssignee() {
+        // Arrange
+        runTasksInline();
+        when(salesRecipientResolver.getSalesManagerIds()).thenReturn(Arrays.asList(1, 2));
+        SseEmitter emitter = dashboardEventService.subscribe(3);
+
+        // Act
+        dashboardEventService.publishToSales(Collections.singletonList(3),
+                DashboardEventDTO.activity("CONTACT", 10, "New contact").counter("contacts.all", 1));
+
+        // Assert
+        assertNotNull(emitter);
+        verify(dashboardStreamExecutor).execute(any(Runnable.class));
+        verify(salesRecipientResolver).getSalesManagerIds();
+        assertEquals(1, dashboardEventService.getConnectionCount());
+    }
+
+    @Test
+    @DisplayName("publishToUsers - pool đầy → bỏ qua sự kiện, không ném lỗi")
+    void testPublish_PoolFull() {
+        // Arrange
+        dashboardEventService.subscribe(5);
+        doThrow(new TaskRejectedException("full")).when(dashboardStreamExecutor).execute(any(Runnable.class));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> dashboardEventService.publishToUsers(Collections.singletonList(5),
+                DashboardEventDTO.activity("contact", 1, "New contact")));
+    }
+
+    @Test
+    @DisplayName("sendHeartbeats - mỗi kết nối được ping trên pool, không chặn luồng scheduler")
+    void testSendHeartbeats_RunsOnPool() {
+        // Arrange
+        dashboardEventService.subscribe(5);
+        dashboardEventService.subscribe(6);
+        dashboardEventService.subscribe(6);
+
+        // Act
+        dashboardEventService.sendHeartbeats();
+
+        // Assert
+        verify(dashboardStreamExecutor, times(3)).execute(any(Runnable.class));
+        assertEquals(3, dashboardEventService.getConnectionCount());
+    }
+
+    @Test
+    @DisplayName("sendHeartbeats - pool đầy → bỏ qua lượt ping, không ném lỗi, giữ kết nối")
+    void testSendHeartbeats_PoolFull() {
+        // Arrange
+        dashboardEventService.subscribe(5);
+        doThrow(new TaskRejectedException("full")).when(dashboardStreamExecutor).execute(any(Runnable.class));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> dashboardEventService.sendHeartbeats());
+        assertTrue(dashboardEventService.isConnected(5));
+    }
+
+    @Test
+    @DisplayName("subscribe - vượt quá số kết nối tối đa → đóng kết nối cũ nhất")
+    void testSubscribe_ClosesOldestOverLimit() {
+        // Act
+        dashboardEventService.subscribe(5);
+        dashboardEventService.subscribe(5);
+        dashboardEventService.subscribe(5);
+
+        // Assert
+        assertEquals(2, dashboardEventService.getConnectionCount());
+        assertTrue(dashboardEventService.isConnected(5));
+        assertFalse(dashboardEventService.isConnected(6));
+    }
+
+    @Test
+    @DisplayName("DashboardEventDTO.transition - chỉ tính delta khi trạng thái vào/ra khỏi nhóm")
+    void testTransition_CounterDeltas() {
+        // Act
+        DashboardEventDTO event = DashboardEventDTO.activity("PROPOSAL", 1, "Reviewed")
+                .transition("proposals.underReview", SalesDashboardService::isProposalUnderReview, "under review", "approved")
+                .transition("proposals.reviewed", DashboardService::isProposalReviewed, "under review", "Sent to client")
+                .transition("changeRequests.underReview", SalesDashboardService::isChangeRequestUnderReview, "Draft", "Draft")
+                .counter("contacts.all", 1)
+                .counter("contacts.all", 1);
+
+        // Assert
+        assertEquals(-1, event.getCounters().get("proposals.underReview"));
+        assertEquals(1, event.getCounters().get("proposals.reviewed"));
+        assertFalse(event.getCounters().containsKey("changeRequests.underReview"));
+        assertEquals(2, event.getCounters().get("contacts.all"));
+        assertEquals(DashboardEventDTO.TYPE_DASHBOARD, event.getType());
+    }
+
+    // Helper methods
+    private void runTasksInline() {
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(dashboardStreamExecutor).execute(any(Runnable.class));
+    }
+}
@@ -0,0 +1,304 @@
+package com.skillbridge.service.common;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.skillbridge.dto.common.AttachmentInfo;
+import com.skillbridge.dto.common.UploadSlotDTO;
+import com.skillbridge.dto.common.UploadSlotsRequest;
+import com.skillbridge.entity.auth.User;
+import com.skillbridge.entity.contract.ChangeRequest;
+import com.skillbridge.entity.contract.ChangeRequestAttachment;
+import com.skillbridge.entity.contract.Contract;
+import com.skillbridge.entity.contract.ContractHistory;
+import com.skillbridge.entity.document.DocumentMetadata;
+import com.skillbridge.entity.document.PendingUpload;
+import com.skillbridge.repository.contract.ChangeRequestAttachmentRepository;
+import com.skillbridge.repository.contract.ChangeRequestRepository;
+import com.skillbridge.repository.contract.ContractHistoryRepository;
+import com.skillbridge.repository.contract.ContractRepository;
+import com.skillbridge.repository.contract.SOWContractRepository;
+import com.skillbridge.repository.document.DocumentMetadataRepository;
+import com.skillbridge.repository.document.PendingUploadRepository;
+import com.skillbridge.repository.opportunity.OpportunityRepository;
+import com.skillbridge.repository.proposal.ProposalHistoryRepository;
+import com.skillbridge.repository.proposal.ProposalRepository;
+import com.skillbridge.util.JsonCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DirectUploadService
+ * Tests upload slot issuance, completion checks against S3 and the rows recorded per entity
+ */
+@ExtendWith(MockitoExtension.class)
+class DirectUploadServiceTest {
+
+    @Mock
+    private S3Service s3Service;
+
+    @Mock
+    private PendingUploadRepository pendingUploadRepository;
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    @Mock
+    private SOWContractRepository sowContractRepository;
+
+    @Mock
+    private ProposalRepository proposalRepository;
+
+    @Mock
+    private ProposalHistoryRepository proposalHistoryRepository;
+
+    @Mock
+    private OpportunityRepository opportunityRepository;
+
+    @Mock
+    private ChangeRequestRepository changeRequestRepository;
+
+    @Mock
+    private ChangeRequestAttachmentRepository changeRequestAttachmentRepository;
+
+    @Mock
+    private DocumentMetadataRepository documentMetadataRepository;
+
+    @Mock
+    private DocumentPermissionService documentPermissionService;
+
+    @Mock
+    private AttachmentService attachmentService;
+
+    @Mock
+    private ContractHistoryRepository contractHistoryRepository;
+
+    @InjectMocks
+    private DirectUploadService directUploadService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(directUploadService, "jsonCodec", new JsonCodec());
+        ReflectionTestUtils.setField(directUploadService, "expirationMinutes", 15);
+        ReflectionTestUtils.setField(directUploadService, "maxSizeMb", 50);
+    }
+
+    @Test
+    @DisplayName("createSlots - hợp đồng được giao → tạo URL PUT và lưu slot cho từng file")
+    void testCreateSlots_Success() {
+        // Arrange
+        User user = createUser(7, "SALES_REP");
+        when(contractRepository.findById(3)).thenReturn(Optional.of(createContract(7, null)));
+        when(s3Service.getPresignedUploadUrl(anyString(), eq("application/pdf"), eq(15))).thenReturn("https://upload-url");
+        List<UploadSlotsRequest.FileInfo> files = Arrays.asList(
+                new UploadSlotsRequest.FileInfo("a.pdf", "application/pdf", 1024L),
+                new UploadSlotsRequest.FileInfo("b.pdf", "application/pdf", 2048L));
+
+        // Act
+        List<UploadSlotDTO> slots = directUploadService.createSlots(DocumentMetadata.ENTITY_MSA_CONTRACT, 3, files, user);
+
+        // Assert
+        assertEquals(2, slots.size());
+        assertTrue(slots.get(0).getS3Key().startsWith("contracts/msa/3/"));
+        assertTrue(slots.get(0).getS3Key().endsWith(".pdf"));
+        assertEquals("https://upload-url", slots.get(1).getUploadUrl());
+        ArgumentCaptor<PendingUpload> captor = ArgumentCaptor.forClass(PendingUpload.class);
+        verify(pendingUploadRepository, times(2)).save(captor.capture());
+        assertEquals(7, captor.getValue().getUserId());
+        assertEquals(50L * 1024 * 1024, captor.getValue().getMaxSize());
+    }
+
+    @Test
+    @DisplayName("createSlots - sales rep không được giao hợp đồng → từ chối, không tạo URL")
+    void testCreateSlots_NotAssignee() {
+        // Arrange
+        User user = createUser(8, "SALES_REP");
+        when(contractRepository.findById(3)).thenReturn(Optional.of(createContract(7, null)));
+        List<UploadSlotsRequest.FileInfo> files = Collections.singletonList(
+                new UploadSlotsRequest.FileInfo("a.pdf", "application/pdf", 1024L));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> directUploadService.createSlots(DocumentMetadata.ENTITY_MSA_CONTRACT, 3, files, user));
+        assertTrue(exception.getMessage().contains("Access denied"));
+        verifyNoInteractions(s3Service, pendingUploadRepository);
+    }
+
+    @Test
+    @DisplayName("createSlots - file không phải PDF → từ chối")
+    void testCreateSlots_NonPdf() {
+        // Arrange
+        User user = createUser(1, "SALES_MANAGER");
+        when(contractRepository.findById(3)).thenReturn(Optional.of(createContract(7, null)));
+        List<UploadSlotsRequest.FileInfo> files = Collections.singletonList(
+                new UploadSlotsRequest.FileInfo("a.docx", "application/msword", 1024L));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> directUploadService.createSlots(DocumentMetadata.ENTITY_MSA_CONTRACT, 3, files, user));
+        assertTrue(exception.getMessage().contains("Only PDF files are allowed"));
+        verifyNoInteractions(s3Service);
+    }
+
+    @Test
+    @DisplayName("completeUploads - object hợp lệ → lưu metadata, nối vào bảng attachments, xoá slot")
+    void testCompleteUploads_MSAContract() {
+        // Arrange
+        User user = createUser(1, "SALES_MANAGER");
+        String manifest = "[{\"s3Key\":\"contracts/msa/3/old.pdf\",\"fileName\":\"old.pdf\"}]";
+        Contract contract = createContract(7, manifest);
+        when(contractRepository.findById(3)).thenReturn(Optional.of(contract));
+        when(attachmentService.appendAttachments(eq(DocumentMetadata.ENTITY_MSA_CONTRACT), eq(3), eq(manifest), anyList()))
+                .thenReturn(Arrays.asList(new AttachmentInfo("contracts/msa/3/old.pdf", "old.pdf"),
+                        new AttachmentInfo("contracts/msa/3/new.pdf", "new.pdf")));
+        PendingUpload slot = createSlot("contracts/msa/3/new.pdf", DocumentMetadata.ENTITY_MSA_CONTRACT, 3, 1);
+        when(pendingUploadRepository.findByS3KeyIn(anyCollection())).thenReturn(Collections.singletonList(slot));
+        when(s3Service.getObjectMetadata("contracts/msa/3/new.pdf")).thenReturn(createObject(4096L, "application/pdf"));
+
+        // Act
+        List<AttachmentInfo> result = directUploadService.completeUploads(
+                DocumentMetadata.ENTITY_MSA_CONTRACT, 3, Collections.singletonList("contracts/msa/3/new.pdf"), user);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("new.pdf", result.get(0).getFileName());
+        verify(documentMetadataRepository).save(any(DocumentMetadata.class));
+        verify(documentPermissionService).indexDocument(any(DocumentMetadata.class));
+        verify(attachmentService).appendAttachments(eq(DocumentMetadata.ENTITY_MSA_CONTRACT), eq(3), eq(manifest), anyList());
+        assertNull(contract.getAttachmentsManifest());
+        assertEquals("contracts/msa/3/old.pdf", contract.getLink());
+        verify(contractRepository).save(contract);
+        verify(pendingUploadRepository).deleteAll(Collections.singletonList(slot));
+
+        ArgumentCaptor<ContractHistory> history = ArgumentCaptor.forClass(ContractHistory.class);
+        verify(contractHistoryRepository).save(history.capture());
+        assertEquals(3, history.getValue().getContractId());
+        assertEquals("MSA", history.getValue().getHistoryType());
+        assertEquals("MSA Contract updated by Test User", history.getValue().getDescription());
+    }
+
+    @Test
+    @DisplayName("completeUploads - object lớn hơn giới hạn của slot → xoá object và từ chối")
+    void testCompleteUploads_OversizedObjectDeleted() {
+        // Arrange
+        User user = createUser(1, "SALES_MANAGER");
+        when(changeRequestRepository.findById(5)).thenReturn(Optional.of(new ChangeRequest()));
+        PendingUpload slot = createSlot("change-requests/5/a.pdf", DirectUploadService.ENTITY_CHANGE_REQUEST, 5, 1);
+        slot.setMaxSize(1024L);
+        when(pendingUploadRepository.findByS3KeyIn(anyCollection())).thenReturn(Collections.singletonList(slot));
+        when(s3Service.getObjectMetadata("change-requests/5/a.pdf")).thenReturn(createObject(4096L, "application/pdf"));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> directUploadService.completeUploads(
+                DirectUploadService.ENTITY_CHANGE_REQUEST, 5, Collections.singletonList("change-requests/5/a.pdf"), user));
+        verify(s3Service).deleteFile("change-requests/5/a.pdf");
+        verifyNoInteractions(changeRequestAttachmentRepository);
+        verify(pendingUploadRepository, never()).deleteAll(any());
+    }
+
+    @Test
+    @DisplayName("completeUploads - key không có slot của user → từ chối, không kiểm tra S3")
+    void testCompleteUploads_ForeignKey() {
+        // Arrange
+        User user = createUser(1, "SALES_MANAGER");
+        when(changeRequestRepository.findById(5)).thenReturn(Optional.of(new ChangeRequest()));
+        PendingUpload slot = createSlot("change-requests/5/a.pdf", DirectUploadService.ENTITY_CHANGE_REQUEST, 5, 2);
+        when(pendingUploadRepository.findByS3KeyIn(anyCollection())).thenReturn(Collections.singletonList(slot));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> directUploadService.completeUploads(
+                DirectUploadService.ENTITY_CHANGE_REQUEST, 5, Collections.singletonList("change-requests/5/a.pdf"), user));
+        assertTrue(exception.getMessage().contains("No upload slot"));
+        verifyNoInteractions(s3Service);
+    }
+
+    @Test
+    @DisplayName("completeUploads - change request → lưu ChangeRequestAttachment với kích thước thật từ S3")
+    void testCompleteUploads_ChangeRequest() {
+        // Arrange
+        User user = createUser(1, "SALES_MANAGER");
+        when(changeRequestRepository.findById(5)).thenReturn(Optional.of(new ChangeRequest()));
+        PendingUpload slot = createSlot("change-requests/5/a.pdf", DirectUploadService.ENTITY_CHANGE_REQUEST, 5, 1);
+        when(pendingUploadRepository.findByS3KeyIn(anyCollection())).thenReturn(Collections.singletonList(slot));
+        when(s3Service.getObjectMetadata("change-requests/5/a.pdf")).thenReturn(createObject(2048L, "application/pdf"));
+
+        // Act
+        directUploadService.completeUploads(
+                DirectUploadService.ENTITY_CHANGE_REQUEST, 5, Collections.singletonList("change-requests/5/a.pdf"), user);
+
+        // Assert
+        ArgumentCaptor<ChangeRequestAttachment> captor = ArgumentCaptor.forClass(ChangeRequestAttachment.class);
+        verify(changeRequestAttachmentRepository).save(captor.capture());
+        assertEquals(5, captor.getValue().getChangeRequestId());
+        assertEquals("change-requests/5/a.pdf", captor.getValue().getFilePath());
+        assertEquals(2048L, captor.getValue().getFileSize());
+        verifyNoInteractions(documentMetadataRepository);
+    }
+
+    @Test
+    @DisplayName("cleanupExpiredSlots - xoá object và slot đã hết hạn")
+    void testCleanupExpiredSlots() {
+        // Arrange
+        PendingUpload slot = createSlot("proposals/x.pdf", DocumentMetadata.ENTITY_PROPOSAL, 9, 1);
+        when(pendingUploadRepository.findExpired(any(), any())).thenReturn(Collections.singletonList(slot));
+
+        // Act
+        directUploadService.cleanupExpiredSlots();
+
+        // Assert
+        verify(s3Service).deleteFile("proposals/x.pdf");
+        verify(pendingUploadRepository).deleteAll(Collections.singletonList(slot));
+    }
+
+    // Helper methods
+    private User createUser(Integer id, String role) {
+        User user = new User();
+        user.setId(id);
+        user.setRole(role);
+        user.setFullName("Test User");
+        return user;
+    }
+
+    private Contract createContract(Integer assigneeUserId, String manifest) {
+        Contract contract = new Contract();
+        contract.setId(3);
+        contract.setAssigneeUserId(assigneeUserId);
+        contract.setAttachmentsManifest(manifest);
+        return contract;
+    }
+
+    private PendingUpload createSlot(String s3Key, String entityType, Integer entityId, Integer userId) {
+        PendingUpload slot = new PendingUpload();
+        slot.setS3Key(s3Key);
+        slot.setEntityType(entityType);
+        slot.setEntityId(entityId);
+        slot.setFileName(s3Key.substring(s3Key.lastIndexOf("/") + 1));
+        slot.setContentType("application/pdf");
+        slot.setMaxSize(10L * 1024 * 1024);
+        slot.setUserId(userId);
+        slot.setExpiresAt(LocalDateTime.now().plusMinutes(10));
+        return slot;
+    }
+
+    private ObjectMetadata createObject(long size, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(size);
+        metadata.setContentType(contentType);
+        return metadata;
+    }
+}
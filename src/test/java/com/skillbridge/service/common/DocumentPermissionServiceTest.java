@@ -0,0 +1,284 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.entity.auth.User;
+import com.skillbridge.entity.document.DocumentAcl;
+import com.skillbridge.entity.document.DocumentMetadata;
+import com.skillbridge.entity.proposal.Proposal;
+import com.skillbridge.repository.document.DocumentAclRepository;
+import com.skillbridge.repository.document.DocumentMetadataRepository;
+import com.skillbridge.repository.proposal.ProposalRepository;
+import com.skillbridge.util.JsonCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DocumentPermissionService
+ * Tests the indexed permission lookup, lazy ACL indexing, legacy proposal keys and the decision cache
+ */
+@ExtendWith(MockitoExtension.class)
+class DocumentPermissionServiceTest {
+
+    private static final String S3_KEY = "contracts/msa/1/file.pdf";
+
+    @Mock
+    private DocumentMetadataRepository documentMetadataRepository;
+
+    @Mock
+    private DocumentAclRepository documentAclRepository;
+
+    @Mock
+    private ProposalRepository proposalRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private DocumentPermissionService documentPermissionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(documentPermissionService, "jsonCodec", new JsonCodec());
+        ReflectionTestUtils.setField(documentPermissionService, "cacheSize", 100);
+        ReflectionTestUtils.setField(documentPermissionService, "cacheTtlSeconds", 300L);
+    }
+
+    @Test
+    @DisplayName("hasPermission - user null → từ chối, không truy vấn")
+    void testHasPermission_NullUser() {
+        // Act
+        boolean result = documentPermissionService.hasPermission(S3_KEY, null);
+
+        // Assert
+        assertFalse(result);
+        verifyNoInteractions(documentMetadataRepository);
+    }
+
+    @Test
+    @DisplayName("hasPermission - được cấp quyền → một truy vấn, lần sau lấy từ cache")
+    void testHasPermission_AllowedThenCached() {
+        // Arrange
+        User user = createUser(7, "SALES_REP");
+        when(documentMetadataRepository.hasAccess(S3_KEY, 7, "SALES_REP", null)).thenReturn(true);
+
+        // Act
+        boolean first = documentPermissionService.hasPermission(S3_KEY, user);
+        boolean second = documentPermissionService.hasPermission(S3_KEY, user);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        verify(documentMetadataRepository, times(1)).hasAccess(any(), any(), any(), any());
+        verify(documentMetadataRepository, never()).findByS3Key(any());
+    }
+
+    @Test
+    @DisplayName("hasPermission - client → truyền clientUserId để so với chủ sở hữu của entity")
+    void testHasPermission_ClientPassesClientUserId() {
+        // Arrange
+        User user = createUser(20, "CLIENT");
+        when(documentMetadataRepository.hasAccess(S3_KEY, 20, "CLIENT", 20)).thenReturn(true);
+
+        // Act
+        boolean result = documentPermissionService.hasPermission(S3_KEY, user);
+
+        // Assert
+        assertTrue(result);
+    }
+
+    @Test
+    @DisplayName("hasPermission - admin → chỉ cần metadata tồn tại")
+    void testHasPermission_Admin() {
+        // Arrange
+        User user = createUser(1, "ADMIN");
+        when(documentMetadataRepository.existsByS3Key(S3_KEY)).thenReturn(true);
+
+        // Act
+        boolean result = documentPermissionService.hasPermission(S3_KEY, user);
+
+        // Assert
+        assertTrue(result);
+        verify(documentMetadataRepository, never()).hasAccess(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("hasPermission - metadata chưa index → tạo ACL từ JSON rồi kiểm tra lại")
+    @SuppressWarnings("unchecked")
+    void testHasPermission_IndexesLegacyRow() {
+        // Arrange
+        User user = createUser(7, "SALES_REP");
+        DocumentMetadata metadata = createMetadata(false);
+        metadata.setAllowedRoles("[\"SALES_MANAGER\",\"SALES_REP\"]");
+        metadata.setAllowedUsers("[42]");
+        when(documentMetadataRepository.hasAccess(S3_KEY, 7, "SALES_REP", null)).thenReturn(false, true);
+        when(documentMetadataRepository.findByS3Key(S3_KEY)).thenReturn(Optional.of(metadata));
+
+        // Act
+        boolean result = documentPermissionService.hasPermission(S3_KEY, user);
+
+        // Assert
+        assertTrue(result);
+        ArgumentCaptor<List<DocumentAcl>> captor = ArgumentCaptor.forClass(List.class);
+        verify(documentAclRepository).deleteByDocumentId(5);
+        verify(documentAclRepository).saveAll(captor.capture());
+        assertEquals(3, captor.getValue().size());
+        assertEquals("SALES_REP", captor.getValue().get(1).getRole());
+        assertEquals(42, captor.getValue().get(2).getUserId());
+        assertTrue(metadata.getAclIndexed());
+        verify(documentMetadataRepository).refreshMSAContractClient(1);
+    }
+
+    @Test
+    @DisplayName("hasPermission - metadata đã index và bị từ chối → cache kết quả, invalidate xoá cache")
+    void testHasPermission_DeniedCachedUntilInvalidated() {
+        // Arrange
+        User user = createUser(9, "SALES_REP");
+        when(documentMetadataRepository.hasAccess(S3_KEY, 9, "SALES_REP", null)).thenReturn(false);
+        when(documentMetadataRepository.findByS3Key(S3_KEY)).thenReturn(Optional.of(createMetadata(true)));
+
+        // Act
+        boolean first = documentPermissionService.hasPermission(S3_KEY, user);
+        boolean cached = documentPermissionService.hasPermission(S3_KEY, user);
+        documentPermissionService.invalidate(S3_KEY);
+        documentPermissionService.hasPermission(S3_KEY, user);
+
+        // Assert
+        assertFalse(first);
+        assertFalse(cached);
+        verify(documentMetadataRepository, times(2)).hasAccess(any(), any(), any(), any());
+        verifyNoInteractions(documentAclRepository);
+    }
+
+    @Test
+    @DisplayName("hasPermission - không có metadata, không phải proposal → từ chối")
+    void testHasPermission_NoMetadata() {
+        // Arrange
+        User user = createUser(20, "CLIENT");
+        when(documentMetadataRepository.findByS3Key(S3_KEY)).thenReturn(Optional.empty());
+
+        // Act
+        boolean result = documentPermissionService.hasPermission(S3_KEY, user);
+
+        // Assert
+        assertFalse(result);
+        verifyNoInteractions(proposalRepository);
+    }
+
+    @Test
+    @DisplayName("hasPermission - file proposal cũ chưa có metadata → tìm theo link, đăng ký metadata rồi kiểm tra")
+    void testHasPermission_LegacyProposalRegistered() {
+        // Arrange
+        String legacyKey = "proposals/legacy.pdf";
+        User user = createUser(20, "CLIENT");
+        Proposal proposal = new Proposal();
+        proposal.setId(3);
+        proposal.setCreatedBy(2);
+        proposal.setLink(legacyKey);
+        when(documentMetadataRepository.hasAccess(legacyKey, 20, "CLIENT", 20)).thenReturn(false, true);
+        when(documentMetadataRepository.findByS3Key(legacyKey)).thenReturn(Optional.empty());
+        when(proposalRepository.findFirstByLinkOrderByIdAsc(legacyKey)).thenReturn(Optional.of(proposal));
+        when(documentMetadataRepository.save(any(DocumentMetadata.class))).thenAnswer(invocation -> {
+            DocumentMetadata saved = invocation.getArgument(0);
+            saved.setId(11);
+            return saved;
+        });
+
+        // Act
+        boolean result = documentPermissionService.hasPermission(legacyKey, user);
+
+        // Assert
+        assertTrue(result);
+        ArgumentCaptor<DocumentMetadata> captor = ArgumentCaptor.forClass(DocumentMetadata.class);
+        verify(documentMetadataRepository, atLeastOnce()).save(captor.capture());
+        assertEquals(legacyKey, captor.getValue().getS3Key());
+        assertEquals(DocumentMetadata.ENTITY_PROPOSAL, captor.getValue().getEntityType());
+        assertEquals(2, captor.getValue().getOwnerId());
+        verify(documentMetadataRepository).refreshProposalClient(3);
+        verify(proposalRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("getPermittedKeys - cache trước, một truy vấn cho phần còn lại, bulk load metadata cho key bị từ chối")
+    void testGetPermittedKeys_OnePass() {
+        // Arrange
+        User user = createUser(7, "SALES_REP");
+        String allowedKey = "contracts/msa/1/allowed.pdf";
+        String missingKey = "uploads/unknown.pdf";
+        when(documentMetadataRepository.hasAccess(allowedKey, 7, "SALES_REP", null)).thenReturn(true);
+        documentPermissionService.hasPermission(allowedKey, user);
+        when(documentMetadataRepository.findAccessibleS3Keys(anyCollection(), eq(7), eq("SALES_REP"), isNull()))
+                .thenReturn(Collections.singletonList("contracts/msa/1/other.pdf"));
+        when(documentMetadataRepository.findByS3KeyIn(anyCollection()))
+                .thenReturn(Collections.singletonList(createMetadata(true)));
+
+        // Act
+        Set<String> result = documentPermissionService.getPermittedKeys(
+                Arrays.asList(S3_KEY, allowedKey, "contracts/msa/1/other.pdf", missingKey, allowedKey, null), user);
+        Set<String> cached = documentPermissionService.getPermittedKeys(Arrays.asList(S3_KEY, allowedKey), user);
+
+        // Assert
+        assertEquals(Arrays.asList(allowedKey, "contracts/msa/1/other.pdf"), new ArrayList<>(result));
+        assertEquals(Collections.singletonList(allowedKey), new ArrayList<>(cached));
+        verify(documentMetadataRepository, times(1)).findAccessibleS3Keys(any(), any(), any(), any());
+        verify(documentMetadataRepository, times(1)).findByS3KeyIn(any());
+        verify(documentMetadataRepository, never()).findByS3Key(any());
+        verifyNoInteractions(documentAclRepository, proposalRepository);
+    }
+
+    @Test
+    @DisplayName("getPermittedKeys - cache đầy, quyết định bị evict → vẫn trả về đủ key được phép")
+    void testGetPermittedKeys_CacheEvicts() {
+        // Arrange
+        ReflectionTestUtils.setField(documentPermissionService, "cacheSize", 1);
+        User user = createUser(7, "SALES_REP");
+        String firstKey = "contracts/msa/1/first.pdf";
+        String secondKey = "contracts/msa/1/second.pdf";
+        when(documentMetadataRepository.findAccessibleS3Keys(anyCollection(), eq(7), eq("SALES_REP"), isNull()))
+                .thenReturn(Arrays.asList(firstKey, secondKey));
+
+        // Act
+        Set<String> result = documentPermissionService.getPermittedKeys(Arrays.asList(firstKey, secondKey), user);
+
+        // Assert
+        assertEquals(Arrays.asList(firstKey, secondKey), new ArrayList<>(result));
+        verify(documentMetadataRepository, never()).findByS3KeyIn(any());
+    }
+
+    // Helper methods
+    private User createUser(Integer id, String role) {
+        User user = new User();
+        user.setId(id);
+        user.setRole(role);
+        return user;
+    }
+
+    private DocumentMetadata createMetadata(boolean aclIndexed) {
+        DocumentMetadata metadata = new DocumentMetadata();
+        metadata.setId(5);
+        metadata.setS3Key(S3_KEY);
+        metadata.setOwnerId(2);
+        metadata.setDocumentType("contract");
+        metadata.setEntityType(DocumentMetadata.ENTITY_MSA_CONTRACT);
+        metadata.setEntityId(1);
+        metadata.setAclIndexed(aclIndexed);
+        return metadata;
+    }
+}
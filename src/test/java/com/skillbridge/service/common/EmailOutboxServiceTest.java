@@ -0,0 +1,442 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.entity.common.EmailOutboxMessage;
+import com.skillbridge.repository.common.EmailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EmailOutboxService
+ * Uses a mocked JavaMailSender as the SMTP stub; tests enqueue, batched delivery, digest coalescing,
+ * retry/backoff, dead-lettering and clearing/purging of sent bodies
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxServiceTest {
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    private JavaMailSender javaMailSender;
+
+    @Mock
+    private ThreadPoolTaskExecutor emailOutboxExecutor;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private EmailOutboxService emailOutboxService;
+
+    private MeterRegistry meterRegistry;
+
+    private static final String LEASE = "node-1a2b3c4d:3";
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(emailOutboxService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(emailOutboxService, "enabled", true);
+        ReflectionTestUtils.setField(emailOutboxService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(emailOutboxService, "backoffBaseSeconds", 30L);
+        ReflectionTestUtils.setField(emailOutboxService, "leaseTimeoutMinutes", 10L);
+        ReflectionTestUtils.setField(emailOutboxService, "smtpFromEmail", "support@skillbridge.com");
+        ReflectionTestUtils.setField(emailOutboxService, "batchSize", 50);
+        ReflectionTestUtils.setField(emailOutboxService, "coalesceWindowSeconds", 10L);
+    }
+
+    @Test
+    @DisplayName("enqueue - lưu outbox row PENDING, không gửi mail trên request thread")
+    void testEnqueue_SavesPendingRow() {
+        // Arrange
+        when(emailOutboxRepository.save(any(EmailOutboxMessage.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // Act
+        EmailOutboxMessage result = emailOutboxService.enqueue("confirmation", "client@example.com", "Subject", "Body");
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(EmailOutboxMessage.Status.PENDING, result.getStatus());
+        assertEquals("confirmation", result.getTemplate());
+        verifyNoInteractions(javaMailSender);
+        assertEquals(1.0, meterRegistry.counter("email.outbox.enqueued", "template", "confirmation").count());
+    }
+
+    @Test
+    @DisplayName("enqueue - chưa cấu hình JavaMailSender → không lưu row")
+    void testEnqueue_NoMailSender() {
+        // Arrange
+        ReflectionTestUtils.setField(emailOutboxService, "javaMailSender", null);
+
+        // Act
+        EmailOutboxMessage result = emailOutboxService.enqueue("welcome", "user@example.com", "Subject", "Body");
+
+        // Assert
+        assertNull(result);
+        verifyNoInteractions(emailOutboxRepository);
+    }
+
+    @Test
+    @DisplayName("deliver - gửi thành công → SENT, tăng metric sent")
+    @SuppressWarnings("unchecked")
+    void testDeliver_Success() {
+        // Arrange
+        EmailOutboxMessage message = createMessage(1L, "confirmation", "client@example.com", 1);
+        when(emailOutboxRepository.findAllById(List.of(1L))).thenReturn(List.of(message));
+        when(emailOutboxRepository.findByIdInAndLeaseOwnerAndStatus(List.of(1L), LEASE, EmailOutboxMessage.Status.SENDING))
+                .thenReturn(List.of(message));
+
+        // Act
+        emailOutboxService.deliver(1L, LEASE);
+
+        // Assert
+        ArgumentCaptor<SimpleMailMessage[]> mailCaptor = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+        verify(javaMailSender).send(mailCaptor.capture());
+        SimpleMailMessage[] mails = mailCaptor.getValue();
+        assertEquals(1, mails.length);
+        assertEquals("support@skillbridge.com", mails[0].getFrom());
+        assertArrayEquals(new String[]{"client@example.com"}, mails[0].getTo());
+
+        ArgumentCaptor<List<EmailOutboxMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(emailOutboxRepository).saveAll(captor.capture());
+        assertEquals(EmailOutboxMessage.Status.SENT, captor.getValue().get(0).getStatus());
+        assertNotNull(captor.getValue().get(0).getSentAt());
+        assertEquals(1.0, meterRegistry.counter("email.outbox.sent", "template", "confirmation").count());
+        assertEquals(1.0, meterRegistry.counter("email.outbox.connections").count());
+        assertNull(captor.getValue().get(0).getLeaseOwner());
+        assertNull(captor.getValue().get(0).getBody());
+    }
+
+    @Test
+    @DisplayName("deliver - row đã mất lease (bị re-queue) → không gửi")
+    void testDeliver_LeaseLostSkipsSend() {
+        // Arrange
+        EmailOutboxMessage message = createMessage(1L, "confirmation", "client@example.com", 1);
+        message.setLeaseOwner("node-9f8e7d6c:41");
+        when(emailOutboxRepository.findAllById(List.of(1L))).thenReturn(List.of(message));
+
+        // Act
+        emailOutboxService.deliver(1L, LEASE);
+
+        // Assert
+        verifyNoInteractions(javaMailSender);
+        verify(emailOutboxRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("deliver - mất lease trong lúc gửi → không ghi đè kết quả")
+    @SuppressWarnings("unchecked")
+    void testDeliver_LeaseLostDuringSendNotRecorded() {
+        // Arrange
+        EmailOutboxMessage message = createMessage(1L, "confirmation", "client@example.com", 1);
+        when(emailOutboxRepository.findAllById(List.of(1L))).thenReturn(List.of(message));
+        when(emailOutboxRepository.findByIdInAndLeaseOwnerAndStatus(List.of(1L), LEASE, EmailOutboxMessage.Status.SENDING))
+                .thenReturn(List.of());
+
+        // Act
+        emailOutboxService.deliver(1L, LEASE);
+
+        // Assert
+        ArgumentCaptor<List<EmailOutboxMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(emailOutboxRepository).saveAll(captor.capture());
+        assertTrue(captor.getValue().isEmpty());
+    }
+
+    @Test
+    @DisplayName("deliver - SMTP lỗi → RETRY với backoff")
+    void testDeliver_FailureSchedulesRetry() {
+        // Arrange
+        EmailOutboxMessage message = createMessage(1L, "confirmation", "client@example.com", 1);
+        when(emailOutboxRepository.findAllById(List.of(1L))).thenReturn(List.of(message));
+        when(emailOutboxRepository.findByIdInAndLeaseOwnerAndStatus(List.of(1L), LEASE, EmailOutboxMessage.Status.SENDING))
+                .thenReturn(List.of(message));
+        doThrow(new MailSendException("Connection refused")).when(javaMailSender).send(any(SimpleMailMessage[].class));
+
+        // Act
+        LocalDateTime before = LocalDateTime.now();
+        emailOutboxService.deliver(1L, LEASE);
+
+        // Assert
+        assertEquals(EmailOutboxMessage.Status.RETRY, message.getStatus());
+        assertTrue(message.getLastError().contains("Connection refused"));
+        assertTrue(message.getNextAttemptAt().isAfter(before.plusSeconds(29)));
+        verify(emailOutboxRepository).saveAll(anyList());
+        assertEquals(1.0, meterRegistry.counter("email.outbox.failed", "template", "confirmation").count());
+    }
+
+    @Test
+    @DisplayName("deliver - hết số lần thử → DEAD (dead letter)")
+    void testDeliver_MaxAttemptsMarksDead() {
+        // Arrange
+        EmailOutboxMessage message = createMessage(1L, "confirmation", "client@example.com", 3);
+        when(emailOutboxRepository.findAllById(List.of(1L))).thenReturn(List.of(message));
+        doThrow(new MailSendException("Mailbox unavailable")).when(javaMailSender).send(any(SimpleMailMessage[].class));
+
+        // Act
+        emailOutboxService.deliver(1L, LEASE);
+
+        // Assert
+        assertEquals(EmailOutboxMessage.Status.DEAD, message.getStatus());
+        assertNull(message.getBody()); // confirmation may carry the initial password
+        assertEquals(1.0, meterRegistry.counter("email.outbox.dead", "template", "confirmation").count());
+    }
+
+    @Test
+    @DisplayName("deliver - thông báo thường hết số lần thử → DEAD, giữ body để gửi lại")
+    void testDeliver_MaxAttemptsKeepsNotificationBody() {
+        // Arrange
+        EmailOutboxMessage message = createMessage(1L, "meeting_invitation", "client@example.com", 3);
+        when(emailOutboxRepository.findAllById(List.of(1L))).thenReturn(List.of(message));
+        doThrow(new MailSendException("Mailbox unavailable")).when(javaMailSender).send(any(SimpleMailMessage[].class));
+
+        // Act
+        emailOutboxService.deliver(1L, LEASE);
+
+        // Assert
+        assertEquals(EmailOutboxMessage.Status.DEAD, message.getStatus());
+        assertEquals("Dear Client", message.getBody());
+    }
+
+    @Test
+    @DisplayName("retryDeadMessage - body đã bị xoá (chứa thông tin đăng nhập) → RuntimeException")
+    void testRetryDeadMessage_ClearedBodyRejected() {
+        // Arrange
+        EmailOutboxMessage message = createMessage(1L, "password_reset", "client@example.com", 3);
+        message.setStatus(EmailOutboxMessage.Status.DEAD);
+        message.setBody(null);
+        when(emailOutboxRepository.findById(1L)).thenReturn(Optional.of(message));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> emailOutboxService.retryDeadMessage(1L));
+        verify(emailOutboxRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("purgeSentMessages - xoá SENT quá hạn theo từng lô cho đến khi hết")
+    void testPurgeSentMessages_DeletesInBatches() {
+        // Arrange
+        ReflectionTestUtils.setField(emailOutboxService, "sentRetentionDays", 7L);
+        when(emailOutboxRepository.deleteSentBefore(any(), eq(1000))).thenReturn(1000, 12);
+
+        // Act
+        LocalDateTime before = LocalDateTime.now();
+        emailOutboxService.purgeSentMessages();
+
+        // Assert
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(emailOutboxRepository, times(2)).deleteSentBefore(cutoff.capture(), eq(1000));
+        assertFalse(cutoff.getValue().isAfter(before.minusDays(7).plusSeconds(1)));
+    }
+
+    @Test
+    @DisplayName("deliverBatch - nhiều thông báo cùng người nhận → gộp thành 1 digest, 1 kết nối SMTP")
+    void testDeliverBatch_CoalescesSameRecipient() {
+        // Arrange
+        EmailOutboxMessage first = createMessage(1L, "contract_pending_approval", "client@example.com", 1);
+        EmailOutboxMessage second = createMessage(2L, "new_proposal_notification", "Client@Example.com", 1);
+        EmailOutboxMessage reset = createMessage(3L, "password_reset", "client@example.com", 1);
+        EmailOutboxMessage other = createMessage(4L, "contract_pending_approval", "other@example.com", 1);
+        when(emailOutboxRepository.findAllById(List.of(1L, 2L, 3L, 4L))).thenReturn(List.of(first, second, reset, other));
+
+        // Act
+        emailOutboxService.deliverBatch(List.of(1L, 2L, 3L, 4L), LEASE);
+
+        // Assert
+        ArgumentCaptor<SimpleMailMessage[]> mailCaptor = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+        verify(javaMailSender, times(1)).send(mailCaptor.capture());
+        SimpleMailMessage[] mails = mailCaptor.getValue();
+        assertEquals(3, mails.length); // password reset + digest + single notification
+        SimpleMailMessage digest = mails[1];
+        assertTrue(digest.getSubject().startsWith("You have 2 new notifications"));
+        assertTrue(digest.getText().contains(first.getSubject()));
+        assertTrue(digest.getText().contains(second.getSubject()));
+        assertEquals(EmailOutboxMessage.Status.SENT, first.getStatus());
+        assertEquals(EmailOutboxMessage.Status.SENT, second.getStatus());
+        assertEquals(3.0, meterRegistry.counter("email.outbox.messages").count());
+        assertEquals(1.0, meterRegistry.counter("email.outbox.connections").count());
+    }
+
+    @Test
+    @DisplayName("deliverBatch - một email trong batch lỗi → chỉ row tương ứng bị RETRY")
+    void testDeliverBatch_PartialFailure() {
+        // Arrange
+        EmailOutboxMessage ok = createMessage(1L, "welcome", "ok@example.com", 1);
+        EmailOutboxMessage bad = createMessage(2L, "welcome", "bad@example.com", 1);
+        when(emailOutboxRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(ok, bad));
+        doAnswer(inv -> {
+            SimpleMailMessage[] mails = inv.getArgument(0);
+            Map<Object, Exception> failed = new LinkedHashMap<>();
+            failed.put(mails[1], new RuntimeException("550 No such user"));
+            throw new MailSendException(failed);
+        }).when(javaMailSender).send(any(SimpleMailMessage[].class));
+
+        // Act
+        emailOutboxService.deliverBatch(List.of(1L, 2L), LEASE);
+
+        // Assert
+        assertEquals(EmailOutboxMessage.Status.SENT, ok.getStatus());
+        assertEquals(EmailOutboxMessage.Status.RETRY, bad.getStatus());
+        assertTrue(bad.getLastError().contains("550"));
+    }
+
+    @Test
+    @DisplayName("partitionByRecipient - cùng người nhận luôn nằm chung batch")
+    void testPartitionByRecipient() {
+        // Arrange
+        List<EmailOutboxMessage> messages = List.of(
+            createMessage(1L, "welcome", "a@example.com", 0),
+            createMessage(2L, "welcome", "b@example.com", 0),
+            createMessage(3L, "welcome", "a@example.com", 0),
+            createMessage(4L, "welcome", "c@example.com", 0));
+
+        // Act
+        List<List<Long>> batches = emailOutboxService.partitionByRecipient(messages, 2);
+
+        // Assert
+        assertEquals(List.of(List.of(1L, 3L), List.of(2L, 4L)), batches);
+    }
+
+    @Test
+    @DisplayName("enqueue - template thông báo → giữ lại trong cửa sổ gộp")
+    void testEnqueue_CoalescibleTemplateIsDelayed() {
+        // Arrange
+        when(emailOutboxRepository.save(any(EmailOutboxMessage.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // Act
+        LocalDateTime before = LocalDateTime.now();
+        EmailOutboxMessage result = emailOutboxService.enqueue("new_proposal_notification", "client@example.com", "Subject", "Body");
+
+        // Assert
+        assertTrue(result.getNextAttemptAt().isAfter(before.plusSeconds(9)));
+    }
+
+    @Test
+    @DisplayName("enqueue - 2 thông báo cùng người nhận cách nhau hơn 1 chu kỳ poll → cùng thời điểm đến hạn, gộp 1 digest")
+    void testEnqueue_LaterNotificationJoinsPendingWindow() {
+        // Arrange
+        when(emailOutboxRepository.save(any(EmailOutboxMessage.class))).thenAnswer(inv -> inv.getArgument(0));
+        EmailOutboxMessage first = emailOutboxService.enqueue("new_contact_notification", "sales@example.com", "Contact", "Body");
+        // The second one arrives 3s (three poll intervals) later, while the first is still held
+        first.setNextAttemptAt(first.getNextAttemptAt().minusSeconds(3));
+        when(emailOutboxRepository.findFirstByToEmailAndStatusAndTemplateInOrderByNextAttemptAtAsc(
+                eq("sales@example.com"), eq(EmailOutboxMessage.Status.PENDING), anyCollection()))
+            .thenReturn(Optional.of(first));
+
+        // Act
+        EmailOutboxMessage second = emailOutboxService.enqueue("new_proposal_notification", "sales@example.com", "Proposal", "Body");
+
+        // Assert
+        assertEquals(first.getNextAttemptAt(), second.getNextAttemptAt());
+        first.setId(1L);
+        second.setId(2L);
+        assertEquals(List.of(List.of(1L, 2L)), emailOutboxService.partitionByRecipient(List.of(first, second), 50));
+    }
+
+    @Test
+    @DisplayName("enqueue - thông báo đang chờ đến hạn muộn hơn cửa sổ mới → dùng cửa sổ mới")
+    void testEnqueue_LaterPendingDueTimeIsCapped() {
+        // Arrange
+        when(emailOutboxRepository.save(any(EmailOutboxMessage.class))).thenAnswer(inv -> inv.getArgument(0));
+        EmailOutboxMessage pending = createMessage(1L, "new_contact_notification", "sales@example.com", 0);
+        pending.setNextAttemptAt(LocalDateTime.now().plusMinutes(5));
+        when(emailOutboxRepository.findFirstByToEmailAndStatusAndTemplateInOrderByNextAttemptAtAsc(
+                eq("sales@example.com"), eq(EmailOutboxMessage.Status.PENDING), anyCollection()))
+            .thenReturn(Optional.of(pending));
+
+        // Act
+        LocalDateTime before = LocalDateTime.now();
+        EmailOutboxMessage result = emailOutboxService.enqueue("new_proposal_notification", "sales@example.com", "Proposal", "Body");
+
+        // Assert
+        assertTrue(result.getNextAttemptAt().isAfter(before.plusSeconds(9)));
+        assertTrue(result.getNextAttemptAt().isBefore(before.plusSeconds(11)));
+    }
+
+    @Test
+    @DisplayName("fromAddress - địa chỉ không có @ → thêm domain mặc định")
+    void testFromAddress_AppendsDomain() {
+        // Arrange
+        ReflectionTestUtils.setField(emailOutboxService, "smtpFromEmail", "support_skillbridge");
+
+        // Act & Assert
+        assertEquals("support_skillbridge@skillbridge.com", emailOutboxService.fromAddress());
+    }
+
+    @Test
+    @DisplayName("pollDueMessages - claim 1 lần cho mọi worker rảnh, chia batch theo người nhận")
+    void testPollDueMessages_ClaimsOneBatchPerIdleWorker() {
+        // Arrange
+        ReflectionTestUtils.setField(emailOutboxService, "batchSize", 2);
+        when(emailOutboxExecutor.getMaxPoolSize()).thenReturn(2);
+        when(emailOutboxExecutor.getActiveCount()).thenReturn(0);
+        when(emailOutboxRepository.claimBatch(anyString(), any(), eq(4))).thenReturn(3);
+        when(emailOutboxRepository.findByLeaseOwner(anyString())).thenReturn(List.of(
+            createMessage(1L, "welcome", "a@example.com", 1),
+            createMessage(2L, "welcome", "b@example.com", 1),
+            createMessage(3L, "welcome", "c@example.com", 1)));
+        doNothing().doThrow(new TaskRejectedException("Pool full"))
+                .when(emailOutboxExecutor).execute(any(Runnable.class));
+
+        // Act
+        emailOutboxService.pollDueMessages();
+
+        // Assert
+        verify(emailOutboxRepository, times(1)).claimBatch(anyString(), any(), anyInt());
+        verify(emailOutboxExecutor, times(2)).execute(any(Runnable.class));
+        verify(emailOutboxRepository).releaseClaims(eq(List.of(3L)), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("pollDueMessages - outbox bị tắt → không truy vấn")
+    void testPollDueMessages_Disabled() {
+        // Arrange
+        ReflectionTestUtils.setField(emailOutboxService, "enabled", false);
+
+        // Act
+        emailOutboxService.pollDueMessages();
+
+        // Assert
+        verifyNoInteractions(emailOutboxRepository);
+        verifyNoInteractions(emailOutboxExecutor);
+    }
+
+    // Helper methods
+    private EmailOutboxMessage createMessage(Long id, String template, String toEmail, Integer attempts) {
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setId(id);
+        message.setTemplate(template);
+        message.setToEmail(toEmail);
+        message.setSubject("Subject " + id + " (" + template + ")");
+        message.setBody("Dear Client");
+        message.setStatus(EmailOutboxMessage.Status.SENDING);
+        message.setLeaseOwner(LEASE);
+        message.setAttempts(attempts);
+        message.setCreatedAt(LocalDateTime.now().minusSeconds(5));
+        return message;
+    }
+}
@@ -0,0 +1,195 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.entity.common.EmailTemplate;
+import com.skillbridge.repository.common.EmailTemplateRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EmailTemplateEngine
+ * Tests default rendering, DB overrides, caching/invalidation and placeholder parsing
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailTemplateEngineTest {
+
+    @Mock
+    private EmailTemplateRepository emailTemplateRepository;
+
+    @InjectMocks
+    private EmailTemplateEngine emailTemplateEngine;
+
+    @Test
+    @DisplayName("render - không có template trong DB → dùng template mặc định")
+    void testRender_DefaultTemplate() {
+        // Arrange
+        when(emailTemplateRepository.findByTemplateNameAndIsActiveTrue("password_reset")).thenReturn(Optional.empty());
+
+        // Act
+        EmailTemplateEngine.RenderedEmail result = emailTemplateEngine.render("password_reset", resetVars());
+
+        // Assert
+        assertEquals("Password Reset Request", result.getSubject());
+        assertEquals("Hello John Doe,\n\n" +
+                "You requested a password reset. Please click the link below to reset your password:\n\n" +
+                "http://localhost:3000/reset?token=abc\n\n" +
+                "This link will expire in 30 minutes.\n\n" +
+                "If you did not request this, please ignore this email.\n\n" +
+                "Best regards,\nSkillBridge Team", result.getBody());
+    }
+
+    @Test
+    @DisplayName("render - có template trong DB → dùng template DB và chỉ truy vấn một lần")
+    void testRender_DbTemplateCached() {
+        // Arrange
+        when(emailTemplateRepository.findByTemplateNameAndIsActiveTrue("password_reset"))
+                .thenReturn(Optional.of(createTemplate("Reset {name}", "Link: {reset_link} ({expiration_minutes}m)")));
+
+        // Act
+        emailTemplateEngine.render("password_reset", resetVars());
+        EmailTemplateEngine.RenderedEmail result = emailTemplateEngine.render("password_reset", resetVars());
+
+        // Assert
+        assertEquals("Reset John Doe", result.getSubject());
+        assertEquals("Link: http://localhost:3000/reset?token=abc (30m)", result.getBody());
+        verify(emailTemplateRepository, times(1)).findByTemplateNameAndIsActiveTrue("password_reset");
+    }
+
+    @Test
+    @DisplayName("invalidate - xóa cache → lần render sau nạp lại template")
+    void testInvalidate_Reloads() {
+        // Arrange
+        when(emailTemplateRepository.findByTemplateNameAndIsActiveTrue("password_reset"))
+                .thenReturn(Optional.of(createTemplate("Old", "Old body")))
+                .thenReturn(Optional.of(createTemplate("New", "New body")));
+        emailTemplateEngine.render("password_reset", resetVars());
+
+        // Act
+        emailTemplateEngine.invalidate("password_reset");
+        EmailTemplateEngine.RenderedEmail result = emailTemplateEngine.render("password_reset", resetVars());
+
+        // Assert
+        assertEquals("New", result.getSubject());
+        verify(emailTemplateRepository, times(2)).findByTemplateNameAndIsActiveTrue("password_reset");
+    }
+
+    @Test
+    @DisplayName("render - template bị sửa trong lúc đang nạp → không cache bản cũ")
+    void testRender_InvalidatedDuringLoad() {
+        // Arrange
+        when(emailTemplateRepository.findByTemplateNameAndIsActiveTrue("password_reset"))
+                .thenAnswer(invocation -> {
+                    emailTemplateEngine.invalidate("password_reset");
+                    return Optional.of(createTemplate("Old", "Old body"));
+                })
+                .thenReturn(Optional.of(createTemplate("New", "New body")));
+
+        // Act
+        EmailTemplateEngine.RenderedEmail first = emailTemplateEngine.render("password_reset", resetVars());
+        EmailTemplateEngine.RenderedEmail second = emailTemplateEngine.render("password_reset", resetVars());
+
+        // Assert
+        assertEquals("Old", first.getSubject());
+        assertEquals("New", second.getSubject());
+    }
+
+    @Test
+    @DisplayName("render - placeholder không có giá trị → giữ nguyên, giá trị không bị thay thế lại")
+    void testRender_UnknownPlaceholderAndNoRescan() {
+        // Arrange
+        when(emailTemplateRepository.findByTemplateNameAndIsActiveTrue("password_reset"))
+                .thenReturn(Optional.of(createTemplate("S", "{name} {unknown} {not closed")));
+        Map<String, String> vars = new HashMap<>();
+        vars.put("name", "{reset_link}");
+        vars.put("reset_link", "should-not-appear");
+
+        // Act
+        EmailTemplateEngine.RenderedEmail result = emailTemplateEngine.render("password_reset", vars);
+
+        // Assert
+        assertEquals("{reset_link} {unknown} {not closed", result.getBody());
+    }
+
+    @Test
+    @DisplayName("render - tên template không tồn tại → IllegalArgumentException")
+    void testRender_UnknownTemplate() {
+        // Arrange
+        when(emailTemplateRepository.findByTemplateNameAndIsActiveTrue(anyString())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> emailTemplateEngine.render("missing", resetVars()));
+    }
+
+    @Test
+    @DisplayName("benchmark - render đã biên dịch so với chuỗi String.replace")
+    void testBenchmark_CompiledVsReplaceChain() {
+        // Arrange
+        String body = DefaultEmailTemplates.TEMPLATES.get(DefaultEmailTemplates.PASSWORD_RESET)[1];
+        EmailTemplateEngine.CompiledTemplate compiled = EmailTemplateEngine.compile(body);
+        Map<String, String> vars = resetVars();
+        int iterations = 200_000;
+
+        // Warm up both paths
+        for (int i = 0; i < 20_000; i++) {
+            replaceChain(body, vars);
+            compiled.render(vars);
+        }
+
+        // Act
+        long start = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += replaceChain(body, vars).length();
+        }
+        long replaceNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += compiled.render(vars).length();
+        }
+        long compiledNanos = System.nanoTime() - start;
+
+        System.out.printf("Email template render x%d: replace chain %d ms, compiled %d ms%n",
+                iterations, replaceNanos / 1_000_000, compiledNanos / 1_000_000);
+
+        // Assert
+        assertEquals(replaceChain(body, vars), compiled.render(vars));
+        assertTrue(sink > 0);
+    }
+
+    // Helper methods
+    private Map<String, String> resetVars() {
+        Map<String, String> vars = new HashMap<>();
+        vars.put("name", "John Doe");
+        vars.put("reset_link", "http://localhost:3000/reset?token=abc");
+        vars.put("expiration_minutes", "30");
+        return vars;
+    }
+
+    private String replaceChain(String body, Map<String, String> vars) {
+        return body
+                .replace("{name}", vars.get("name"))
+                .replace("{reset_link}", vars.get("reset_link"))
+                .replace("{expiration_minutes}", vars.get("expiration_minutes"));
+    }
+
+    private EmailTemplate createTemplate(String subject, String body) {
+        EmailTemplate template = new EmailTemplate();
+        template.setTemplateName("password_reset");
+        template.setSubject(subject);
+        template.setBody(body);
+        template.setIsActive(true);
+        return template;
+    }
+}
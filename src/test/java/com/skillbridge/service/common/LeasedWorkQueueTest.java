@@ -0,0 +1,114 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.repository.common.LeasedQueueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LeasedWorkQueue
+ * Tests heartbeat, expired lease re-queueing, batch claim, release and backoff
+ */
+@ExtendWith(MockitoExtension.class)
+class LeasedWorkQueueTest {
+
+    @Mock
+    private LeasedQueueRepository<String, Long> repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LeasedWorkQueue<String, Long> queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new LeasedWorkQueue<>("test row", repository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("poll - heartbeat lease của node, re-queue lease hết hạn, claim 1 batch")
+    void testPoll_HeartbeatRequeueAndClaim() {
+        // Arrange
+        when(repository.claimBatch(anyString(), any(), eq(5))).thenReturn(2);
+        when(repository.findByLeaseOwner(anyString())).thenReturn(List.of("a", "b"));
+
+        // Act
+        LeasedWorkQueue.Claim<String> claim = queue.poll(5, 15);
+
+        // Assert
+        assertEquals(List.of("a", "b"), claim.getItems());
+        assertTrue(claim.getLeaseOwner().startsWith(LeasedWorkQueue.NODE_ID + ":"));
+        verify(repository).heartbeat(eq(LeasedWorkQueue.NODE_ID + ":%"), any());
+        verify(repository).claimBatch(eq(claim.getLeaseOwner()), any(), eq(5));
+        verify(repository).findByLeaseOwner(claim.getLeaseOwner());
+
+        ArgumentCaptor<LocalDateTime> expiredBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).requeueExpired(expiredBefore.capture(), any());
+        assertTrue(expiredBefore.getValue().isBefore(LocalDateTime.now().minusMinutes(14)));
+    }
+
+    @Test
+    @DisplayName("poll - không còn worker rảnh → chỉ heartbeat và re-queue, không claim")
+    void testPoll_NoCapacity() {
+        // Act
+        LeasedWorkQueue.Claim<String> claim = queue.poll(0, 15);
+
+        // Assert
+        assertTrue(claim.getItems().isEmpty());
+        verify(repository).heartbeat(anyString(), any());
+        verify(repository, never()).claimBatch(anyString(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("poll - mỗi lần poll dùng lease owner khác nhau")
+    void testPoll_NewLeaseOwnerPerPoll() {
+        // Act
+        String first = queue.poll(0, 15).getLeaseOwner();
+        String second = queue.poll(0, 15).getLeaseOwner();
+
+        // Assert
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("release - trả lại các row theo đúng lease")
+    void testRelease() {
+        // Act
+        queue.release(List.of(3L, 4L), "node-1:9");
+
+        // Assert
+        verify(repository).releaseClaims(eq(List.of(3L, 4L)), eq("node-1:9"), any());
+    }
+
+    @Test
+    @DisplayName("backoffSeconds - tăng gấp đôi mỗi lần thử, tối đa 1 giờ")
+    void testBackoffSeconds() {
+        assertEquals(10L, LeasedWorkQueue.backoffSeconds(10, 1));
+        assertEquals(20L, LeasedWorkQueue.backoffSeconds(10, 2));
+        assertEquals(40L, LeasedWorkQueue.backoffSeconds(10, 3));
+        assertEquals(3600L, LeasedWorkQueue.backoffSeconds(10, 20));
+    }
+
+    @Test
+    @DisplayName("describeError - lỗi quá dài → cắt còn 2000 ký tự")
+    void testDescribeError_Truncates() {
+        // Act
+        String error = LeasedWorkQueue.describeError(new RuntimeException("x".repeat(5000)));
+
+        // Assert
+        assertEquals(2000, error.length());
+        assertTrue(error.startsWith("RuntimeException: "));
+    }
+}
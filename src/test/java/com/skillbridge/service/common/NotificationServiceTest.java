@@ -0,0 +1,211 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.dto.common.DashboardEventDTO;
+import com.skillbridge.dto.common.NotificationInboxDTO;
+import com.skillbridge.entity.common.Notification;
+import com.skillbridge.entity.common.NotificationCounter;
+import com.skillbridge.entity.contact.Contact;
+import com.skillbridge.repository.common.NotificationCounterRepository;
+import com.skillbridge.repository.common.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationService
+ * Tests fan-out, unread counters, long-poll behaviour and the SSE unread-count push
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceTest {
+
+    @Mock
+    private SalesRecipientResolver salesRecipientResolver;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationCounterRepository notificationCounterRepository;
+
+    @Mock
+    private ThreadPoolTaskExecutor notificationExecutor;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private DashboardEventService dashboardEventService;
+
+    @InjectMocks
+    private NotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(notificationService, "longPollTimeoutSeconds", 25L);
+        ReflectionTestUtils.setField(notificationService, "maxBatch", 50);
+    }
+
+    @Test
+    @DisplayName("notifySalesManager - gửi cho tất cả sales manager và assignee, tăng bộ đếm chưa đọc")
+    @SuppressWarnings("unchecked")
+    void testNotifySalesManager_FansOutToAllManagers() {
+        // Arrange
+        runTasksInline();
+        when(salesRecipientResolver.getSalesManagerIds()).thenReturn(Arrays.asList(1, 2));
+        Contact contact = createContact(100, 3);
+
+        // Act
+        notificationService.notifySalesManager(contact);
+
+        // Assert
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).saveAll(captor.capture());
+        List<Integer> recipients = captor.getValue().stream().map(Notification::getUserId).collect(Collectors.toList());
+        assertEquals(Arrays.asList(3, 1, 2), recipients);
+        assertEquals(Notification.TYPE_NEW_CONTACT, captor.getValue().get(0).getType());
+        assertEquals(100, captor.getValue().get(0).getEntityId());
+        verify(notificationCounterRepository).increment(1, 1);
+        verify(notificationCounterRepository).increment(2, 1);
+        verify(notificationCounterRepository).increment(3, 1);
+    }
+
+    @Test
+    @DisplayName("notifyUsers - không có người nhận hợp lệ → không fan-out")
+    void testNotifyUsers_NoRecipients() {
+        // Act
+        notificationService.notifyUsers(Collections.singletonList(null), Notification.TYPE_PROPOSAL_REVIEW,
+                "Title", "Message", "proposal", 1);
+
+        // Assert
+        verifyNoInteractions(notificationExecutor);
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    @DisplayName("markRead - giảm bộ đếm đúng số thông báo chuyển sang đã đọc")
+    void testMarkRead_DecrementsByChangedRows() {
+        // Arrange
+        when(notificationRepository.markRead(eq(5), anyCollection(), any())).thenReturn(2);
+        when(notificationCounterRepository.findById(5)).thenReturn(Optional.of(createCounter(5, 1)));
+
+        // Act
+        int unread = notificationService.markRead(5, Arrays.asList(10L, 11L, 12L));
+
+        // Assert
+        assertEquals(1, unread);
+        verify(notificationCounterRepository).decrement(5, 2);
+    }
+
+    @Test
+    @DisplayName("waitForNotifications - đã có thông báo mới → trả về ngay")
+    void testWaitForNotifications_ReturnsImmediately() {
+        // Arrange
+        Notification notification = createNotification(21L, 5);
+        when(notificationRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(eq(5), eq(20L), any()))
+                .thenReturn(Collections.singletonList(notification));
+        when(notificationCounterRepository.findById(5)).thenReturn(Optional.of(createCounter(5, 4)));
+
+        // Act
+        DeferredResult<NotificationInboxDTO> result = notificationService.waitForNotifications(5, 20L, Function.identity());
+
+        // Assert
+        assertTrue(result.hasResult());
+        NotificationInboxDTO inbox = (NotificationInboxDTO) result.getResult();
+        assertEquals(21L, inbox.getLastId());
+        assertEquals(4, inbox.getUnreadCount());
+        assertEquals(1, inbox.getNotifications().size());
+    }
+
+    @Test
+    @DisplayName("waitForNotifications - chưa có thông báo → chờ đến khi fan-out cho user hoàn tất")
+    void testWaitForNotifications_WokenByFanOut() {
+        // Arrange
+        runTasksInline();
+        when(notificationRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(eq(5), eq(20L), any()))
+                .thenReturn(new ArrayList<>())
+                .thenReturn(Collections.singletonList(createNotification(21L, 5)));
+
+        DeferredResult<NotificationInboxDTO> result = notificationService.waitForNotifications(5, 20L, Function.identity());
+        assertFalse(result.hasResult());
+
+        // Act
+        notificationService.notifyUsers(Collections.singletonList(5), Notification.TYPE_CHANGE_REQUEST,
+                "New change request", "CR-2025-01 - Add engineer", "change_request", 7);
+
+        // Assert
+        assertTrue(result.hasResult());
+        assertEquals(21L, ((NotificationInboxDTO) result.getResult()).getLastId());
+    }
+
+    @Test
+    @DisplayName("notifyUsers - user đang mở dashboard stream → đẩy số chưa đọc qua SSE")
+    void testNotifyUsers_PushesUnreadCountToOpenStream() {
+        // Arrange
+        runTasksInline();
+        when(dashboardEventService.isConnected(5)).thenReturn(true);
+        when(notificationCounterRepository.findById(5)).thenReturn(Optional.of(createCounter(5, 3)));
+
+        // Act
+        notificationService.notifyUsers(Collections.singletonList(5), Notification.TYPE_PROPOSAL_REVIEW,
+                "Proposal to review", "Proposal v2", "proposal", 9);
+
+        // Assert
+        ArgumentCaptor<DashboardEventDTO> captor = ArgumentCaptor.forClass(DashboardEventDTO.class);
+        verify(dashboardEventService).publishToUsers(eq(Collections.singletonList(5)), captor.capture());
+        assertEquals(DashboardEventDTO.TYPE_NOTIFICATION, captor.getValue().getType());
+        assertEquals(3, captor.getValue().getUnreadCount());
+        assertEquals(9, captor.getValue().getEntityId());
+    }
+
+    // Helper methods
+    private void runTasksInline() {
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(notificationExecutor).execute(any(Runnable.class));
+    }
+
+    private Contact createContact(Integer id, Integer assigneeUserId) {
+        Contact contact = new Contact();
+        contact.setId(id);
+        contact.setAssigneeUserId(assigneeUserId);
+        return contact;
+    }
+
+    private NotificationCounter createCounter(Integer userId, Integer unread) {
+        NotificationCounter counter = new NotificationCounter();
+        counter.setUserId(userId);
+        counter.setUnreadCount(unread);
+        return counter;
+    }
+
+    private Notification createNotification(Long id, Integer userId) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setUserId(userId);
+        notification.setType(Notification.TYPE_NEW_CONTACT);
+        notification.setTitle("New contact request");
+        return notification;
+    }
+}
@@ -0,0 +1,169 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.entity.common.BackgroundJobRun;
+import com.skillbridge.entity.proposal.Proposal;
+import com.skillbridge.repository.common.BackgroundJobRunRepository;
+import com.skillbridge.repository.document.DocumentMetadataRepository;
+import com.skillbridge.repository.proposal.ProposalRepository;
+import com.skillbridge.util.JsonCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProposalDocumentBackfillService
+ * Tests key extraction from proposals, the idempotent batch backfill and its one-time marker
+ */
+@ExtendWith(MockitoExtension.class)
+class ProposalDocumentBackfillServiceTest {
+
+    @Mock
+    private ProposalRepository proposalRepository;
+
+    @Mock
+    private DocumentMetadataRepository documentMetadataRepository;
+
+    @Mock
+    private DocumentPermissionService documentPermissionService;
+
+    @Mock
+    private BackgroundJobRunRepository backgroundJobRunRepository;
+
+    @InjectMocks
+    private ProposalDocumentBackfillService backfillService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(backfillService, "jsonCodec", new JsonCodec());
+        ReflectionTestUtils.setField(backfillService, "enabled", true);
+        ReflectionTestUtils.setField(backfillService, "batchSize", 2);
+    }
+
+    @Test
+    @DisplayName("extractKeys - đọc link và manifest dạng chuỗi hoặc AttachmentInfo, bỏ key không thuộc proposals/")
+    void testExtractKeys_BothManifestFormats() {
+        // Arrange
+        Proposal legacy = createProposal(1, "proposals/a.pdf", "[\"proposals/a.pdf\",\"proposals/b.pdf\",\"uploads/x.pdf\"]");
+        Proposal current = createProposal(2, "proposals/c.pdf",
+                "[{\"s3Key\":\"proposals/c.pdf\",\"fileName\":\"c.pdf\"},{\"s3Key\":\"proposals/d.pdf\",\"fileName\":\"d.pdf\"}]");
+        Proposal broken = createProposal(3, null, "not json");
+
+        // Act
+        Set<String> legacyKeys = backfillService.extractKeys(legacy);
+        Set<String> currentKeys = backfillService.extractKeys(current);
+        Set<String> brokenKeys = backfillService.extractKeys(broken);
+
+        // Assert
+        assertEquals(Arrays.asList("proposals/a.pdf", "proposals/b.pdf"), new ArrayList<>(legacyKeys));
+        assertEquals(Arrays.asList("proposals/c.pdf", "proposals/d.pdf"), new ArrayList<>(currentKeys));
+        assertTrue(brokenKeys.isEmpty());
+    }
+
+    @Test
+    @DisplayName("backfill - chỉ tạo metadata cho key chưa có, duyệt theo từng batch")
+    void testBackfill_SkipsExistingKeys() {
+        // Arrange
+        Proposal first = createProposal(1, "proposals/a.pdf", null);
+        Proposal second = createProposal(2, "proposals/b.pdf", null);
+        Proposal third = createProposal(5, "proposals/a.pdf", "[\"proposals/e.pdf\"]");
+        when(proposalRepository.findWithDocumentsAfter(eq(0), any())).thenReturn(Arrays.asList(first, second));
+        when(proposalRepository.findWithDocumentsAfter(eq(2), any())).thenReturn(Collections.singletonList(third));
+        when(proposalRepository.findWithDocumentsAfter(eq(5), any())).thenReturn(new ArrayList<>());
+        // a.pdf was registered by the first batch, so the second batch finds it existing
+        when(documentMetadataRepository.findExistingS3Keys(anyCollection()))
+                .thenReturn(Collections.singletonList("proposals/b.pdf"))
+                .thenReturn(Collections.singletonList("proposals/a.pdf"));
+
+        // Act
+        int created = backfillService.backfill();
+
+        // Assert
+        assertEquals(2, created);
+        verify(documentPermissionService).registerProposalDocument(first, "proposals/a.pdf");
+        verify(documentPermissionService).registerProposalDocument(third, "proposals/e.pdf");
+        verify(documentPermissionService, never()).registerProposalDocument(any(), eq("proposals/b.pdf"));
+        verify(documentPermissionService, never()).registerProposalDocument(eq(third), eq("proposals/a.pdf"));
+    }
+
+    @Test
+    @DisplayName("onApplicationReady - tắt bằng cấu hình → không chạy")
+    void testOnApplicationReady_Disabled() {
+        // Arrange
+        ReflectionTestUtils.setField(backfillService, "enabled", false);
+
+        // Act
+        backfillService.onApplicationReady();
+
+        // Assert
+        verifyNoInteractions(proposalRepository);
+    }
+
+    @Test
+    @DisplayName("onApplicationReady - lần đầu → chạy backfill và ghi nhận đã hoàn tất")
+    void testOnApplicationReady_RecordsCompletion() {
+        // Arrange
+        when(backgroundJobRunRepository.existsById(ProposalDocumentBackfillService.JOB_NAME)).thenReturn(false);
+        when(proposalRepository.findWithDocumentsAfter(eq(0), any())).thenReturn(new ArrayList<>());
+
+        // Act
+        backfillService.onApplicationReady();
+
+        // Assert
+        verify(proposalRepository).findWithDocumentsAfter(eq(0), any());
+        verify(backgroundJobRunRepository).save(argThat((BackgroundJobRun run) ->
+                ProposalDocumentBackfillService.JOB_NAME.equals(run.getJobName()) && run.getCompletedAt() != null));
+    }
+
+    @Test
+    @DisplayName("onApplicationReady - đã hoàn tất ở lần khởi động trước → bỏ qua")
+    void testOnApplicationReady_AlreadyCompleted() {
+        // Arrange
+        when(backgroundJobRunRepository.existsById(ProposalDocumentBackfillService.JOB_NAME)).thenReturn(true);
+
+        // Act
+        backfillService.onApplicationReady();
+
+        // Assert
+        verifyNoInteractions(proposalRepository);
+        verify(backgroundJobRunRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("onApplicationReady - backfill lỗi → không ghi nhận hoàn tất, lần khởi động sau chạy lại")
+    void testOnApplicationReady_FailureNotRecorded() {
+        // Arrange
+        when(backgroundJobRunRepository.existsById(ProposalDocumentBackfillService.JOB_NAME)).thenReturn(false);
+        when(proposalRepository.findWithDocumentsAfter(eq(0), any())).thenThrow(new RuntimeException("DB down"));
+
+        // Act
+        backfillService.onApplicationReady();
+
+        // Assert
+        verify(backgroundJobRunRepository, never()).save(any());
+    }
+
+    // Helper methods
+    private Proposal createProposal(Integer id, String link, String manifest) {
+        Proposal proposal = new Proposal();
+        proposal.setId(id);
+        proposal.setCreatedBy(2);
+        proposal.setLink(link);
+        proposal.setAttachmentsManifest(manifest);
+        return proposal;
+    }
+}
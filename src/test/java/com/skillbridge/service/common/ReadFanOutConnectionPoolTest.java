@@ -0,0 +1,210 @@
+package com.skillbridge.service.common;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Connection pool tests for ReadFanOut against H2 with a real Hikari pool and JPA
+ * Detail entry points run in a NOT_SUPPORTED scope and block in join(); these tests check that
+ * they hold no pooled connection meanwhile, so as many concurrent detail calls as the pool has
+ * connections complete instead of starving their own parallel reads.
+ */
+class ReadFanOutConnectionPoolTest {
+
+    private static final int POOL_SIZE = 4;
+    private static final int READS_PER_CALL = 3;
+
+    private HikariDataSource dataSource;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private EntityManager entityManager;
+    private JpaTransactionManager transactionManager;
+    private ThreadPoolTaskExecutor detailReadExecutor;
+    private ReadFanOut readFanOut;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(POOL_SIZE);
+        dataSource.setConnectionTimeout(5000);
+
+        // Same vendor adapter as the application: connections are held until the EntityManager closes
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setPackagesToScan(ReadFanOutConnectionPoolTest.class.getPackageName());
+        entityManagerFactory.afterPropertiesSet();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory.getObject());
+        transactionManager = new JpaTransactionManager(entityManagerFactory.getObject());
+
+        // Same shape as AsyncConfig.detailReadExecutor
+        detailReadExecutor = new ThreadPoolTaskExecutor();
+        detailReadExecutor.setThreadNamePrefix("detail-read-test-");
+        detailReadExecutor.setCorePoolSize(POOL_SIZE);
+        detailReadExecutor.setMaxPoolSize(POOL_SIZE);
+        detailReadExecutor.setQueueCapacity(POOL_SIZE * 4);
+        detailReadExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        detailReadExecutor.initialize();
+
+        readFanOut = new ReadFanOut();
+        ReflectionTestUtils.setField(readFanOut, "detailReadExecutor", detailReadExecutor);
+        ReflectionTestUtils.setField(readFanOut, "transactionManager", transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        detailReadExecutor.shutdown();
+        entityManagerFactory.destroy();
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("NOT_SUPPORTED - query trực tiếp trên thread gọi → giữ connection đến hết scope")
+    void testNotSupported_DirectQueryHoldsConnection() {
+        // Act
+        int active = notSupported(() -> {
+            selectOne();
+            return activeConnections();
+        });
+
+        // Assert
+        assertEquals(1, active);
+        assertEquals(0, activeConnections());
+    }
+
+    @Test
+    @DisplayName("read - query qua ReadFanOut.read trong scope NOT_SUPPORTED → trả connection ngay")
+    void testRead_ReleasesConnection() {
+        // Act
+        int active = notSupported(() -> {
+            ReadFanOut.read(readFanOut, this::selectOne);
+            return activeConnections();
+        });
+
+        // Assert
+        assertEquals(0, active);
+    }
+
+    @Test
+    @DisplayName("detail - pool N connection, N request chi tiết đồng thời → tất cả hoàn tất, không cạn pool")
+    void testConcurrentDetailCalls_PoolSizeN() throws Exception {
+        // Arrange
+        CyclicBarrier allInScope = new CyclicBarrier(POOL_SIZE);
+        ExecutorService requests = Executors.newFixedThreadPool(POOL_SIZE);
+
+        // Act
+        List<Future<Integer>> calls = new ArrayList<>();
+        try {
+            for (int i = 0; i < POOL_SIZE; i++) {
+                calls.add(requests.submit(() -> notSupported(() -> detailCall(allInScope))));
+            }
+            List<Integer> results = new ArrayList<>();
+            for (Future<Integer> call : calls) {
+                results.add(call.get(20, TimeUnit.SECONDS));
+            }
+
+            // Assert
+            for (Integer result : results) {
+                assertEquals(READS_PER_CALL + 2, result);
+            }
+            assertEquals(0, activeConnections());
+        } finally {
+            requests.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("application.yml - open-in-view tắt để thread gọi không giữ connection của request")
+    void testApplicationConfig_OpenInViewDisabled() {
+        // Arrange
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yml"));
+
+        // Act
+        Properties properties = yaml.getObject();
+
+        // Assert
+        assertNotNull(properties);
+        assertEquals("false", String.valueOf(properties.get("spring.jpa.open-in-view")));
+    }
+
+    // Helper methods
+
+    /**
+     * Shape of a detail entry point: point lookup, parallel reads while every call is in its
+     * scope, join, one more read on the caller
+     * @return Number of reads that returned a row
+     */
+    private int detailCall(CyclicBarrier allInScope) throws Exception {
+        int rows = ReadFanOut.read(readFanOut, this::selectOne);
+        allInScope.await(10, TimeUnit.SECONDS);
+
+        List<ReadFanOut.Subtask<Integer>> reads = new ArrayList<>();
+        try (ReadFanOut.Scope scope = ReadFanOut.open(readFanOut)) {
+            for (int i = 0; i < READS_PER_CALL; i++) {
+                reads.add(scope.fork(() -> {
+                    int row = selectOne();
+                    // Keep the connection a while so the reads of all calls overlap
+                    Thread.sleep(100);
+                    return row;
+                }));
+            }
+            scope.join();
+        }
+        for (ReadFanOut.Subtask<Integer> read : reads) {
+            rows += read.get();
+        }
+        return rows + ReadFanOut.read(readFanOut, this::selectOne);
+    }
+
+    private <T> T notSupported(Callable<T> body) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        return template.execute(status -> {
+            try {
+                return body.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private int selectOne() {
+        return ((Number) entityManager.createNativeQuery("SELECT 1").getSingleResult()).intValue();
+    }
+
+    private int activeConnections() {
+        return dataSource.getHikariPoolMXBean().getActiveConnections();
+    }
+}
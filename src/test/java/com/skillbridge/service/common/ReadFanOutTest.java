@@ -0,0 +1,186 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.util.QueryBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReadFanOut
+ * Tests worker execution, caller fallback, failure propagation and QueryBudget merging
+ */
+@ExtendWith(MockitoExtension.class)
+class ReadFanOutTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ThreadPoolTaskExecutor executor;
+
+    private ReadFanOut readFanOut;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("detail-read-test-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+
+        readFanOut = new ReadFanOut();
+        ReflectionTestUtils.setField(readFanOut, "detailReadExecutor", executor);
+        ReflectionTestUtils.setField(readFanOut, "transactionManager", transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        SecurityContextHolder.clearContext();
+        QueryBudget.stop();
+    }
+
+    @Test
+    @DisplayName("fork - chạy trên worker trong transaction read-only, giữ security context")
+    void testFork_RunsOnWorker() {
+        // Arrange
+        Authentication authentication = new UsernamePasswordAuthenticationToken("sales@example.com", null);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        CountDownLatch started = new CountDownLatch(1);
+
+        // Act
+        ReadFanOut.Scope reads = readFanOut.open();
+        ReadFanOut.Subtask<String> result = reads.fork(() -> {
+            started.countDown();
+            return Thread.currentThread().getName() + "/" +
+                SecurityContextHolder.getContext().getAuthentication().getName();
+        });
+        awaitQuietly(started);
+        reads.join();
+
+        // Assert
+        assertTrue(result.get().startsWith("detail-read-test-"));
+        assertTrue(result.get().endsWith("/sales@example.com"));
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("fork - pool bận → task chạy trên thread gọi trong transaction read-only riêng")
+    void testFork_PoolBusyRunsOnCaller() {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ReadFanOut.Scope reads = readFanOut.open();
+        ReadFanOut.Subtask<String> slow = reads.fork(() -> {
+            started.countDown();
+            awaitQuietly(release);
+            return "slow";
+        });
+        awaitQuietly(started);
+
+        // Act
+        ReadFanOut.Subtask<String> fast = reads.fork(() -> {
+            release.countDown();
+            return Thread.currentThread().getName();
+        });
+        reads.join();
+
+        // Assert
+        assertEquals("slow", slow.get());
+        assertEquals(Thread.currentThread().getName(), fast.get());
+        verify(transactionManager, times(2)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    @DisplayName("join - một task lỗi → ném lại đúng exception")
+    void testJoin_FailurePropagates() {
+        // Arrange
+        ReadFanOut.Scope reads = readFanOut.open();
+        reads.fork(() -> {
+            throw new RuntimeException("Contract not found");
+        });
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, reads::join);
+        assertEquals("Contract not found", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("get - gọi trước join → IllegalStateException")
+    void testGet_BeforeJoin() {
+        // Arrange
+        ReadFanOut.Scope reads = ReadFanOut.open(null);
+        ReadFanOut.Subtask<Integer> value = reads.fork(() -> 42);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, value::get);
+        reads.join();
+        assertEquals(42, value.get());
+    }
+
+    @Test
+    @DisplayName("open - không có ReadFanOut → chạy ngay trên thread gọi, không mở transaction")
+    void testOpen_NullRunsInline() {
+        // Act
+        ReadFanOut.Scope reads = ReadFanOut.open(null);
+        ReadFanOut.Subtask<String> thread = reads.fork(() -> Thread.currentThread().getName());
+        reads.join();
+
+        // Assert
+        assertEquals(Thread.currentThread().getName(), thread.get());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @DisplayName("join - SQL chạy trên worker → cộng vào QueryBudget của request")
+    void testJoin_MergesQueryBudget() {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+
+        // Act
+        QueryBudget.Stats stats = QueryBudget.measure(() -> {
+            ReadFanOut.Scope reads = readFanOut.open();
+            reads.fork(() -> {
+                started.countDown();
+                QueryBudget.onStatement("select * from contract_history where sow_contract_id=?");
+                return null;
+            });
+            awaitQuietly(started);
+            reads.join();
+        });
+
+        // Assert
+        assertEquals(1, stats.getStatements());
+    }
+
+    // Helper methods
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        }
+    }
+}
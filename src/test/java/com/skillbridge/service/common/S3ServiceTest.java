@@ -0,0 +1,214 @@
+package com.skillbridge.service.common;
+
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for S3Service
+ * Tests single PUT vs multipart streaming uploads, abort on failure and concurrent uploads
+ */
+@ExtendWith(MockitoExtension.class)
+class S3ServiceTest {
+
+    private static final int MB = 1024 * 1024;
+
+    @Mock
+    private AmazonS3 amazonS3;
+
+    @InjectMocks
+    private S3Service s3Service;
+
+    private ThreadPoolTaskExecutor uploadExecutor;
+
+    private ThreadPoolTaskExecutor partExecutor;
+
+    @BeforeEach
+    void setUp() {
+        uploadExecutor = createExecutor("test-upload-");
+        partExecutor = createExecutor("test-part-");
+        ReflectionTestUtils.setField(s3Service, "s3Enabled", true);
+        ReflectionTestUtils.setField(s3Service, "bucketName", "test-bucket");
+        ReflectionTestUtils.setField(s3Service, "partSizeMb", 5);
+        ReflectionTestUtils.setField(s3Service, "s3UploadExecutor", uploadExecutor);
+        ReflectionTestUtils.setField(s3Service, "s3PartUploadExecutor", partExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        uploadExecutor.shutdown();
+        partExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("uploadFile - file nhỏ hơn một part → một lần putObject, không multipart")
+    void testUploadFile_SmallFileSinglePut() throws IOException {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "small.pdf", "application/pdf", new byte[1024]);
+
+        // Act
+        String s3Key = s3Service.uploadFile(file, "proposals");
+
+        // Assert
+        assertTrue(s3Key.startsWith("proposals/"));
+        assertTrue(s3Key.endsWith(".pdf"));
+        verify(amazonS3).putObject(any(PutObjectRequest.class));
+        verify(amazonS3, never()).initiateMultipartUpload(any());
+    }
+
+    @Test
+    @DisplayName("uploadFile - file lớn → multipart upload theo từng part cố định, complete với ETag theo thứ tự")
+    void testUploadFile_LargeFileMultipart() throws IOException {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "contract.pdf", "application/pdf", new byte[11 * MB]);
+        stubInitiate();
+        when(amazonS3.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgument(0);
+            UploadPartResult result = new UploadPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag("etag-" + request.getPartNumber());
+            return result;
+        });
+
+        // Act
+        s3Service.uploadFile(file, "contracts/msa/1");
+
+        // Assert
+        ArgumentCaptor<UploadPartRequest> parts = ArgumentCaptor.forClass(UploadPartRequest.class);
+        verify(amazonS3, times(3)).uploadPart(parts.capture());
+        long totalSize = parts.getAllValues().stream().mapToLong(UploadPartRequest::getPartSize).sum();
+        assertEquals(11L * MB, totalSize);
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(amazonS3).completeMultipartUpload(complete.capture());
+        assertEquals("upload-1", complete.getValue().getUploadId());
+        assertEquals(3, complete.getValue().getPartETags().size());
+        assertEquals("etag-1", complete.getValue().getPartETags().get(0).getETag());
+        assertEquals(3, complete.getValue().getPartETags().get(2).getPartNumber());
+        verify(amazonS3, never()).putObject(any(PutObjectRequest.class));
+    }
+
+    @Test
+    @DisplayName("uploadFile - một part lỗi → abort multipart upload và ném lại lỗi")
+    void testUploadFile_PartFailureAborts() {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "contract.pdf", "application/pdf", new byte[6 * MB]);
+        stubInitiate();
+        when(amazonS3.uploadPart(any(UploadPartRequest.class))).thenThrow(new RuntimeException("S3 error"));
+
+        // Act
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> s3Service.uploadFile(file, "contracts/sow/1"));
+
+        // Assert
+        assertEquals("S3 error", exception.getMessage());
+        verify(amazonS3).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(amazonS3, never()).completeMultipartUpload(any());
+    }
+
+    @Test
+    @DisplayName("uploadFileAsync - nhiều file upload song song, awaitUpload trả về S3 key")
+    void testUploadFileAsync_Concurrent() throws IOException {
+        // Arrange
+        MockMultipartFile first = new MockMultipartFile("file", "a.pdf", "application/pdf", new byte[10]);
+        MockMultipartFile second = new MockMultipartFile("file", "b.pdf", "application/pdf", new byte[10]);
+
+        // Act
+        CompletableFuture<String> firstUpload = s3Service.uploadFileAsync(first, "proposals");
+        CompletableFuture<String> secondUpload = s3Service.uploadFileAsync(second, "proposals");
+        String firstKey = s3Service.awaitUpload(firstUpload);
+        String secondKey = s3Service.awaitUpload(secondUpload);
+
+        // Assert
+        assertNotEquals(firstKey, secondKey);
+        verify(amazonS3, times(2)).putObject(any(PutObjectRequest.class));
+    }
+
+    @Test
+    @DisplayName("awaitUpload - upload lỗi IOException → ném lại IOException gốc")
+    void testAwaitUpload_UnwrapsIOException() {
+        // Arrange
+        CompletableFuture<String> upload = CompletableFuture.failedFuture(new IOException("read failed"));
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class, () -> s3Service.awaitUpload(upload));
+        assertEquals("read failed", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("getPresignedUploadUrl - tạo URL PUT có ký content type")
+    void testGetPresignedUploadUrl() throws Exception {
+        // Arrange
+        when(amazonS3.generatePresignedUrl(any(GeneratePresignedUrlRequest.class)))
+                .thenReturn(new URL("https://test-bucket.s3.amazonaws.com/proposals/a.pdf?sig=1"));
+
+        // Act
+        String url = s3Service.getPresignedUploadUrl("proposals/a.pdf", "application/pdf", 15);
+
+        // Assert
+        assertTrue(url.contains("proposals/a.pdf"));
+        ArgumentCaptor<GeneratePresignedUrlRequest> captor = ArgumentCaptor.forClass(GeneratePresignedUrlRequest.class);
+        verify(amazonS3).generatePresignedUrl(captor.capture());
+        assertEquals(HttpMethod.PUT, captor.getValue().getMethod());
+        assertEquals("application/pdf", captor.getValue().getContentType());
+    }
+
+    @Test
+    @DisplayName("getObjectMetadata - object không tồn tại (404) → null")
+    void testGetObjectMetadata_NotFound() {
+        // Arrange
+        AmazonS3Exception notFound = new AmazonS3Exception("Not Found");
+        notFound.setStatusCode(404);
+        when(amazonS3.getObjectMetadata("test-bucket", "proposals/missing.pdf")).thenThrow(notFound);
+
+        // Act
+        ObjectMetadata metadata = s3Service.getObjectMetadata("proposals/missing.pdf");
+
+        // Assert
+        assertNull(metadata);
+    }
+
+    // Helper methods
+    private void stubInitiate() {
+        InitiateMultipartUploadResult initiated = new InitiateMultipartUploadResult();
+        initiated.setUploadId("upload-1");
+        when(amazonS3.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initiated);
+    }
+
+    private ThreadPoolTaskExecutor createExecutor(String prefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setThreadNamePrefix(prefix);
+        executor.initialize();
+        return executor;
+    }
+}
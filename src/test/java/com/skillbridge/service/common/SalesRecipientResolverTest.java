@@ -0,0 +1,81 @@
+package com.skillbridge.service.common;
+
+import com.skillbridge.entity.auth.User;
+import com.skillbridge.repository.auth.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SalesRecipientResolver
+ * Tests sales manager lookup, admin fallback and caching
+ */
+@ExtendWith(MockitoExtension.class)
+class SalesRecipientResolverTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private SalesRecipientResolver salesRecipientResolver;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(salesRecipientResolver, "recipientsCacheSeconds", 60L);
+    }
+
+    @Test
+    @DisplayName("getSalesManagerIds - trả về sales manager đang hoạt động")
+    void testGetSalesManagerIds_ActiveManagersOnly() {
+        // Arrange
+        User inactive = createUser(2);
+        inactive.setIsActive(false);
+        when(userRepository.findByRole("SALES_MANAGER")).thenReturn(Arrays.asList(createUser(1), inactive));
+
+        // Act
+        List<Integer> result = salesRecipientResolver.getSalesManagerIds();
+
+        // Assert
+        assertEquals(Collections.singletonList(1), result);
+        verify(userRepository, never()).findByRole("ADMIN");
+    }
+
+    @Test
+    @DisplayName("getSalesManagerIds - không có sales manager → dùng admin, kết quả được cache")
+    void testGetSalesManagerIds_FallbackAndCache() {
+        // Arrange
+        when(userRepository.findByRole("SALES_MANAGER")).thenReturn(new ArrayList<>());
+        when(userRepository.findByRole("ADMIN")).thenReturn(Collections.singletonList(createUser(9)));
+
+        // Act
+        List<Integer> first = salesRecipientResolver.getSalesManagerIds();
+        List<Integer> second = salesRecipientResolver.getSalesManagerIds();
+
+        // Assert
+        assertEquals(Collections.singletonList(9), first);
+        assertEquals(first, second);
+        verify(userRepository, times(1)).findByRole("SALES_MANAGER");
+    }
+
+    // Helper methods
+    private User createUser(Integer id) {
+        User user = new User();
+        user.setId(id);
+        user.setRole("SALES_MANAGER");
+        user.setIsActive(true);
+        return user;
+    }
+}
@@ -1,5 +1,6 @@
 package com.skillbridge.service.contact;
 
+import com.skillbridge.service.common.AttachmentService;
 import com.skillbridge.dto.contact.response.*;
 import com.skillbridge.entity.auth.User;
 import com.skillbridge.entity.contact.CommunicationLog;
@@ -59,6 +60,9 @@ class ContactDetailServiceTest {
     @Mock
     private com.skillbridge.repository.opportunity.OpportunityRepository opportunityRepository;
 
+    @Mock
+    private AttachmentService attachmentService;
+
     @InjectMocks
     private ContactDetailService contactDetailService;
 
@@ -11,6 +11,7 @@ import com.skillbridge.repository.contact.ContactStatusHistoryRepository;
 import com.skillbridge.service.auth.PasswordService;
 import com.skillbridge.service.common.EmailService;
 import com.skillbridge.service.common.NotificationService;
+import com.skillbridge.service.common.DashboardEventService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -51,6 +52,9 @@ class ContactServiceTest {
     @Mock
     private PasswordService passwordService;
 
+    @Mock
+    private DashboardEventService dashboardEventService;
+
     @InjectMocks
     private ContactService contactService;
 
@@ -10,6 +10,9 @@ import com.skillbridge.entity.contract.Contract;
 import com.skillbridge.entity.contract.SOWContract;
 import com.skillbridge.repository.auth.UserRepository;
 import com.skillbridge.repository.contract.*;
+import com.skillbridge.service.common.NotificationService;
+import com.skillbridge.service.common.DashboardEventService;
+import com.skillbridge.util.JsonCodec;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +22,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -68,12 +72,18 @@ class ChangeRequestDetailServiceTest {
     @Mock
     private com.skillbridge.service.sales.SalesSOWContractService salesSOWContractService;
 
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private DashboardEventService dashboardEventService;
+
     @InjectMocks
     private ChangeRequestDetailService changeRequestDetailService;
 
     @BeforeEach
     void setUp() {
-        // Setup is handled by MockitoExtension
+        ReflectionTestUtils.setField(changeRequestDetailService, "jsonCodec", new JsonCodec());
     }
 
     @Test
@@ -9,6 +9,8 @@ import com.skillbridge.repository.contract.ChangeRequestAttachmentRepository;
 import com.skillbridge.repository.contract.ChangeRequestRepository;
 import com.skillbridge.repository.contract.ContractRepository;
 import com.skillbridge.repository.contract.SOWContractRepository;
+import com.skillbridge.service.common.NotificationService;
+import com.skillbridge.service.common.DashboardEventService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -50,6 +52,12 @@ class ChangeRequestServiceTest {
     @Mock
     private SOWContractRepository sowContractRepository;
 
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private DashboardEventService dashboardEventService;
+
     @InjectMocks
     private ChangeRequestService changeRequestService;
 
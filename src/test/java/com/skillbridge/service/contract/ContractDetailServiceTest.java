@@ -1,5 +1,6 @@
 package com.skillbridge.service.contract;
 
+import com.skillbridge.service.common.AttachmentService;
 import com.skillbridge.dto.contract.response.ContractDetailDTO;
 import com.skillbridge.entity.auth.User;
 import com.skillbridge.entity.contract.Contract;
@@ -69,6 +70,9 @@ class ContractDetailServiceTest {
     @Mock
     private DocumentMetadataRepository documentMetadataRepository;
 
+    @Mock
+    private AttachmentService attachmentService;
+
     @InjectMocks
     private ContractDetailService contractDetailService;
 
@@ -0,0 +1,131 @@
+package com.skillbridge.service.engineer;
+
+import com.skillbridge.entity.engineer.Skill;
+import com.skillbridge.repository.engineer.SkillRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SkillTreeService and SkillTree
+ * Tests tree building, caching and invalidation
+ */
+@ExtendWith(MockitoExtension.class)
+class SkillTreeServiceTest {
+
+    @Mock
+    private SkillRepository skillRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private SkillTreeService skillTreeService;
+
+    @Test
+    @DisplayName("getTree - gọi nhiều lần → chỉ query skills một lần")
+    void testGetTree_Cached() {
+        // Arrange
+        when(skillRepository.findAll()).thenReturn(List.of(skill(1, "Programming", null), skill(2, "Java", 1)));
+
+        // Act
+        SkillTree first = skillTreeService.getTree();
+        SkillTree second = skillTreeService.getTree();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(2, first.size());
+        verify(skillRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("getTree - load trong transaction mới, không read-only → đọc từ primary, không từ replica")
+    void testGetTree_LoadsOnPrimary() {
+        // Arrange
+        when(skillRepository.findAll()).thenReturn(List.of(skill(1, "Programming", null)));
+
+        // Act
+        skillTreeService.getTree();
+
+        // Assert
+        verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()
+                && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("invalidate - sau khi sửa skill → lần sau load lại cây mới")
+    void testInvalidate_Reloads() {
+        // Arrange
+        when(skillRepository.findAll())
+                .thenReturn(List.of(skill(1, "Programming", null)))
+                .thenReturn(List.of(skill(1, "Programming", null), skill(2, "Java", 1)));
+        skillTreeService.getTree();
+
+        // Act
+        skillTreeService.invalidate();
+        SkillTree tree = skillTreeService.getTree();
+
+        // Assert
+        assertEquals(1, tree.getSubSkills(1).size());
+        verify(skillRepository, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("getTree - quá refresh-seconds → load lại")
+    void testGetTree_Expired() {
+        // Arrange
+        ReflectionTestUtils.setField(skillTreeService, "refreshSeconds", 0L);
+        when(skillRepository.findAll()).thenReturn(List.of(skill(1, "Programming", null)));
+
+        // Act
+        skillTreeService.getTree();
+        skillTreeService.getTree();
+
+        // Assert
+        verify(skillRepository, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("SkillTree.of - sub-skill sắp theo id, parent không tồn tại → thành root")
+    void testSkillTree_Structure() {
+        // Arrange
+        List<Skill> skills = List.of(
+                skill(5, "Cloud", null),
+                skill(1, "Programming", null),
+                skill(4, "Java", 1),
+                skill(3, "Go", 1),
+                skill(9, "Orphan", 99));
+
+        // Act
+        SkillTree tree = SkillTree.of(skills);
+
+        // Assert
+        assertEquals(List.of(1, 5, 9), tree.getRoots().stream().map(SkillTree.Node::getId).toList());
+        assertEquals(List.of("Go", "Java"), tree.getSubSkills(1).stream().map(SkillTree.Node::getName).toList());
+        assertEquals(1, tree.getSkill(4).getParentSkillId());
+        assertTrue(tree.getSubSkills(5).isEmpty());
+        assertTrue(tree.getSubSkills(42).isEmpty());
+        assertNull(tree.getSkill(42));
+        assertThrows(UnsupportedOperationException.class, () -> tree.getRoots().add(null));
+    }
+
+    // Helper methods
+    private Skill skill(Integer id, String name, Integer parentSkillId) {
+        Skill skill = new Skill(name, parentSkillId);
+        skill.setId(id);
+        return skill;
+    }
+}
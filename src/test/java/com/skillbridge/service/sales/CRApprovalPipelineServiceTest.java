@@ -0,0 +1,274 @@
+package com.skillbridge.service.sales;
+
+import com.skillbridge.dto.sales.response.ChangeRequestApprovalStatusDTO;
+import com.skillbridge.entity.auth.User;
+import com.skillbridge.entity.contract.ChangeRequest;
+import com.skillbridge.entity.contract.ChangeRequestApprovalJob;
+import com.skillbridge.entity.contract.ContractAppendix;
+import com.skillbridge.repository.auth.UserRepository;
+import com.skillbridge.repository.contract.ChangeRequestApprovalJobRepository;
+import com.skillbridge.repository.contract.ChangeRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CRApprovalPipelineService
+ * Tests stage execution, leases, retry/backoff and status reporting of the CR approval outbox worker
+ */
+@ExtendWith(MockitoExtension.class)
+class CRApprovalPipelineServiceTest {
+
+    @Mock
+    private ChangeRequestApprovalJobRepository jobRepository;
+
+    @Mock
+    private ChangeRequestRepository changeRequestRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SOWBaselineService sowBaselineService;
+
+    @Mock
+    private SalesSOWContractService salesSOWContractService;
+
+    @Mock
+    private ContractAppendixService contractAppendixService;
+
+    @Mock
+    private ThreadPoolTaskExecutor crApprovalExecutor;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private CRApprovalPipelineService pipelineService;
+
+    private static final String LEASE = "node-1a2b3c4d:7";
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(pipelineService, "enabled", true);
+        ReflectionTestUtils.setField(pipelineService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(pipelineService, "backoffBaseSeconds", 10L);
+        ReflectionTestUtils.setField(pipelineService, "leaseTimeoutMinutes", 15L);
+    }
+
+    @Test
+    @DisplayName("runJob - tất cả stage thành công → COMPLETED, lưu appendix và timing")
+    void testRunJob_Success() {
+        // Arrange
+        ChangeRequestApprovalJob job = createJob(1, 1);
+        ChangeRequest cr = createChangeRequest(10, 100);
+        User user = createUser(5);
+        ContractAppendix appendix = new ContractAppendix();
+        appendix.setAppendixNumber("AP-001");
+
+        when(jobRepository.findById(1)).thenReturn(Optional.of(job));
+        when(changeRequestRepository.findById(10)).thenReturn(Optional.of(cr));
+        when(userRepository.findById(5)).thenReturn(Optional.of(user));
+        when(contractAppendixService.generateAppendix(cr)).thenReturn(appendix);
+        when(jobRepository.findByIdAndLeaseOwnerAndStatus(1, LEASE, ChangeRequestApprovalJob.JobStatus.RUNNING))
+                .thenReturn(Optional.of(job));
+
+        // Act
+        pipelineService.runJob(1, LEASE);
+
+        // Assert
+        verify(sowBaselineService).createBaseline(100);
+        verify(salesSOWContractService).applyApprovedChangeRequestEvents(10, user);
+        verify(salesSOWContractService).recordChangeRequestApplied(10, "AP-001", 5);
+
+        ArgumentCaptor<ChangeRequestApprovalJob> captor = ArgumentCaptor.forClass(ChangeRequestApprovalJob.class);
+        verify(jobRepository).save(captor.capture());
+        ChangeRequestApprovalJob saved = captor.getValue();
+        assertEquals(ChangeRequestApprovalJob.JobStatus.COMPLETED, saved.getStatus());
+        assertEquals("AP-001", saved.getAppendixNumber());
+        assertNotNull(saved.getBaselineMs());
+        assertNotNull(saved.getEventsMs());
+        assertNotNull(saved.getAppendixMs());
+        assertNotNull(saved.getNotificationMs());
+        assertNotNull(saved.getTotalMs());
+        assertNotNull(saved.getCompletedAt());
+        assertNull(saved.getLeaseOwner());
+    }
+
+    @Test
+    @DisplayName("runJob - mất lease trước khi hoàn tất → rollback, không ghi COMPLETED")
+    void testRunJob_LeaseLostRollsBack() {
+        // Arrange
+        ChangeRequestApprovalJob job = createJob(1, 1);
+        ChangeRequest cr = createChangeRequest(10, 100);
+        User user = createUser(5);
+        ContractAppendix appendix = new ContractAppendix();
+        appendix.setAppendixNumber("AP-001");
+
+        when(jobRepository.findById(1)).thenReturn(Optional.of(job));
+        when(changeRequestRepository.findById(10)).thenReturn(Optional.of(cr));
+        when(userRepository.findById(5)).thenReturn(Optional.of(user));
+        when(contractAppendixService.generateAppendix(cr)).thenReturn(appendix);
+        when(jobRepository.findByIdAndLeaseOwnerAndStatus(1, LEASE, ChangeRequestApprovalJob.JobStatus.RUNNING))
+                .thenReturn(Optional.empty());
+
+        // Act
+        pipelineService.runJob(1, LEASE);
+
+        // Assert
+        verify(transactionManager).rollback(any());
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("runJob - stage EVENTS lỗi → RETRY với backoff, ghi lại stage lỗi")
+    void testRunJob_FailureSchedulesRetry() {
+        // Arrange
+        ChangeRequestApprovalJob job = createJob(1, 1);
+        ChangeRequest cr = createChangeRequest(10, 100);
+        User user = createUser(5);
+
+        when(jobRepository.findById(1)).thenReturn(Optional.of(job));
+        when(changeRequestRepository.findById(10)).thenReturn(Optional.of(cr));
+        when(userRepository.findById(5)).thenReturn(Optional.of(user));
+        doThrow(new RuntimeException("Lock wait timeout"))
+                .when(salesSOWContractService).applyApprovedChangeRequestEvents(10, user);
+        when(jobRepository.findByIdAndLeaseOwnerAndStatus(1, LEASE, ChangeRequestApprovalJob.JobStatus.RUNNING))
+                .thenReturn(Optional.of(job));
+
+        // Act
+        LocalDateTime before = LocalDateTime.now();
+        pipelineService.runJob(1, LEASE);
+
+        // Assert
+        ArgumentCaptor<ChangeRequestApprovalJob> captor = ArgumentCaptor.forClass(ChangeRequestApprovalJob.class);
+        verify(jobRepository).save(captor.capture());
+        ChangeRequestApprovalJob saved = captor.getValue();
+        assertEquals(ChangeRequestApprovalJob.JobStatus.RETRY, saved.getStatus());
+        assertEquals(ChangeRequestApprovalJob.Stage.EVENTS, saved.getCurrentStage());
+        assertTrue(saved.getLastError().contains("Lock wait timeout"));
+        assertTrue(saved.getNextAttemptAt().isAfter(before.plusSeconds(9)));
+        verify(contractAppendixService, never()).generateAppendix(any());
+    }
+
+    @Test
+    @DisplayName("runJob - hết số lần thử → FAILED")
+    void testRunJob_MaxAttemptsMarksFailed() {
+        // Arrange
+        ChangeRequestApprovalJob job = createJob(1, 3);
+
+        when(jobRepository.findById(1)).thenReturn(Optional.of(job));
+        when(changeRequestRepository.findById(10)).thenReturn(Optional.empty());
+        when(jobRepository.findByIdAndLeaseOwnerAndStatus(1, LEASE, ChangeRequestApprovalJob.JobStatus.RUNNING))
+                .thenReturn(Optional.of(job));
+
+        // Act
+        pipelineService.runJob(1, LEASE);
+
+        // Assert
+        ArgumentCaptor<ChangeRequestApprovalJob> captor = ArgumentCaptor.forClass(ChangeRequestApprovalJob.class);
+        verify(jobRepository).save(captor.capture());
+        assertEquals(ChangeRequestApprovalJob.JobStatus.FAILED, captor.getValue().getStatus());
+        verify(sowBaselineService, never()).createBaseline(any());
+    }
+
+    @Test
+    @DisplayName("pollDueJobs - claim theo số worker rảnh, pool đầy → trả lại job chưa chạy")
+    void testPollDueJobs_ClaimsAndReleasesRejected() {
+        // Arrange
+        when(crApprovalExecutor.getMaxPoolSize()).thenReturn(2);
+        when(crApprovalExecutor.getActiveCount()).thenReturn(0);
+        when(jobRepository.claimBatch(anyString(), any(), eq(2))).thenReturn(2);
+        when(jobRepository.findByLeaseOwner(anyString())).thenReturn(List.of(createJob(1, 1), createJob(2, 1)));
+        doNothing().doThrow(new TaskRejectedException("Pool full"))
+                .when(crApprovalExecutor).execute(any(Runnable.class));
+
+        // Act
+        pipelineService.pollDueJobs();
+
+        // Assert
+        verify(jobRepository).heartbeat(anyString(), any());
+        verify(jobRepository).requeueExpired(any(), any());
+        verify(crApprovalExecutor, times(2)).execute(any(Runnable.class));
+        verify(jobRepository).releaseClaims(eq(List.of(2)), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("getApprovalStatus - có job → trả về status và timing")
+    void testGetApprovalStatus_Found() {
+        // Arrange
+        ChangeRequestApprovalJob job = createJob(1, 1);
+        job.setStatus(ChangeRequestApprovalJob.JobStatus.COMPLETED);
+        job.setEventsMs(120L);
+        when(jobRepository.findFirstByChangeRequestIdOrderByIdDesc(10)).thenReturn(Optional.of(job));
+
+        // Act
+        ChangeRequestApprovalStatusDTO result = pipelineService.getApprovalStatus(10);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals("COMPLETED", result.getStatus());
+        assertEquals(120L, result.getEventsMs());
+    }
+
+    @Test
+    @DisplayName("pollDueJobs - pipeline bị tắt → không truy vấn job")
+    void testPollDueJobs_Disabled() {
+        // Arrange
+        ReflectionTestUtils.setField(pipelineService, "enabled", false);
+
+        // Act
+        pipelineService.pollDueJobs();
+
+        // Assert
+        verifyNoInteractions(jobRepository);
+        verifyNoInteractions(crApprovalExecutor);
+    }
+
+    // Helper methods
+    private ChangeRequestApprovalJob createJob(Integer id, Integer attempts) {
+        ChangeRequestApprovalJob job = new ChangeRequestApprovalJob();
+        job.setId(id);
+        job.setChangeRequestId(10);
+        job.setSowContractId(100);
+        job.setApprovedBy(5);
+        job.setStatus(ChangeRequestApprovalJob.JobStatus.RUNNING);
+        job.setAttempts(attempts);
+        return job;
+    }
+
+    private ChangeRequest createChangeRequest(Integer id, Integer sowContractId) {
+        ChangeRequest cr = new ChangeRequest();
+        cr.setId(id);
+        cr.setSowContractId(sowContractId);
+        cr.setContractType("SOW");
+        cr.setType("RESOURCE_CHANGE");
+        cr.setStatus("Approved");
+        return cr;
+    }
+
+    private User createUser(Integer id) {
+        User user = new User();
+        user.setId(id);
+        user.setFullName("Sales Manager");
+        user.setRole("SALES_MANAGER");
+        return user;
+    }
+}
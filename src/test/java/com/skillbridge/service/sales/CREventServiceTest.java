@@ -43,6 +43,12 @@ class CREventServiceTest {
     @Mock
     private RetainerBillingBaseRepository retainerBillingBaseRepository;
 
+    @Mock
+    private SOWEngagedEngineerRepository sowEngagedEngineerRepository;
+
+    @Mock
+    private ChangeRequestEngagedEngineerRepository changeRequestEngagedEngineerRepository;
+
     @InjectMocks
     private CREventService crEventService;
 
@@ -266,7 +272,86 @@ class CREventServiceTest {
         assertEquals(BigDecimal.valueOf(1000), result);
     }
 
+    @Test
+    @DisplayName("calculateMonthlyResourceSnapshot - event có link CR engineer → dùng đúng engineer, 1 query")
+    void testCalculateMonthlyResourceSnapshot_UsesLinkedCREngineer() {
+        // Arrange
+        Integer sowContractId = 1;
+        CRResourceEvent event = createResourceEvent(1, 10, CRResourceEvent.ResourceAction.ADD);
+        event.setCrEngagedEngineerId(102);
+        event.setCreatedAt(java.time.LocalDateTime.now());
+
+        ChangeRequestEngagedEngineer monthly = createCREngineer(101, 10, "Senior Engineer", "Monthly", null);
+        ChangeRequestEngagedEngineer hourly = createCREngineer(102, 10, "Senior Engineer", "Hourly", BigDecimal.valueOf(800));
+
+        when(sowEngagedEngineerBaseRepository.findBySowContractIdOrderByStartDateAsc(sowContractId))
+                .thenReturn(new ArrayList<>());
+        when(sowEngagedEngineerRepository.findBySowContractIdOrderByStartDateAsc(sowContractId))
+                .thenReturn(new ArrayList<>());
+        when(crResourceEventRepository.findAllEventsBySowContractId(sowContractId)).thenReturn(List.of(event));
+        when(crResourceEventRepository.findApprovedEventsBySowContractId(sowContractId)).thenReturn(List.of(event));
+        when(changeRequestEngagedEngineerRepository.findByChangeRequestIdInOrderByChangeRequestIdAscIdAsc(anyCollection()))
+                .thenReturn(List.of(monthly, hourly));
+
+        // Act
+        List<CREventService.MonthlyEngineerSnapshot> result =
+                crEventService.calculateMonthlyResourceSnapshot(sowContractId, "2025-03");
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Hourly", result.get(0).getBillingType());
+        assertEquals(BigDecimal.valueOf(800), result.get(0).getSalary());
+        verify(changeRequestEngagedEngineerRepository, times(1))
+                .findByChangeRequestIdInOrderByChangeRequestIdAscIdAsc(anyCollection());
+        verify(changeRequestEngagedEngineerRepository, never()).findByChangeRequestId(any());
+    }
+
+    @Test
+    @DisplayName("calculateMonthlyResourceSnapshot - event cũ không khớp engineer nào → không lấy engineer đầu tiên")
+    void testCalculateMonthlyResourceSnapshot_LegacyEventWithoutMatch() {
+        // Arrange
+        Integer sowContractId = 1;
+        CRResourceEvent event = createResourceEvent(1, 10, CRResourceEvent.ResourceAction.ADD);
+        event.setCreatedAt(java.time.LocalDateTime.now());
+
+        ChangeRequestEngagedEngineer hourly = createCREngineer(101, 10, "Junior Tester", "Hourly", BigDecimal.valueOf(800));
+        ChangeRequestEngagedEngineer other = createCREngineer(102, 10, "Middle Designer", "Hourly", BigDecimal.valueOf(600));
+
+        when(sowEngagedEngineerBaseRepository.findBySowContractIdOrderByStartDateAsc(sowContractId))
+                .thenReturn(new ArrayList<>());
+        when(sowEngagedEngineerRepository.findBySowContractIdOrderByStartDateAsc(sowContractId))
+                .thenReturn(new ArrayList<>());
+        when(crResourceEventRepository.findAllEventsBySowContractId(sowContractId)).thenReturn(List.of(event));
+        when(crResourceEventRepository.findApprovedEventsBySowContractId(sowContractId)).thenReturn(List.of(event));
+        when(changeRequestEngagedEngineerRepository.findByChangeRequestIdInOrderByChangeRequestIdAscIdAsc(anyCollection()))
+                .thenReturn(List.of(hourly, other));
+
+        // Act
+        List<CREventService.MonthlyEngineerSnapshot> result =
+                crEventService.calculateMonthlyResourceSnapshot(sowContractId, "2025-03");
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Monthly", result.get(0).getBillingType());
+        assertEquals(BigDecimal.valueOf(1000), result.get(0).getSalary());
+    }
+
     // Helper methods
+    private ChangeRequestEngagedEngineer createCREngineer(Integer id, Integer changeRequestId, String engineerLevel,
+                                                          String billingType, BigDecimal subtotal) {
+        ChangeRequestEngagedEngineer engineer = new ChangeRequestEngagedEngineer();
+        engineer.setId(id);
+        engineer.setChangeRequestId(changeRequestId);
+        engineer.setEngineerLevel(engineerLevel);
+        engineer.setStartDate(LocalDate.of(2025, 1, 1));
+        engineer.setEndDate(LocalDate.of(2025, 12, 31));
+        engineer.setBillingType(billingType);
+        engineer.setSubtotal(subtotal);
+        engineer.setRating(BigDecimal.valueOf(100));
+        engineer.setSalary(BigDecimal.valueOf(1000));
+        return engineer;
+    }
+
     private ChangeRequest createChangeRequest(Integer id, Integer sowContractId) {
         ChangeRequest cr = new ChangeRequest();
         cr.setId(id);
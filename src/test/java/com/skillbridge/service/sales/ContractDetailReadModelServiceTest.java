@@ -0,0 +1,226 @@
+package com.skillbridge.service.sales;
+
+import com.skillbridge.dto.sales.response.MSAContractDetailDTO;
+import com.skillbridge.dto.sales.response.SOWContractDetailDTO;
+import com.skillbridge.entity.auth.User;
+import com.skillbridge.entity.contract.ContractDetailView;
+import com.skillbridge.repository.contract.ContractDetailViewRepository;
+import com.skillbridge.util.JsonCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ContractDetailReadModelService
+ * Tests read model hits, rebuilds of missing/stale rows and the access check on cached rows
+ */
+@ExtendWith(MockitoExtension.class)
+class ContractDetailReadModelServiceTest {
+
+    @Mock
+    private ContractDetailViewRepository contractDetailViewRepository;
+
+    @Mock
+    private SalesSOWContractService salesSOWContractService;
+
+    @Mock
+    private SalesMSAContractService salesMSAContractService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ContractDetailReadModelService readModelService;
+
+    private final JsonCodec jsonCodec = new JsonCodec();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(readModelService, "jsonCodec", jsonCodec);
+        ReflectionTestUtils.setField(readModelService, "enabled", true);
+        ReflectionTestUtils.setField(readModelService, "maxAgeMinutes", 10L);
+    }
+
+    @Test
+    @DisplayName("getSOWContractDetail - read model còn mới → đọc payload, không gọi assembler")
+    void testGetSOWContractDetail_FreshView() {
+        // Arrange
+        SOWContractDetailDTO dto = createSOWDetail(100, 5);
+        ContractDetailView view = createView(ContractDetailView.TYPE_SOW, 100, 5, jsonCodec.write(dto));
+        when(contractDetailViewRepository.findByContractTypeAndContractId("SOW", 100)).thenReturn(Optional.of(view));
+
+        // Act
+        SOWContractDetailDTO result = readModelService.getSOWContractDetail(100, createUser(5, "SALES_REP"));
+
+        // Assert
+        assertEquals("SOW Contract", result.getContractName());
+        verifyNoInteractions(salesSOWContractService);
+    }
+
+    @Test
+    @DisplayName("getSOWContractDetail - chưa có read model → build và lưu mới")
+    void testGetSOWContractDetail_MissingViewIsBuilt() {
+        // Arrange
+        User manager = createUser(1, "SALES_MANAGER");
+        SOWContractDetailDTO dto = createSOWDetail(100, 5);
+        when(contractDetailViewRepository.findByContractTypeAndContractId("SOW", 100)).thenReturn(Optional.empty());
+        when(salesSOWContractService.getSOWContractDetail(100, manager)).thenReturn(dto);
+
+        // Act
+        SOWContractDetailDTO result = readModelService.getSOWContractDetail(100, manager);
+
+        // Assert
+        assertSame(dto, result);
+        ArgumentCaptor<ContractDetailView> captor = ArgumentCaptor.forClass(ContractDetailView.class);
+        verify(contractDetailViewRepository).save(captor.capture());
+        assertEquals("SOW", captor.getValue().getContractType());
+        assertEquals(5, captor.getValue().getAssigneeUserId());
+        assertFalse(captor.getValue().getStale());
+    }
+
+    @Test
+    @DisplayName("getMSAContractDetail - read model stale → rebuild theo generation đã đọc")
+    void testGetMSAContractDetail_StaleViewIsRebuilt() {
+        // Arrange
+        User manager = createUser(1, "SALES_MANAGER");
+        ContractDetailView view = createView(ContractDetailView.TYPE_MSA, 20, 5, "{}");
+        view.setStale(true);
+        view.setGeneration(3);
+        MSAContractDetailDTO dto = new MSAContractDetailDTO();
+        dto.setAssigneeUserId(5);
+        when(contractDetailViewRepository.findByContractTypeAndContractId("MSA", 20)).thenReturn(Optional.of(view));
+        when(salesMSAContractService.getMSAContractDetail(20, manager)).thenReturn(dto);
+
+        // Act
+        readModelService.getMSAContractDetail(20, manager);
+
+        // Assert
+        verify(contractDetailViewRepository).storeRebuilt(eq(view.getId()), eq(3), anyString(), eq(5), any(LocalDateTime.class));
+        verify(contractDetailViewRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("getSOWContractDetail - hợp đồng bị ghi trong lúc build lần đầu (row stale đã được tạo) → không ghi đè, vẫn trả về DTO")
+    void testGetSOWContractDetail_FirstBuildLosesToInvalidation() {
+        // Arrange
+        User manager = createUser(1, "SALES_MANAGER");
+        SOWContractDetailDTO dto = createSOWDetail(100, 5);
+        when(contractDetailViewRepository.findByContractTypeAndContractId("SOW", 100)).thenReturn(Optional.empty());
+        when(salesSOWContractService.getSOWContractDetail(100, manager)).thenReturn(dto);
+        when(contractDetailViewRepository.save(any(ContractDetailView.class)))
+            .thenThrow(new DataIntegrityViolationException("Duplicate entry 'SOW-100'"));
+
+        // Act
+        SOWContractDetailDTO result = readModelService.getSOWContractDetail(100, manager);
+
+        // Assert
+        assertSame(dto, result);
+        verify(contractDetailViewRepository, never()).storeRebuilt(any(), any(), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("getSOWContractDetail - payload không đọc được → rebuild")
+    void testGetSOWContractDetail_UnreadablePayloadIsRebuilt() {
+        // Arrange
+        User manager = createUser(1, "SALES_MANAGER");
+        ContractDetailView view = createView(ContractDetailView.TYPE_SOW, 100, 5, "not json");
+        when(contractDetailViewRepository.findByContractTypeAndContractId("SOW", 100)).thenReturn(Optional.of(view));
+        when(salesSOWContractService.getSOWContractDetail(100, manager)).thenReturn(createSOWDetail(100, 5));
+
+        // Act
+        SOWContractDetailDTO result = readModelService.getSOWContractDetail(100, manager);
+
+        // Assert
+        assertEquals("SOW Contract", result.getContractName());
+        verify(salesSOWContractService).getSOWContractDetail(100, manager);
+    }
+
+    @Test
+    @DisplayName("getSOWContractDetail - read model quá max-age → rebuild")
+    void testGetSOWContractDetail_ExpiredViewIsRebuilt() {
+        // Arrange
+        User manager = createUser(1, "SALES_MANAGER");
+        ContractDetailView view = createView(ContractDetailView.TYPE_SOW, 100, 5, "{}");
+        view.setBuiltAt(LocalDateTime.now().minusMinutes(30));
+        when(contractDetailViewRepository.findByContractTypeAndContractId("SOW", 100)).thenReturn(Optional.of(view));
+        when(salesSOWContractService.getSOWContractDetail(100, manager)).thenReturn(createSOWDetail(100, 5));
+
+        // Act
+        readModelService.getSOWContractDetail(100, manager);
+
+        // Assert
+        verify(salesSOWContractService).getSOWContractDetail(100, manager);
+    }
+
+    @Test
+    @DisplayName("getSOWContractDetail - Sales Rep không được assign → throw RuntimeException")
+    void testGetSOWContractDetail_AccessDenied() {
+        // Arrange
+        ContractDetailView view = createView(ContractDetailView.TYPE_SOW, 100, 5, jsonCodec.write(createSOWDetail(100, 5)));
+        when(contractDetailViewRepository.findByContractTypeAndContractId("SOW", 100)).thenReturn(Optional.of(view));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> readModelService.getSOWContractDetail(100, createUser(9, "SALES_REP")));
+        assertTrue(exception.getMessage().contains("Access denied"));
+    }
+
+    @Test
+    @DisplayName("getSOWContractDetail - read model bị tắt → gọi assembler trực tiếp")
+    void testGetSOWContractDetail_Disabled() {
+        // Arrange
+        ReflectionTestUtils.setField(readModelService, "enabled", false);
+        User manager = createUser(1, "SALES_MANAGER");
+        when(salesSOWContractService.getSOWContractDetail(100, manager)).thenReturn(createSOWDetail(100, 5));
+
+        // Act
+        readModelService.getSOWContractDetail(100, manager);
+
+        // Assert
+        verifyNoInteractions(contractDetailViewRepository);
+    }
+
+    // Helper methods
+    private SOWContractDetailDTO createSOWDetail(Integer id, Integer assigneeUserId) {
+        SOWContractDetailDTO dto = new SOWContractDetailDTO();
+        dto.setId(id);
+        dto.setContractName("SOW Contract");
+        dto.setAssigneeUserId(assigneeUserId);
+        return dto;
+    }
+
+    private ContractDetailView createView(String type, Integer contractId, Integer assigneeUserId, String payload) {
+        ContractDetailView view = new ContractDetailView();
+        view.setId(1);
+        view.setContractType(type);
+        view.setContractId(contractId);
+        view.setAssigneeUserId(assigneeUserId);
+        view.setPayload(payload);
+        view.setStale(false);
+        view.setGeneration(0);
+        view.setBuiltAt(LocalDateTime.now());
+        return view;
+    }
+
+    private User createUser(Integer id, String role) {
+        User user = new User();
+        user.setId(id);
+        user.setRole(role);
+        return user;
+    }
+}
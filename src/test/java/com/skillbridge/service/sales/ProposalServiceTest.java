@@ -1,5 +1,6 @@
 package com.skillbridge.service.sales;
 
+import com.skillbridge.service.common.AttachmentService;
 import com.skillbridge.dto.sales.request.AssignReviewerRequest;
 import com.skillbridge.dto.sales.request.SubmitReviewRequest;
 import com.skillbridge.dto.sales.response.ProposalDTO;
@@ -14,6 +15,9 @@ import com.skillbridge.repository.proposal.ProposalRepository;
 import com.skillbridge.service.common.S3Service;
 import com.skillbridge.service.common.DocumentPermissionService;
 import com.skillbridge.repository.document.DocumentMetadataRepository;
+import com.skillbridge.service.common.NotificationService;
+import com.skillbridge.service.common.DashboardEventService;
+import com.skillbridge.util.JsonCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,6 +26,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
@@ -61,12 +66,21 @@ class ProposalServiceTest {
     @Mock
     private DocumentPermissionService documentPermissionService;
 
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private DashboardEventService dashboardEventService;
+
+    @Mock
+    private AttachmentService attachmentService;
+
     @InjectMocks
     private ProposalService proposalService;
 
     @BeforeEach
     void setUp() {
-        // Setup is handled by MockitoExtension
+        ReflectionTestUtils.setField(proposalService, "jsonCodec", new JsonCodec());
     }
 
     @Test
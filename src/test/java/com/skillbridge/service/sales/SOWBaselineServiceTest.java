@@ -43,6 +43,9 @@ class SOWBaselineServiceTest {
     @Mock
     private RetainerBillingDetailRepository retainerBillingDetailRepository;
 
+    @Mock
+    private SOWLineItemBatchRepository sowLineItemBatchRepository;
+
     @InjectMocks
     private SOWBaselineService sowBaselineService;
 
@@ -65,7 +68,7 @@ class SOWBaselineServiceTest {
             sowBaselineService.createBaseline(sowContractId);
         });
 
-        verify(sowEngagedEngineerBaseRepository, never()).save(any(SOWEngagedEngineerBase.class));
+        verify(sowLineItemBatchRepository, never()).insertEngineerBaselines(anyList());
     }
 
     @Test
@@ -87,8 +90,8 @@ class SOWBaselineServiceTest {
         sowBaselineService.createBaseline(sowContractId);
 
         // Assert
-        verify(sowEngagedEngineerBaseRepository, never()).save(any(SOWEngagedEngineerBase.class));
-        verify(retainerBillingBaseRepository, never()).save(any(RetainerBillingBase.class));
+        verify(sowLineItemBatchRepository, never()).insertEngineerBaselines(anyList());
+        verify(sowLineItemBatchRepository, never()).insertBillingBaselines(anyList());
     }
 
     @Test
@@ -107,8 +110,8 @@ class SOWBaselineServiceTest {
         sowBaselineService.createBaseline(sowContractId);
 
         // Assert
-        verify(sowEngagedEngineerBaseRepository, never()).save(any(SOWEngagedEngineerBase.class));
-        verify(retainerBillingBaseRepository, never()).save(any(RetainerBillingBase.class));
+        verify(sowLineItemBatchRepository, never()).insertEngineerBaselines(anyList());
+        verify(sowLineItemBatchRepository, never()).insertBillingBaselines(anyList());
     }
 
     @Test
@@ -133,10 +136,8 @@ class SOWBaselineServiceTest {
                 .thenReturn(engineers);
         when(retainerBillingDetailRepository.findBySowContractIdOrderByPaymentDateDesc(sowContractId))
                 .thenReturn(billingDetails);
-        when(sowEngagedEngineerBaseRepository.save(any(SOWEngagedEngineerBase.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
-        when(retainerBillingBaseRepository.save(any(RetainerBillingBase.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(retainerBillingBaseRepository.findBySowContractIdOrderByBillingMonthDesc(sowContractId))
+                .thenReturn(new ArrayList<>());
         when(sowContractRepository.save(any(SOWContract.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -144,17 +145,21 @@ class SOWBaselineServiceTest {
         sowBaselineService.createBaseline(sowContractId);
 
         // Assert
-        ArgumentCaptor<SOWEngagedEngineerBase> engineerCaptor = ArgumentCaptor.forClass(SOWEngagedEngineerBase.class);
-        verify(sowEngagedEngineerBaseRepository, times(2)).save(engineerCaptor.capture());
-        List<SOWEngagedEngineerBase> savedEngineers = engineerCaptor.getAllValues();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SOWEngagedEngineerBase>> engineerCaptor = ArgumentCaptor.forClass(List.class);
+        verify(sowLineItemBatchRepository).insertEngineerBaselines(engineerCaptor.capture());
+        List<SOWEngagedEngineerBase> savedEngineers = engineerCaptor.getValue();
         assertEquals(2, savedEngineers.size());
         assertEquals(sowContractId, savedEngineers.get(0).getSowContractId());
 
-        ArgumentCaptor<RetainerBillingBase> billingCaptor = ArgumentCaptor.forClass(RetainerBillingBase.class);
-        verify(retainerBillingBaseRepository, times(2)).save(billingCaptor.capture());
-        List<RetainerBillingBase> savedBillings = billingCaptor.getAllValues();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RetainerBillingBase>> billingCaptor = ArgumentCaptor.forClass(List.class);
+        verify(sowLineItemBatchRepository).insertBillingBaselines(billingCaptor.capture());
+        List<RetainerBillingBase> savedBillings = billingCaptor.getValue();
         assertEquals(2, savedBillings.size());
         assertEquals(sowContractId, savedBillings.get(0).getSowContractId());
+        verify(sowEngagedEngineerBaseRepository, never()).save(any(SOWEngagedEngineerBase.class));
+        verify(retainerBillingBaseRepository, never()).save(any(RetainerBillingBase.class));
 
         ArgumentCaptor<SOWContract> contractCaptor = ArgumentCaptor.forClass(SOWContract.class);
         verify(sowContractRepository).save(contractCaptor.capture());
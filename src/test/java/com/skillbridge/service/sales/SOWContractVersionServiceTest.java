@@ -0,0 +1,286 @@
+package com.skillbridge.service.sales;
+
+import com.skillbridge.dto.sales.response.SOWContractVersionDTO;
+import com.skillbridge.entity.contract.SOWContract;
+import com.skillbridge.entity.contract.SOWContractVersion;
+import com.skillbridge.entity.contract.SOWContractVersionDelta;
+import com.skillbridge.repository.contract.SOWContractRepository;
+import com.skillbridge.repository.contract.SOWContractVersionDeltaRepository;
+import com.skillbridge.repository.contract.SOWContractVersionRepository;
+import com.skillbridge.util.JsonCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SOWContractVersionService
+ * Tests delta recording, snapshot-based version reconstruction and the reconstruction cache
+ */
+@ExtendWith(MockitoExtension.class)
+class SOWContractVersionServiceTest {
+
+    @Mock
+    private SOWContractRepository sowContractRepository;
+
+    @Mock
+    private SOWContractVersionRepository versionRepository;
+
+    @Mock
+    private SOWContractVersionDeltaRepository deltaRepository;
+
+    @InjectMocks
+    private SOWContractVersionService versionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(versionService, "jsonCodec", new JsonCodec());
+    }
+
+    @Test
+    @DisplayName("recordVersion - chỉ lưu các field thay đổi và tăng version")
+    @SuppressWarnings("unchecked")
+    void testRecordVersion_StoresOnlyChangedFields() {
+        // Arrange
+        SOWContract contract = createContract(1);
+        Map<String, String> before = versionService.snapshot(contract);
+        contract.setPeriodEnd(LocalDate.of(2025, 12, 31));
+        contract.setValue(new BigDecimal("150000.00"));
+        when(versionRepository.findMaxVersionBySowContractId(100)).thenReturn(null);
+
+        // Act
+        Integer newVersion = versionService.recordVersion(contract, before, 10, 5);
+
+        // Assert
+        assertEquals(2, newVersion);
+        assertEquals(2, contract.getVersion());
+
+        ArgumentCaptor<SOWContractVersion> headerCaptor = ArgumentCaptor.forClass(SOWContractVersion.class);
+        verify(versionRepository).save(headerCaptor.capture());
+        assertEquals(2, headerCaptor.getValue().getChangedFieldCount());
+        assertEquals(10, headerCaptor.getValue().getChangeRequestId());
+
+        ArgumentCaptor<List<SOWContractVersionDelta>> deltaCaptor = ArgumentCaptor.forClass(List.class);
+        verify(deltaRepository).saveAll(deltaCaptor.capture());
+        List<SOWContractVersionDelta> deltas = deltaCaptor.getValue();
+        assertEquals(2, deltas.size());
+        assertEquals("periodEnd", deltas.get(0).getFieldName());
+        assertEquals("2025-06-30", deltas.get(0).getOldValue());
+        assertEquals("2025-12-31", deltas.get(0).getNewValue());
+        assertEquals("value", deltas.get(1).getFieldName());
+        assertEquals("100000.00", deltas.get(1).getOldValue());
+        verify(sowContractRepository).save(contract);
+    }
+
+    @Test
+    @DisplayName("recordVersion - không có field thay đổi → vẫn tạo version, không lưu delta")
+    void testRecordVersion_NoChangedFields() {
+        // Arrange
+        SOWContract contract = createContract(2);
+        Map<String, String> before = versionService.snapshot(contract);
+        when(versionRepository.findMaxVersionBySowContractId(100)).thenReturn(2);
+
+        // Act
+        Integer newVersion = versionService.recordVersion(contract, before, 11, 5);
+
+        // Assert
+        assertEquals(3, newVersion);
+        verify(versionRepository).save(any(SOWContractVersion.class));
+        verify(deltaRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("recordVersion - sửa trực tiếp sau version trước → delta tính từ snapshot đã lưu, không từ before")
+    @SuppressWarnings("unchecked")
+    void testRecordVersion_DiffsAgainstStoredSnapshot() {
+        // Arrange
+        SOWContract contract = createContract(2);
+        SOWContractVersion previous = createHeader(2, versionService.snapshot(contract));
+        contract.setProjectName("Project X (renamed)"); // In-place edit (updateSOWContract), no version
+        Map<String, String> before = versionService.snapshot(contract);
+        contract.setValue(new BigDecimal("150000.00"));
+        when(versionRepository.findMaxVersionBySowContractId(100)).thenReturn(2);
+        when(versionRepository.findFirstBySowContractIdOrderByVersionDesc(100)).thenReturn(Optional.of(previous));
+
+        // Act
+        versionService.recordVersion(contract, before, 12, 5);
+
+        // Assert
+        ArgumentCaptor<List<SOWContractVersionDelta>> deltaCaptor = ArgumentCaptor.forClass(List.class);
+        verify(deltaRepository).saveAll(deltaCaptor.capture());
+        List<SOWContractVersionDelta> deltas = deltaCaptor.getValue();
+        assertEquals(2, deltas.size());
+        assertEquals("projectName", deltas.get(0).getFieldName());
+        assertEquals("Project X", deltas.get(0).getOldValue());
+        assertEquals("value", deltas.get(1).getFieldName());
+
+        ArgumentCaptor<SOWContractVersion> headerCaptor = ArgumentCaptor.forClass(SOWContractVersion.class);
+        verify(versionRepository, times(2)).save(headerCaptor.capture());
+        assertNull(headerCaptor.getAllValues().get(0).getSnapshot()); // previous snapshot dropped
+        assertTrue(headerCaptor.getAllValues().get(1).getSnapshot().contains("Project X (renamed)"));
+    }
+
+    @Test
+    @DisplayName("reconstruct - dựng từ snapshot đã lưu, sửa trực tiếp trên row hiện tại không lọt vào version cũ")
+    void testReconstruct_IgnoresInPlaceEditsOfCurrentRow() {
+        // Arrange
+        SOWContract contract = createContract(2);
+        SOWContractVersion latest = createHeader(2, versionService.snapshot(contract));
+        contract.setProjectName("Edited after V2"); // submitReview / updateSOWContract
+        contract.setStatus(SOWContract.SOWContractStatus.Completed);
+        when(versionRepository.findFirstBySowContractIdOrderByVersionDesc(100)).thenReturn(Optional.of(latest));
+        when(deltaRepository.findBySowContractIdAndVersionGreaterThanOrderByVersionDescIdAsc(100, 1))
+            .thenReturn(Collections.singletonList(
+                new SOWContractVersionDelta(100, 2, "periodEnd", "2025-03-31", "2025-06-30")));
+
+        // Act
+        SOWContract v1 = versionService.reconstruct(contract, 1);
+
+        // Assert
+        assertEquals(LocalDate.of(2025, 3, 31), v1.getPeriodEnd());
+        assertEquals("Project X", v1.getProjectName());
+        assertEquals(SOWContract.SOWContractStatus.Active, v1.getStatus());
+    }
+
+    @Test
+    @DisplayName("reconstruct - hoàn tác delta mới hơn để dựng lại version cũ")
+    void testReconstruct_UndoesNewerDeltas() {
+        // Arrange
+        SOWContract contract = createContract(3);
+        contract.setPeriodEnd(LocalDate.of(2026, 3, 31));
+        contract.setValue(new BigDecimal("180000.00"));
+        when(deltaRepository.findBySowContractIdAndVersionGreaterThanOrderByVersionDescIdAsc(100, 1))
+            .thenReturn(Arrays.asList(
+                new SOWContractVersionDelta(100, 3, "periodEnd", "2025-12-31", "2026-03-31"),
+                new SOWContractVersionDelta(100, 2, "periodEnd", "2025-06-30", "2025-12-31"),
+                new SOWContractVersionDelta(100, 2, "value", "100000.00", "180000.00")));
+
+        // Act
+        SOWContract v1 = versionService.reconstruct(contract, 1);
+
+        // Assert
+        assertEquals(1, v1.getVersion());
+        assertEquals(LocalDate.of(2025, 6, 30), v1.getPeriodEnd());
+        assertEquals(new BigDecimal("100000.00"), v1.getValue());
+        assertEquals("Project X", v1.getProjectName());
+        // Current row is untouched
+        assertEquals(LocalDate.of(2026, 3, 31), contract.getPeriodEnd());
+    }
+
+    @Test
+    @DisplayName("getVersion - delta attachmentsManifest cũ (không còn theo dõi) → bỏ qua")
+    void testGetVersion_SkipsUntrackedDeltas() {
+        // Arrange
+        SOWContract contract = createContract(2);
+        when(deltaRepository.findBySowContractIdAndVersionGreaterThanOrderByVersionDescIdAsc(100, 1))
+            .thenReturn(Collections.singletonList(
+                new SOWContractVersionDelta(100, 2, "attachmentsManifest", "[\"contracts/sow/100/a.pdf\"]", null)));
+
+        // Act
+        SOWContractVersionDTO v1 = versionService.getVersion(contract, 1);
+
+        // Assert
+        assertFalse(v1.getFields().containsKey("attachmentsManifest"));
+        assertEquals("Project X", v1.getFields().get("projectName"));
+    }
+
+    @Test
+    @DisplayName("getVersion - gọi lại cùng version → dùng cache, không truy vấn delta lần hai")
+    void testGetVersion_UsesCache() {
+        // Arrange
+        SOWContract contract = createContract(2);
+        when(deltaRepository.findBySowContractIdAndVersionGreaterThanOrderByVersionDescIdAsc(100, 1))
+            .thenReturn(Collections.singletonList(
+                new SOWContractVersionDelta(100, 2, "periodEnd", "2025-03-31", "2025-06-30")));
+
+        // Act
+        SOWContractVersionDTO first = versionService.getVersion(contract, 1);
+        SOWContractVersionDTO second = versionService.getVersion(contract, 1);
+
+        // Assert
+        assertEquals("2025-03-31", first.getFields().get("periodEnd"));
+        assertEquals(first.getFields(), second.getFields());
+        assertFalse(first.getIsCurrent());
+        verify(deltaRepository, times(1)).findBySowContractIdAndVersionGreaterThanOrderByVersionDescIdAsc(100, 1);
+    }
+
+    @Test
+    @DisplayName("getVersion - version không tồn tại → throw RuntimeException")
+    void testGetVersion_InvalidVersion() {
+        // Arrange
+        SOWContract contract = createContract(2);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> versionService.getVersion(contract, 5));
+        verifyNoInteractions(deltaRepository);
+    }
+
+    @Test
+    @DisplayName("getVersionHistory - trả về các version kèm field thay đổi, V1 ở cuối")
+    void testGetVersionHistory() {
+        // Arrange
+        SOWContract contract = createContract(2);
+        SOWContractVersion header = new SOWContractVersion();
+        header.setSowContractId(100);
+        header.setVersion(2);
+        header.setChangeRequestId(10);
+        when(versionRepository.findBySowContractIdOrderByVersionDesc(100)).thenReturn(Collections.singletonList(header));
+        when(deltaRepository.findBySowContractIdOrderByVersionDescIdAsc(100)).thenReturn(Collections.singletonList(
+            new SOWContractVersionDelta(100, 2, "periodEnd", "2025-03-31", "2025-06-30")));
+
+        // Act
+        List<SOWContractVersionDTO> history = versionService.getVersionHistory(contract);
+
+        // Assert
+        assertEquals(2, history.size());
+        assertEquals("V2", history.get(0).getName());
+        assertTrue(history.get(0).getIsCurrent());
+        assertEquals(1, history.get(0).getChanges().size());
+        assertEquals("V1", history.get(1).getName());
+        assertTrue(history.get(1).getChanges().isEmpty());
+    }
+
+    // Helper methods
+    private SOWContractVersion createHeader(Integer version, Map<String, String> snapshot) {
+        SOWContractVersion header = new SOWContractVersion();
+        header.setSowContractId(100);
+        header.setVersion(version);
+        header.setSnapshot(new JsonCodec().write(snapshot));
+        return header;
+    }
+
+    private SOWContract createContract(Integer version) {
+        SOWContract contract = new SOWContract();
+        contract.setId(100);
+        contract.setClientId(1);
+        contract.setContractName("SOW Contract");
+        contract.setStatus(SOWContract.SOWContractStatus.Active);
+        contract.setEngagementType("Retainer");
+        contract.setParentMsaId(1);
+        contract.setProjectName("Project X");
+        contract.setPeriodStart(LocalDate.of(2025, 1, 1));
+        contract.setPeriodEnd(LocalDate.of(2025, 6, 30));
+        contract.setValue(new BigDecimal("100000.00"));
+        contract.setVersion(version);
+        contract.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 0, 0));
+        return contract;
+    }
+}
@@ -1,5 +1,6 @@
 package com.skillbridge.service.sales;
 
+import com.skillbridge.service.common.AttachmentService;
 import com.skillbridge.dto.contract.response.ContractListResponse;
 import com.skillbridge.dto.contract.response.ContractListItemDTO;
 import com.skillbridge.entity.auth.User;
@@ -46,6 +47,9 @@ class SalesContractServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AttachmentService attachmentService;
+
     @InjectMocks
     private SalesContractService salesContractService;
 
@@ -1,5 +1,6 @@
 package com.skillbridge.service.sales;
 
+import com.skillbridge.service.common.AttachmentService;
 import com.skillbridge.dto.sales.request.CreateMSARequest;
 import com.skillbridge.dto.sales.response.MSAContractDTO;
 import com.skillbridge.dto.sales.response.MSAContractDetailDTO;
@@ -13,6 +14,9 @@ import com.skillbridge.repository.document.DocumentMetadataRepository;
 import com.skillbridge.repository.opportunity.OpportunityRepository;
 import com.skillbridge.repository.proposal.ProposalRepository;
 import com.skillbridge.service.common.S3Service;
+import com.skillbridge.service.common.DashboardEventService;
+import com.skillbridge.service.common.DocumentPermissionService;
+import com.skillbridge.util.JsonCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,6 +25,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
@@ -80,12 +85,21 @@ class SalesMSAContractServiceTest {
     @Mock
     private ChangeRequestHistoryRepository changeRequestHistoryRepository;
 
+    @Mock
+    private DashboardEventService dashboardEventService;
+
+    @Mock
+    private DocumentPermissionService documentPermissionService;
+
+    @Mock
+    private AttachmentService attachmentService;
+
     @InjectMocks
     private SalesMSAContractService salesMSAContractService;
 
     @BeforeEach
     void setUp() {
-        // Setup is handled by MockitoExtension
+        ReflectionTestUtils.setField(salesMSAContractService, "jsonCodec", new JsonCodec());
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.skillbridge.service.sales;
 
+import com.skillbridge.service.common.AttachmentService;
 import com.skillbridge.dto.sales.request.CreateOpportunityRequest;
 import com.skillbridge.dto.sales.request.UpdateOpportunityRequest;
 import com.skillbridge.dto.sales.response.OpportunityDetailDTO;
@@ -53,6 +54,9 @@ class SalesOpportunityDetailServiceTest {
     @Mock
     private ProposalHistoryRepository proposalHistoryRepository;
 
+    @Mock
+    private AttachmentService attachmentService;
+
     @InjectMocks
     private SalesOpportunityDetailService salesOpportunityDetailService;
 
@@ -1,5 +1,6 @@
 package com.skillbridge.service.sales;
 
+import com.skillbridge.service.common.AttachmentService;
 import com.skillbridge.dto.sales.request.CreateSOWRequest;
 import com.skillbridge.dto.sales.response.SOWContractDTO;
 import com.skillbridge.dto.sales.response.SOWContractDetailDTO;
@@ -10,6 +11,9 @@ import com.skillbridge.repository.auth.UserRepository;
 import com.skillbridge.repository.contract.*;
 import com.skillbridge.repository.document.DocumentMetadataRepository;
 import com.skillbridge.service.common.S3Service;
+import com.skillbridge.service.common.DashboardEventService;
+import com.skillbridge.service.common.DocumentPermissionService;
+import com.skillbridge.util.JsonCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,6 +22,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
@@ -100,12 +105,27 @@ class SalesSOWContractServiceTest {
     @Mock
     private CRBillingEventRepository crBillingEventRepository;
 
+    @Mock
+    private SOWLineItemBatchRepository sowLineItemBatchRepository;
+
+    @Mock
+    private SOWContractVersionService sowContractVersionService;
+
+    @Mock
+    private DashboardEventService dashboardEventService;
+
+    @Mock
+    private DocumentPermissionService documentPermissionService;
+
+    @Mock
+    private AttachmentService attachmentService;
+
     @InjectMocks
     private SalesSOWContractService salesSOWContractService;
 
     @BeforeEach
     void setUp() {
-        // Setup is handled by MockitoExtension
+        ReflectionTestUtils.setField(salesSOWContractService, "jsonCodec", new JsonCodec());
     }
 
     @Test
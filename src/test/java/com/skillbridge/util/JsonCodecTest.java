@@ -0,0 +1,89 @@
+package com.skillbridge.util;
+
+import com.skillbridge.dto.common.AttachmentInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JsonCodec
+ * Tests attachments manifest parsing (both formats) and list round trips
+ */
+class JsonCodecTest {
+
+    private final JsonCodec jsonCodec = new JsonCodec();
+
+    @Test
+    @DisplayName("readAttachments - manifest dạng AttachmentInfo và chuỗi key → đọc được cả hai")
+    void testReadAttachments_BothFormats() {
+        // Act
+        List<AttachmentInfo> current = jsonCodec.readAttachments(
+                "[{\"s3Key\":\"contracts/msa/3/a.pdf\",\"fileName\":\"Original A.pdf\"},{\"fileName\":\"no key\"}]");
+        List<AttachmentInfo> legacy = jsonCodec.readAttachments("[\"contracts/msa/4/b.pdf\",\" \"]");
+
+        // Assert
+        assertEquals(1, current.size());
+        assertEquals("Original A.pdf", current.get(0).getFileName());
+        assertEquals(1, legacy.size());
+        assertEquals("b.pdf", legacy.get(0).getFileName());
+    }
+
+    @Test
+    @DisplayName("readAttachments - JSON hỏng hoặc rỗng → trả về danh sách rỗng")
+    void testReadAttachments_Invalid() {
+        // Act & Assert
+        assertTrue(jsonCodec.readAttachments("not json").isEmpty());
+        assertTrue(jsonCodec.readAttachments("{\"s3Key\":\"a.pdf\"}").isEmpty());
+        assertTrue(jsonCodec.readAttachments(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("writeAttachments → readAttachments - giữ nguyên key và tên file")
+    void testWriteAttachments_RoundTrip() {
+        // Arrange
+        List<AttachmentInfo> attachments = Arrays.asList(
+                new AttachmentInfo("proposals/1/a.pdf", "A.pdf"),
+                new AttachmentInfo("proposals/1/b.pdf", "B.pdf"));
+
+        // Act
+        List<AttachmentInfo> result = jsonCodec.readAttachments(jsonCodec.writeAttachments(attachments));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("proposals/1/b.pdf", result.get(1).getS3Key());
+        assertEquals("B.pdf", result.get(1).getFileName());
+    }
+
+    @Test
+    @DisplayName("readStringList / readIntegerList - đọc danh sách, rỗng khi không có giá trị")
+    void testReadLists() {
+        // Act & Assert
+        assertEquals(Arrays.asList("SALES_MANAGER", "SALES_REP"),
+                jsonCodec.readStringList(jsonCodec.writeStringList(Arrays.asList("SALES_MANAGER", "SALES_REP"))));
+        assertEquals(Arrays.asList(1, 5), jsonCodec.readIntegerList("[1,5]"));
+        assertTrue(jsonCodec.readStringList("").isEmpty());
+    }
+
+    @Test
+    @DisplayName("readStringList - JSON hỏng → throw RuntimeException")
+    void testReadStringList_Invalid() {
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> jsonCodec.readStringList("[\"a\""));
+    }
+
+    @Test
+    @DisplayName("readList - kiểu phần tử bất kỳ, field lạ bị bỏ qua")
+    void testReadList_IgnoresUnknownProperties() {
+        // Act
+        List<AttachmentInfo> result = jsonCodec.readList(
+                "[{\"s3Key\":\"a.pdf\",\"fileName\":\"A.pdf\",\"size\":10}]", AttachmentInfo.class);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("A.pdf", result.get(0).getFileName());
+    }
+}
@@ -0,0 +1,89 @@
+package com.skillbridge.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for QueryBudget
+ * Tests per-thread counting, nested measurements and repeated statement detection
+ */
+class QueryBudgetTest {
+
+    @AfterEach
+    void tearDown() {
+        QueryBudget.stop();
+    }
+
+    @Test
+    @DisplayName("onStatement - không có measurement → không đếm")
+    void testHooks_NoMeasurement() {
+        // Act
+        QueryBudget.onStatement("select 1");
+        QueryBudget.onEntityLoaded();
+
+        // Assert
+        assertNull(QueryBudget.current());
+    }
+
+    @Test
+    @DisplayName("measure - đếm statement, entity, thời gian và câu SQL lặp nhiều nhất")
+    void testMeasure_CountsWork() {
+        // Act
+        QueryBudget.Stats stats = QueryBudget.measure(() -> {
+            QueryBudget.onStatement("select * from contracts");
+            for (int i = 0; i < 3; i++) {
+                QueryBudget.onStatement("select * from users where id=?");
+                QueryBudget.onEntityLoaded();
+                QueryBudget.onStatementExecuted(1_000_000);
+            }
+        });
+
+        // Assert
+        assertEquals(4, stats.getStatements());
+        assertEquals(3, stats.getEntitiesLoaded());
+        assertEquals(3_000_000, stats.getDbNanos());
+        Map.Entry<String, Integer> repeated = stats.getMostRepeatedStatement();
+        assertEquals("select * from users where id=?", repeated.getKey());
+        assertEquals(3, repeated.getValue());
+        assertNull(QueryBudget.current());
+    }
+
+    @Test
+    @DisplayName("measure - lồng trong request → cộng dồn vào measurement bên ngoài")
+    void testMeasure_Nested() {
+        // Arrange
+        QueryBudget.Stats outer = QueryBudget.start();
+        QueryBudget.onStatement("select 1");
+
+        // Act
+        QueryBudget.Stats inner = QueryBudget.measure(() -> QueryBudget.onStatement("select 2"));
+
+        // Assert
+        assertEquals(1, inner.getStatements());
+        assertSame(outer, QueryBudget.current());
+        assertEquals(2, outer.getStatements());
+    }
+
+    @Test
+    @DisplayName("onExternalCall - cộng số lần gọi và thời gian theo hệ thống")
+    void testOnExternalCall_GroupsBySystem() {
+        // Act
+        QueryBudget.Stats stats = QueryBudget.measure(() -> {
+            QueryBudget.onExternalCall("s3", 2_000_000);
+            QueryBudget.onExternalCall("s3", 3_000_000);
+            QueryBudget.onExternalCall("mail", 1_000_000);
+        });
+
+        // Assert
+        assertEquals(2, stats.getExternalCalls("s3"));
+        assertEquals(5_000_000, stats.getExternalNanos("s3"));
+        assertEquals(1, stats.getExternalCalls("mail"));
+        assertEquals(0, stats.getExternalCalls("db"));
+        assertEquals("[mail, s3]", stats.getExternalSystems().toString());
+    }
+}